@@ -0,0 +1,310 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Generates synthetic catalogs of valid, distinct Course sections of any size,
+ * the same for the same seed and settings. Courses are spread round robin over
+ * departments named AA, AB, ..., numbered from 100 within each department, and
+ * each Course has the same number of sections. Every section gets a random
+ * instructor, a meeting day pattern drawn by weight, and a random start on a
+ * five minute boundary from 8:00 with a 50 or 75 minute length.
+ *
+ * writeCatalog() writes the catalog as a course records file in the
+ * Course.toString() format, mixing in a share of deliberately invalid lines:
+ * bad names, sections, credits, instructors, meeting days and times, arranged
+ * sections with times, missing and extra fields, and duplicates of earlier
+ * sections. Course readers must skip every one of them.
+ *
+ * @author symone
+ *
+ */
+public class CatalogGenerator {
+
+	/** Course numbers available in each department */
+	private static final int COURSES_PER_DEPARTMENT = 900;
+	/** Kinds of invalid line */
+	private static final int INVALID_KINDS = 10;
+
+	/** Seed of the random source */
+	private final long seed;
+	/** Number of departments */
+	private int departments = 100;
+	/** Sections of each Course */
+	private int sectionsPerCourse = 10;
+	/** Distinct instructor ids */
+	private int instructors = 2000;
+	/** Meeting day patterns to draw from */
+	private String[] dayPatterns = { "MW", "TH", "MWF", "M", "T", "W", "H", "F", "A" };
+	/** Relative weight of each meeting day pattern */
+	private int[] dayWeights = { 1, 1, 1, 1, 1, 1, 1, 1, 1 };
+	/** Share of the lines of a written catalog that are invalid */
+	private double invalidRatio;
+
+	/**
+	 * Constructs a generator with the given seed and default settings: 100
+	 * departments, 10 sections per Course, 2000 instructors, nine equally likely
+	 * day patterns including arranged, and no invalid lines.
+	 *
+	 * @param seed random seed
+	 */
+	public CatalogGenerator(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Sets the number of departments.
+	 *
+	 * @param departments number of departments, at least 1
+	 * @throws IllegalArgumentException if departments is less than 1
+	 */
+	public void setDepartments(int departments) {
+		if (departments < 1) {
+			throw new IllegalArgumentException("Invalid departments.");
+		}
+		this.departments = departments;
+	}
+
+	/**
+	 * Sets the number of sections of each Course.
+	 *
+	 * @param sectionsPerCourse sections of each Course, 1 to 999
+	 * @throws IllegalArgumentException if out of range
+	 */
+	public void setSectionsPerCourse(int sectionsPerCourse) {
+		if (sectionsPerCourse < 1 || sectionsPerCourse > 999) {
+			throw new IllegalArgumentException("Invalid sections.");
+		}
+		this.sectionsPerCourse = sectionsPerCourse;
+	}
+
+	/**
+	 * Sets the number of distinct instructor ids.
+	 *
+	 * @param instructors number of instructors, at least 1
+	 * @throws IllegalArgumentException if instructors is less than 1
+	 */
+	public void setInstructors(int instructors) {
+		if (instructors < 1) {
+			throw new IllegalArgumentException("Invalid instructors.");
+		}
+		this.instructors = instructors;
+	}
+
+	/**
+	 * Sets the meeting day patterns and how often each is drawn.
+	 *
+	 * @param patterns meeting days strings, such as "MW" or "A"
+	 * @param weights  relative weight of each pattern, not negative
+	 * @throws IllegalArgumentException if the arrays differ in length, are empty,
+	 *                                  or no weight is positive
+	 */
+	public void setDayPatterns(String[] patterns, int[] weights) {
+		int total = 0;
+		for (int i = 0; i < weights.length; i++) {
+			if (weights[i] < 0) {
+				throw new IllegalArgumentException("Invalid day patterns.");
+			}
+			total += weights[i];
+		}
+		if (patterns.length != weights.length || total == 0) {
+			throw new IllegalArgumentException("Invalid day patterns.");
+		}
+		dayPatterns = patterns.clone();
+		dayWeights = weights.clone();
+	}
+
+	/**
+	 * Sets the share of the lines of a written catalog that are invalid.
+	 *
+	 * @param invalidRatio share of invalid lines, at least 0 and below 1
+	 * @throws IllegalArgumentException if out of range
+	 */
+	public void setInvalidRatio(double invalidRatio) {
+		if (!(invalidRatio >= 0 && invalidRatio < 1)) {
+			throw new IllegalArgumentException("Invalid ratio.");
+		}
+		this.invalidRatio = invalidRatio;
+	}
+
+	/**
+	 * Returns a catalog of the given number of sections.
+	 *
+	 * @param sections number of sections
+	 * @return synthetic catalog
+	 * @throws IllegalArgumentException if the departments cannot hold that many
+	 *                                  Courses
+	 */
+	public ArrayList<Course> generate(int sections) {
+		if ((long) departments * COURSES_PER_DEPARTMENT * sectionsPerCourse < sections) {
+			throw new IllegalArgumentException("Too many sections.");
+		}
+		Random random = new Random(seed);
+		int totalWeight = 0;
+		for (int w : dayWeights) {
+			totalWeight += w;
+		}
+		ArrayList<Course> catalog = new ArrayList<Course>(sections);
+		for (int i = 0; i < sections; i++) {
+			int course = i / sectionsPerCourse;
+			String name = department(course % departments) + " " + (100 + course / departments);
+			String section = String.format("%03d", i % sectionsPerCourse + 1);
+			String instructor = String.format("inst%03d", random.nextInt(instructors));
+			String days = drawDays(random.nextInt(totalWeight));
+			int credits = Course.MIN_CREDITS + random.nextInt(Course.MAX_CREDITS - Course.MIN_CREDITS + 1);
+			if ("A".equals(days)) {
+				catalog.add(new Course(name, "Course " + course, section, credits, instructor, days));
+			} else {
+				int start = 8 * 60 + 5 * random.nextInt(12 * 12);
+				int end = start + (random.nextBoolean() ? 50 : 75);
+				catalog.add(new Course(name, "Course " + course, section, credits, instructor, days,
+						start / 60 * 100 + start % 60, end / 60 * 100 + end % 60));
+			}
+		}
+		return catalog;
+	}
+
+	/**
+	 * Writes a course records file of the given number of valid sections, in
+	 * catalog order, with invalid lines mixed in at the invalid ratio.
+	 *
+	 * @param file     file to write
+	 * @param sections number of valid sections
+	 * @return number of invalid lines written
+	 * @throws IOException if the file cannot be written
+	 */
+	public int writeCatalog(File file, int sections) throws IOException {
+		ArrayList<Course> catalog = generate(sections);
+		Random random = new Random(~seed);
+		int invalid = 0;
+		try (PrintStream out = new PrintStream(file, "UTF-8")) {
+			for (int i = 0; i < catalog.size(); i++) {
+				while (invalidRatio > 0 && random.nextDouble() < invalidRatio) {
+					Course near = catalog.get(random.nextInt(i + 1));
+					out.println(invalidLine(near, random.nextInt(INVALID_KINDS), catalog, i, random));
+					invalid++;
+				}
+				out.println(catalog.get(i).toString());
+			}
+		}
+		return invalid;
+	}
+
+	/**
+	 * Writes Courses to a course records file, one Course.toString() per line.
+	 *
+	 * @param file    file to write
+	 * @param catalog Courses to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(File file, List<Course> catalog) throws IOException {
+		try (PrintStream out = new PrintStream(file, "UTF-8")) {
+			for (Course c : catalog) {
+				out.println(c.toString());
+			}
+		}
+	}
+
+	/**
+	 * Returns an invalid variant of a section's record.
+	 *
+	 * @param course  section to vary
+	 * @param kind    kind of invalid line
+	 * @param catalog sections being written
+	 * @param written number of sections already written
+	 * @param random  source of randomness
+	 * @return invalid line
+	 */
+	private static String invalidLine(Course course, int kind, List<Course> catalog, int written,
+			Random random) {
+		String[] fields = course.toString().split(",");
+		String timed = fields.length == 8 ? "," + fields[6] + "," + fields[7] : "";
+		String days = fields[5];
+		switch (kind) {
+		case 0:
+			fields[0] = fields[0].substring(0, fields[0].length() - 1);
+			break;
+		case 1:
+			fields[2] = fields[2].substring(1);
+			break;
+		case 2:
+			fields[3] = random.nextBoolean() ? "0" : String.valueOf(Course.MAX_CREDITS + 1);
+			break;
+		case 3:
+			fields[4] = "";
+			break;
+		case 4:
+			return join(fields, 5) + ",MX" + timed;
+		case 5:
+			return join(fields, 5) + "," + days + (timed.isEmpty() ? ",1000,900" : "," + fields[7] + "," + fields[6]);
+		case 6:
+			return join(fields, 5) + ",A,900,950";
+		case 7:
+			return join(fields, 4);
+		case 8:
+			return course.toString() + ",extra";
+		default:
+			if (written == 0) {
+				fields[3] = "three";
+				break;
+			}
+			return catalog.get(random.nextInt(written)).toString();
+		}
+		return String.join(",", fields);
+	}
+
+	/**
+	 * Joins the first fields of a record.
+	 *
+	 * @param fields record fields
+	 * @param count  number of fields to join
+	 * @return joined fields
+	 */
+	private static String join(String[] fields, int count) {
+		StringBuilder line = new StringBuilder(fields[0]);
+		for (int i = 1; i < count; i++) {
+			line.append(',').append(fields[i]);
+		}
+		return line.toString();
+	}
+
+	/**
+	 * Returns the day pattern a weighted draw lands on.
+	 *
+	 * @param draw random number below the total weight
+	 * @return meeting days string
+	 */
+	private String drawDays(int draw) {
+		int p = 0;
+		while (draw >= dayWeights[p]) {
+			draw -= dayWeights[p++];
+		}
+		return dayPatterns[p];
+	}
+
+	/**
+	 * Returns the letters of a department number: AA to ZZ, then BAA and so on.
+	 *
+	 * @param department department number
+	 * @return department letters
+	 */
+	private static String department(int department) {
+		StringBuilder letters = new StringBuilder();
+		int n = department;
+		do {
+			letters.insert(0, (char) ('A' + n % 26));
+			n /= 26;
+		} while (n > 0);
+		while (letters.length() < 2) {
+			letters.insert(0, 'A');
+		}
+		return letters.toString();
+	}
+}
@@ -0,0 +1,157 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.ConflictException;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.PipelinedCatalogLoader;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Benchmarks of the core operations over synthetic catalogs from 10^2 to 10^6
+ * sections, run with the Microbench harness:
+ *
+ * <ul>
+ * <li>load - CourseRecordIO.readCourseRecords() of a catalog file</li>
+ * <li>pipeload - PipelinedCatalogLoader.load() of the same file with the
+ * default tuning</li>
+ * <li>index - building a CourseCatalog and its indexes</li>
+ * <li>lookup - WolfScheduler.getCourseFromCatalog(), one in eight a miss</li>
+ * <li>conflict - Activity.checkConflict() of random pairs of sections</li>
+ * <li>export - ActivityRecordIO.writeActivityRecords() of the catalog</li>
+ * </ul>
+ *
+ * Options: -sizes 100,1000,... sets the catalog sizes, -wi and -i the warmup
+ * and measured iterations, -time the iteration length in milliseconds, and
+ * -prof alloc adds bytes allocated per operation. Any other arguments name the
+ * benchmarks to run; the default is all of them.
+ *
+ * @author symone
+ *
+ */
+public class CoreBenchmarks {
+
+	/** Benchmark names */
+	private static final List<String> BENCHMARKS = Arrays.asList("load", "pipeload", "index", "lookup", "conflict", "export");
+	/** Lookup keys and conflict pairs cycled through */
+	private static final int SAMPLES = 1024;
+	/** Seed of the synthetic catalogs */
+	private static final long SEED = 216;
+
+	/**
+	 * Runs the benchmarks.
+	 *
+	 * @param args options and benchmark names
+	 * @throws Exception if a benchmark fails
+	 */
+	public static void main(String[] args) throws Exception {
+		int[] sizes = { 100, 1_000, 10_000, 100_000, 1_000_000 };
+		int warmups = 3;
+		int iterations = 5;
+		long millis = 500;
+		boolean alloc = false;
+		ArrayList<String> selected = new ArrayList<String>();
+		for (int a = 0; a < args.length; a++) {
+			if ("-sizes".equals(args[a])) {
+				sizes = Arrays.stream(args[++a].split(",")).mapToInt(Integer::parseInt).toArray();
+			} else if ("-wi".equals(args[a])) {
+				warmups = Integer.parseInt(args[++a]);
+			} else if ("-i".equals(args[a])) {
+				iterations = Integer.parseInt(args[++a]);
+			} else if ("-time".equals(args[a])) {
+				millis = Long.parseLong(args[++a]);
+			} else if ("-prof".equals(args[a])) {
+				alloc = "alloc".equals(args[++a]);
+			} else if (BENCHMARKS.contains(args[a])) {
+				selected.add(args[a]);
+			} else {
+				throw new IllegalArgumentException("Unknown argument " + args[a]);
+			}
+		}
+		if (selected.isEmpty()) {
+			selected.addAll(BENCHMARKS);
+		}
+
+		Microbench harness = new Microbench(warmups, iterations, millis, alloc);
+		System.out.printf("%-10s %10s %16s %14s%s%n", "Benchmark", "sections", "ns/op", "error", alloc ? "      B/op" : "");
+		File file = File.createTempFile("catalog", ".txt");
+		File export = File.createTempFile("export", ".txt");
+		try {
+			for (int size : sizes) {
+				ArrayList<Course> courses = new CatalogGenerator(SEED).generate(size);
+				CatalogGenerator.write(file, courses);
+				for (String name : selected) {
+					Microbench.Result r = harness.measure(operation(name, courses, file, export));
+					System.out.printf("%-10s %10d %,16.1f %,14.1f%s%n", name, size, r.getNanosPerOp(), r.getError(),
+							alloc ? String.format(" %,10.0f", r.getBytesPerOp()) : "");
+				}
+			}
+		} finally {
+			Files.deleteIfExists(file.toPath());
+			Files.deleteIfExists(export.toPath());
+		}
+		System.out.println("(sink " + harness.getSink() + ")");
+	}
+
+	/**
+	 * Returns the operation of a benchmark over a catalog.
+	 *
+	 * @param name    benchmark name
+	 * @param courses catalog sections
+	 * @param file    course records file of the catalog
+	 * @param export  file to export to
+	 * @return operation to measure
+	 */
+	private static Microbench.Operation operation(String name, ArrayList<Course> courses, File file, File export) {
+		Random random = new Random(SEED);
+		switch (name) {
+		case "load":
+			return i -> CourseRecordIO.readCourseRecords(file.getPath()).size();
+		case "pipeload":
+			PipelinedCatalogLoader loader = new PipelinedCatalogLoader();
+			return i -> loader.load(file.getPath()).size();
+		case "index":
+			return i -> new CourseCatalog(courses).size();
+		case "lookup":
+			WolfScheduler scheduler = new WolfScheduler(new CourseCatalog(courses));
+			String[] names = new String[SAMPLES];
+			String[] sections = new String[SAMPLES];
+			for (int s = 0; s < SAMPLES; s++) {
+				Course c = courses.get(random.nextInt(courses.size()));
+				names[s] = c.getName();
+				sections[s] = s % 8 == 0 ? "999" : c.getSection();
+			}
+			return i -> scheduler.getCourseFromCatalog(names[i % SAMPLES], sections[i % SAMPLES]);
+		case "conflict":
+			Activity[] first = new Activity[SAMPLES];
+			Activity[] second = new Activity[SAMPLES];
+			for (int s = 0; s < SAMPLES; s++) {
+				first[s] = courses.get(random.nextInt(courses.size()));
+				second[s] = courses.get(random.nextInt(courses.size()));
+			}
+			return i -> {
+				try {
+					first[i % SAMPLES].checkConflict(second[i % SAMPLES]);
+					return Boolean.FALSE;
+				} catch (ConflictException e) {
+					return Boolean.TRUE;
+				}
+			};
+		default:
+			ArrayList<Activity> activities = new ArrayList<Activity>(courses);
+			return i -> {
+				ActivityRecordIO.writeActivityRecords(export.getPath(), activities);
+				return null;
+			};
+		}
+	}
+}
@@ -0,0 +1,201 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Small JMH-style measurement harness with no dependencies. Each benchmark is
+ * run for a number of warmup iterations, whose results are thrown away, then
+ * for a number of measured iterations of fixed length; the score is the mean
+ * time per operation over the measured iterations with its standard deviation.
+ * Operation results are folded into a sink so the JIT cannot remove the work.
+ *
+ * In allocation profile mode the bytes allocated by the measuring thread are
+ * read before and after each measured iteration, as JMH's gc profiler does,
+ * and reported per operation.
+ *
+ * @author symone
+ *
+ */
+public class Microbench {
+
+	/** Warmup iterations */
+	private final int warmups;
+	/** Measured iterations */
+	private final int iterations;
+	/** Length of each iteration in nanoseconds */
+	private final long iterationNanos;
+	/** Allocation counter of the JVM, or null if allocation is not profiled */
+	private final com.sun.management.ThreadMXBean allocation;
+	/** Results of every operation, folded together */
+	private long sink;
+
+	/**
+	 * One operation to measure.
+	 */
+	public interface Operation {
+
+		/**
+		 * Runs the operation once.
+		 *
+		 * @param invocation number of the invocation, for cycling through inputs
+		 * @return result of the operation, consumed by the harness
+		 * @throws Exception if the operation fails
+		 */
+		Object run(int invocation) throws Exception;
+	}
+
+	/**
+	 * Constructs a harness.
+	 *
+	 * @param warmups         warmup iterations
+	 * @param iterations      measured iterations
+	 * @param iterationMillis length of each iteration in milliseconds
+	 * @param profileAlloc    true to report bytes allocated per operation
+	 * @throws IllegalArgumentException if allocation is profiled but the JVM
+	 *                                  cannot count allocated bytes
+	 */
+	public Microbench(int warmups, int iterations, long iterationMillis, boolean profileAlloc) {
+		this.warmups = warmups;
+		this.iterations = iterations;
+		this.iterationNanos = iterationMillis * 1_000_000;
+		if (profileAlloc) {
+			java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+			if (!(threads instanceof com.sun.management.ThreadMXBean)
+					|| !((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+				throw new IllegalArgumentException("Allocation profiling is not supported.");
+			}
+			allocation = (com.sun.management.ThreadMXBean) threads;
+			allocation.setThreadAllocatedMemoryEnabled(true);
+		} else {
+			allocation = null;
+		}
+	}
+
+	/**
+	 * Measures an operation.
+	 *
+	 * @param operation operation to measure
+	 * @return time and allocation per operation
+	 * @throws Exception if the operation fails
+	 */
+	public Result measure(Operation operation) throws Exception {
+		int invocation = 0;
+		for (int w = 0; w < warmups; w++) {
+			invocation = iterate(operation, invocation, null);
+		}
+		double[] nanos = new double[iterations];
+		double bytes = 0;
+		long ops = 0;
+		for (int i = 0; i < iterations; i++) {
+			long[] counts = new long[3];
+			invocation = iterate(operation, invocation, counts);
+			nanos[i] = (double) counts[0] / counts[1];
+			bytes += counts[2];
+			ops += counts[1];
+		}
+		double mean = 0;
+		for (double n : nanos) {
+			mean += n / iterations;
+		}
+		double variance = 0;
+		for (double n : nanos) {
+			variance += (n - mean) * (n - mean) / Math.max(1, iterations - 1);
+		}
+		return new Result(mean, Math.sqrt(variance), allocation == null ? Double.NaN : bytes / ops);
+	}
+
+	/**
+	 * Returns the folded results so they stay observable.
+	 *
+	 * @return sink value
+	 */
+	public long getSink() {
+		return sink;
+	}
+
+	/**
+	 * Runs one iteration: at least one operation, then more until the iteration
+	 * length has passed.
+	 *
+	 * @param operation  operation to run
+	 * @param invocation number of the first invocation
+	 * @param counts     receives elapsed nanoseconds, operations and allocated
+	 *                   bytes, or null for a warmup
+	 * @return number of the next invocation
+	 * @throws Exception if the operation fails
+	 */
+	private int iterate(Operation operation, int invocation, long[] counts) throws Exception {
+		long thread = Thread.currentThread().getId();
+		long allocatedBefore = allocation == null ? 0 : allocation.getThreadAllocatedBytes(thread);
+		long start = System.nanoTime();
+		long elapsed;
+		long ops = 0;
+		long folded = 0;
+		do {
+			Object result = operation.run(invocation++);
+			folded = folded * 31 + (result == null ? 0 : result.hashCode());
+			ops++;
+			elapsed = System.nanoTime() - start;
+		} while (elapsed < iterationNanos);
+		sink += folded;
+		if (counts != null) {
+			counts[0] = elapsed;
+			counts[1] = ops;
+			counts[2] = allocation == null ? 0 : allocation.getThreadAllocatedBytes(thread) - allocatedBefore;
+		}
+		return invocation;
+	}
+
+	/**
+	 * Score of one benchmark.
+	 */
+	public static class Result {
+
+		/** Mean nanoseconds per operation */
+		private final double nanosPerOp;
+		/** Standard deviation of the nanoseconds per operation between iterations */
+		private final double error;
+		/** Bytes allocated per operation, or NaN if not profiled */
+		private final double bytesPerOp;
+
+		/**
+		 * Constructs a Result.
+		 *
+		 * @param nanosPerOp mean nanoseconds per operation
+		 * @param error      standard deviation between iterations
+		 * @param bytesPerOp bytes allocated per operation, or NaN
+		 */
+		Result(double nanosPerOp, double error, double bytesPerOp) {
+			this.nanosPerOp = nanosPerOp;
+			this.error = error;
+			this.bytesPerOp = bytesPerOp;
+		}
+
+		/**
+		 * Returns the mean nanoseconds per operation.
+		 *
+		 * @return nanoseconds per operation
+		 */
+		public double getNanosPerOp() {
+			return nanosPerOp;
+		}
+
+		/**
+		 * Returns the standard deviation between iterations.
+		 *
+		 * @return error in nanoseconds per operation
+		 */
+		public double getError() {
+			return error;
+		}
+
+		/**
+		 * Returns the bytes allocated per operation.
+		 *
+		 * @return bytes per operation, or NaN if not profiled
+		 */
+		public double getBytesPerOp() {
+			return bytesPerOp;
+		}
+	}
+}
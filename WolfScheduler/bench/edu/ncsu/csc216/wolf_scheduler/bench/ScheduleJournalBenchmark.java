@@ -0,0 +1,78 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleJournal;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.SessionRegistry;
+
+/**
+ * Times journaled schedule mutations and recovery. Runs a number of threads,
+ * each a different student adding, retitling and removing a Course in a loop
+ * through a journaled SessionRegistry, then prints the mutation rate, how many
+ * records each fsync covered, and how long a fresh registry takes to recover.
+ *
+ * Arguments, all optional: threads (default 64), rounds per thread (default
+ * 200), catalog file (default test-files/course_records.txt).
+ *
+ * @author symone
+ *
+ */
+public class ScheduleJournalBenchmark {
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args threads, rounds and catalog file
+	 * @throws Exception if the journal cannot be written
+	 */
+	public static void main(String[] args) throws Exception {
+		int threads = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+		CourseCatalog catalog = CourseCatalog.load(args.length > 2 ? args[2] : "test-files/course_records.txt");
+		File directory = Files.createTempDirectory("journal").toFile();
+
+		SessionRegistry registry = new SessionRegistry(catalog);
+		ScheduleJournal journal = ScheduleJournal.open(directory, registry, 0);
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		long start = System.nanoTime();
+		List<Future<?>> done = new ArrayList<Future<?>>();
+		for (int t = 0; t < threads; t++) {
+			final String student = "student" + t;
+			done.add(pool.submit(() -> {
+				for (int r = 0; r < rounds; r++) {
+					registry.addCourse(student, catalog.get(r % catalog.size()).getName(),
+							catalog.get(r % catalog.size()).getSection());
+					registry.setScheduleTitle(student, "Round " + r);
+					registry.removeActivity(student, 0);
+				}
+				return null;
+			}));
+		}
+		for (Future<?> f : done) {
+			f.get();
+		}
+		long elapsed = System.nanoTime() - start;
+		pool.shutdown();
+		long records = journal.getRecordCount();
+		long batches = journal.getBatchCount();
+		journal.close();
+		System.out.printf("threads %d: %d mutations in %.1f ms, %.0f/s, %d fsyncs (%.1f records each)%n", threads,
+				records, elapsed / 1e6, records / (elapsed / 1e9), batches, (double) records / batches);
+
+		start = System.nanoTime();
+		ScheduleJournal.open(directory, new SessionRegistry(catalog), 0).close();
+		System.out.printf("recovery: %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+		for (File f : directory.listFiles()) {
+			Files.delete(f.toPath());
+		}
+		Files.delete(directory.toPath());
+	}
+}
@@ -0,0 +1,82 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleGenerator;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleOptimizer;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleScorer;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleScorers;
+
+/**
+ * Times the ScheduleOptimizer against a synthetic catalog of 5,000 sections
+ * (250 Courses with 20 sections each). Run with no arguments; prints the time
+ * taken by each scorer to find the 10 best schedules for 6 Courses, and the
+ * time taken to merely list the first million combinations for comparison.
+ *
+ * @author symone
+ *
+ */
+public class ScheduleOptimizerBenchmark {
+
+	/** Number of Courses in the catalog */
+	private static final int COURSES = 250;
+	/** Number of sections of each Course */
+	private static final int SECTIONS = 20;
+	/** Number of Courses in each schedule */
+	private static final int WANTED = 6;
+	/** Number of best schedules to find */
+	private static final int BEST = 10;
+	/** Number of timed runs of each scorer */
+	private static final int RUNS = 3;
+	/** Meeting day patterns used by the synthetic catalog */
+	private static final String[] DAY_PATTERNS = { "MW", "TH", "MWF", "M", "T", "W", "H", "F" };
+	/** Instructors of the synthetic catalog */
+	private static final int INSTRUCTORS = 400;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args not used
+	 */
+	public static void main(String[] args) {
+		CatalogGenerator catalogGenerator = new CatalogGenerator(216);
+		catalogGenerator.setDepartments(3);
+		catalogGenerator.setSectionsPerCourse(SECTIONS);
+		catalogGenerator.setInstructors(INSTRUCTORS);
+		catalogGenerator.setDayPatterns(DAY_PATTERNS, new int[] { 1, 1, 1, 1, 1, 1, 1, 1 });
+		ArrayList<Course> catalog = catalogGenerator.generate(COURSES * SECTIONS);
+		String[] names = new String[WANTED];
+		for (int i = 0; i < WANTED; i++) {
+			names[i] = catalog.get(i * SECTIONS * (COURSES / WANTED)).getName();
+		}
+		System.out.println("catalog sections: " + catalog.size() + ", wanted: " + Arrays.toString(names));
+
+		ScheduleGenerator generator = new ScheduleGenerator(catalog, names);
+		long start = System.nanoTime();
+		int listed = generator.generate(1_000_000).size();
+		System.out.printf("list first %d combinations: %.1f ms%n", listed, (System.nanoTime() - start) / 1e6);
+
+		String[] labels = { "days on campus", "idle minutes", "starting before 10:00", "preferred instructors",
+				"weighted days + idle" };
+		ScheduleScorer[] scorers = { ScheduleScorers.daysOnCampus(), ScheduleScorers.idleMinutes(),
+				ScheduleScorers.startingBefore(1000),
+				ScheduleScorers.preferredInstructors(Arrays.asList("inst001", "inst002", "inst003")),
+				ScheduleScorers.weighted(new double[] { 60, 1 }, ScheduleScorers.daysOnCampus(),
+						ScheduleScorers.idleMinutes()) };
+		for (int s = 0; s < scorers.length; s++) {
+			ScheduleOptimizer optimizer = new ScheduleOptimizer(generator, scorers[s]);
+			optimizer.best(BEST); // warm up
+			long best = Long.MAX_VALUE;
+			double bestScore = 0;
+			for (int r = 0; r < RUNS; r++) {
+				start = System.nanoTime();
+				ArrayList<Course[]> result = optimizer.best(BEST);
+				best = Math.min(best, System.nanoTime() - start);
+				bestScore = result.isEmpty() ? Double.NaN : scorers[s].score(result.get(0));
+			}
+			System.out.printf("best %d by %s: %.1f ms (top score %.1f)%n", BEST, labels[s], best / 1e6, bestScore);
+		}
+	}
+}
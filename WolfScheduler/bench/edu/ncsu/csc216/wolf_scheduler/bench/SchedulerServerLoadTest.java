@@ -0,0 +1,197 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.catalog.SeatLedger;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.SessionRegistry;
+import edu.ncsu.csc216.wolf_scheduler.server.SchedulerServer;
+
+/**
+ * Load test of the SchedulerServer. Starts a server on a free local port and
+ * runs many concurrent clients, each a different student doing a search, an
+ * add, a schedule read and a remove in a loop. Prints the throughput and the
+ * p50, p99 and maximum request latency.
+ *
+ * Arguments, all optional: clients (default 2000), rounds per client (default
+ * 5), catalog file (default test-files/course_records.txt). Clients run on
+ * virtual threads when the JDK has them, otherwise on a fixed pool.
+ *
+ * @author symone
+ *
+ */
+public class SchedulerServerLoadTest {
+
+	/** Platform threads used for clients when there are no virtual threads */
+	private static final int CLIENT_THREADS = 200;
+	/** Seats in each section */
+	private static final int CAPACITY = 100_000;
+
+	/**
+	 * Runs the load test.
+	 *
+	 * @param args clients, rounds and catalog file
+	 * @throws Exception if the server cannot start or a client fails
+	 */
+	public static void main(String[] args) throws Exception {
+		int clients = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+		String file = args.length > 2 ? args[2] : "test-files/course_records.txt";
+
+		CourseCatalog catalog = load(file);
+		SchedulerServer server = new SchedulerServer(new SessionRegistry(catalog, new SeatLedger(CAPACITY)), 0);
+		server.start();
+		String base = "http://localhost:" + server.getPort();
+		System.out.println("catalog sections: " + catalog.size() + ", clients: " + clients + ", rounds: " + rounds
+				+ ", server virtual threads: " + server.isVirtual());
+
+		ExecutorService pool = newClientExecutor();
+		HttpClient http = HttpClient.newHttpClient();
+		long[][] latencies = new long[clients][];
+		AtomicInteger failures = new AtomicInteger();
+		long start = System.nanoTime();
+		List<Future<?>> done = new ArrayList<Future<?>>();
+		for (int c = 0; c < clients; c++) {
+			final int client = c;
+			done.add(pool.submit(() -> {
+				latencies[client] = runClient(http, base, catalog, client, rounds, failures);
+				return null;
+			}));
+		}
+		for (Future<?> f : done) {
+			f.get();
+		}
+		long elapsed = System.nanoTime() - start;
+		pool.shutdown();
+		server.stop();
+
+		int total = 0;
+		for (long[] l : latencies) {
+			total += l.length;
+		}
+		long[] all = new long[total];
+		int pos = 0;
+		for (long[] l : latencies) {
+			System.arraycopy(l, 0, all, pos, l.length);
+			pos += l.length;
+		}
+		Arrays.sort(all);
+		System.out.printf("requests: %d in %.1f s, %.0f req/s, unexpected responses: %d%n", total, elapsed / 1e9,
+				total / (elapsed / 1e9), failures.get());
+		System.out.printf("latency p50 %.2f ms, p99 %.2f ms, max %.2f ms%n", percentile(all, 50) / 1e6,
+				percentile(all, 99) / 1e6, all[all.length - 1] / 1e6);
+	}
+
+	/**
+	 * Runs one client and returns the latency of each request it made.
+	 *
+	 * @param http     shared HTTP client
+	 * @param base     server URL
+	 * @param catalog  catalog to pick sections from
+	 * @param client   client number, used as the student id
+	 * @param rounds   number of search, add, read, remove rounds
+	 * @param failures count of responses with an unexpected status
+	 * @return request latencies in nanoseconds
+	 * @throws IOException          if a request fails
+	 * @throws InterruptedException if interrupted
+	 */
+	private static long[] runClient(HttpClient http, String base, CourseCatalog catalog, int client, int rounds,
+			AtomicInteger failures) throws IOException, InterruptedException {
+		long[] latencies = new long[rounds * 4];
+		int n = 0;
+		String student = "student" + client;
+		for (int r = 0; r < rounds; r++) {
+			Course c = catalog.get((client * 31 + r) % catalog.size());
+			String name = URLEncoder.encode(c.getName(), StandardCharsets.UTF_8);
+			latencies[n++] = time(http, "GET",
+					base + "/catalog/search?limit=10&prefix=" + URLEncoder.encode(c.getName().substring(0, 4),
+							StandardCharsets.UTF_8), 200, failures);
+			latencies[n++] = time(http, "POST",
+					base + "/schedule/add?student=" + student + "&name=" + name + "&section=" + c.getSection(), 200,
+					failures);
+			latencies[n++] = time(http, "GET", base + "/schedule?student=" + student, 200, failures);
+			latencies[n++] = time(http, "POST", base + "/schedule/remove?student=" + student + "&index=0", 200,
+					failures);
+		}
+		return latencies;
+	}
+
+	/**
+	 * Sends one request and returns how long it took.
+	 *
+	 * @param http     shared HTTP client
+	 * @param method   HTTP method
+	 * @param url      request URL
+	 * @param expected expected status code
+	 * @param failures count of responses with an unexpected status
+	 * @return latency in nanoseconds
+	 * @throws IOException          if the request fails
+	 * @throws InterruptedException if interrupted
+	 */
+	private static long time(HttpClient http, String method, String url, int expected, AtomicInteger failures)
+			throws IOException, InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+				.method(method, HttpRequest.BodyPublishers.noBody()).build();
+		long start = System.nanoTime();
+		HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+		long elapsed = System.nanoTime() - start;
+		if (response.statusCode() != expected) {
+			failures.incrementAndGet();
+		}
+		return elapsed;
+	}
+
+	/**
+	 * Returns the given percentile of sorted values.
+	 *
+	 * @param sorted values in ascending order
+	 * @param p      percentile, 0 to 100
+	 * @return value at the percentile
+	 */
+	private static long percentile(long[] sorted, int p) {
+		int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+	}
+
+	/**
+	 * Returns an executor for the clients, using virtual threads if available.
+	 *
+	 * @return client executor
+	 */
+	private static ExecutorService newClientExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newFixedThreadPool(CLIENT_THREADS);
+		}
+	}
+
+	/**
+	 * Loads the catalog.
+	 *
+	 * @param file course records file
+	 * @return the catalog
+	 */
+	private static CourseCatalog load(String file) {
+		try {
+			return CourseCatalog.load(file);
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("Cannot find file " + file);
+		}
+	}
+}
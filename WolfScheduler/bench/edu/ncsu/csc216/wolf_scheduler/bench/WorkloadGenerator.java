@@ -0,0 +1,357 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Scanner;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.SessionRegistry;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Generates add and remove workloads over a catalog for replay against
+ * WolfScheduler sessions, the same for the same seed and settings. Each
+ * operation belongs to a random student; adds pick a random catalog section,
+ * or at the miss ratio a section that is not in the catalog, and removes pick
+ * a random index of a typical schedule, which may be past its end.
+ *
+ * Workload files have one operation per line: "student,add,name,section" or
+ * "student,remove,index".
+ *
+ * Run as a program it generates a catalog and a workload, replays it and
+ * prints the outcomes and the time taken. Arguments, all optional: sections
+ * (default 100000), students (default 1000), operations (default 1000000),
+ * and a directory to write catalog.txt and workload.txt to.
+ *
+ * @author symone
+ *
+ */
+public class WorkloadGenerator {
+
+	/** Removal indexes are drawn below this typical schedule size */
+	private static final int SCHEDULE_SIZE = 6;
+	/** Section that no generated catalog has */
+	private static final String MISSING_SECTION = "000";
+
+	/** Seed of the random source */
+	private final long seed;
+	/** Sections to add */
+	private final List<Course> catalog;
+	/** Number of students */
+	private int students = 100;
+	/** Share of operations that are removes */
+	private double removeRatio = 0.3;
+	/** Share of adds of a section not in the catalog */
+	private double missRatio = 0.05;
+
+	/**
+	 * Constructs a generator over a catalog with the given seed and default
+	 * settings: 100 students, 30% removes and 5% of adds missing the catalog.
+	 *
+	 * @param seed    random seed
+	 * @param catalog sections to add
+	 * @throws IllegalArgumentException if the catalog is empty
+	 */
+	public WorkloadGenerator(long seed, List<Course> catalog) {
+		if (catalog.isEmpty()) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		this.seed = seed;
+		this.catalog = catalog;
+	}
+
+	/**
+	 * Sets the number of students.
+	 *
+	 * @param students number of students, at least 1
+	 * @throws IllegalArgumentException if students is less than 1
+	 */
+	public void setStudents(int students) {
+		if (students < 1) {
+			throw new IllegalArgumentException("Invalid students.");
+		}
+		this.students = students;
+	}
+
+	/**
+	 * Sets the share of operations that are removes.
+	 *
+	 * @param removeRatio share of removes, 0 to 1
+	 * @throws IllegalArgumentException if out of range
+	 */
+	public void setRemoveRatio(double removeRatio) {
+		if (!(removeRatio >= 0 && removeRatio <= 1)) {
+			throw new IllegalArgumentException("Invalid ratio.");
+		}
+		this.removeRatio = removeRatio;
+	}
+
+	/**
+	 * Sets the share of adds of a section that is not in the catalog.
+	 *
+	 * @param missRatio share of missing adds, 0 to 1
+	 * @throws IllegalArgumentException if out of range
+	 */
+	public void setMissRatio(double missRatio) {
+		if (!(missRatio >= 0 && missRatio <= 1)) {
+			throw new IllegalArgumentException("Invalid ratio.");
+		}
+		this.missRatio = missRatio;
+	}
+
+	/**
+	 * Returns a workload of the given number of operations.
+	 *
+	 * @param operations number of operations
+	 * @return operations in order
+	 */
+	public ArrayList<Operation> generate(int operations) {
+		Random random = new Random(seed);
+		ArrayList<Operation> workload = new ArrayList<Operation>(operations);
+		for (int i = 0; i < operations; i++) {
+			String student = "student" + random.nextInt(students);
+			if (random.nextDouble() < removeRatio) {
+				workload.add(new Operation(student, null, null, random.nextInt(SCHEDULE_SIZE)));
+			} else {
+				Course c = catalog.get(random.nextInt(catalog.size()));
+				String section = random.nextDouble() < missRatio ? MISSING_SECTION : c.getSection();
+				workload.add(new Operation(student, c.getName(), section, -1));
+			}
+		}
+		return workload;
+	}
+
+	/**
+	 * Writes a workload file.
+	 *
+	 * @param file     file to write
+	 * @param workload operations to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(File file, List<Operation> workload) throws IOException {
+		try (PrintStream out = new PrintStream(file, "UTF-8")) {
+			for (Operation op : workload) {
+				out.println(op.toString());
+			}
+		}
+	}
+
+	/**
+	 * Reads a workload file.
+	 *
+	 * @param file file to read
+	 * @return operations in order
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if a line is not an operation
+	 */
+	public static ArrayList<Operation> read(File file) throws IOException {
+		ArrayList<Operation> workload = new ArrayList<Operation>();
+		try (Scanner in = new Scanner(new FileInputStream(file), "UTF-8")) {
+			while (in.hasNextLine()) {
+				workload.add(Operation.parse(in.nextLine()));
+			}
+		}
+		return workload;
+	}
+
+	/**
+	 * Replays a workload against the WolfScheduler sessions of a registry, calling
+	 * the sessions directly.
+	 *
+	 * @param workload operations to replay
+	 * @param registry sessions to replay against
+	 * @return outcome counts
+	 */
+	public static Outcomes replay(List<Operation> workload, SessionRegistry registry) {
+		Outcomes outcomes = new Outcomes();
+		for (Operation op : workload) {
+			WolfScheduler session = registry.getSession(op.student);
+			if (op.name == null) {
+				if (session.removeActivityFromSchedule(op.index)) {
+					outcomes.removed++;
+				} else {
+					outcomes.missedRemoves++;
+				}
+			} else {
+				try {
+					if (session.addCourseToSchedule(op.name, op.section)) {
+						outcomes.added++;
+					} else {
+						outcomes.notFound++;
+					}
+				} catch (IllegalArgumentException e) {
+					outcomes.rejected++;
+				}
+			}
+		}
+		return outcomes;
+	}
+
+	/**
+	 * Generates and replays a workload.
+	 *
+	 * @param args sections, students, operations and output directory
+	 * @throws IOException if the files cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		int sections = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		int students = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		int operations = args.length > 2 ? Integer.parseInt(args[2]) : 1_000_000;
+		ArrayList<Course> courses = new CatalogGenerator(216).generate(sections);
+		WorkloadGenerator generator = new WorkloadGenerator(216, courses);
+		generator.setStudents(students);
+		ArrayList<Operation> workload = generator.generate(operations);
+		if (args.length > 3) {
+			CatalogGenerator.write(new File(args[3], "catalog.txt"), courses);
+			write(new File(args[3], "workload.txt"), workload);
+		}
+
+		long start = System.nanoTime();
+		Outcomes outcomes = replay(workload, new SessionRegistry(new CourseCatalog(courses)));
+		long elapsed = System.nanoTime() - start;
+		System.out.printf("%d operations for %d students over %d sections in %.1f ms, %.0f ops/s%n", operations,
+				students, sections, elapsed / 1e6, operations / (elapsed / 1e9));
+		System.out.println(outcomes);
+	}
+
+	/**
+	 * One add or remove of a workload.
+	 */
+	public static class Operation {
+
+		/** Student id */
+		private final String student;
+		/** Course name to add, or null for a remove */
+		private final String name;
+		/** Course section to add, or null for a remove */
+		private final String section;
+		/** Index to remove, or -1 for an add */
+		private final int index;
+
+		/**
+		 * Constructs an Operation.
+		 *
+		 * @param student student id
+		 * @param name    Course name to add, or null for a remove
+		 * @param section Course section to add, or null for a remove
+		 * @param index   index to remove, or -1 for an add
+		 */
+		Operation(String student, String name, String section, int index) {
+			this.student = student;
+			this.name = name;
+			this.section = section;
+			this.index = index;
+		}
+
+		/**
+		 * Parses a workload line.
+		 *
+		 * @param line workload line
+		 * @return the operation
+		 * @throws IllegalArgumentException if the line is not an operation
+		 */
+		static Operation parse(String line) {
+			String[] fields = line.split(",");
+			try {
+				if (fields.length == 4 && "add".equals(fields[1])) {
+					return new Operation(fields[0], fields[2], fields[3], -1);
+				}
+				if (fields.length == 3 && "remove".equals(fields[1])) {
+					return new Operation(fields[0], null, null, Integer.parseInt(fields[2]));
+				}
+			} catch (NumberFormatException e) {
+				// Reported below
+			}
+			throw new IllegalArgumentException("Invalid operation.");
+		}
+
+		/**
+		 * Returns the workload line of the operation.
+		 *
+		 * @return workload line
+		 */
+		@Override
+		public String toString() {
+			return name == null ? student + ",remove," + index : student + ",add," + name + "," + section;
+		}
+	}
+
+	/**
+	 * Counts of the outcomes of a replay.
+	 */
+	public static class Outcomes {
+
+		/** Courses added */
+		private int added;
+		/** Adds refused as duplicates, conflicts or full sections */
+		private int rejected;
+		/** Adds of sections not in the catalog */
+		private int notFound;
+		/** Activities removed */
+		private int removed;
+		/** Removes past the end of the schedule */
+		private int missedRemoves;
+
+		/**
+		 * Returns the number of Courses added.
+		 *
+		 * @return added Courses
+		 */
+		public int getAdded() {
+			return added;
+		}
+
+		/**
+		 * Returns the number of adds refused.
+		 *
+		 * @return refused adds
+		 */
+		public int getRejected() {
+			return rejected;
+		}
+
+		/**
+		 * Returns the number of adds of sections not in the catalog.
+		 *
+		 * @return adds not found
+		 */
+		public int getNotFound() {
+			return notFound;
+		}
+
+		/**
+		 * Returns the number of Activities removed.
+		 *
+		 * @return removed Activities
+		 */
+		public int getRemoved() {
+			return removed;
+		}
+
+		/**
+		 * Returns the number of removes past the end of the schedule.
+		 *
+		 * @return missed removes
+		 */
+		public int getMissedRemoves() {
+			return missedRemoves;
+		}
+
+		/**
+		 * Returns the counts on one line.
+		 *
+		 * @return summary
+		 */
+		@Override
+		public String toString() {
+			return "added " + added + ", rejected " + rejected + ", not found " + notFound + ", removed " + removed
+					+ ", missed removes " + missedRemoves;
+		}
+	}
+}
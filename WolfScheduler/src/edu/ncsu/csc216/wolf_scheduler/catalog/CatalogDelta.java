@@ -0,0 +1,155 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.io.FileNotFoundException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Scanner;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Set of changes to a CourseCatalog keyed by name and section: sections to add
+ * or update, and sections to delete. A later change to the same section
+ * replaces an earlier one. Applied with CourseCatalog.apply().
+ * 
+ * In a delta file each line is one change:
+ * 
+ * <pre>
+ * +CSC 333,Theory of Computation,001,3,tmbarnes,MW,1500,1615
+ * ~CSC 230,C and Software Tools,001,3,dbsturgi,TH,1145,1300
+ * -CSC 216,002
+ * </pre>
+ * 
+ * "+" adds a section and "~" updates one, each followed by a Course record as
+ * in a course records file; either replaces a section that is already in the
+ * catalog and adds one that is not. "-" deletes the section with the given
+ * name and section. Blank lines and lines starting with "#" are ignored;
+ * invalid lines are skipped and counted.
+ *
+ * @author symone
+ *
+ */
+public class CatalogDelta {
+
+	/** New version of each changed section, or null if deleted, by key */
+	private final LinkedHashMap<String, Course> changes = new LinkedHashMap<String, Course>();
+	/** Number of invalid lines skipped when reading */
+	private int skipped;
+
+	/**
+	 * Reads a CatalogDelta from a delta file, which may be gzip compressed.
+	 *
+	 * @param fileName file to read changes from
+	 * @return changes of the valid lines
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static CatalogDelta load(String fileName) throws FileNotFoundException {
+		CatalogDelta delta = new CatalogDelta();
+		Scanner fileReader = new Scanner(CourseRecordIO.openRecords(fileName));
+		while (fileReader.hasNextLine()) {
+			String line = fileReader.nextLine();
+			if (line.isBlank() || line.startsWith("#")) {
+				continue;
+			}
+			try {
+				char op = line.charAt(0);
+				if (op == '+' || op == '~') {
+					delta.put(CourseRecordIO.parseCourseRecord(line.substring(1)));
+				} else if (op == '-') {
+					int comma = line.lastIndexOf(',');
+					if (comma < 0) {
+						throw new IllegalArgumentException();
+					}
+					delta.remove(line.substring(1, comma), line.substring(comma + 1));
+				} else {
+					throw new IllegalArgumentException();
+				}
+			} catch (IllegalArgumentException e) {
+				delta.skipped++;
+			}
+		}
+		fileReader.close();
+		return delta;
+	}
+
+	/**
+	 * Adds the section, or updates it if the catalog already has one with the
+	 * same name and section.
+	 *
+	 * @param course new version of the section
+	 * @throws IllegalArgumentException if course is null
+	 */
+	public void put(Course course) {
+		if (course == null) {
+			throw new IllegalArgumentException("Invalid course.");
+		}
+		changes.put(key(course.getName(), course.getSection()), course);
+	}
+
+	/**
+	 * Deletes the section with the given name and section. Deleting a section
+	 * that is not in the catalog has no effect.
+	 *
+	 * @param name    Course name
+	 * @param section Course section
+	 * @throws IllegalArgumentException if name or section is null or empty
+	 */
+	public void remove(String name, String section) {
+		if (name == null || name.isEmpty() || section == null || section.isEmpty()) {
+			throw new IllegalArgumentException("Invalid course.");
+		}
+		changes.put(key(name, section), null);
+	}
+
+	/**
+	 * Returns the number of sections changed.
+	 *
+	 * @return number of changes
+	 */
+	public int size() {
+		return changes.size();
+	}
+
+	/**
+	 * Returns the number of invalid lines skipped when the delta was read.
+	 *
+	 * @return skipped lines
+	 */
+	public int getSkipped() {
+		return skipped;
+	}
+
+	/**
+	 * Returns the changes in the order their sections were first changed: the
+	 * new version of each section, or null if it is deleted, by key.
+	 *
+	 * @return changes by key
+	 */
+	Map<String, Course> getChanges() {
+		return Collections.unmodifiableMap(changes);
+	}
+
+	/**
+	 * Returns the lookup key for a name and section.
+	 *
+	 * @param name    Course name
+	 * @param section Course section
+	 * @return lookup key
+	 */
+	static String key(String name, String section) {
+		return name + "," + section;
+	}
+
+	/**
+	 * Returns the name and section of a lookup key.
+	 *
+	 * @param key lookup key
+	 * @return name and section
+	 */
+	static String[] split(String key) {
+		int comma = key.lastIndexOf(',');
+		return new String[] { key.substring(0, comma), key.substring(comma + 1) };
+	}
+}
@@ -0,0 +1,166 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Differences between two versions of a CourseCatalog, by name and section.
+ * A section is changed when it is in both versions but any of its fields
+ * differ.
+ *
+ * @author symone
+ *
+ */
+public class CatalogDiff {
+
+	/** Sections only in the new catalog */
+	private final ArrayList<Course> added = new ArrayList<Course>();
+	/** Sections only in the old catalog */
+	private final ArrayList<Course> removed = new ArrayList<Course>();
+	/** New versions of sections whose fields changed */
+	private final ArrayList<Course> changed = new ArrayList<Course>();
+	/** Name and section keys of the removed and changed sections */
+	private final HashSet<String> affected = new HashSet<String>();
+
+	/**
+	 * Constructs an empty CatalogDiff, to be filled with include().
+	 */
+	CatalogDiff() {
+		// Nothing changed yet
+	}
+
+	/**
+	 * Compares two catalogs. Runs in time linear in their sizes.
+	 *
+	 * @param oldCatalog catalog being replaced
+	 * @param newCatalog catalog replacing it
+	 */
+	public CatalogDiff(CourseCatalog oldCatalog, CourseCatalog newCatalog) {
+		for (Course c : newCatalog.getCourses()) {
+			Course before = oldCatalog.getCourse(c.getName(), c.getSection());
+			if (before == null) {
+				added.add(c);
+			} else if (!before.toString().equals(c.toString())) {
+				changed.add(c);
+				affected.add(key(c));
+			}
+		}
+		for (Course c : oldCatalog.getCourses()) {
+			if (newCatalog.getCourse(c.getName(), c.getSection()) == null) {
+				removed.add(c);
+				affected.add(key(c));
+			}
+		}
+	}
+
+	/**
+	 * Describes what applying a delta to a catalog changes. Runs in time linear
+	 * in the size of the delta. Changes that leave a section as it was, and
+	 * deletions of sections not in the catalog, are not differences.
+	 *
+	 * @param oldCatalog catalog the delta is applied to
+	 * @param delta      changes to apply
+	 */
+	CatalogDiff(CourseCatalog oldCatalog, CatalogDelta delta) {
+		for (Map.Entry<String, Course> change : delta.getChanges().entrySet()) {
+			String[] nameAndSection = CatalogDelta.split(change.getKey());
+			Course before = oldCatalog.getCourse(nameAndSection[0], nameAndSection[1]);
+			Course c = change.getValue();
+			if (c == null) {
+				if (before != null) {
+					removed.add(before);
+					affected.add(key(before));
+				}
+			} else if (before == null) {
+				added.add(c);
+			} else if (!before.toString().equals(c.toString())) {
+				changed.add(c);
+				affected.add(key(c));
+			}
+		}
+	}
+
+	/**
+	 * Adds the differences of another part of the catalog, such as another
+	 * department of a ShardedCatalog.
+	 *
+	 * @param other differences to add
+	 */
+	void include(CatalogDiff other) {
+		added.addAll(other.added);
+		removed.addAll(other.removed);
+		changed.addAll(other.changed);
+		affected.addAll(other.affected);
+	}
+
+	/**
+	 * Returns the sections only in the new catalog, in its order.
+	 *
+	 * @return added sections
+	 */
+	public ArrayList<Course> getAdded() {
+		return added;
+	}
+
+	/**
+	 * Returns the sections only in the old catalog, in its order.
+	 *
+	 * @return removed sections
+	 */
+	public ArrayList<Course> getRemoved() {
+		return removed;
+	}
+
+	/**
+	 * Returns the new versions of the sections whose fields changed, in the new
+	 * catalog's order.
+	 *
+	 * @return changed sections
+	 */
+	public ArrayList<Course> getChanged() {
+		return changed;
+	}
+
+	/**
+	 * Returns true if the given section was removed or changed, meaning a
+	 * schedule holding the old version no longer matches the catalog.
+	 *
+	 * @param course section from the old catalog
+	 * @return true if removed or changed
+	 */
+	public boolean affects(Course course) {
+		return affected.contains(key(course));
+	}
+
+	/**
+	 * Returns true if the catalogs have the same sections.
+	 *
+	 * @return true if nothing changed
+	 */
+	public boolean isEmpty() {
+		return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+	}
+
+	/**
+	 * Returns the lookup key of a section.
+	 *
+	 * @param course section
+	 * @return name and section key
+	 */
+	private static String key(Course course) {
+		return course.getName() + "," + course.getSection();
+	}
+
+	/**
+	 * Returns a one line summary of the counts.
+	 *
+	 * @return summary
+	 */
+	@Override
+	public String toString() {
+		return "added " + added.size() + ", removed " + removed.size() + ", changed " + changed.size();
+	}
+}
@@ -0,0 +1,76 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Current version of the shared CourseCatalog. Readers call get() once per
+ * operation and work on that immutable catalog, so a swap never disturbs a
+ * lookup already in progress; the next call simply sees the new version.
+ *
+ * @author symone
+ *
+ */
+public class CatalogHolder {
+
+	/** Current catalog */
+	private final AtomicReference<CourseCatalog> current;
+
+	/**
+	 * Constructs a CatalogHolder with the given catalog.
+	 *
+	 * @param catalog initial catalog
+	 * @throws IllegalArgumentException if catalog is null
+	 */
+	public CatalogHolder(CourseCatalog catalog) {
+		if (catalog == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		current = new AtomicReference<CourseCatalog>(catalog);
+	}
+
+	/**
+	 * Returns the current catalog.
+	 *
+	 * @return current catalog
+	 */
+	public CourseCatalog get() {
+		return current.get();
+	}
+
+	/**
+	 * Replaces the current catalog and returns how it differs from the one it
+	 * replaced.
+	 *
+	 * @param catalog new catalog
+	 * @return differences from the replaced catalog
+	 * @throws IllegalArgumentException if catalog is null
+	 */
+	public CatalogDiff swap(CourseCatalog catalog) {
+		if (catalog == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		return new CatalogDiff(current.getAndSet(catalog), catalog);
+	}
+
+	/**
+	 * Applies a delta to the current catalog and returns what it changed. If
+	 * another thread replaces the catalog meanwhile, the delta is applied again
+	 * to the newer version.
+	 *
+	 * @param delta changes to apply
+	 * @return differences from the replaced catalog
+	 * @throws IllegalArgumentException if delta is null
+	 */
+	public CatalogDiff apply(CatalogDelta delta) {
+		if (delta == null) {
+			throw new IllegalArgumentException("Invalid delta.");
+		}
+		while (true) {
+			CourseCatalog before = current.get();
+			CourseCatalog after = before.apply(delta);
+			if (current.compareAndSet(before, after)) {
+				return new CatalogDiff(before, delta);
+			}
+		}
+	}
+}
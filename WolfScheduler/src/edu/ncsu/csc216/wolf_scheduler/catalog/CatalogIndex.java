@@ -0,0 +1,245 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.WeekMask;
+
+/**
+ * Indexes of the catalog by name and section, instructor, meeting days,
+ * credits and start time. Sections are identified by their catalog position
+ * and each attribute value maps to the BitSet of positions that have it, so a
+ * CatalogQuery is answered by AND-ing a few BitSets, starting from the
+ * smallest. Start times are kept as positions sorted by start minute and
+ * searched with binary search.
+ *
+ * @author symone
+ *
+ */
+public final class CatalogIndex {
+
+	/** Catalog sections, by position */
+	private final Course[] courses;
+	/** Position of each section keyed by name and section */
+	private final HashMap<String, Integer> byNameAndSection = new HashMap<String, Integer>();
+	/** Positions of the sections of each instructor */
+	private final HashMap<String, BitSet> byInstructor = new HashMap<String, BitSet>();
+	/** Positions of the sections with each exact meeting days string */
+	private final HashMap<String, BitSet> byMeetingDays = new HashMap<String, BitSet>();
+	/** Positions of the sections meeting on each day */
+	private final BitSet[] byDay = new BitSet[WeekMask.DAY_COUNT];
+	/** Positions of the sections with each number of credits */
+	private final BitSet[] byCredits = new BitSet[Course.MAX_CREDITS + 1];
+	/** Positions of the sections with meeting times, sorted by start minute */
+	private final int[] byStart;
+	/** Start minute of each entry of byStart */
+	private final int[] startMinutes;
+
+	/**
+	 * Constructs the indexes of the given catalog.
+	 *
+	 * @param catalog catalog sections
+	 */
+	public CatalogIndex(List<Course> catalog) {
+		courses = catalog.toArray(new Course[catalog.size()]);
+		for (int d = 0; d < byDay.length; d++) {
+			byDay[d] = new BitSet();
+		}
+		for (int c = 0; c < byCredits.length; c++) {
+			byCredits[c] = new BitSet();
+		}
+		int timed = 0;
+		for (int i = 0; i < courses.length; i++) {
+			Course c = courses[i];
+			byNameAndSection.putIfAbsent(key(c.getName(), c.getSection()), i);
+			posting(byInstructor, c.getInstructorId()).set(i);
+			posting(byMeetingDays, c.getMeetingDays()).set(i);
+			int days = WeekMask.dayBits(c.getMeetingDays());
+			for (int d = 0; d < byDay.length; d++) {
+				if ((days & 1 << d) != 0) {
+					byDay[d].set(i);
+				}
+			}
+			byCredits[c.getCredits()].set(i);
+			if (!"A".equals(c.getMeetingDays())) {
+				timed++;
+			}
+		}
+
+		// Counting sort of the timed sections by start minute keeps ties in catalog
+		// order
+		int[] counts = new int[WeekMask.MINUTES_PER_DAY + 1];
+		for (Course c : courses) {
+			if (!"A".equals(c.getMeetingDays())) {
+				counts[WeekMask.toMinutes(c.getStartTime()) + 1]++;
+			}
+		}
+		for (int m = 1; m < counts.length; m++) {
+			counts[m] += counts[m - 1];
+		}
+		byStart = new int[timed];
+		startMinutes = new int[timed];
+		for (int i = 0; i < courses.length; i++) {
+			if (!"A".equals(courses[i].getMeetingDays())) {
+				int minute = WeekMask.toMinutes(courses[i].getStartTime());
+				int slot = counts[minute]++;
+				byStart[slot] = i;
+				startMinutes[slot] = minute;
+			}
+		}
+	}
+
+	/**
+	 * Returns the catalog position of the section with the given name and
+	 * section, or -1 if there is none.
+	 *
+	 * @param name    Course name
+	 * @param section Course section
+	 * @return catalog position, or -1
+	 */
+	public int position(String name, String section) {
+		Integer position = byNameAndSection.get(key(name, section));
+		return position == null ? -1 : position;
+	}
+
+	/**
+	 * Returns the section with the given name and section, or null if there is
+	 * none.
+	 *
+	 * @param name    Course name
+	 * @param section Course section
+	 * @return Course, or null
+	 */
+	public Course get(String name, String section) {
+		int position = position(name, section);
+		return position < 0 ? null : courses[position];
+	}
+
+	/**
+	 * Returns the positions, in catalog order, of the sections that match every
+	 * filter set in the query.
+	 *
+	 * @param query filters to apply
+	 * @return positions of matching sections
+	 */
+	public int[] search(CatalogQuery query) {
+		ArrayList<BitSet> sets = new ArrayList<BitSet>();
+		if (query.getInstructorId() != null) {
+			sets.add(byInstructor.getOrDefault(query.getInstructorId(), new BitSet()));
+		}
+		if (query.getMeetingDays() != null) {
+			sets.add(byMeetingDays.getOrDefault(query.getMeetingDays(), new BitSet()));
+		}
+		for (int d = 0; d < byDay.length; d++) {
+			if ((query.getMeetsOn() & 1 << d) != 0) {
+				sets.add(byDay[d]);
+			}
+		}
+		if (query.getCredits() != 0) {
+			sets.add(byCredits[query.getCredits()]);
+		}
+		if (query.hasStartTimeRange()) {
+			sets.add(startRange(WeekMask.toMinutes(query.getStartFrom()), WeekMask.toMinutes(query.getStartTo())));
+		}
+
+		BitSet result;
+		if (sets.isEmpty()) {
+			result = new BitSet();
+			result.set(0, courses.length);
+		} else {
+			int smallest = 0;
+			for (int s = 1; s < sets.size(); s++) {
+				if (sets.get(s).cardinality() < sets.get(smallest).cardinality()) {
+					smallest = s;
+				}
+			}
+			result = (BitSet) sets.get(smallest).clone();
+			for (int s = 0; s < sets.size() && !result.isEmpty(); s++) {
+				if (s != smallest) {
+					result.and(sets.get(s));
+				}
+			}
+		}
+		return result.stream().toArray();
+	}
+
+	/**
+	 * Returns the sections at the given positions.
+	 *
+	 * @param positions catalog positions
+	 * @return list of sections
+	 */
+	public ArrayList<Course> toCourses(int[] positions) {
+		ArrayList<Course> result = new ArrayList<Course>(positions.length);
+		for (int i : positions) {
+			result.add(courses[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the positions of the timed sections starting between the given
+	 * minutes, inclusive.
+	 *
+	 * @param from earliest start minute
+	 * @param to   latest start minute
+	 * @return positions in the range
+	 */
+	private BitSet startRange(int from, int to) {
+		BitSet range = new BitSet(courses.length);
+		for (int s = lowerBound(from); s < startMinutes.length && startMinutes[s] <= to; s++) {
+			range.set(byStart[s]);
+		}
+		return range;
+	}
+
+	/**
+	 * Returns the first index of startMinutes whose value is at least minute.
+	 *
+	 * @param minute start minute
+	 * @return first index at or after minute
+	 */
+	private int lowerBound(int minute) {
+		int lo = 0;
+		int hi = startMinutes.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (startMinutes[mid] < minute) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	/**
+	 * Returns the BitSet for the given key, adding an empty one if needed.
+	 *
+	 * @param map index to look in
+	 * @param key attribute value
+	 * @return positions with the value
+	 */
+	private static BitSet posting(HashMap<String, BitSet> map, String key) {
+		BitSet set = map.get(key);
+		if (set == null) {
+			set = new BitSet();
+			map.put(key, set);
+		}
+		return set;
+	}
+
+	/**
+	 * Returns the lookup key for a name and section.
+	 *
+	 * @param name    Course name
+	 * @param section Course section
+	 * @return lookup key
+	 */
+	private static String key(String name, String section) {
+		return name + "," + section;
+	}
+}
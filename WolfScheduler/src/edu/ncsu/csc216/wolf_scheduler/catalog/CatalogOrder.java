@@ -0,0 +1,56 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.Comparator;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Orders a CourseCatalog can be viewed in. Every order other than NAME falls
+ * back to name and section, so each gives one fixed arrangement of the
+ * catalog.
+ *
+ * @author symone
+ *
+ */
+public enum CatalogOrder {
+	/** Course name, ignoring case, then section */
+	NAME(null),
+	/** Start time, arranged sections last */
+	START_TIME(Comparator.comparingInt(CatalogOrder::startKey)),
+	/** Credit hours */
+	CREDITS(Comparator.comparingInt(Course::getCredits)),
+	/** Instructor id */
+	INSTRUCTOR(Comparator.comparing(Course::getInstructorId));
+
+	/** Comparator of the order, including the name and section tie break */
+	private final Comparator<Course> comparator;
+
+	/**
+	 * Constructs an order.
+	 *
+	 * @param primary comparator before the name and section tie break, or null
+	 */
+	CatalogOrder(Comparator<Course> primary) {
+		comparator = primary == null ? TitleIndex.NAME_ORDER : primary.thenComparing(TitleIndex.NAME_ORDER);
+	}
+
+	/**
+	 * Returns the comparator of the order.
+	 *
+	 * @return comparator
+	 */
+	public Comparator<Course> getComparator() {
+		return comparator;
+	}
+
+	/**
+	 * Returns the start time to sort a section by, placing arranged sections
+	 * after every timed one.
+	 *
+	 * @param course section
+	 * @return sort key
+	 */
+	static int startKey(Course course) {
+		return "A".equals(course.getMeetingDays()) ? Integer.MAX_VALUE : course.getStartTime();
+	}
+}
@@ -0,0 +1,76 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * One page of catalog sections returned by CourseCatalog.getPage(), with what
+ * is needed to ask for the next page: an opaque cursor, which stays valid when
+ * the catalog is reloaded between requests, or a place in the sorted catalog
+ * for offset paging.
+ *
+ * A page scans a bounded number of sections, so with a narrow filter a page
+ * may hold fewer sections than asked for, or none, and still not be the last.
+ *
+ * @author symone
+ *
+ */
+public class CatalogPage {
+
+	/** Sections of the page, in order */
+	private final ArrayList<Course> courses;
+	/** Place in the sorted catalog to continue from, or -1 if this is the last page */
+	private final int nextOffset;
+	/** Cursor of the next page, or null if this is the last page */
+	private final String nextCursor;
+
+	/**
+	 * Constructs a CatalogPage.
+	 *
+	 * @param courses    sections of the page
+	 * @param nextOffset place to continue from, or -1 if last
+	 * @param nextCursor cursor of the next page, or null if last
+	 */
+	CatalogPage(ArrayList<Course> courses, int nextOffset, String nextCursor) {
+		this.courses = courses;
+		this.nextOffset = nextOffset;
+		this.nextCursor = nextCursor;
+	}
+
+	/**
+	 * Returns the sections of the page, in order.
+	 *
+	 * @return sections
+	 */
+	public ArrayList<Course> getCourses() {
+		return courses;
+	}
+
+	/**
+	 * Returns the offset to ask for the next page with.
+	 *
+	 * @return place in the sorted catalog, or -1 if this is the last page
+	 */
+	public int getNextOffset() {
+		return nextOffset;
+	}
+
+	/**
+	 * Returns the cursor to ask for the next page with.
+	 *
+	 * @return cursor, or null if this is the last page
+	 */
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	/**
+	 * Returns true if there are no more pages.
+	 *
+	 * @return true if this is the last page
+	 */
+	public boolean isLast() {
+		return nextCursor == null;
+	}
+}
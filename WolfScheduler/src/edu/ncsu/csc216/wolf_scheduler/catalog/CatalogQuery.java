@@ -0,0 +1,204 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.WeekMask;
+
+/**
+ * Combination of filters for a CatalogIndex search. Each filter is optional; a
+ * section matches the query when it passes every filter that is set.
+ *
+ * @author symone
+ *
+ */
+public class CatalogQuery {
+
+	/** Instructor id to match, or null */
+	private String instructorId;
+	/** Exact meeting days string to match, or null */
+	private String meetingDays;
+	/** Meeting day bits that must all be met on */
+	private int meetsOn;
+	/** Credits to match, or 0 */
+	private int credits;
+	/** Earliest start time in military time, or -1 */
+	private int startFrom = -1;
+	/** Latest start time in military time, or -1 */
+	private int startTo = -1;
+
+	/**
+	 * Returns the instructor id to match.
+	 *
+	 * @return the instructorId, or null if not filtered
+	 */
+	public String getInstructorId() {
+		return instructorId;
+	}
+
+	/**
+	 * Sets the instructor id to match. Null removes the filter.
+	 *
+	 * @param instructorId the instructorId to set
+	 */
+	public void setInstructorId(String instructorId) {
+		this.instructorId = instructorId;
+	}
+
+	/**
+	 * Returns the exact meeting days string to match.
+	 *
+	 * @return the meetingDays, or null if not filtered
+	 */
+	public String getMeetingDays() {
+		return meetingDays;
+	}
+
+	/**
+	 * Sets the exact meeting days string to match, such as "MW" or "A". Null
+	 * removes the filter.
+	 *
+	 * @param meetingDays the meetingDays to set
+	 */
+	public void setMeetingDays(String meetingDays) {
+		this.meetingDays = meetingDays;
+	}
+
+	/**
+	 * Returns the bits of the days a section must meet on.
+	 *
+	 * @return day bits in WeekMask order, 0 if not filtered
+	 */
+	public int getMeetsOn() {
+		return meetsOn;
+	}
+
+	/**
+	 * Sets the days a section must meet on, in any combination such as "T" or
+	 * "MW". Sections may also meet on other days. Null or "" removes the filter.
+	 *
+	 * @param days days that must be met on
+	 * @throws IllegalArgumentException if days contains an invalid day
+	 */
+	public void setMeetsOn(String days) {
+		if (days == null) {
+			this.meetsOn = 0;
+			return;
+		}
+		for (int i = 0; i < days.length(); i++) {
+			if (WeekMask.DAYS.indexOf(days.charAt(i)) < 0) {
+				throw new IllegalArgumentException("Invalid day.");
+			}
+		}
+		this.meetsOn = WeekMask.dayBits(days);
+	}
+
+	/**
+	 * Returns the credits to match.
+	 *
+	 * @return the credits, or 0 if not filtered
+	 */
+	public int getCredits() {
+		return credits;
+	}
+
+	/**
+	 * Sets the credits to match. 0 removes the filter.
+	 *
+	 * @param credits the credits to set
+	 * @throws IllegalArgumentException if credits is not 0 or valid Course credits
+	 */
+	public void setCredits(int credits) {
+		if (credits != 0 && (credits < Course.MIN_CREDITS || credits > Course.MAX_CREDITS)) {
+			throw new IllegalArgumentException("Invalid credits.");
+		}
+		this.credits = credits;
+	}
+
+	/**
+	 * Returns the earliest start time to match.
+	 *
+	 * @return the earliest start time, or -1 if not filtered
+	 */
+	public int getStartFrom() {
+		return startFrom;
+	}
+
+	/**
+	 * Returns the latest start time to match.
+	 *
+	 * @return the latest start time, or -1 if not filtered
+	 */
+	public int getStartTo() {
+		return startTo;
+	}
+
+	/**
+	 * Sets the range of start times to match, inclusive, in military time.
+	 * Arranged sections have no start time and never match a range. Passing -1 for
+	 * both removes the filter.
+	 *
+	 * @param from earliest start time
+	 * @param to   latest start time
+	 * @throws IllegalArgumentException if the range is not valid
+	 */
+	public void setStartTimeRange(int from, int to) {
+		if (from == -1 && to == -1) {
+			this.startFrom = -1;
+			this.startTo = -1;
+			return;
+		}
+		if (!isTime(from) || !isTime(to) || from > to) {
+			throw new IllegalArgumentException("Invalid time range.");
+		}
+		this.startFrom = from;
+		this.startTo = to;
+	}
+
+	/**
+	 * Returns true if the start time filter is set.
+	 *
+	 * @return true if filtering by start time
+	 */
+	public boolean hasStartTimeRange() {
+		return startFrom >= 0;
+	}
+
+	/**
+	 * Returns true if the section passes every filter set in the query, as a
+	 * CatalogIndex search would find it.
+	 *
+	 * @param course section to check
+	 * @return true if the section matches
+	 */
+	public boolean matches(Course course) {
+		if (instructorId != null && !instructorId.equals(course.getInstructorId())) {
+			return false;
+		}
+		if (meetingDays != null && !meetingDays.equals(course.getMeetingDays())) {
+			return false;
+		}
+		if ((WeekMask.dayBits(course.getMeetingDays()) & meetsOn) != meetsOn) {
+			return false;
+		}
+		if (credits != 0 && credits != course.getCredits()) {
+			return false;
+		}
+		if (hasStartTimeRange()) {
+			if ("A".equals(course.getMeetingDays())) {
+				return false;
+			}
+			int start = WeekMask.toMinutes(course.getStartTime());
+			return start >= WeekMask.toMinutes(startFrom) && start <= WeekMask.toMinutes(startTo);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns true if time is a valid military time.
+	 *
+	 * @param time time to check
+	 * @return true if valid
+	 */
+	private static boolean isTime(int time) {
+		return time >= 0 && time / 100 < 24 && time % 100 < 60;
+	}
+}
@@ -0,0 +1,117 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches a course records file and runs a callback on a background thread
+ * whenever it is created or modified, for example to reload the catalog.
+ * Bursts of events from one save are coalesced: after the first event the
+ * watcher waits a short quiet period and runs the callback once. A callback
+ * that throws is logged and the watcher keeps watching, so one bad reload does
+ * not stop later ones.
+ *
+ * @author symone
+ *
+ */
+public class CatalogWatcher implements Closeable {
+
+	/** Milliseconds without events before the callback runs */
+	private static final long QUIET_MILLIS = 200;
+	/** Logger failed callbacks are written to at WARNING */
+	private static final Logger LOG = Logger.getLogger(CatalogWatcher.class.getName());
+
+	/** File being watched */
+	private final Path file;
+	/** Callback run after the file changes */
+	private final Runnable onChange;
+	/** Watch service of the file's directory */
+	private final WatchService service;
+	/** Thread waiting for events */
+	private final Thread thread;
+
+	/**
+	 * Starts watching the given file.
+	 *
+	 * @param fileName course records file
+	 * @param onChange callback run after the file changes
+	 * @throws IOException if the directory cannot be watched
+	 */
+	public CatalogWatcher(String fileName, Runnable onChange) throws IOException {
+		this.file = Path.of(fileName).toAbsolutePath();
+		this.onChange = onChange;
+		service = FileSystems.getDefault().newWatchService();
+		file.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE,
+				StandardWatchEventKinds.ENTRY_MODIFY);
+		thread = new Thread(this::watch, "catalog-watcher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Stops watching.
+	 *
+	 * @throws IOException if the watch service cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		service.close();
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Body of the watching thread.
+	 */
+	private void watch() {
+		try {
+			while (true) {
+				boolean changed = drain(service.take());
+				WatchKey more;
+				while ((more = service.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+					changed |= drain(more);
+				}
+				if (changed) {
+					try {
+						onChange.run();
+					} catch (RuntimeException e) {
+						LOG.log(Level.WARNING, "Catalog change callback failed for " + file, e);
+					}
+				}
+			}
+		} catch (ClosedWatchServiceException | InterruptedException e) {
+			// Closed
+		}
+	}
+
+	/**
+	 * Consumes the events of a key and resets it.
+	 *
+	 * @param key signaled key
+	 * @return true if an event was for the watched file
+	 */
+	private boolean drain(WatchKey key) {
+		boolean changed = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			Object context = event.context();
+			if (context instanceof Path && file.getFileName().equals(context)) {
+				changed = true;
+			}
+		}
+		key.reset();
+		return changed;
+	}
+}
@@ -0,0 +1,808 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.io.FileNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.WeekMask;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogLoadReport;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.metrics.Operation;
+import edu.ncsu.csc216.wolf_scheduler.metrics.Outcome;
+import edu.ncsu.csc216.wolf_scheduler.metrics.SchedulerMetrics;
+
+/**
+ * The Course catalog and every index over it, built once and never changed
+ * afterwards. A CourseCatalog holds no per-student state, so a single instance
+ * can be shared by any number of WolfScheduler sessions and read from any
+ * number of threads without locking.
+ * 
+ * A CatalogDelta is applied without rebuilding the indexes of the whole
+ * catalog. The result is a layered catalog: the flat catalog it came from is
+ * shared unchanged as its base, positions of deleted and updated base sections
+ * are hidden, and the new and updated sections form a small overlay with
+ * indexes of its own. Lookups ask both layers and merge the answers in catalog
+ * order, where an updated section keeps the place of the one it replaces and
+ * added sections come last. Hidden positions are kept as small sorted arrays
+ * rather than a set over the whole base, and the section at a catalog
+ * position is found from them by binary search, so a layered catalog is never
+ * copied out into one list. Applying further deltas rebuilds only the overlay
+ * and its arrays; once the overlay and hidden sections outgrow an eighth of the
+ * base the catalog is compacted back into a flat one.
+ * 
+ * Sorted views are backed by a permutation of catalog positions for each
+ * CatalogOrder, computed on first use and kept for the life of the catalog,
+ * so re-sorting never copies or compares Courses again. Pages of a sorted
+ * view are read straight from it, so serving a page costs the page, not the
+ * catalog.
+ *
+ * @author symone
+ *
+ */
+public final class CourseCatalog {
+
+	/** Most sections on one page */
+	public static final int MAX_PAGE = 1000;
+	/** Most sections one page looks at, bounding the work of a filtered page */
+	static final int PAGE_SCAN = 10_000;
+	/** Fewest overlay and hidden sections that cause a compaction */
+	private static final int MIN_COMPACT = 64;
+	/** Compact once overlay and hidden sections exceed the base size over this */
+	private static final int COMPACT_DIVISOR = 8;
+
+	/**
+	 * Sections in the indexes below, in catalog order, unmodifiable: every
+	 * section of a flat catalog, or the overlay of a layered one
+	 */
+	private final List<Course> own;
+	/** Meeting times of the sections */
+	private final SectionMasks masks;
+	/** Attribute indexes of the sections */
+	private final CatalogIndex index;
+	/** Name prefix and title word index of the sections */
+	private final TitleIndex titles;
+	/** Flat catalog under the overlay, or null if this catalog is flat */
+	private final CourseCatalog base;
+	/** Base positions of the deleted and updated sections, sorted, or null */
+	private final int[] hidden;
+	/** Base positions of the deleted sections, sorted, or null */
+	private final int[] deleted;
+	/** Number of hidden base positions */
+	private final int hiddenCount;
+	/**
+	 * Catalog order of each overlay section: the base position it replaces, or
+	 * the base size and up for added sections; null if flat
+	 */
+	private final int[] ranks;
+	/** Every section in catalog order, a view over both layers if layered */
+	private final List<Course> courses;
+	/** Catalog positions in each CatalogOrder, by ordinal, built on first use */
+	private final AtomicReferenceArray<int[]> orders = new AtomicReferenceArray<int[]>(
+			CatalogOrder.values().length);
+	/** Short display row of each section in catalog order, built on first use */
+	private volatile String[][] rows;
+
+	/**
+	 * Constructs a CourseCatalog of the given sections. The list is copied, so
+	 * later changes to it do not affect the catalog.
+	 *
+	 * @param catalog catalog sections
+	 */
+	public CourseCatalog(List<Course> catalog) {
+		this(null, null, catalog, null);
+	}
+
+	/**
+	 * Constructs a flat catalog, or a layered one over a flat base.
+	 *
+	 * @param base    flat catalog under the overlay, or null
+	 * @param hidden  sorted hidden base positions, or null if flat
+	 * @param catalog sections of a flat catalog, or the overlay
+	 * @param ranks   catalog order of the overlay sections, ascending, or null if
+	 *                flat
+	 */
+	private CourseCatalog(CourseCatalog base, int[] hidden, List<Course> catalog, int[] ranks) {
+		own = Collections.unmodifiableList(Arrays.asList(catalog.toArray(new Course[catalog.size()])));
+		masks = new SectionMasks(own);
+		index = new CatalogIndex(own);
+		titles = new TitleIndex(own);
+		this.base = base;
+		this.hidden = hidden;
+		this.hiddenCount = hidden == null ? 0 : hidden.length;
+		this.ranks = ranks;
+		if (base == null) {
+			deleted = null;
+			courses = own;
+		} else {
+			int[] gone = new int[hidden.length];
+			int count = 0;
+			for (int position : hidden) {
+				if (Arrays.binarySearch(ranks, position) < 0) {
+					gone[count++] = position;
+				}
+			}
+			deleted = Arrays.copyOf(gone, count);
+			courses = new LayeredView();
+		}
+	}
+
+	/**
+	 * Reads a CourseCatalog from a file of Course records. Invalid and duplicate
+	 * records are ignored as in CourseRecordIO. The load, including building the
+	 * indexes, is timed in SchedulerMetrics.
+	 *
+	 * @param fileName file to read Course records from
+	 * @return catalog of the valid records
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static CourseCatalog load(String fileName) throws FileNotFoundException {
+		return load(fileName, null);
+	}
+
+	/**
+	 * Reads a CourseCatalog as load(String) does, profiling the load into the
+	 * given report, including the time spent building the indexes.
+	 *
+	 * @param fileName file to read Course records from
+	 * @param report   report to fill in, or null to skip profiling
+	 * @return catalog of the valid records
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static CourseCatalog load(String fileName, CatalogLoadReport report) throws FileNotFoundException {
+		long start = SchedulerMetrics.start();
+		try {
+			List<Course> courses = report == null ? CourseRecordIO.readCourseRecords(fileName)
+					: CourseRecordIO.readCourseRecords(fileName, report);
+			long indexStart = System.nanoTime();
+			CourseCatalog catalog = new CourseCatalog(courses);
+			if (report != null) {
+				report.setIndexNanos(System.nanoTime() - indexStart);
+			}
+			SchedulerMetrics.record(Operation.CATALOG_LOAD, Outcome.SUCCESS, start);
+			return catalog;
+		} catch (FileNotFoundException e) {
+			SchedulerMetrics.record(Operation.CATALOG_LOAD, Outcome.NOT_FOUND, start);
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the number of sections.
+	 *
+	 * @return number of sections
+	 */
+	public int size() {
+		return base == null ? own.size() : base.size() - hiddenCount + own.size();
+	}
+
+	/**
+	 * Returns the section at the given catalog position.
+	 *
+	 * @param position catalog position
+	 * @return section at the position
+	 */
+	public Course get(int position) {
+		if (base == null) {
+			return own.get(position);
+		}
+		if (position < 0 || position >= size()) {
+			throw new IndexOutOfBoundsException("Invalid position.");
+		}
+		int kept = base.own.size() - deleted.length;
+		if (position >= kept) {
+			// Added sections follow the base, in the overlay after the replacements
+			return own.get(own.size() - (size() - position));
+		}
+		// Every base position but the deleted ones holds a section, so skip the
+		// deleted positions at or before the one wanted: deleted[j] - j is the
+		// number of kept positions before deleted[j], which only grows with j
+		int lo = 0;
+		int hi = deleted.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (deleted[mid] - mid <= position) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		int basePosition = position + lo;
+		int replaced = Arrays.binarySearch(ranks, basePosition);
+		return replaced >= 0 ? own.get(replaced) : base.own.get(basePosition);
+	}
+
+	/**
+	 * Returns the sections in catalog order as an unmodifiable list. For a
+	 * layered catalog the list is a view that looks each section up in the two
+	 * layers, so nothing is copied.
+	 *
+	 * @return catalog sections
+	 */
+	public List<Course> getCourses() {
+		return courses;
+	}
+
+	/**
+	 * Returns the sections in the given order as an unmodifiable view over the
+	 * catalog. The first call for an order sorts the catalog positions once;
+	 * every later call reuses them, and no Course is copied.
+	 *
+	 * @param order order to view the sections in
+	 * @return sorted view of the catalog sections
+	 */
+	public List<Course> getSorted(CatalogOrder order) {
+		return new SortedView(getCourses(), permutation(order));
+	}
+
+	/**
+	 * Returns the short display rows of the sections, the
+	 * Course.getShortDisplayArray() of each, in the given order. The rows are
+	 * built once per catalog and shared by every caller, so they must not be
+	 * modified; only the outer array is new.
+	 *
+	 * @param order order of the rows, or null for catalog order
+	 * @return display rows
+	 */
+	public String[][] getDisplayRows(CatalogOrder order) {
+		String[][] all = rows;
+		if (all == null) {
+			List<Course> list = getCourses();
+			all = new String[list.size()][];
+			for (int i = 0; i < all.length; i++) {
+				all[i] = list.get(i).getShortDisplayArray();
+			}
+			rows = all;
+		}
+		if (order == null) {
+			return all.clone();
+		}
+		int[] positions = permutation(order);
+		String[][] sorted = new String[positions.length][];
+		for (int i = 0; i < positions.length; i++) {
+			sorted[i] = all[positions[i]];
+		}
+		return sorted;
+	}
+
+	/**
+	 * Returns a page of the sections in the given order that match the query,
+	 * starting at a place in the sorted catalog. Offsets count every section,
+	 * matching or not, so the offset of the next page is not simply offset plus
+	 * limit when filtering.
+	 *
+	 * @param order  order of the sections
+	 * @param query  filters to apply, or null for none
+	 * @param offset place in the sorted catalog to start at
+	 * @param limit  most sections to return, 1 to MAX_PAGE
+	 * @return page of sections
+	 * @throws IllegalArgumentException if offset is negative or limit is out of
+	 *                                  range
+	 */
+	public CatalogPage getPage(CatalogOrder order, CatalogQuery query, int offset, int limit) {
+		if (offset < 0) {
+			throw new IllegalArgumentException("Invalid offset.");
+		}
+		return page(order, query, offset, limit);
+	}
+
+	/**
+	 * Returns the page of the sections in the given order that match the query
+	 * following the given cursor. The cursor records the last section looked at,
+	 * not its place, so paging carries on correctly across catalog reloads:
+	 * sections added or removed before the cursor shift nothing.
+	 *
+	 * @param order  order of the sections
+	 * @param query  filters to apply, or null for none
+	 * @param cursor cursor of a previous page, or null for the first page
+	 * @param limit  most sections to return, 1 to MAX_PAGE
+	 * @return page of sections
+	 * @throws IllegalArgumentException if the cursor is invalid or was made for
+	 *                                  another order, or limit is out of range
+	 */
+	public CatalogPage getPage(CatalogOrder order, CatalogQuery query, String cursor, int limit) {
+		if (cursor == null) {
+			return page(order, query, 0, limit);
+		}
+		Course last = decodeCursor(order, cursor);
+		List<Course> sorted = getSorted(order);
+		Comparator<Course> comparator = order.getComparator();
+		int lo = 0;
+		int hi = sorted.size();
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (comparator.compare(sorted.get(mid), last) <= 0) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return page(order, query, lo, limit);
+	}
+
+	/**
+	 * Scans the sorted sections from a place for up to limit matches, looking at
+	 * no more than PAGE_SCAN sections.
+	 *
+	 * @param order order of the sections
+	 * @param query filters to apply, or null
+	 * @param start place to start at
+	 * @param limit most sections to return
+	 * @return page of sections
+	 */
+	private CatalogPage page(CatalogOrder order, CatalogQuery query, int start, int limit) {
+		if (limit < 1 || limit > MAX_PAGE) {
+			throw new IllegalArgumentException("Invalid limit.");
+		}
+		List<Course> sorted = getSorted(order);
+		ArrayList<Course> found = new ArrayList<Course>(Math.min(limit, Math.max(0, sorted.size() - start)));
+		int end = (int) Math.min(sorted.size(), (long) start + PAGE_SCAN);
+		int place = start;
+		while (place < end && found.size() < limit) {
+			Course c = sorted.get(place++);
+			if (query == null || query.matches(c)) {
+				found.add(c);
+			}
+		}
+		if (place >= sorted.size()) {
+			return new CatalogPage(found, -1, null);
+		}
+		return new CatalogPage(found, place, encodeCursor(order, sorted.get(place - 1)));
+	}
+
+	/**
+	 * Returns the cursor that resumes after a section.
+	 *
+	 * @param order order being paged
+	 * @param last  last section looked at
+	 * @return URL safe cursor
+	 */
+	private static String encodeCursor(CatalogOrder order, Course last) {
+		String text = order.name() + "\n" + last.toString();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns the last section looked at by the page a cursor came from.
+	 *
+	 * @param order  order being paged
+	 * @param cursor cursor of a previous page
+	 * @return last section of that page
+	 * @throws IllegalArgumentException if the cursor is invalid or was made for
+	 *                                  another order
+	 */
+	private static Course decodeCursor(CatalogOrder order, String cursor) {
+		try {
+			String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int newline = text.indexOf('\n');
+			if (newline < 0 || !order.name().equals(text.substring(0, newline))) {
+				throw new IllegalArgumentException();
+			}
+			return CourseRecordIO.parseCourseRecord(text.substring(newline + 1));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid cursor.");
+		}
+	}
+
+	/**
+	 * Returns the catalog positions sorted in the given order, sorting them on
+	 * the first call for the order. Each section is reduced to integer sort keys
+	 * first, so the sort itself compares no Strings, and orders other than NAME
+	 * sort packed primitive keys.
+	 *
+	 * @param order order to sort by
+	 * @return sorted positions; shared, not to be modified
+	 */
+	int[] permutation(CatalogOrder order) {
+		int[] positions = orders.get(order.ordinal());
+		if (positions != null) {
+			return positions;
+		}
+		List<Course> list = getCourses();
+		int n = list.size();
+		positions = new int[n];
+		if (order == CatalogOrder.NAME) {
+			String[] names = new String[n];
+			String[] sections = new String[n];
+			for (int i = 0; i < n; i++) {
+				names[i] = list.get(i).getName().toUpperCase(Locale.ROOT);
+				sections[i] = list.get(i).getSection();
+			}
+			int[] nameRanks = rank(names);
+			int[] sectionRanks = rank(sections);
+			Integer[] boxed = new Integer[n];
+			for (int i = 0; i < n; i++) {
+				boxed[i] = i;
+			}
+			Arrays.sort(boxed, (a, b) -> nameRanks[a] != nameRanks[b] ? Integer.compare(nameRanks[a], nameRanks[b])
+					: Integer.compare(sectionRanks[a], sectionRanks[b]));
+			for (int i = 0; i < n; i++) {
+				positions[i] = boxed[i];
+			}
+		} else {
+			int[] byName = permutation(CatalogOrder.NAME);
+			int[] major;
+			if (order == CatalogOrder.INSTRUCTOR) {
+				String[] instructors = new String[n];
+				for (int i = 0; i < n; i++) {
+					instructors[i] = list.get(i).getInstructorId();
+				}
+				major = rank(instructors);
+			} else {
+				major = new int[n];
+				for (int i = 0; i < n; i++) {
+					major[i] = order == CatalogOrder.CREDITS ? list.get(i).getCredits()
+							: CatalogOrder.startKey(list.get(i));
+				}
+			}
+			// Sort key, then place in name order, packed so that a primitive sort
+			// does the work and the place gives back the position
+			long[] keys = new long[n];
+			for (int place = 0; place < n; place++) {
+				keys[place] = (long) major[byName[place]] << 32 | place;
+			}
+			Arrays.sort(keys);
+			for (int i = 0; i < n; i++) {
+				positions[i] = byName[(int) keys[i]];
+			}
+		}
+		orders.compareAndSet(order.ordinal(), null, positions);
+		return orders.get(order.ordinal());
+	}
+
+	/**
+	 * Returns the rank of each value among the distinct values, in String order.
+	 *
+	 * @param values values to rank
+	 * @return rank of each value
+	 */
+	private static int[] rank(String[] values) {
+		HashMap<String, Integer> ranks = new HashMap<String, Integer>();
+		for (String v : values) {
+			ranks.put(v, 0);
+		}
+		String[] distinct = ranks.keySet().toArray(new String[ranks.size()]);
+		Arrays.sort(distinct);
+		for (int r = 0; r < distinct.length; r++) {
+			ranks.put(distinct[r], r);
+		}
+		int[] result = new int[values.length];
+		for (int i = 0; i < values.length; i++) {
+			result[i] = ranks.get(values[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the section with the given name and section, or null if there is
+	 * none.
+	 *
+	 * @param name    Course name
+	 * @param section Course section
+	 * @return Course, or null
+	 */
+	public Course getCourse(String name, String section) {
+		Course course = index.get(name, section);
+		if (course != null || base == null) {
+			return course;
+		}
+		int position = base.index.position(name, section);
+		return position < 0 || isHidden(position) ? null : base.own.get(position);
+	}
+
+	/**
+	 * Returns the sections matching every filter set in the query, in catalog
+	 * order.
+	 *
+	 * @param query filters to apply
+	 * @return matching sections
+	 */
+	public ArrayList<Course> search(CatalogQuery query) {
+		if (base == null) {
+			return index.toCourses(index.search(query));
+		}
+		return merge(base.index.search(query), index.search(query));
+	}
+
+	/**
+	 * Returns up to limit sections whose name starts with the given prefix,
+	 * ignoring case, in name then section order.
+	 *
+	 * @param prefix start of the Course name
+	 * @param limit  maximum number of sections to return
+	 * @return matching sections
+	 */
+	public ArrayList<Course> searchByName(String prefix, int limit) {
+		if (base == null) {
+			return titles.toCourses(titles.searchByName(prefix, limit));
+		}
+		ArrayList<Course> found = base.titles.toCourses(visible(base.titles.searchByName(prefix, widen(limit))));
+		found.addAll(titles.toCourses(titles.searchByName(prefix, limit)));
+		return best(found, TitleIndex.NAME_ORDER, limit);
+	}
+
+	/**
+	 * Returns up to limit sections whose title has a word starting with each word
+	 * of the query, ignoring case, best matches first.
+	 *
+	 * @param query words to search for
+	 * @param limit maximum number of sections to return
+	 * @return matching sections, best first
+	 */
+	public ArrayList<Course> searchByTitle(String query, int limit) {
+		if (base == null) {
+			return titles.toCourses(titles.searchByTitle(query, limit));
+		}
+		final IdentityHashMap<Course, Integer> order = new IdentityHashMap<Course, Integer>();
+		int[] fromBase = visible(base.titles.searchByTitle(query, widen(limit)));
+		ArrayList<Course> found = base.titles.toCourses(fromBase);
+		for (int i = 0; i < fromBase.length; i++) {
+			order.put(found.get(i), fromBase[i]);
+		}
+		for (int i : titles.searchByTitle(query, limit)) {
+			found.add(own.get(i));
+			order.put(own.get(i), ranks[i]);
+		}
+		return best(found, TitleIndex.relevance(query, new Comparator<Course>() {
+			@Override
+			public int compare(Course a, Course b) {
+				return Integer.compare(order.get(a), order.get(b));
+			}
+		}), limit);
+	}
+
+	/**
+	 * Returns the sections, in catalog order, that do not meet during an occupied
+	 * minute and whose Course name is not one of the excluded names. If name is
+	 * not null only sections with that name are checked.
+	 *
+	 * @param occupied minutes already taken, not modified during the call
+	 * @param name     Course name to restrict to, or null for every Course
+	 * @param excluded Course names to leave out
+	 * @param parallel true to split the scan over the common fork-join pool
+	 * @return sections that fit
+	 */
+	public ArrayList<Course> getFittingSections(WeekMask occupied, String name, List<String> excluded,
+			boolean parallel) {
+		BitSet ids = masks.nameIds(excluded);
+		if (base == null) {
+			return masks.toCourses(masks.fitting(occupied, name, ids, parallel));
+		}
+		return merge(base.masks.fitting(occupied, name, base.masks.nameIds(excluded), parallel),
+				masks.fitting(occupied, name, ids, parallel));
+	}
+
+	/**
+	 * Returns this catalog with the changes of the delta applied. Only the
+	 * overlay is rebuilt, so the cost grows with the size of the delta and of
+	 * the changes applied since the last compaction, not with the catalog.
+	 *
+	 * @param delta changes to apply
+	 * @return changed catalog; this catalog is not modified
+	 */
+	public CourseCatalog apply(CatalogDelta delta) {
+		CourseCatalog flat = base == null ? this : base;
+		int baseSize = flat.own.size();
+		TreeMap<Integer, Course> overlay = new TreeMap<Integer, Course>();
+		HashMap<String, Integer> rankOf = new HashMap<String, Integer>();
+		int nextRank = baseSize;
+		for (int i = 0; i < own.size() && base != null; i++) {
+			overlay.put(ranks[i], own.get(i));
+			rankOf.put(CatalogDelta.key(own.get(i).getName(), own.get(i).getSection()), ranks[i]);
+			nextRank = Math.max(nextRank, ranks[i] + 1);
+		}
+		int[] newlyHidden = new int[delta.getChanges().size()];
+		int newCount = 0;
+		for (Map.Entry<String, Course> change : delta.getChanges().entrySet()) {
+			Integer rank = rankOf.get(change.getKey());
+			if (rank == null) {
+				String[] nameAndSection = CatalogDelta.split(change.getKey());
+				int position = flat.index.position(nameAndSection[0], nameAndSection[1]);
+				if (position >= 0) {
+					if (!isHidden(position)) {
+						newlyHidden[newCount++] = position;
+					}
+					rank = position;
+				} else if (change.getValue() != null) {
+					rank = nextRank++;
+				} else {
+					continue;
+				}
+			}
+			if (change.getValue() == null) {
+				overlay.remove(rank);
+				rankOf.remove(change.getKey());
+			} else {
+				overlay.put(rank, change.getValue());
+				rankOf.put(change.getKey(), rank);
+			}
+		}
+
+		int[] nextHidden = union(base == null ? new int[0] : hidden, Arrays.copyOf(newlyHidden, newCount));
+		int[] nextRanks = new int[overlay.size()];
+		int i = 0;
+		for (int rank : overlay.keySet()) {
+			nextRanks[i++] = rank;
+		}
+		if (overlay.isEmpty() && nextHidden.length == 0) {
+			return flat;
+		}
+		CourseCatalog next = new CourseCatalog(flat, nextHidden, new ArrayList<Course>(overlay.values()), nextRanks);
+		if (next.getOverlaySize() > Math.max(MIN_COMPACT, baseSize / COMPACT_DIVISOR)) {
+			return new CourseCatalog(next.getCourses());
+		}
+		return next;
+	}
+
+	/**
+	 * Returns true if a base position of a layered catalog is hidden.
+	 *
+	 * @param position base position
+	 * @return true if the section there was deleted or updated
+	 */
+	private boolean isHidden(int position) {
+		return hidden != null && Arrays.binarySearch(hidden, position) >= 0;
+	}
+
+	/**
+	 * Merges sorted positions already hidden with newly hidden ones.
+	 *
+	 * @param sorted sorted positions
+	 * @param added  positions to add, in any order, none already in sorted
+	 * @return sorted union
+	 */
+	private static int[] union(int[] sorted, int[] added) {
+		Arrays.sort(added);
+		int[] result = new int[sorted.length + added.length];
+		int a = 0;
+		int b = 0;
+		int r = 0;
+		while (a < sorted.length || b < added.length) {
+			if (b == added.length || a < sorted.length && sorted[a] < added[b]) {
+				result[r++] = sorted[a++];
+			} else {
+				result[r++] = added[b++];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the number of overlay and hidden sections of a layered catalog, or
+	 * 0 if the catalog is flat.
+	 *
+	 * @return pending changes since the last compaction
+	 */
+	int getOverlaySize() {
+		return base == null ? 0 : own.size() + hiddenCount;
+	}
+
+	/**
+	 * Merges base positions and overlay positions, each in ascending order, into
+	 * the sections they refer to in catalog order, leaving out hidden base
+	 * positions.
+	 *
+	 * @param basePositions    positions in the base
+	 * @param overlayPositions positions in the overlay
+	 * @return sections in catalog order
+	 */
+	private ArrayList<Course> merge(int[] basePositions, int[] overlayPositions) {
+		ArrayList<Course> result = new ArrayList<Course>(basePositions.length + overlayPositions.length);
+		int b = 0;
+		int o = 0;
+		while (b < basePositions.length || o < overlayPositions.length) {
+			if (b < basePositions.length && isHidden(basePositions[b])) {
+				b++;
+			} else if (o == overlayPositions.length
+					|| b < basePositions.length && basePositions[b] < ranks[overlayPositions[o]]) {
+				result.add(base.own.get(basePositions[b++]));
+			} else {
+				result.add(own.get(overlayPositions[o++]));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the base positions that are not hidden, in the same order.
+	 *
+	 * @param positions base positions
+	 * @return visible positions
+	 */
+	private int[] visible(int[] positions) {
+		int[] result = new int[positions.length];
+		int count = 0;
+		for (int p : positions) {
+			if (!isHidden(p)) {
+				result[count++] = p;
+			}
+		}
+		return Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Returns a base search limit large enough to leave limit results after the
+	 * hidden sections are left out.
+	 *
+	 * @param limit results wanted
+	 * @return limit to search the base with
+	 */
+	private int widen(int limit) {
+		return limit > Integer.MAX_VALUE - hiddenCount ? Integer.MAX_VALUE : limit + hiddenCount;
+	}
+
+	/**
+	 * Read-only list of the sections of a layered catalog in catalog order.
+	 */
+	private final class LayeredView extends AbstractList<Course> implements RandomAccess {
+
+		@Override
+		public Course get(int index) {
+			return CourseCatalog.this.get(index);
+		}
+
+		@Override
+		public int size() {
+			return CourseCatalog.this.size();
+		}
+	}
+
+	/**
+	 * Read-only list of catalog sections in the order of a permutation.
+	 */
+	private static final class SortedView extends AbstractList<Course> implements RandomAccess {
+
+		/** Sections in catalog order */
+		private final List<Course> courses;
+		/** Catalog position of each element */
+		private final int[] positions;
+
+		/**
+		 * Constructs a view.
+		 *
+		 * @param courses   sections in catalog order
+		 * @param positions catalog position of each element
+		 */
+		SortedView(List<Course> courses, int[] positions) {
+			this.courses = courses;
+			this.positions = positions;
+		}
+
+		@Override
+		public Course get(int index) {
+			return courses.get(positions[index]);
+		}
+
+		@Override
+		public int size() {
+			return positions.length;
+		}
+	}
+
+	/**
+	 * Sorts sections and keeps the first limit of them.
+	 *
+	 * @param found sections found in both layers
+	 * @param order order to sort by
+	 * @param limit maximum number of sections to keep
+	 * @return first sections in order
+	 */
+	private static ArrayList<Course> best(ArrayList<Course> found, Comparator<Course> order, int limit) {
+		found.sort(order);
+		return limit >= found.size() ? found : new ArrayList<Course>(found.subList(0, Math.max(0, limit)));
+	}
+}
@@ -0,0 +1,279 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Seat capacity, enrollment count and waitlist of every catalog section, shared
+ * by all schedule sessions. Sections are keyed by name and section so the
+ * ledger does not depend on catalog positions. A seat is taken with a
+ * compare-and-set on the section's enrollment count, so the count can never
+ * pass the capacity however many threads reserve at once. Totals that are only
+ * read for reporting are kept in LongAdders so they do not become a point of
+ * contention themselves.
+ *
+ * @author symone
+ *
+ */
+public class SeatLedger {
+
+	/** Capacity of sections that were not given one */
+	private final int defaultCapacity;
+	/** Seats of each section keyed by name and section */
+	private final ConcurrentHashMap<String, Seats> seats = new ConcurrentHashMap<String, Seats>();
+	/** Number of successful reservations */
+	private final LongAdder reserved = new LongAdder();
+	/** Number of reservations refused because the section was full */
+	private final LongAdder rejected = new LongAdder();
+	/** Number of seats given back */
+	private final LongAdder released = new LongAdder();
+
+	/**
+	 * Constructs a SeatLedger where every section starts with the given capacity.
+	 *
+	 * @param defaultCapacity seats in each section
+	 * @throws IllegalArgumentException if defaultCapacity is negative
+	 */
+	public SeatLedger(int defaultCapacity) {
+		if (defaultCapacity < 0) {
+			throw new IllegalArgumentException("Invalid capacity.");
+		}
+		this.defaultCapacity = defaultCapacity;
+	}
+
+	/**
+	 * Sets the capacity of a section. Lowering it below the current enrollment
+	 * does not drop anyone; it only stops new reservations until enough seats are
+	 * released.
+	 *
+	 * @param name     Course name
+	 * @param section  Course section
+	 * @param capacity seats in the section
+	 * @throws IllegalArgumentException if capacity is negative
+	 */
+	public void setCapacity(String name, String section, int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Invalid capacity.");
+		}
+		seats(name, section).capacity = capacity;
+	}
+
+	/**
+	 * Returns the capacity of a section.
+	 *
+	 * @param name    Course name
+	 * @param section Course section
+	 * @return seats in the section
+	 */
+	public int getCapacity(String name, String section) {
+		Seats s = seats.get(key(name, section));
+		return s == null ? defaultCapacity : s.capacity;
+	}
+
+	/**
+	 * Returns the number of students enrolled in a section.
+	 *
+	 * @param name    Course name
+	 * @param section Course section
+	 * @return enrolled students
+	 */
+	public int getEnrolled(String name, String section) {
+		Seats s = seats.get(key(name, section));
+		return s == null ? 0 : s.enrolled.get();
+	}
+
+	/**
+	 * Returns the number of seats still open in a section.
+	 *
+	 * @param name    Course name
+	 * @param section Course section
+	 * @return open seats, never negative
+	 */
+	public int getOpenSeats(String name, String section) {
+		return Math.max(0, getCapacity(name, section) - getEnrolled(name, section));
+	}
+
+	/**
+	 * Takes a seat in the given section if one is open.
+	 *
+	 * @param course section to reserve
+	 * @return true if a seat was taken, false if the section is full
+	 */
+	public boolean reserve(Course course) {
+		Seats s = seats(course.getName(), course.getSection());
+		int enrolled;
+		do {
+			enrolled = s.enrolled.get();
+			if (enrolled >= s.capacity) {
+				rejected.increment();
+				return false;
+			}
+		} while (!s.enrolled.compareAndSet(enrolled, enrolled + 1));
+		reserved.increment();
+		return true;
+	}
+
+	/**
+	 * Gives back a seat in the given section.
+	 *
+	 * @param course section to release
+	 */
+	public void release(Course course) {
+		Seats s = seats(course.getName(), course.getSection());
+		int enrolled;
+		do {
+			enrolled = s.enrolled.get();
+			if (enrolled == 0) {
+				return;
+			}
+		} while (!s.enrolled.compareAndSet(enrolled, enrolled - 1));
+		released.increment();
+	}
+
+	/**
+	 * Adds a student to the end of a section's waitlist.
+	 *
+	 * @param course    section to wait for
+	 * @param studentId student id
+	 * @return true if added, false if the student was already waiting
+	 */
+	public boolean joinWaitlist(Course course, String studentId) {
+		ConcurrentLinkedDeque<String> waitlist = seats(course.getName(), course.getSection()).waitlist;
+		synchronized (waitlist) {
+			if (waitlist.contains(studentId)) {
+				return false;
+			}
+			return waitlist.offerLast(studentId);
+		}
+	}
+
+	/**
+	 * Removes a student from a section's waitlist.
+	 *
+	 * @param course    section waited for
+	 * @param studentId student id
+	 * @return true if the student was waiting
+	 */
+	public boolean leaveWaitlist(Course course, String studentId) {
+		ConcurrentLinkedDeque<String> waitlist = seats(course.getName(), course.getSection()).waitlist;
+		synchronized (waitlist) {
+			return waitlist.remove(studentId);
+		}
+	}
+
+	/**
+	 * Removes and returns the first student waiting for a section.
+	 *
+	 * @param course section waited for
+	 * @return student id, or null if nobody is waiting
+	 */
+	public String pollWaitlist(Course course) {
+		ConcurrentLinkedDeque<String> waitlist = seats(course.getName(), course.getSection()).waitlist;
+		synchronized (waitlist) {
+			return waitlist.pollFirst();
+		}
+	}
+
+	/**
+	 * Puts a student back at the front of a section's waitlist, for a student
+	 * taken off by pollWaitlist() who could not be given the seat after all. A
+	 * student who joined again in the meantime is moved to the front rather than
+	 * listed twice.
+	 *
+	 * @param course    section waited for
+	 * @param studentId student id
+	 */
+	public void returnToWaitlist(Course course, String studentId) {
+		ConcurrentLinkedDeque<String> waitlist = seats(course.getName(), course.getSection()).waitlist;
+		synchronized (waitlist) {
+			waitlist.remove(studentId);
+			waitlist.offerFirst(studentId);
+		}
+	}
+
+	/**
+	 * Returns the number of students waiting for a section.
+	 *
+	 * @param course section waited for
+	 * @return waitlist length
+	 */
+	public int getWaitlistSize(Course course) {
+		Seats s = seats.get(key(course.getName(), course.getSection()));
+		return s == null ? 0 : s.waitlist.size();
+	}
+
+	/**
+	 * Returns the number of successful reservations so far.
+	 *
+	 * @return reservations
+	 */
+	public long getReservedCount() {
+		return reserved.sum();
+	}
+
+	/**
+	 * Returns the number of reservations refused because a section was full.
+	 *
+	 * @return refused reservations
+	 */
+	public long getRejectedCount() {
+		return rejected.sum();
+	}
+
+	/**
+	 * Returns the number of seats given back so far.
+	 *
+	 * @return releases
+	 */
+	public long getReleasedCount() {
+		return released.sum();
+	}
+
+	/**
+	 * Returns the Seats of a section, adding them if needed.
+	 *
+	 * @param name    Course name
+	 * @param section Course section
+	 * @return the section's Seats
+	 */
+	private Seats seats(String name, String section) {
+		return seats.computeIfAbsent(key(name, section), k -> new Seats(defaultCapacity));
+	}
+
+	/**
+	 * Returns the lookup key for a name and section.
+	 *
+	 * @param name    Course name
+	 * @param section Course section
+	 * @return lookup key
+	 */
+	private static String key(String name, String section) {
+		return name + "," + section;
+	}
+
+	/**
+	 * Capacity, enrollment and waitlist of one section.
+	 */
+	private static class Seats {
+
+		/** Seats in the section */
+		private volatile int capacity;
+		/** Students holding a seat */
+		private final AtomicInteger enrolled = new AtomicInteger();
+		/** Students waiting for a seat, first in line first, changed only while locked */
+		private final ConcurrentLinkedDeque<String> waitlist = new ConcurrentLinkedDeque<String>();
+
+		/**
+		 * Constructs Seats with the given capacity.
+		 *
+		 * @param capacity seats in the section
+		 */
+		Seats(int capacity) {
+			this.capacity = capacity;
+		}
+	}
+}
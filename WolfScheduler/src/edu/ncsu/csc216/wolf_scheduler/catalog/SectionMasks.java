@@ -0,0 +1,182 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.WeekMask;
+
+/**
+ * Meeting times of every catalog section precomputed into parallel primitive
+ * arrays, so finding the sections that fit around a schedule is a tight loop
+ * of WeekMask checks instead of a checkConflict() call per pair. Each Course
+ * name is given an integer id so duplicates can be excluded by bit lookups.
+ *
+ * @author symone
+ *
+ */
+public final class SectionMasks {
+
+	/** Catalog sections, by position */
+	private final Course[] courses;
+	/** Name id of each section */
+	private final int[] nameIds;
+	/** Meeting day bits of each section */
+	private final int[] days;
+	/** Start minute of each section */
+	private final int[] starts;
+	/** End minute of each section */
+	private final int[] ends;
+	/** Name id of each Course name */
+	private final HashMap<String, Integer> nameIndex = new HashMap<String, Integer>();
+	/** Positions of the sections of each name id */
+	private final int[][] positionsByName;
+
+	/**
+	 * Constructs the SectionMasks of the given catalog.
+	 *
+	 * @param catalog catalog sections
+	 */
+	public SectionMasks(List<Course> catalog) {
+		int n = catalog.size();
+		courses = catalog.toArray(new Course[n]);
+		nameIds = new int[n];
+		days = new int[n];
+		starts = new int[n];
+		ends = new int[n];
+		int[] counts = new int[n];
+		for (int i = 0; i < n; i++) {
+			Course c = courses[i];
+			Integer id = nameIndex.get(c.getName());
+			if (id == null) {
+				id = nameIndex.size();
+				nameIndex.put(c.getName(), id);
+			}
+			nameIds[i] = id;
+			counts[id]++;
+			days[i] = WeekMask.dayBits(c.getMeetingDays());
+			starts[i] = WeekMask.toMinutes(c.getStartTime());
+			ends[i] = WeekMask.toMinutes(c.getEndTime());
+		}
+		positionsByName = new int[nameIndex.size()][];
+		for (int id = 0; id < positionsByName.length; id++) {
+			positionsByName[id] = new int[counts[id]];
+			counts[id] = 0;
+		}
+		for (int i = 0; i < n; i++) {
+			positionsByName[nameIds[i]][counts[nameIds[i]]++] = i;
+		}
+	}
+
+	/**
+	 * Returns the number of sections.
+	 *
+	 * @return number of sections
+	 */
+	public int size() {
+		return courses.length;
+	}
+
+	/**
+	 * Returns the section at the given position.
+	 *
+	 * @param position catalog position
+	 * @return section at the position
+	 */
+	public Course get(int position) {
+		return courses[position];
+	}
+
+	/**
+	 * Returns the id of the given Course name, or -1 if no section has it.
+	 *
+	 * @param name Course name
+	 * @return name id, or -1
+	 */
+	public int nameId(String name) {
+		Integer id = nameIndex.get(name);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * Returns the ids of the names of the given Courses that are in the catalog.
+	 *
+	 * @param names Course names
+	 * @return set of name ids
+	 */
+	public BitSet nameIds(List<String> names) {
+		BitSet ids = new BitSet();
+		for (String name : names) {
+			int id = nameId(name);
+			if (id >= 0) {
+				ids.set(id);
+			}
+		}
+		return ids;
+	}
+
+	/**
+	 * Returns the positions, in catalog order, of the sections that do not meet
+	 * during an occupied minute and whose name id is not excluded. If name is not
+	 * null only sections with that name are checked.
+	 *
+	 * @param occupied minutes already taken, not modified during the call
+	 * @param name     Course name to restrict to, or null for every Course
+	 * @param excluded name ids to leave out
+	 * @param parallel true to split the scan over the common fork-join pool
+	 * @return positions of the fitting sections
+	 */
+	public int[] fitting(WeekMask occupied, String name, BitSet excluded, boolean parallel) {
+		if (name != null) {
+			int id = nameId(name);
+			if (id < 0 || excluded.get(id)) {
+				return new int[0];
+			}
+			int[] positions = positionsByName[id];
+			IntStream stream = IntStream.of(positions);
+			return (parallel ? stream.parallel() : stream).filter(i -> fits(occupied, i)).toArray();
+		}
+		if (parallel) {
+			return IntStream.range(0, courses.length).parallel()
+					.filter(i -> !excluded.get(nameIds[i]) && fits(occupied, i)).toArray();
+		}
+		int[] result = new int[courses.length];
+		int count = 0;
+		for (int i = 0; i < courses.length; i++) {
+			if (!excluded.get(nameIds[i]) && fits(occupied, i)) {
+				result[count++] = i;
+			}
+		}
+		int[] trimmed = new int[count];
+		System.arraycopy(result, 0, trimmed, 0, count);
+		return trimmed;
+	}
+
+	/**
+	 * Returns the sections at the given positions.
+	 *
+	 * @param positions catalog positions
+	 * @return list of sections
+	 */
+	public ArrayList<Course> toCourses(int[] positions) {
+		ArrayList<Course> result = new ArrayList<Course>(positions.length);
+		for (int i : positions) {
+			result.add(courses[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns true if the section at position i does not intersect the mask.
+	 *
+	 * @param occupied minutes already taken
+	 * @param i        catalog position
+	 * @return true if the section fits
+	 */
+	private boolean fits(WeekMask occupied, int i) {
+		return !occupied.intersects(days[i], starts[i], ends[i]);
+	}
+}
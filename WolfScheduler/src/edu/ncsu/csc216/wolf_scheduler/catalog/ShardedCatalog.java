@@ -0,0 +1,374 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.io.FileNotFoundException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * A Course catalog partitioned into one CourseCatalog shard per department,
+ * the letters before the space of a Course name. Shards are built in parallel
+ * on the common fork-join pool, and lookups that name a department go only to
+ * that department's shard.
+ *
+ * The shards are held in an immutable map that is replaced as a whole with a
+ * compare-and-set, as CatalogHolder does for a single catalog. Reloading a
+ * department or applying a delta rebuilds only the shards it touches and shares
+ * every other shard with the previous version, so the time and memory of a
+ * reload grow with the departments that change rather than with the catalog.
+ *
+ * @author symone
+ *
+ */
+public final class ShardedCatalog {
+
+	/** Shard of a department with no sections */
+	private static final CourseCatalog EMPTY = new CourseCatalog(new ArrayList<Course>());
+
+	/** Shard of each department, by department; never modified once set */
+	private final AtomicReference<TreeMap<String, CourseCatalog>> shards;
+
+	/**
+	 * Constructs a ShardedCatalog of the given sections, building the shards in
+	 * parallel. The list is copied, so later changes to it do not affect the
+	 * catalog.
+	 *
+	 * @param catalog catalog sections
+	 */
+	public ShardedCatalog(List<Course> catalog) {
+		shards = new AtomicReference<TreeMap<String, CourseCatalog>>(build(partition(catalog)));
+	}
+
+	/**
+	 * Reads a ShardedCatalog from a file of Course records. Invalid and duplicate
+	 * records are ignored as in CourseRecordIO.
+	 *
+	 * @param fileName file to read Course records from
+	 * @return catalog of the valid records
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static ShardedCatalog load(String fileName) throws FileNotFoundException {
+		return load(Collections.singletonList(fileName));
+	}
+
+	/**
+	 * Reads a ShardedCatalog from several files of Course records, such as one
+	 * file per department or campus, reading the files in parallel. A file may
+	 * hold any departments. If files repeat a section, the first file in the
+	 * list wins.
+	 *
+	 * @param fileNames files to read Course records from
+	 * @return catalog of the valid records
+	 * @throws FileNotFoundException if a file cannot be found or read
+	 */
+	public static ShardedCatalog load(List<String> fileNames) throws FileNotFoundException {
+		List<ArrayList<Course>> files = read(fileNames);
+		ArrayList<Course> catalog = new ArrayList<Course>();
+		HashSet<String> keys = new HashSet<String>();
+		for (ArrayList<Course> file : files) {
+			for (Course c : file) {
+				if (keys.add(CatalogDelta.key(c.getName(), c.getSection()))) {
+					catalog.add(c);
+				}
+			}
+		}
+		return new ShardedCatalog(catalog);
+	}
+
+	/**
+	 * Returns the department of a Course name: the part before the first space,
+	 * or the whole name if it has no space.
+	 *
+	 * @param name Course name
+	 * @return department
+	 */
+	public static String department(String name) {
+		int space = name.indexOf(' ');
+		return space < 0 ? name : name.substring(0, space);
+	}
+
+	/**
+	 * Returns the departments with at least one section, in sorted order.
+	 *
+	 * @return departments
+	 */
+	public ArrayList<String> getDepartments() {
+		return new ArrayList<String>(shards.get().keySet());
+	}
+
+	/**
+	 * Returns the shard of a department.
+	 *
+	 * @param department department letters
+	 * @return shard, or null if the department has no sections
+	 */
+	public CourseCatalog getShard(String department) {
+		return shards.get().get(department);
+	}
+
+	/**
+	 * Returns the number of sections in every shard.
+	 *
+	 * @return number of sections
+	 */
+	public int size() {
+		int size = 0;
+		for (CourseCatalog shard : shards.get().values()) {
+			size += shard.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Returns every section, by department and then in the catalog order of its
+	 * shard.
+	 *
+	 * @return catalog sections
+	 */
+	public ArrayList<Course> getCourses() {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		for (CourseCatalog shard : shards.get().values()) {
+			courses.addAll(shard.getCourses());
+		}
+		return courses;
+	}
+
+	/**
+	 * Returns the section with the given name and section, or null if there is
+	 * none. Only the shard of the name's department is searched.
+	 *
+	 * @param name    Course name
+	 * @param section Course section
+	 * @return Course, or null
+	 */
+	public Course getCourse(String name, String section) {
+		CourseCatalog shard = shards.get().get(department(name));
+		return shard == null ? null : shard.getCourse(name, section);
+	}
+
+	/**
+	 * Returns up to limit sections whose name starts with the given prefix,
+	 * ignoring case, in name then section order. A prefix with a space is
+	 * routed to its department's shard; a prefix of letters only searches the
+	 * shards of the departments starting with it.
+	 *
+	 * @param prefix start of the Course name
+	 * @param limit  maximum number of sections to return
+	 * @return matching sections
+	 */
+	public ArrayList<Course> searchByName(String prefix, int limit) {
+		String wanted = department(prefix);
+		boolean whole = wanted.length() < prefix.length();
+		ArrayList<Course> found = new ArrayList<Course>();
+		for (Map.Entry<String, CourseCatalog> e : shards.get().entrySet()) {
+			String department = e.getKey();
+			if (whole ? department.equalsIgnoreCase(wanted)
+					: department.regionMatches(true, 0, wanted, 0, wanted.length())) {
+				found.addAll(e.getValue().searchByName(prefix, limit));
+			}
+		}
+		found.sort(TitleIndex.NAME_ORDER);
+		return limit >= found.size() ? found : new ArrayList<Course>(found.subList(0, Math.max(0, limit)));
+	}
+
+	/**
+	 * Returns the sections matching every filter set in the query, by department
+	 * and then in the catalog order of its shard.
+	 *
+	 * @param query filters to apply
+	 * @return matching sections
+	 */
+	public ArrayList<Course> search(CatalogQuery query) {
+		ArrayList<Course> found = new ArrayList<Course>();
+		for (CourseCatalog shard : shards.get().values()) {
+			found.addAll(shard.search(query));
+		}
+		return found;
+	}
+
+	/**
+	 * Replaces the sections of one department. Every other shard is kept as it
+	 * is. An empty list removes the department.
+	 *
+	 * @param department department letters
+	 * @param sections   new sections of the department
+	 * @return differences from the replaced sections
+	 * @throws IllegalArgumentException if a section belongs to another
+	 *                                  department
+	 */
+	public CatalogDiff reload(String department, List<Course> sections) {
+		for (Course c : sections) {
+			if (!department(c.getName()).equals(department)) {
+				throw new IllegalArgumentException("Invalid department.");
+			}
+		}
+		TreeMap<String, ArrayList<Course>> changed = new TreeMap<String, ArrayList<Course>>();
+		changed.put(department, new ArrayList<Course>(sections));
+		return replace(changed);
+	}
+
+	/**
+	 * Reads a file of Course records and replaces the sections of every
+	 * department it has sections of. Departments not in the file are kept as
+	 * they are.
+	 *
+	 * @param fileName file to read Course records from
+	 * @return differences from the replaced sections
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public CatalogDiff reload(String fileName) throws FileNotFoundException {
+		return replace(partition(CourseRecordIO.readCourseRecords(fileName)));
+	}
+
+	/**
+	 * Applies a delta, shard by shard. Only the shards of the departments the
+	 * delta changes are touched, each with CourseCatalog.apply().
+	 *
+	 * @param delta changes to apply
+	 * @return differences from the replaced sections
+	 * @throws IllegalArgumentException if delta is null
+	 */
+	public CatalogDiff apply(CatalogDelta delta) {
+		if (delta == null) {
+			throw new IllegalArgumentException("Invalid delta.");
+		}
+		TreeMap<String, CatalogDelta> split = new TreeMap<String, CatalogDelta>();
+		for (Map.Entry<String, Course> change : delta.getChanges().entrySet()) {
+			String[] nameAndSection = CatalogDelta.split(change.getKey());
+			String department = department(nameAndSection[0]);
+			CatalogDelta part = split.get(department);
+			if (part == null) {
+				part = new CatalogDelta();
+				split.put(department, part);
+			}
+			if (change.getValue() == null) {
+				part.remove(nameAndSection[0], nameAndSection[1]);
+			} else {
+				part.put(change.getValue());
+			}
+		}
+		while (true) {
+			TreeMap<String, CourseCatalog> before = shards.get();
+			TreeMap<String, CourseCatalog> after = new TreeMap<String, CourseCatalog>(before);
+			CatalogDiff diff = new CatalogDiff();
+			for (Map.Entry<String, CatalogDelta> e : split.entrySet()) {
+				CourseCatalog shard = before.get(e.getKey());
+				CourseCatalog next;
+				if (shard == null) {
+					shard = EMPTY;
+					next = new CourseCatalog(EMPTY.apply(e.getValue()).getCourses());
+				} else {
+					next = shard.apply(e.getValue());
+				}
+				put(after, e.getKey(), next);
+				diff.include(new CatalogDiff(shard, e.getValue()));
+			}
+			if (shards.compareAndSet(before, after)) {
+				return diff;
+			}
+		}
+	}
+
+	/**
+	 * Replaces the shards of the given departments with newly built ones.
+	 *
+	 * @param changed new sections of each department to replace
+	 * @return differences from the replaced sections
+	 */
+	private CatalogDiff replace(TreeMap<String, ArrayList<Course>> changed) {
+		TreeMap<String, CourseCatalog> built = build(changed);
+		while (true) {
+			TreeMap<String, CourseCatalog> before = shards.get();
+			TreeMap<String, CourseCatalog> after = new TreeMap<String, CourseCatalog>(before);
+			CatalogDiff diff = new CatalogDiff();
+			for (Map.Entry<String, CourseCatalog> e : built.entrySet()) {
+				CourseCatalog shard = before.get(e.getKey());
+				put(after, e.getKey(), e.getValue());
+				diff.include(new CatalogDiff(shard == null ? EMPTY : shard, e.getValue()));
+			}
+			if (shards.compareAndSet(before, after)) {
+				return diff;
+			}
+		}
+	}
+
+	/**
+	 * Sets the shard of a department, or removes the department if the shard is
+	 * empty.
+	 *
+	 * @param map        shards to update
+	 * @param department department letters
+	 * @param shard      new shard
+	 */
+	private static void put(TreeMap<String, CourseCatalog> map, String department, CourseCatalog shard) {
+		if (shard.size() == 0) {
+			map.remove(department);
+		} else {
+			map.put(department, shard);
+		}
+	}
+
+	/**
+	 * Groups sections by department, keeping their order within each department.
+	 *
+	 * @param catalog sections to group
+	 * @return sections of each department
+	 */
+	private static TreeMap<String, ArrayList<Course>> partition(List<Course> catalog) {
+		TreeMap<String, ArrayList<Course>> departments = new TreeMap<String, ArrayList<Course>>();
+		for (Course c : catalog) {
+			String department = department(c.getName());
+			ArrayList<Course> sections = departments.get(department);
+			if (sections == null) {
+				sections = new ArrayList<Course>();
+				departments.put(department, sections);
+			}
+			sections.add(c);
+		}
+		return departments;
+	}
+
+	/**
+	 * Builds the shard of each department in parallel on the common fork-join
+	 * pool.
+	 *
+	 * @param departments sections of each department
+	 * @return shard of each department
+	 */
+	private static TreeMap<String, CourseCatalog> build(TreeMap<String, ArrayList<Course>> departments) {
+		ConcurrentHashMap<String, CourseCatalog> built = new ConcurrentHashMap<String, CourseCatalog>();
+		departments.entrySet().parallelStream().forEach(e -> built.put(e.getKey(), new CourseCatalog(e.getValue())));
+		return new TreeMap<String, CourseCatalog>(built);
+	}
+
+	/**
+	 * Reads files of Course records in parallel on the common fork-join pool.
+	 *
+	 * @param fileNames files to read
+	 * @return valid records of each file, in the order of the files
+	 * @throws FileNotFoundException if a file cannot be found or read
+	 */
+	private static List<ArrayList<Course>> read(List<String> fileNames) throws FileNotFoundException {
+		try {
+			return fileNames.parallelStream().map(fileName -> {
+				try {
+					return CourseRecordIO.readCourseRecords(fileName);
+				} catch (FileNotFoundException e) {
+					throw new UncheckedIOException(e);
+				}
+			}).collect(Collectors.toList());
+		} catch (UncheckedIOException e) {
+			throw (FileNotFoundException) e.getCause();
+		}
+	}
+}
@@ -0,0 +1,392 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Type-ahead search over the catalog by Course name prefix and by words of the
+ * title. Names are kept in a sorted array so every name starting with a prefix
+ * is one contiguous range found by binary search. Titles are split into
+ * lower case words and each word maps to the sorted positions of the sections
+ * whose title contains it; the words themselves are sorted so a partly typed
+ * word matches a contiguous range of them. Both are built once when the
+ * catalog is loaded.
+ *
+ * @author symone
+ *
+ */
+public final class TitleIndex {
+
+	/** Order of searchByName() results: upper case name, then section */
+	static final Comparator<Course> NAME_ORDER = new Comparator<Course>() {
+		@Override
+		public int compare(Course a, Course b) {
+			int c = a.getName().toUpperCase(Locale.ROOT).compareTo(b.getName().toUpperCase(Locale.ROOT));
+			return c != 0 ? c : a.getSection().compareTo(b.getSection());
+		}
+	};
+
+	/** Most whole-word matches told apart when ranking titles */
+	private static final int MAX_EXACT = 127;
+	/** Longest title length told apart when ranking titles */
+	private static final int MAX_LENGTH = (1 << 23) - 1;
+
+	/** Catalog sections, by position */
+	private final Course[] courses;
+	/** Upper case name of each entry of byName, sorted */
+	private final String[] sortedNames;
+	/** Positions sorted by name then section */
+	private final int[] byName;
+	/** Distinct title words, sorted */
+	private final String[] words;
+	/** Sorted positions of the sections whose title contains each word */
+	private final int[][] postings;
+	/** Lower case title of each section */
+	private final String[] lowerTitles;
+
+	/**
+	 * Constructs the index of the given catalog.
+	 *
+	 * @param catalog catalog sections
+	 */
+	public TitleIndex(List<Course> catalog) {
+		int n = catalog.size();
+		courses = catalog.toArray(new Course[n]);
+
+		final String[] upperNames = new String[n];
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			upperNames[i] = courses[i].getName().toUpperCase(Locale.ROOT);
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				int c = upperNames[a].compareTo(upperNames[b]);
+				return c != 0 ? c : courses[a].getSection().compareTo(courses[b].getSection());
+			}
+		});
+		byName = new int[n];
+		sortedNames = new String[n];
+		for (int i = 0; i < n; i++) {
+			byName[i] = order[i];
+			sortedNames[i] = upperNames[order[i]];
+		}
+
+		TreeMap<String, int[]> lists = new TreeMap<String, int[]>();
+		lowerTitles = new String[n];
+		for (int i = 0; i < n; i++) {
+			lowerTitles[i] = courses[i].getTitle().toLowerCase(Locale.ROOT);
+			for (String word : tokenize(lowerTitles[i])) {
+				int[] list = lists.get(word);
+				if (list == null) {
+					list = new int[] { 0, 0, 0, 0 };
+					lists.put(word, list);
+				}
+				int size = list[0];
+				if (size == 0 || list[size] != i) {
+					if (size + 1 == list.length) {
+						list = Arrays.copyOf(list, list.length * 2);
+						lists.put(word, list);
+					}
+					list[++size] = i;
+					list[0] = size;
+				}
+			}
+		}
+		words = lists.keySet().toArray(new String[lists.size()]);
+		postings = new int[words.length][];
+		for (int w = 0; w < words.length; w++) {
+			int[] list = lists.get(words[w]);
+			postings[w] = Arrays.copyOfRange(list, 1, list[0] + 1);
+		}
+	}
+
+	/**
+	 * Returns the positions of up to limit sections whose name starts with the
+	 * given prefix, ignoring case, in name then section order.
+	 *
+	 * @param prefix start of the Course name, such as "CSC 2"
+	 * @param limit  maximum number of positions to return
+	 * @return positions of matching sections
+	 */
+	public int[] searchByName(String prefix, int limit) {
+		String key = prefix.toUpperCase(Locale.ROOT);
+		int from = lowerBound(sortedNames, key);
+		int to = from;
+		while (to < sortedNames.length && to - from < limit && sortedNames[to].startsWith(key)) {
+			to++;
+		}
+		return Arrays.copyOfRange(byName, from, to);
+	}
+
+	/**
+	 * Returns the positions of up to limit sections whose title has a word
+	 * starting with each word of the query, ignoring case. Sections with more
+	 * whole-word matches rank first, then sections whose title starts with the
+	 * query, then shorter titles, then catalog order.
+	 *
+	 * @param query words to search for, such as "software dev"
+	 * @param limit maximum number of positions to return
+	 * @return positions of matching sections, best first
+	 */
+	public int[] searchByTitle(String query, int limit) {
+		final String lowerQuery = query.toLowerCase(Locale.ROOT).trim();
+		ArrayList<String> terms = tokenize(lowerQuery);
+		if (terms.isEmpty() || limit <= 0) {
+			return new int[0];
+		}
+		int[] matches = null;
+		int[] counts = null;
+		for (String term : terms) {
+			int first = lowerBound(words, term);
+			int[] any = union(first, term);
+			int[] whole = first < words.length && words[first].equals(term) ? postings[first] : null;
+			if (matches == null) {
+				matches = any;
+				counts = new int[any.length];
+			} else {
+				// Both lists are sorted, so keep the positions in both in one pass
+				int size = 0;
+				for (int i = 0, j = 0; i < matches.length && j < any.length;) {
+					if (matches[i] < any[j]) {
+						i++;
+					} else if (matches[i] > any[j]) {
+						j++;
+					} else {
+						matches[size] = matches[i];
+						counts[size++] = counts[i];
+						i++;
+						j++;
+					}
+				}
+				matches = Arrays.copyOf(matches, size);
+				counts = Arrays.copyOf(counts, size);
+			}
+			if (matches.length == 0) {
+				return new int[0];
+			}
+			if (whole != null) {
+				for (int i = 0; i < matches.length; i++) {
+					if (Arrays.binarySearch(whole, matches[i]) >= 0) {
+						counts[i]++;
+					}
+				}
+			}
+		}
+
+		// Rank each match once into a packed key where smaller is better: fewer
+		// missed whole words, then starts with the query, then title length, then
+		// position. Only the best limit keys are kept, in a bounded max-heap.
+		int keep = Math.min(limit, matches.length);
+		long[] heap = new long[keep];
+		int size = 0;
+		for (int i = 0; i < matches.length; i++) {
+			String title = lowerTitles[matches[i]];
+			long key = (long) (MAX_EXACT - Math.min(counts[i], MAX_EXACT)) << 56
+					| (title.startsWith(lowerQuery) ? 0L : 1L << 55)
+					| (long) Math.min(title.length(), MAX_LENGTH) << 32 | matches[i];
+			if (size < keep) {
+				heap[size] = key;
+				siftUp(heap, size++);
+			} else if (key < heap[0]) {
+				heap[0] = key;
+				siftDown(heap, size);
+			}
+		}
+		Arrays.sort(heap);
+		int[] result = new int[keep];
+		for (int i = 0; i < keep; i++) {
+			result[i] = (int) heap[i];
+		}
+		return result;
+	}
+
+	/**
+	 * Moves the key at index i of a max-heap up to its place.
+	 *
+	 * @param heap heap of keys
+	 * @param i    index of the key added last
+	 */
+	private static void siftUp(long[] heap, int i) {
+		long key = heap[i];
+		while (i > 0 && heap[(i - 1) / 2] < key) {
+			heap[i] = heap[(i - 1) / 2];
+			i = (i - 1) / 2;
+		}
+		heap[i] = key;
+	}
+
+	/**
+	 * Moves the root key of a max-heap down to its place.
+	 *
+	 * @param heap heap of keys
+	 * @param size number of keys in the heap
+	 */
+	private static void siftDown(long[] heap, int size) {
+		long key = heap[0];
+		int i = 0;
+		while (2 * i + 1 < size) {
+			int child = 2 * i + 1;
+			if (child + 1 < size && heap[child + 1] > heap[child]) {
+				child++;
+			}
+			if (heap[child] <= key) {
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = key;
+	}
+
+	/**
+	 * Returns the sorted positions of the sections whose title has a word
+	 * starting with the given term, merging the postings of every such word.
+	 *
+	 * @param first index of the first word not less than the term
+	 * @param term  start of a word
+	 * @return sorted positions without repeats
+	 */
+	private int[] union(int first, String term) {
+		int end = first;
+		int total = 0;
+		while (end < words.length && words[end].startsWith(term)) {
+			total += postings[end++].length;
+		}
+		if (end - first == 1) {
+			return postings[first].clone();
+		}
+		int[] all = new int[total];
+		int size = 0;
+		for (int w = first; w < end; w++) {
+			System.arraycopy(postings[w], 0, all, size, postings[w].length);
+			size += postings[w].length;
+		}
+		Arrays.sort(all);
+		size = 0;
+		for (int i = 0; i < all.length; i++) {
+			if (size == 0 || all[size - 1] != all[i]) {
+				all[size++] = all[i];
+			}
+		}
+		return Arrays.copyOf(all, size);
+	}
+
+	/**
+	 * Returns the sections at the given positions.
+	 *
+	 * @param positions catalog positions
+	 * @return list of sections
+	 */
+	public ArrayList<Course> toCourses(int[] positions) {
+		ArrayList<Course> result = new ArrayList<Course>(positions.length);
+		for (int i : positions) {
+			result.add(courses[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the order searchByTitle() ranks its results in, for merging the
+	 * results of several indexes: more whole-word matches of the query first,
+	 * then titles starting with the query, then shorter titles, then the given
+	 * catalog order.
+	 *
+	 * @param query        words searched for
+	 * @param catalogOrder order of sections that tie
+	 * @return ranking of matching sections, best first
+	 */
+	static Comparator<Course> relevance(String query, final Comparator<Course> catalogOrder) {
+		final String lowerQuery = query.toLowerCase(Locale.ROOT).trim();
+		final ArrayList<String> terms = tokenize(lowerQuery);
+		final IdentityHashMap<Course, Integer> exact = new IdentityHashMap<Course, Integer>();
+		return new Comparator<Course>() {
+			@Override
+			public int compare(Course a, Course b) {
+				int c = exact(b) - exact(a);
+				if (c != 0) {
+					return c;
+				}
+				String aTitle = a.getTitle().toLowerCase(Locale.ROOT);
+				String bTitle = b.getTitle().toLowerCase(Locale.ROOT);
+				boolean aStarts = aTitle.startsWith(lowerQuery);
+				boolean bStarts = bTitle.startsWith(lowerQuery);
+				if (aStarts != bStarts) {
+					return aStarts ? -1 : 1;
+				}
+				if (aTitle.length() != bTitle.length()) {
+					return aTitle.length() - bTitle.length();
+				}
+				return catalogOrder.compare(a, b);
+			}
+
+			private int exact(Course course) {
+				Integer count = exact.get(course);
+				if (count == null) {
+					HashSet<String> titleWords = new HashSet<String>(
+							tokenize(course.getTitle().toLowerCase(Locale.ROOT)));
+					count = 0;
+					for (String term : terms) {
+						if (titleWords.contains(term)) {
+							count++;
+						}
+					}
+					exact.put(course, count);
+				}
+				return count;
+			}
+		};
+	}
+
+	/**
+	 * Splits lower case text into words of letters and digits.
+	 *
+	 * @param text lower case text
+	 * @return words in order
+	 */
+	static ArrayList<String> tokenize(String text) {
+		ArrayList<String> tokens = new ArrayList<String>();
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (wordChar && start < 0) {
+				start = i;
+			} else if (!wordChar && start >= 0) {
+				tokens.add(text.substring(start, i));
+				start = -1;
+			}
+		}
+		return tokens;
+	}
+
+	/**
+	 * Returns the first index of the sorted array whose value is not less than
+	 * key.
+	 *
+	 * @param sorted sorted strings
+	 * @param key    value to look for
+	 * @return first index at or after key
+	 */
+	private static int lowerBound(String[] sorted, String key) {
+		int lo = 0;
+		int hi = sorted.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (sorted[mid].compareTo(key) < 0) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+}
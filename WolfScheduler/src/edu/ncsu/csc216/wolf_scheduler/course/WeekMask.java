@@ -0,0 +1,242 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+import java.util.Arrays;
+
+/**
+ * Bitmask of the minutes of a week that are occupied by Activities. Each day
+ * from Sunday ('U') to Saturday ('S') is stored as 1440 bits, one per minute.
+ * Meeting times are inclusive on both ends, matching checkConflict(), so two
+ * Activities conflict exactly when their masks intersect. Arranged Activities
+ * have no meeting days and never occupy any bits.
+ *
+ * @author symone
+ *
+ */
+public final class WeekMask {
+
+	/** Meeting day characters in bit order */
+	public static final String DAYS = "UMTWHFS";
+	/** Number of days in a week */
+	public static final int DAY_COUNT = 7;
+	/** Number of minutes in a day */
+	public static final int MINUTES_PER_DAY = 1440;
+	/** Number of long words needed for one day */
+	private static final int WORDS_PER_DAY = (MINUTES_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+
+	/** Occupied minutes, WORDS_PER_DAY words per day */
+	private final long[] words;
+
+	/**
+	 * Constructs an empty WeekMask.
+	 */
+	public WeekMask() {
+		this.words = new long[DAY_COUNT * WORDS_PER_DAY];
+	}
+
+	/**
+	 * Constructs a WeekMask backed by the given words.
+	 *
+	 * @param words words to use
+	 */
+	private WeekMask(long[] words) {
+		this.words = words;
+	}
+
+	/**
+	 * Returns the meeting days as a bit set where bit i is set if the day
+	 * DAYS.charAt(i) is a meeting day. Arranged ("A") meeting days return 0.
+	 *
+	 * @param meetingDays meeting days string
+	 * @return bit set of meeting days
+	 */
+	public static int dayBits(String meetingDays) {
+		int bits = 0;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			int day = DAYS.indexOf(meetingDays.charAt(i));
+			if (day >= 0) {
+				bits |= 1 << day;
+			}
+		}
+		return bits;
+	}
+
+	/**
+	 * Returns the given military time as minutes since midnight.
+	 *
+	 * @param time military time
+	 * @return minutes since midnight
+	 */
+	public static int toMinutes(int time) {
+		return time / 100 * 60 + time % 100;
+	}
+
+	/**
+	 * Returns the given minutes since midnight as military time.
+	 *
+	 * @param minutes minutes since midnight
+	 * @return military time
+	 */
+	public static int toTime(int minutes) {
+		return minutes / 60 * 100 + minutes % 60;
+	}
+
+	/**
+	 * Marks the minutes of the given Activity as occupied.
+	 *
+	 * @param activity Activity to add
+	 */
+	public void add(Activity activity) {
+		set(dayBits(activity.getMeetingDays()), toMinutes(activity.getStartTime()),
+				toMinutes(activity.getEndTime()));
+	}
+
+	/**
+	 * Marks the minutes of the given Activity as free. Since a schedule never
+	 * contains conflicting Activities, this undoes add() for the same Activity.
+	 *
+	 * @param activity Activity to remove
+	 */
+	public void remove(Activity activity) {
+		clear(dayBits(activity.getMeetingDays()), toMinutes(activity.getStartTime()),
+				toMinutes(activity.getEndTime()));
+	}
+
+	/**
+	 * Returns true if the given Activity meets during any occupied minute.
+	 *
+	 * @param activity Activity to check
+	 * @return true if the Activity conflicts with this mask
+	 */
+	public boolean intersects(Activity activity) {
+		return intersects(dayBits(activity.getMeetingDays()), toMinutes(activity.getStartTime()),
+				toMinutes(activity.getEndTime()));
+	}
+
+	/**
+	 * Marks the minutes from start to end (inclusive) on each of the given days as
+	 * occupied.
+	 *
+	 * @param days  bit set of days
+	 * @param start first minute
+	 * @param end   last minute
+	 */
+	public void set(int days, int start, int end) {
+		for (int day = 0; days != 0; day++, days >>>= 1) {
+			if ((days & 1) != 0) {
+				int base = day * WORDS_PER_DAY;
+				for (int w = start >>> 6; w <= end >>> 6; w++) {
+					words[base + w] |= range(w, start, end);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Marks the minutes from start to end (inclusive) on each of the given days as
+	 * free.
+	 *
+	 * @param days  bit set of days
+	 * @param start first minute
+	 * @param end   last minute
+	 */
+	public void clear(int days, int start, int end) {
+		for (int day = 0; days != 0; day++, days >>>= 1) {
+			if ((days & 1) != 0) {
+				int base = day * WORDS_PER_DAY;
+				for (int w = start >>> 6; w <= end >>> 6; w++) {
+					words[base + w] &= ~range(w, start, end);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns true if any minute from start to end (inclusive) on any of the given
+	 * days is occupied.
+	 *
+	 * @param days  bit set of days
+	 * @param start first minute
+	 * @param end   last minute
+	 * @return true if the interval intersects this mask
+	 */
+	public boolean intersects(int days, int start, int end) {
+		for (int day = 0; days != 0; day++, days >>>= 1) {
+			if ((days & 1) != 0) {
+				int base = day * WORDS_PER_DAY;
+				for (int w = start >>> 6; w <= end >>> 6; w++) {
+					if ((words[base + w] & range(w, start, end)) != 0) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if no minute is occupied.
+	 *
+	 * @return true if the mask is empty
+	 */
+	public boolean isEmpty() {
+		for (long word : words) {
+			if (word != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns an independent copy of this mask.
+	 *
+	 * @return copy of this mask
+	 */
+	public WeekMask copy() {
+		return new WeekMask(words.clone());
+	}
+
+	/**
+	 * Returns the bits of word w that fall between start and end (inclusive).
+	 *
+	 * @param w     word index within a day
+	 * @param start first minute
+	 * @param end   last minute
+	 * @return bits of the word inside the interval
+	 */
+	private static long range(int w, int start, int end) {
+		long mask = -1L;
+		if (w == start >>> 6) {
+			mask &= -1L << (start & 63);
+		}
+		if (w == end >>> 6) {
+			mask &= -1L >>> (63 - (end & 63));
+		}
+		return mask;
+	}
+
+	/**
+	 * Generates a hashCode for WeekMask using the occupied minutes.
+	 *
+	 * @return hashCode for WeekMask
+	 */
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(words);
+	}
+
+	/**
+	 * Compares a given object to this object for equality on the occupied minutes.
+	 *
+	 * @param obj the Object to compare
+	 * @return true if both masks occupy the same minutes
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null || getClass() != obj.getClass())
+			return false;
+		return Arrays.equals(words, ((WeekMask) obj).words);
+	}
+}
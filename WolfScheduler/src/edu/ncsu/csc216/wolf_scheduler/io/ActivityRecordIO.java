@@ -1,9 +1,12 @@
 package edu.ncsu.csc216.wolf_scheduler.io;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 
@@ -31,4 +34,41 @@ public class ActivityRecordIO {
 		fileWriter.close();
 	}
 
+	/**
+	 * Writes the given Activities to a file as JSON: one JSON array, or one
+	 * object per line if ndjson is true. See JsonActivityWriter for the fields.
+	 * 
+	 * @param fileName   file to save to
+	 * @param activities Activities to save
+	 * @param ndjson     true for one object per line
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void writeActivityRecordsJson(String fileName, List<? extends Activity> activities, boolean ndjson)
+			throws IOException {
+		try (JsonActivityWriter writer = new JsonActivityWriter(new FileOutputStream(fileName), ndjson)) {
+			writer.writeAll(activities);
+		}
+	}
+
+	/**
+	 * Writes the given Activities to a file as an iCalendar calendar of weekly
+	 * recurring events over the given term. See IcsActivityWriter for what is
+	 * written. The term is checked before the file is opened, so an invalid term
+	 * leaves an existing file as it was.
+	 * 
+	 * @param fileName   file to save to
+	 * @param activities Activities to save
+	 * @param termStart  first day of the term
+	 * @param termEnd    last day of the term
+	 * @throws IOException if the file cannot be written
+	 * @throws IllegalArgumentException if the term is invalid
+	 */
+	public static void writeActivityRecordsIcs(String fileName, List<? extends Activity> activities,
+			LocalDate termStart, LocalDate termEnd) throws IOException {
+		IcsActivityWriter.checkTerm(termStart, termEnd);
+		try (IcsActivityWriter writer = new IcsActivityWriter(new FileOutputStream(fileName), termStart, termEnd)) {
+			writer.writeAll(activities);
+		}
+	}
+
 }
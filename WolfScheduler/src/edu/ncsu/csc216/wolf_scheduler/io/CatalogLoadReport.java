@@ -0,0 +1,257 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+/**
+ * Profile of one catalog load: how much was read, what became of each line,
+ * and the time spent in each phase. Filled in by
+ * CourseRecordIO.readCourseRecords(String, CatalogLoadReport) and, for the
+ * index phase, CourseCatalog.load(String, CatalogLoadReport).
+ *
+ * <ul>
+ * <li>read - opening the file and reading its lines</li>
+ * <li>tokenize - splitting lines into fields, and rejecting lines that cannot
+ * be split</li>
+ * <li>validate - constructing each Course, whose setters check the fields</li>
+ * <li>dedupe - checking for and dropping duplicate sections</li>
+ * <li>index - building the catalog indexes, if loaded as a CourseCatalog</li>
+ * </ul>
+ *
+ * @author symone
+ *
+ */
+public class CatalogLoadReport {
+
+	/** Phase of reading lines */
+	static final int READ = 0;
+	/** Phase of splitting lines into fields */
+	static final int TOKENIZE = 1;
+	/** Phase of constructing Courses */
+	static final int VALIDATE = 2;
+	/** Phase of checking for duplicates */
+	static final int DEDUPE = 3;
+	/** Phase of building the catalog indexes */
+	static final int INDEX = 4;
+	/** Number of phases */
+	static final int PHASES = 5;
+	/** Names of the phases */
+	private static final String[] PHASE_NAMES = { "read", "tokenize", "validate", "dedupe", "index" };
+
+	/** File loaded */
+	private final String fileName;
+	/** Size of the file in bytes */
+	private long bytes;
+	/** Lines read */
+	private int lines;
+	/** Valid, distinct Courses kept */
+	private int courses;
+	/** Invalid lines skipped */
+	private int invalid;
+	/** Duplicate Courses skipped */
+	private int duplicates;
+	/** Nanoseconds spent in each phase */
+	private final long[] phases = new long[PHASES];
+
+	/**
+	 * Constructs an empty report for a file.
+	 *
+	 * @param fileName file to be loaded
+	 */
+	public CatalogLoadReport(String fileName) {
+		this.fileName = fileName;
+	}
+
+	/**
+	 * Records the counts of a load.
+	 *
+	 * @param bytes      size of the file
+	 * @param lines      lines read
+	 * @param courses    Courses kept
+	 * @param invalid    invalid lines
+	 * @param duplicates duplicate Courses
+	 */
+	void setCounts(long bytes, int lines, int courses, int invalid, int duplicates) {
+		this.bytes = bytes;
+		this.lines = lines;
+		this.courses = courses;
+		this.invalid = invalid;
+		this.duplicates = duplicates;
+	}
+
+	/**
+	 * Records the time of the reading phases.
+	 *
+	 * @param nanos nanoseconds of each phase
+	 */
+	void setPhases(long[] nanos) {
+		System.arraycopy(nanos, 0, phases, 0, INDEX);
+	}
+
+	/**
+	 * Records the time spent building the catalog indexes.
+	 *
+	 * @param nanos nanoseconds spent indexing
+	 */
+	public void setIndexNanos(long nanos) {
+		phases[INDEX] = nanos;
+	}
+
+	/**
+	 * Returns the file loaded.
+	 *
+	 * @return file name
+	 */
+	public String getFileName() {
+		return fileName;
+	}
+
+	/**
+	 * Returns the size of the file.
+	 *
+	 * @return bytes
+	 */
+	public long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * Returns the number of lines read.
+	 *
+	 * @return lines
+	 */
+	public int getLines() {
+		return lines;
+	}
+
+	/**
+	 * Returns the number of valid, distinct Courses kept.
+	 *
+	 * @return Courses
+	 */
+	public int getCourses() {
+		return courses;
+	}
+
+	/**
+	 * Returns the number of invalid lines skipped.
+	 *
+	 * @return invalid lines
+	 */
+	public int getInvalid() {
+		return invalid;
+	}
+
+	/**
+	 * Returns the number of duplicate Courses skipped.
+	 *
+	 * @return duplicates
+	 */
+	public int getDuplicates() {
+		return duplicates;
+	}
+
+	/**
+	 * Returns the time spent reading lines.
+	 *
+	 * @return nanoseconds
+	 */
+	public long getReadNanos() {
+		return phases[READ];
+	}
+
+	/**
+	 * Returns the time spent splitting lines into fields.
+	 *
+	 * @return nanoseconds
+	 */
+	public long getTokenizeNanos() {
+		return phases[TOKENIZE];
+	}
+
+	/**
+	 * Returns the time spent constructing and validating Courses.
+	 *
+	 * @return nanoseconds
+	 */
+	public long getValidateNanos() {
+		return phases[VALIDATE];
+	}
+
+	/**
+	 * Returns the time spent checking for duplicates.
+	 *
+	 * @return nanoseconds
+	 */
+	public long getDedupeNanos() {
+		return phases[DEDUPE];
+	}
+
+	/**
+	 * Returns the time spent building the catalog indexes.
+	 *
+	 * @return nanoseconds, 0 if the file was not loaded as a CourseCatalog
+	 */
+	public long getIndexNanos() {
+		return phases[INDEX];
+	}
+
+	/**
+	 * Returns the total time of every phase.
+	 *
+	 * @return nanoseconds
+	 */
+	public long getTotalNanos() {
+		long total = 0;
+		for (long p : phases) {
+			total += p;
+		}
+		return total;
+	}
+
+	/**
+	 * Returns the bytes loaded per second over the whole load.
+	 *
+	 * @return bytes per second
+	 */
+	public double getBytesPerSecond() {
+		return perSecond(bytes);
+	}
+
+	/**
+	 * Returns the lines loaded per second over the whole load.
+	 *
+	 * @return lines per second
+	 */
+	public double getLinesPerSecond() {
+		return perSecond(lines);
+	}
+
+	/**
+	 * Returns the report on one line, such as "catalog.txt: 13 lines, 1024
+	 * bytes, 12 courses, 0 invalid, 1 duplicate in 2.1 ms (6190 lines/s, 0.5
+	 * MB/s); read 1.2 ms, tokenize 0.5 ms, ...".
+	 *
+	 * @return summary
+	 */
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder(String.format(
+				"%s: %d lines, %d bytes, %d courses, %d invalid, %d duplicate in %.1f ms (%.0f lines/s, %.1f MB/s)",
+				fileName, lines, bytes, courses, invalid, duplicates, getTotalNanos() / 1e6, getLinesPerSecond(),
+				getBytesPerSecond() / 1e6));
+		for (int p = 0; p < PHASES; p++) {
+			text.append(p == 0 ? "; " : ", ").append(PHASE_NAMES[p])
+					.append(String.format(" %.1f ms", phases[p] / 1e6));
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Returns a count per second of the total time.
+	 *
+	 * @param count amount loaded
+	 * @return amount per second, or 0 if no time was recorded
+	 */
+	private double perSecond(long count) {
+		long total = getTotalNanos();
+		return total == 0 ? 0 : count / (total / 1e9);
+	}
+}
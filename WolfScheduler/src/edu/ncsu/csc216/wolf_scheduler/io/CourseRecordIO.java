@@ -3,11 +3,20 @@
  */
 package edu.ncsu.csc216.wolf_scheduler.io;
 
+import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 
@@ -20,54 +29,164 @@ import edu.ncsu.csc216.wolf_scheduler.course.Course;
  */
 public class CourseRecordIO {
 
+	/** Size of the buffers reading a file */
+	private static final int BUFFER_SIZE = 64 * 1024;
+	/** First bytes of a gzip file */
+	private static final byte[] GZIP_MAGIC = { 0x1f, (byte) 0x8b };
+	/** First bytes of a zstd frame */
+	private static final byte[] ZSTD_MAGIC = { 0x28, (byte) 0xb5, 0x2f, (byte) 0xfd };
+	/** Logger the load report of readCourseRecords(String) is written to at FINE */
+	private static final Logger LOG = Logger.getLogger(CourseRecordIO.class.getName());
+
 	/**
 	 * Reads course records from a file and generates a list of valid Courses. Any
-	 * invalid Courses are ignored. If the file to read cannot be found or the
-	 * permissions are incorrect a File NotFoundException is thrown.
+	 * invalid Courses are ignored. Gzip compressed files are read as they are,
+	 * see openRecords(). If the file to read cannot be found or the
+	 * permissions are incorrect a File NotFoundException is thrown. If this
+	 * class's logger is enabled for FINE the load is profiled and its
+	 * CatalogLoadReport is logged.
 	 * 
 	 * @param fileName file to read Course records from
 	 * @return a list of valid Courses
 	 * @throws FileNotFoundException if the file cannot be found or read
 	 */
 	public static ArrayList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
-		Scanner fileReader = new Scanner(new FileInputStream(fileName)); // Create a file scanner to read the file
+		if (!LOG.isLoggable(Level.FINE)) {
+			return readCourseRecords(fileName, null);
+		}
+		CatalogLoadReport report = new CatalogLoadReport(fileName);
+		ArrayList<Course> courses = readCourseRecords(fileName, report);
+		LOG.fine(report.toString());
+		return courses;
+	}
+
+	/**
+	 * Reads course records from a file as readCourseRecords(String) does, timing
+	 * each phase of the load into the given report: reading lines, splitting
+	 * them into fields, validating the fields by constructing the Course, and
+	 * checking for duplicates. Duplicates are found with a hash set of names and
+	 * sections, so the check takes constant time per record.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param report   report to fill in, or null to skip timing
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static ArrayList<Course> readCourseRecords(String fileName, CatalogLoadReport report)
+			throws FileNotFoundException {
+		long begin = report == null ? 0 : System.nanoTime();
+		Scanner fileReader = new Scanner(openRecords(fileName)); // Create a file scanner to read the file
 		ArrayList<Course> courses = new ArrayList<Course>(); // Create an empty array of Course objects
+		// Names and sections already read, to spot duplicates
+		HashSet<String> seen = new HashSet<String>();
+		long[] phases = new long[CatalogLoadReport.PHASES];
+		int lines = 0;
+		int invalid = 0;
+		int duplicates = 0;
+		long t = begin;
 		while (fileReader.hasNextLine()) { // While we have more lines in the file
-			try { // Attempt to do the following
-					// Read the line, process it in readCourse, and get the object
-					// If trying to construct a Course in readCourse() results in an exception, flow
-					// of control will transfer to the catch block, below
-				Course course = readCourse(fileReader.nextLine());
-
-				// Create a flag to see if the newly created Course is a duplicate of something
-				// already in the list
-				boolean duplicate = false;
-				// Look at all the courses in our list
-				for (int i = 0; i < courses.size(); i++) {
-					// Get the course at index i
-					Course current = courses.get(i);
-					// Check if the name and section are the same
-					if (course.getName().equals(current.getName())
-							&& course.getSection().equals(current.getSection())) {
-						// It's a duplicate!
-						duplicate = true;
-						break; // We can break out of the loop, no need to continue searching
-					}
+			String line = fileReader.nextLine();
+			lines++;
+			t = lap(report, phases, CatalogLoadReport.READ, t);
+			try {
+				// Split the line into fields, then construct the Course, which validates
+				// them; an exception from either means the line is invalid
+				CourseFields fields = tokenize(line);
+				t = lap(report, phases, CatalogLoadReport.TOKENIZE, t);
+				Course course;
+				try {
+					course = fields.toCourse();
+				} finally {
+					t = lap(report, phases, CatalogLoadReport.VALIDATE, t);
+				}
+				// Add the Course unless one with the same name and section was read
+				if (seen.add(course.getName() + "," + course.getSection())) {
+					courses.add(course);
+				} else {
+					duplicates++;
 				}
-				// If the course is NOT a duplicate
-				if (!duplicate) {
-					courses.add(course); // Add to the ArrayList!
-				} // Otherwise ignore
+				t = lap(report, phases, CatalogLoadReport.DEDUPE, t);
 			} catch (IllegalArgumentException e) {
 				// The line is invalid b/c we couldn't create a course, skip it!
+				invalid++;
+				t = lap(report, phases, CatalogLoadReport.TOKENIZE, t);
 			}
 		}
 		// Close the Scanner b/c we're responsible with our file handles
 		fileReader.close();
+		// A Scanner ends quietly on a read error, such as a corrupt gzip file
+		if (fileReader.ioException() != null) {
+			throw notReadable(fileName, fileReader.ioException());
+		}
+		if (report != null) {
+			phases[CatalogLoadReport.READ] += System.nanoTime() - t;
+			report.setCounts(new File(fileName).length(), lines, courses.size(), invalid, duplicates);
+			report.setPhases(phases);
+		}
 		// Return the ArrayList with all the courses we read!
 		return courses;
 	}
 
+	/**
+	 * Opens a file of records for reading, decompressing it if it is gzip
+	 * compressed. Compression is recognized by the file's first bytes, not its
+	 * name. A compressed file is inflated on its own thread a few chunks ahead of
+	 * the reader, so inflating overlaps parsing and the file is never written out
+	 * uncompressed.
+	 * 
+	 * @param fileName file to open
+	 * @return stream of the uncompressed records
+	 * @throws FileNotFoundException if the file cannot be found or read, or is
+	 *                               compressed in a format other than gzip
+	 */
+	public static InputStream openRecords(String fileName) throws FileNotFoundException {
+		BufferedInputStream in = new BufferedInputStream(new FileInputStream(fileName), BUFFER_SIZE);
+		try {
+			in.mark(ZSTD_MAGIC.length);
+			byte[] magic = in.readNBytes(ZSTD_MAGIC.length);
+			in.reset();
+			if (startsWith(magic, GZIP_MAGIC)) {
+				return new PipelinedInputStream(new GZIPInputStream(in, BUFFER_SIZE), "catalog-gunzip");
+			}
+			if (startsWith(magic, ZSTD_MAGIC)) {
+				throw new IOException("Unsupported compression.");
+			}
+			return in;
+		} catch (IOException e) {
+			try {
+				in.close();
+			} catch (IOException suppressed) {
+				e.addSuppressed(suppressed);
+			}
+			throw notReadable(fileName, e);
+		}
+	}
+
+	/**
+	 * Returns true if bytes begins with prefix.
+	 * 
+	 * @param bytes  bytes to check
+	 * @param prefix expected first bytes
+	 * @return true if bytes starts with prefix
+	 */
+	private static boolean startsWith(byte[] bytes, byte[] prefix) {
+		return bytes.length >= prefix.length && Arrays.equals(bytes, 0, prefix.length, prefix, 0, prefix.length);
+	}
+
+	/**
+	 * Returns a FileNotFoundException for a file that was found but could not be
+	 * read.
+	 * 
+	 * @param fileName file that could not be read
+	 * @param cause    read failure
+	 * @return exception to throw
+	 */
+	private static FileNotFoundException notReadable(String fileName, IOException cause) {
+		FileNotFoundException e = new FileNotFoundException("Cannot read " + fileName + ": " + cause.getMessage());
+		e.initCause(cause);
+		return e;
+	}
+
 	/**
 	 * This method receives a String which is a line from the input file. A Scanner
 	 * is used to process the String parameter. The string is separated into tokens
@@ -78,46 +197,55 @@ public class CourseRecordIO {
 	 * 
 	 * @param nextLine next line in file to be read in.
 	 * @return courseObj Course object to be returned.
+	 * @throws IllegalArgumentException if the line is not a valid Course record
+	 */
+	static Course readCourse(String nextLine) {
+		return tokenize(nextLine).toCourse();
+	}
+
+	/**
+	 * Reads one Course record on its own, such as a record in a catalog delta or
+	 * a paging cursor, validating it as a line of a course records file is.
+	 *
+	 * @param record Course record
+	 * @return the Course
+	 * @throws IllegalArgumentException if the record is not a valid Course record
 	 */
-	private static Course readCourse(String nextLine) {
-		String courseName = "";
-		String title = "";
-		String section = "";
-		String instructorId = "";
-		String meetingDays = "";
-		int credits = 0;
-		int startTime = 0;
-		int endTime = 0;
+	public static Course parseCourseRecord(String record) {
+		if (record == null) {
+			throw new IllegalArgumentException("Invalid course record.");
+		}
+		return readCourse(record);
+	}
 
+	/**
+	 * Splits a Course record into its fields with a Scanner using the comma
+	 * character as a delimiter. The fields are not validated.
+	 * 
+	 * @param nextLine Course record
+	 * @return fields of the record
+	 * @throws IllegalArgumentException if fields are missing, extra, or not
+	 *                                  numbers where numbers are expected
+	 */
+	private static CourseFields tokenize(String nextLine) {
+		CourseFields fields = new CourseFields();
 		Scanner s = new Scanner(nextLine);
 		s.useDelimiter(",");
-		Course courseObj = null;
 		try {
-			courseName = s.next();
-			title = s.next();
-			section = s.next();
-			credits = s.nextInt();
-			instructorId = s.next();
-			meetingDays = s.next();
-
-			if ("A".equals(meetingDays)) {
-				if (s.hasNext()) {
-
-					throw new IllegalArgumentException();
-				}
-				courseObj = new Course(courseName, title, section, credits, instructorId, meetingDays);
-				return courseObj;
+			fields.courseName = s.next();
+			fields.title = s.next();
+			fields.section = s.next();
+			fields.credits = s.nextInt();
+			fields.instructorId = s.next();
+			fields.meetingDays = s.next();
 
+			if (!"A".equals(fields.meetingDays)) {
+				fields.startTime = s.nextInt();
+				fields.endTime = s.nextInt();
 			}
-
-			startTime = s.nextInt();
-			endTime = s.nextInt();
 			if (s.hasNext()) {
 				throw new IllegalArgumentException();
 			}
-
-			courseObj = new Course(courseName, title, section, credits, instructorId, meetingDays, startTime, endTime);
-
 		}
 
 		catch (NoSuchElementException e) {
@@ -127,7 +255,60 @@ public class CourseRecordIO {
 			s.close();
 		}
 
-		return courseObj;
+		return fields;
+	}
+
+	/**
+	 * Adds the time since the last lap to a phase when profiling.
+	 * 
+	 * @param report report being filled in, or null if not profiling
+	 * @param phases nanoseconds of each phase so far
+	 * @param phase  phase that just ended
+	 * @param last   time the phase began
+	 * @return time now, or 0 if not profiling
+	 */
+	private static long lap(CatalogLoadReport report, long[] phases, int phase, long last) {
+		if (report == null) {
+			return 0;
+		}
+		long now = System.nanoTime();
+		phases[phase] += now - last;
+		return now;
+	}
+
+	/**
+	 * Fields of a Course record before validation.
+	 */
+	private static class CourseFields {
+		/** Course name */
+		private String courseName;
+		/** Course title */
+		private String title;
+		/** Course section */
+		private String section;
+		/** Course credits */
+		private int credits;
+		/** Instructor id */
+		private String instructorId;
+		/** Meeting days */
+		private String meetingDays;
+		/** Start time, if not arranged */
+		private int startTime;
+		/** End time, if not arranged */
+		private int endTime;
+
+		/**
+		 * Constructs the Course, which validates every field.
+		 * 
+		 * @return the Course
+		 * @throws IllegalArgumentException if a field is invalid
+		 */
+		private Course toCourse() {
+			if ("A".equals(meetingDays)) {
+				return new Course(courseName, title, section, credits, instructorId, meetingDays);
+			}
+			return new Course(courseName, title, section, credits, instructorId, meetingDays, startTime, endTime);
+		}
 	}
 
 }
@@ -0,0 +1,381 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.course.WeekMask;
+
+/**
+ * Writes Activities as an iCalendar (RFC 5545) calendar straight to an
+ * OutputStream. Each timed Activity becomes one VEVENT that repeats weekly on
+ * its meeting days from the first meeting day of the term until the last day
+ * of the term, so a schedule is a handful of events however long the term is.
+ * Arranged Courses have no meeting time and are skipped, as are Activities that
+ * do not meet within the term. Events may meet on Sunday (U) and Saturday (S).
+ *
+ * Times are floating local times, shown at the same clock time in whatever
+ * time zone the calendar app is in. The start date and weekly rule of each set
+ * of meeting days are worked out once per writer, and text goes through one
+ * buffer, so writing many calendars one after another keeps memory bounded.
+ *
+ * @author symone
+ *
+ */
+public class IcsActivityWriter implements Closeable, Flushable {
+
+	/** Chars buffered before they are encoded, enough for a typical schedule */
+	private static final int BUFFER_SIZE = 2048;
+	/** Most octets of a content line before it is folded */
+	private static final int LINE_OCTETS = 75;
+	/** iCalendar names of the days of WeekMask.DAYS */
+	private static final String[] BY_DAY = { "SU", "MO", "TU", "WE", "TH", "FR", "SA" };
+	/** Number of sets of meeting days */
+	private static final int DAY_SETS = 1 << WeekMask.DAY_COUNT;
+	/** Format of DTSTAMP */
+	private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+	/** Domain ending every UID */
+	private static final String UID_DOMAIN = "@wolfscheduler";
+
+	/** Text written to */
+	private final Writer out;
+	/** First day of the term */
+	private final LocalDate termStart;
+	/** Last day of the term */
+	private final LocalDate termEnd;
+	/** Start date of the term, yyyyMMdd */
+	private final String termStartDate;
+	/** End of the last day of the term, for RRULE UNTIL */
+	private final String until;
+	/** Time the calendar was written, for DTSTAMP */
+	private final String stamp;
+	/** First meeting date of each set of meeting days, "" if none in the term */
+	private final String[] firstDates = new String[DAY_SETS];
+	/** RRULE of each set of meeting days */
+	private final String[] rules = new String[DAY_SETS];
+	/** Number of VEVENTs written */
+	private long written;
+	/** True once the calendar has been started */
+	private boolean started;
+	/** True once closed */
+	private boolean closed;
+
+	/**
+	 * Constructs a writer of a calendar for the given term to the given stream.
+	 * The stream is closed with the writer.
+	 *
+	 * @param out       stream to write to
+	 * @param termStart first day of the term
+	 * @param termEnd   last day of the term
+	 * @throws IllegalArgumentException if the stream is null or the term is null
+	 *                                  or ends before it starts
+	 */
+	public IcsActivityWriter(OutputStream out, LocalDate termStart, LocalDate termEnd) {
+		if (out == null) {
+			throw new IllegalArgumentException("Invalid stream.");
+		}
+		checkTerm(termStart, termEnd);
+		this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+		this.termStart = termStart;
+		this.termEnd = termEnd;
+		termStartDate = termStart.format(DateTimeFormatter.BASIC_ISO_DATE);
+		until = termEnd.format(DateTimeFormatter.BASIC_ISO_DATE) + "T235959";
+		stamp = ZonedDateTime.now(ZoneOffset.UTC).format(STAMP);
+	}
+
+	/**
+	 * Writes one Activity as a recurring VEVENT, unless it is an arranged Course
+	 * or does not meet within the term.
+	 *
+	 * @param activity Course or Event to write
+	 * @return true if a VEVENT was written
+	 * @throws IOException if the stream cannot be written
+	 * @throws IllegalStateException if the writer is closed
+	 */
+	public boolean write(Activity activity) throws IOException {
+		if (closed) {
+			throw new IllegalStateException("Writer is closed.");
+		}
+		int days = WeekMask.dayBits(activity.getMeetingDays());
+		if (days == 0) {
+			return false;
+		}
+		String date = firstDate(days);
+		if (date.isEmpty()) {
+			return false;
+		}
+		start();
+		line("BEGIN:VEVENT");
+		if (activity instanceof Course) {
+			Course c = (Course) activity;
+			line("UID:" + uid(c.getName() + "-" + c.getSection()) + "-" + termStartDate + UID_DOMAIN);
+			times(date, c);
+			text("SUMMARY:", c.getName() + " " + c.getTitle());
+			text("DESCRIPTION:", "Section " + c.getSection() + ", " + c.getCredits() + " credits, instructor "
+					+ c.getInstructorId());
+		} else {
+			line("UID:" + uid(activity.getTitle()) + "-" + activity.getMeetingDays() + "-" + activity.getStartTime()
+					+ "-" + termStartDate + UID_DOMAIN);
+			times(date, activity);
+			text("SUMMARY:", activity.getTitle());
+			String details = ((Event) activity).getEventDetails();
+			if (!details.isEmpty()) {
+				text("DESCRIPTION:", details);
+			}
+		}
+		line("END:VEVENT");
+		written++;
+		return true;
+	}
+
+	/**
+	 * Writes every Activity of a collection that has meeting times in the term.
+	 *
+	 * @param activities Courses and Events to write
+	 * @throws IOException if the stream cannot be written
+	 */
+	public void writeAll(Iterable<? extends Activity> activities) throws IOException {
+		for (Activity a : activities) {
+			write(a);
+		}
+	}
+
+	/**
+	 * Returns the number of VEVENTs written.
+	 *
+	 * @return VEVENTs written
+	 */
+	public long getWritten() {
+		return written;
+	}
+
+	/**
+	 * Writes out the buffer and flushes the stream.
+	 *
+	 * @throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	/**
+	 * Ends the calendar, writes out the buffer and closes the stream.
+	 *
+	 * @throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			start();
+			line("END:VCALENDAR");
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Writes the start of the calendar the first time it is called.
+	 *
+	 * @throws IOException if the stream cannot be written
+	 */
+	private void start() throws IOException {
+		if (!started) {
+			started = true;
+			line("BEGIN:VCALENDAR");
+			line("VERSION:2.0");
+			line("PRODID:-//NCSU CSC 216//WolfScheduler//EN");
+			line("CALSCALE:GREGORIAN");
+		}
+	}
+
+	/**
+	 * Writes the DTSTAMP, DTSTART, DTEND and RRULE of an Activity.
+	 *
+	 * @param date     first meeting date, yyyyMMdd
+	 * @param activity Activity meeting then
+	 * @throws IOException if the stream cannot be written
+	 */
+	private void times(String date, Activity activity) throws IOException {
+		line("DTSTAMP:" + stamp);
+		line("DTSTART:" + date + time(activity.getStartTime()));
+		line("DTEND:" + date + time(activity.getEndTime()));
+		line(rules[WeekMask.dayBits(activity.getMeetingDays())]);
+	}
+
+	/**
+	 * Returns the first date in the term on one of the given days, filling in
+	 * the date and the RRULE of the days on first use.
+	 *
+	 * @param days meeting days as WeekMask.dayBits() returns them
+	 * @return first meeting date as yyyyMMdd, or "" if the term has none
+	 */
+	private String firstDate(int days) {
+		String date = firstDates[days];
+		if (date == null) {
+			date = "";
+			for (LocalDate d = termStart; !d.isAfter(termEnd) && d.isBefore(termStart.plusWeeks(1)); d = d
+					.plusDays(1)) {
+				if ((days & 1 << dayIndex(d.getDayOfWeek())) != 0) {
+					date = d.format(DateTimeFormatter.BASIC_ISO_DATE);
+					break;
+				}
+			}
+			StringBuilder rule = new StringBuilder("RRULE:FREQ=WEEKLY;BYDAY=");
+			for (int i = 0; i < WeekMask.DAY_COUNT; i++) {
+				if ((days & 1 << i) != 0) {
+					rule.append(BY_DAY[i]).append(',');
+				}
+			}
+			rule.setLength(rule.length() - 1);
+			rules[days] = rule.append(";UNTIL=").append(until).toString();
+			firstDates[days] = date;
+		}
+		return date;
+	}
+
+	/**
+	 * Returns the index in WeekMask.DAYS of a day of the week.
+	 *
+	 * @param day day of the week
+	 * @return index from 0 for Sunday to 6 for Saturday
+	 */
+	private static int dayIndex(DayOfWeek day) {
+		return day.getValue() % WeekMask.DAY_COUNT;
+	}
+
+	/**
+	 * Returns a military time as the time part of an iCalendar date-time.
+	 *
+	 * @param time military time
+	 * @return "Thhmm00"
+	 */
+	private static String time(int time) {
+		int hour = time / 100;
+		int minute = time % 100;
+		return "T" + (char) ('0' + hour / 10) + (char) ('0' + hour % 10) + (char) ('0' + minute / 10)
+				+ (char) ('0' + minute % 10) + "00";
+	}
+
+	/**
+	 * Checks that a term has both days and does not end before it starts.
+	 *
+	 * @param termStart first day of the term
+	 * @param termEnd   last day of the term
+	 * @throws IllegalArgumentException if the term is null or ends before it
+	 *                                  starts
+	 */
+	static void checkTerm(LocalDate termStart, LocalDate termEnd) {
+		if (termStart == null || termEnd == null || termEnd.isBefore(termStart)) {
+			throw new IllegalArgumentException("Invalid term.");
+		}
+	}
+
+	/**
+	 * Returns text with every character but letters and digits replaced by '-',
+	 * for use in a UID.
+	 *
+	 * @param text text to convert
+	 * @return UID part
+	 */
+	private static String uid(String text) {
+		char[] chars = text.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			char ch = chars[i];
+			if (!(ch >= 'A' && ch <= 'Z' || ch >= 'a' && ch <= 'z' || ch >= '0' && ch <= '9')) {
+				chars[i] = '-';
+			}
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Writes a content line of ASCII text, folding it so no line is over 75
+	 * octets. Long UIDs of Events with long titles are folded here.
+	 *
+	 * @param line content line
+	 * @throws IOException if the stream cannot be written
+	 */
+	private void line(String line) throws IOException {
+		int end = Math.min(line.length(), LINE_OCTETS);
+		out.write(line, 0, end);
+		while (end < line.length()) {
+			// A continuation line starts with a space, leaving room for 74 octets
+			int next = Math.min(line.length(), end + LINE_OCTETS - 1);
+			out.write("\r\n ");
+			out.write(line, end, next - end);
+			end = next;
+		}
+		out.write("\r\n");
+	}
+
+	/**
+	 * Writes a content line with a TEXT value, escaping backslashes, semicolons,
+	 * commas and line breaks and folding the line so no line is over 75 octets
+	 * of UTF-8. Lines are never folded inside a character.
+	 *
+	 * @param name  property name and colon
+	 * @param value text value
+	 * @throws IOException if the stream cannot be written
+	 */
+	private void text(String name, String value) throws IOException {
+		out.write(name);
+		int octets = name.length();
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			String escaped = null;
+			int size;
+			if (ch == '\\' || ch == ';' || ch == ',') {
+				size = 2;
+			} else if (ch == '\n') {
+				escaped = "\\n";
+				size = 2;
+			} else if (ch == '\r') {
+				continue;
+			} else if (ch < 0x80) {
+				size = 1;
+			} else if (ch < 0x800) {
+				size = 2;
+			} else if (Character.isHighSurrogate(ch) && i + 1 < value.length()
+					&& Character.isLowSurrogate(value.charAt(i + 1))) {
+				size = 4;
+			} else {
+				size = 3;
+			}
+			if (octets + size > LINE_OCTETS) {
+				out.write("\r\n ");
+				octets = 1;
+			}
+			octets += size;
+			if (escaped != null) {
+				out.write(escaped);
+			} else if (size == 2 && ch < 0x80) {
+				out.write('\\');
+				out.write(ch);
+			} else if (size == 4) {
+				out.write(ch);
+				out.write(value.charAt(++i));
+			} else {
+				out.write(ch);
+			}
+		}
+		out.write("\r\n");
+	}
+}
@@ -0,0 +1,279 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Writes Activities as JSON objects straight to an OutputStream. Fields are
+ * encoded as UTF-8 into one reusable buffer that is written out whenever it
+ * fills, so no String or byte array is built per Activity and memory stays
+ * the same however many Activities are written.
+ *
+ * In NDJSON mode every Activity is one object on its own line, for bulk dumps
+ * that readers can process a line at a time. Otherwise the Activities form
+ * one JSON array, closed by close(). A Course is written as
+ *
+ * <pre>
+ * {"type":"course","name":"CSC 216","title":"Software Development Fundamentals","section":"001",
+ *  "credits":3,"instructorId":"sesmith5","meetingDays":"MW","startTime":1330,"endTime":1445}
+ * </pre>
+ *
+ * and an Event as
+ *
+ * <pre>
+ * {"type":"event","title":"Exercise","meetingDays":"MWF","startTime":800,"endTime":900,
+ *  "eventDetails":"Gym"}
+ * </pre>
+ *
+ * Arranged Courses have no startTime or endTime.
+ *
+ * @author symone
+ *
+ */
+public class JsonActivityWriter implements Closeable, Flushable {
+
+	/** Size of the output buffer */
+	private static final int BUFFER_SIZE = 8192;
+	/** Hex digits for escapes */
+	private static final byte[] HEX = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e',
+			'f' };
+
+	/** Stream written to */
+	private final OutputStream out;
+	/** True to write one object per line rather than an array */
+	private final boolean ndjson;
+	/** Bytes waiting to be written */
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	/** Number of bytes in the buffer */
+	private int count;
+	/** Number of Activities written */
+	private long written;
+	/** True once closed */
+	private boolean closed;
+
+	/**
+	 * Constructs a writer to the given stream. The stream is closed with the
+	 * writer.
+	 *
+	 * @param out    stream to write to
+	 * @param ndjson true for one object per line, false for a JSON array
+	 */
+	public JsonActivityWriter(OutputStream out, boolean ndjson) {
+		if (out == null) {
+			throw new IllegalArgumentException("Invalid stream.");
+		}
+		this.out = out;
+		this.ndjson = ndjson;
+	}
+
+	/**
+	 * Writes one Activity.
+	 *
+	 * @param activity Course or Event to write
+	 * @throws IOException if the stream cannot be written
+	 * @throws IllegalStateException if the writer is closed
+	 */
+	public void write(Activity activity) throws IOException {
+		if (closed) {
+			throw new IllegalStateException("Writer is closed.");
+		}
+		if (!ndjson) {
+			put(written == 0 ? (byte) '[' : (byte) ',');
+		}
+		if (activity instanceof Course) {
+			Course c = (Course) activity;
+			field("{\"type\":", "course");
+			field(",\"name\":", c.getName());
+			field(",\"title\":", c.getTitle());
+			field(",\"section\":", c.getSection());
+			field(",\"credits\":", c.getCredits());
+			field(",\"instructorId\":", c.getInstructorId());
+			field(",\"meetingDays\":", c.getMeetingDays());
+			if (!"A".equals(c.getMeetingDays())) {
+				field(",\"startTime\":", c.getStartTime());
+				field(",\"endTime\":", c.getEndTime());
+			}
+		} else {
+			field("{\"type\":", "event");
+			field(",\"title\":", activity.getTitle());
+			field(",\"meetingDays\":", activity.getMeetingDays());
+			field(",\"startTime\":", activity.getStartTime());
+			field(",\"endTime\":", activity.getEndTime());
+			field(",\"eventDetails\":", ((Event) activity).getEventDetails());
+		}
+		put((byte) '}');
+		if (ndjson) {
+			put((byte) '\n');
+		}
+		written++;
+	}
+
+	/**
+	 * Writes every Activity of a collection.
+	 *
+	 * @param activities Courses and Events to write
+	 * @throws IOException if the stream cannot be written
+	 */
+	public void writeAll(Iterable<? extends Activity> activities) throws IOException {
+		for (Activity a : activities) {
+			write(a);
+		}
+	}
+
+	/**
+	 * Returns the number of Activities written.
+	 *
+	 * @return Activities written
+	 */
+	public long getWritten() {
+		return written;
+	}
+
+	/**
+	 * Writes out the buffer and flushes the stream.
+	 *
+	 * @throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void flush() throws IOException {
+		drain();
+		out.flush();
+	}
+
+	/**
+	 * Ends the array if not in NDJSON mode, writes out the buffer and closes the
+	 * stream.
+	 *
+	 * @throws IOException if the stream cannot be written
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			if (!ndjson) {
+				if (written == 0) {
+					put((byte) '[');
+				}
+				put((byte) ']');
+				put((byte) '\n');
+			}
+			drain();
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Writes a field name, given with its separator and quotes, and a String
+	 * value.
+	 *
+	 * @param name  ASCII text before the value
+	 * @param value value to quote and escape
+	 * @throws IOException if the stream cannot be written
+	 */
+	private void field(String name, String value) throws IOException {
+		ascii(name);
+		put((byte) '"');
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			if (ch == '"' || ch == '\\') {
+				put((byte) '\\');
+				put((byte) ch);
+			} else if (ch < 0x20) {
+				put((byte) '\\');
+				put((byte) 'u');
+				put((byte) '0');
+				put((byte) '0');
+				put(HEX[ch >> 4]);
+				put(HEX[ch & 0xF]);
+			} else if (ch < 0x80) {
+				put((byte) ch);
+			} else if (ch < 0x800) {
+				put((byte) (0xC0 | ch >> 6));
+				put((byte) (0x80 | ch & 0x3F));
+			} else if (Character.isHighSurrogate(ch) && i + 1 < value.length()
+					&& Character.isLowSurrogate(value.charAt(i + 1))) {
+				int cp = Character.toCodePoint(ch, value.charAt(++i));
+				put((byte) (0xF0 | cp >> 18));
+				put((byte) (0x80 | cp >> 12 & 0x3F));
+				put((byte) (0x80 | cp >> 6 & 0x3F));
+				put((byte) (0x80 | cp & 0x3F));
+			} else if (Character.isSurrogate(ch)) {
+				// Unpaired surrogate: write U+FFFD as String.getBytes() would
+				put((byte) 0xEF);
+				put((byte) 0xBF);
+				put((byte) 0xBD);
+			} else {
+				put((byte) (0xE0 | ch >> 12));
+				put((byte) (0x80 | ch >> 6 & 0x3F));
+				put((byte) (0x80 | ch & 0x3F));
+			}
+		}
+		put((byte) '"');
+	}
+
+	/**
+	 * Writes a field name, given with its separator and quotes, and a
+	 * non-negative int value.
+	 *
+	 * @param name  ASCII text before the value
+	 * @param value value to write
+	 * @throws IOException if the stream cannot be written
+	 */
+	private void field(String name, int value) throws IOException {
+		ascii(name);
+		int divisor = 1;
+		while (value / divisor >= 10) {
+			divisor *= 10;
+		}
+		for (; divisor > 0; divisor /= 10) {
+			put((byte) ('0' + value / divisor % 10));
+		}
+	}
+
+	/**
+	 * Writes ASCII text.
+	 *
+	 * @param text text to write
+	 * @throws IOException if the stream cannot be written
+	 */
+	private void ascii(String text) throws IOException {
+		for (int i = 0; i < text.length(); i++) {
+			put((byte) text.charAt(i));
+		}
+	}
+
+	/**
+	 * Adds one byte to the buffer, writing the buffer out first if it is full.
+	 *
+	 * @param b byte to add
+	 * @throws IOException if the stream cannot be written
+	 */
+	private void put(byte b) throws IOException {
+		if (count == buffer.length) {
+			drain();
+		}
+		buffer[count++] = b;
+	}
+
+	/**
+	 * Writes out the buffer.
+	 *
+	 * @throws IOException if the stream cannot be written
+	 */
+	private void drain() throws IOException {
+		if (count > 0) {
+			out.write(buffer, 0, count);
+			count = 0;
+		}
+	}
+}
@@ -0,0 +1,411 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Reads course records as a pipeline of stages on separate threads, so large
+ * catalog files are parsed on every core rather than one:
+ *
+ * <ol>
+ * <li>a reader thread reads the file's lines into numbered batches</li>
+ * <li>parser threads each take a batch at a time and turn its lines into
+ * Courses, dropping invalid lines, just as CourseRecordIO.readCourse() does</li>
+ * <li>the calling thread merges the parsed batches back into file order and
+ * drops duplicate sections, keeping the first in the file</li>
+ * </ol>
+ *
+ * The stages are joined by bounded queues and no more than the queue depth of
+ * batches are in flight at once, so memory stays bounded however large the
+ * file and however far a slow batch holds up the merge. The result is the same
+ * list, in the same order, as CourseRecordIO.readCourseRecords(); gzip files
+ * are read as it reads them.
+ *
+ * The number of parsers, the lines per batch and the queue depth can be tuned
+ * with the setters; by default there is a parser per processor, batches of
+ * 1024 lines and two batches in flight per parser. A loader can be used for
+ * any number of loads, one at a time.
+ *
+ * @author symone
+ *
+ */
+public class PipelinedCatalogLoader {
+
+	/** Default lines per batch */
+	public static final int DEFAULT_BATCH_SIZE = 1024;
+	/** Default batches in flight per parser */
+	private static final int DEPTH_PER_WORKER = 2;
+
+	/** Number of parser threads */
+	private int workers = Runtime.getRuntime().availableProcessors();
+	/** Lines per batch */
+	private int batchSize = DEFAULT_BATCH_SIZE;
+	/** Most batches in flight, or 0 for DEPTH_PER_WORKER per parser */
+	private int queueDepth;
+
+	/**
+	 * Sets the number of parser threads.
+	 *
+	 * @param workers parser threads, at least 1
+	 * @throws IllegalArgumentException if workers is less than 1
+	 */
+	public void setWorkers(int workers) {
+		if (workers < 1) {
+			throw new IllegalArgumentException("Invalid workers.");
+		}
+		this.workers = workers;
+	}
+
+	/**
+	 * Sets the number of lines per batch.
+	 *
+	 * @param batchSize lines per batch, at least 1
+	 * @throws IllegalArgumentException if batchSize is less than 1
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Invalid batch size.");
+		}
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Sets the most batches in flight between the reader and the merge.
+	 *
+	 * @param queueDepth batches in flight, at least 1
+	 * @throws IllegalArgumentException if queueDepth is less than 1
+	 */
+	public void setQueueDepth(int queueDepth) {
+		if (queueDepth < 1) {
+			throw new IllegalArgumentException("Invalid queue depth.");
+		}
+		this.queueDepth = queueDepth;
+	}
+
+	/**
+	 * Returns the number of parser threads.
+	 *
+	 * @return parser threads
+	 */
+	public int getWorkers() {
+		return workers;
+	}
+
+	/**
+	 * Returns the number of lines per batch.
+	 *
+	 * @return lines per batch
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Returns the most batches in flight.
+	 *
+	 * @return batches in flight
+	 */
+	public int getQueueDepth() {
+		return queueDepth == 0 ? DEPTH_PER_WORKER * workers : queueDepth;
+	}
+
+	/**
+	 * Reads the valid Courses of a file of course records.
+	 *
+	 * @param fileName file to read Course records from
+	 * @return the valid Courses, first of each section, in file order
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public ArrayList<Course> load(String fileName) throws FileNotFoundException {
+		return load(fileName, null);
+	}
+
+	/**
+	 * Reads the valid Courses of a file of course records, filling in the counts
+	 * of the given report and the time each stage spent working rather than
+	 * waiting on a queue: read is the reader's time, validate the parsers' time
+	 * added up across threads, and dedupe the merge's time. Parsing is not split
+	 * into tokenize and validate, so tokenize is always 0. The stages overlap, so
+	 * the report's total is the work done, not the time the load took.
+	 *
+	 * @param fileName file to read Course records from
+	 * @param report   report to fill in, or null
+	 * @return the valid Courses, first of each section, in file order
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws RuntimeException      or Error thrown by a reader or parser thread,
+	 *                               rethrown here as it was thrown
+	 */
+	public ArrayList<Course> load(String fileName, CatalogLoadReport report) throws FileNotFoundException {
+		Run run = new Run(fileName, workers, batchSize, getQueueDepth());
+		ArrayList<Thread> threads = new ArrayList<Thread>();
+		threads.add(new Thread(run::read, "catalog-reader"));
+		for (int w = 0; w < run.parsers; w++) {
+			threads.add(new Thread(run::parse, "catalog-parser-" + w));
+		}
+		for (Thread t : threads) {
+			t.setDaemon(true);
+			t.start();
+		}
+		try {
+			ArrayList<Course> courses = run.merge();
+			if (report != null) {
+				long[] phases = new long[CatalogLoadReport.PHASES];
+				phases[CatalogLoadReport.READ] = run.readNanos;
+				phases[CatalogLoadReport.VALIDATE] = run.parseNanos.get();
+				phases[CatalogLoadReport.DEDUPE] = run.mergeNanos;
+				report.setCounts(new File(fileName).length(), run.lines, courses.size(), run.invalid,
+						run.duplicates);
+				report.setPhases(phases);
+			}
+			return courses;
+		} finally {
+			for (Thread t : threads) {
+				t.interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Batch of lines on its way through the pipeline.
+	 */
+	private static final class Batch {
+
+		/** Position of the batch in the file, from 0 */
+		private final int sequence;
+		/** Lines read, then the Course of each line or null if invalid */
+		private final Object[] items;
+		/** Number of items */
+		private final int size;
+		/** True if this marks the end of the file */
+		private final boolean last;
+		/** Number of invalid lines, once parsed */
+		private int invalid;
+		/** Failure that ended the load, or null */
+		private Throwable failure;
+
+		/**
+		 * Constructs a Batch.
+		 *
+		 * @param sequence position of the batch in the file
+		 * @param items    lines read
+		 * @param size     number of lines
+		 * @param last     true if this marks the end of the file
+		 */
+		Batch(int sequence, Object[] items, int size, boolean last) {
+			this.sequence = sequence;
+			this.items = items;
+			this.size = size;
+			this.last = last;
+		}
+	}
+
+	/**
+	 * State of one load shared by its stages.
+	 */
+	private static final class Run {
+
+		/** File read */
+		private final String fileName;
+		/** Number of parser threads */
+		private final int parsers;
+		/** Lines per batch */
+		private final int batchSize;
+		/** Batches read and waiting for a parser */
+		private final BlockingQueue<Batch> read;
+		/** Batches parsed and waiting for the merge */
+		private final BlockingQueue<Batch> parsed;
+		/** Permits for batches in flight, taken by the reader, given back by the merge */
+		private final Semaphore inFlight;
+		/** Nanoseconds the parsers spent parsing, across threads */
+		private final AtomicLong parseNanos = new AtomicLong();
+		/** Nanoseconds the reader spent reading, not waiting */
+		private long readNanos;
+		/** Nanoseconds the merge spent merging, not waiting */
+		private long mergeNanos;
+		/** Lines read, set by the merge from the batches */
+		private int lines;
+		/** Invalid lines */
+		private int invalid;
+		/** Duplicate sections dropped */
+		private int duplicates;
+
+		/**
+		 * Constructs the state of a load.
+		 *
+		 * @param fileName  file to read
+		 * @param parsers   number of parser threads
+		 * @param batchSize lines per batch
+		 * @param depth     most batches in flight
+		 */
+		Run(String fileName, int parsers, int batchSize, int depth) {
+			this.fileName = fileName;
+			this.parsers = parsers;
+			this.batchSize = batchSize;
+			read = new ArrayBlockingQueue<Batch>(depth + parsers);
+			parsed = new ArrayBlockingQueue<Batch>(depth);
+			inFlight = new Semaphore(depth);
+		}
+
+		/**
+		 * Reader stage: reads the file into batches of lines, then sends the last
+		 * batch straight to the merge and a last batch to each parser to stop it.
+		 * A failure to read, or anything else thrown, is sent to the merge in the
+		 * last batch.
+		 */
+		private void read() {
+			long busy = System.nanoTime();
+			int sequence = 0;
+			Batch end;
+			try (BufferedReader in = new BufferedReader(new InputStreamReader(CourseRecordIO.openRecords(fileName)))) {
+				while (true) {
+					Object[] lines = new Object[batchSize];
+					int n = 0;
+					String line = null;
+					while (n < batchSize && (line = in.readLine()) != null) {
+						lines[n++] = line;
+					}
+					if (n > 0) {
+						readNanos += System.nanoTime() - busy;
+						inFlight.acquire();
+						read.put(new Batch(sequence++, lines, n, false));
+						busy = System.nanoTime();
+					}
+					if (line == null) {
+						break;
+					}
+				}
+				end = new Batch(sequence, null, 0, true);
+			} catch (InterruptedException e) {
+				// The merge gave up
+				return;
+			} catch (IOException | RuntimeException | Error e) {
+				end = new Batch(sequence, null, 0, true);
+				end.failure = e;
+			}
+			readNanos += System.nanoTime() - busy;
+			try {
+				inFlight.acquire();
+				parsed.put(end);
+				for (int w = 0; w < parsers; w++) {
+					read.put(end);
+				}
+			} catch (InterruptedException e) {
+				// The merge gave up
+			}
+		}
+
+		/**
+		 * Parser stage: parses batches until the last one, replacing each line with
+		 * its Course or null if it is invalid. Anything else thrown, Errors
+		 * included, is sent to the merge with the batch so the load fails rather
+		 * than waits forever for it.
+		 */
+		private void parse() {
+			try {
+				while (true) {
+					Batch batch = read.take();
+					if (batch.last) {
+						return;
+					}
+					long start = System.nanoTime();
+					try {
+						for (int i = 0; i < batch.size; i++) {
+							try {
+								batch.items[i] = CourseRecordIO.readCourse((String) batch.items[i]);
+							} catch (IllegalArgumentException e) {
+								batch.items[i] = null;
+								batch.invalid++;
+							}
+						}
+					} catch (Throwable e) {
+						// Handed to the merge, which throws it on the calling thread
+						batch.failure = e;
+					}
+					parseNanos.addAndGet(System.nanoTime() - start);
+					parsed.put(batch);
+				}
+			} catch (InterruptedException e) {
+				// The merge gave up
+			}
+		}
+
+		/**
+		 * Merge stage: takes parsed batches, holds any that arrive early, and adds
+		 * the Courses of each batch in file order, dropping sections already added.
+		 *
+		 * @return valid Courses in file order
+		 * @throws FileNotFoundException if the file cannot be found or read
+		 */
+		private ArrayList<Course> merge() throws FileNotFoundException {
+			ArrayList<Course> courses = new ArrayList<Course>();
+			HashSet<String> seen = new HashSet<String>();
+			HashMap<Integer, Batch> early = new HashMap<Integer, Batch>();
+			int next = 0;
+			long busy = System.nanoTime();
+			try {
+				while (true) {
+					Batch batch = early.remove(next);
+					if (batch == null) {
+						mergeNanos += System.nanoTime() - busy;
+						batch = parsed.take();
+						busy = System.nanoTime();
+						if (batch.sequence != next) {
+							early.put(batch.sequence, batch);
+							continue;
+						}
+					}
+					if (batch.failure instanceof IOException) {
+						FileNotFoundException e = new FileNotFoundException(
+								batch.failure instanceof FileNotFoundException ? batch.failure.getMessage()
+										: "Cannot read " + fileName + ": " + batch.failure.getMessage());
+						e.initCause(batch.failure);
+						throw e;
+					}
+					if (batch.failure instanceof Error) {
+						throw (Error) batch.failure;
+					}
+					if (batch.failure instanceof RuntimeException) {
+						throw (RuntimeException) batch.failure;
+					}
+					if (batch.failure != null) {
+						throw new IllegalStateException("Catalog load failed.", batch.failure);
+					}
+					if (batch.last) {
+						break;
+					}
+					for (int i = 0; i < batch.size; i++) {
+						Course c = (Course) batch.items[i];
+						if (c != null) {
+							if (seen.add(c.getName() + "," + c.getSection())) {
+								courses.add(c);
+							} else {
+								duplicates++;
+							}
+						}
+					}
+					lines += batch.size;
+					invalid += batch.invalid;
+					next++;
+					inFlight.release();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Catalog load interrupted.");
+			}
+			mergeNanos += System.nanoTime() - busy;
+			return courses;
+		}
+	}
+}
@@ -0,0 +1,179 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads another stream ahead on its own thread, so the work of producing the
+ * bytes, such as inflating a gzip file, runs while the reader parses the bytes
+ * already produced. The thread reads the source in chunks into a bounded
+ * queue; when the queue is full it waits for the reader, so no more than a few
+ * chunks are ever held whatever the size of the source.
+ *
+ * An IOException reading the source is thrown to the reader once it has read
+ * every byte before the failure. Closing stops the thread and closes the
+ * source.
+ *
+ * @author symone
+ *
+ */
+final class PipelinedInputStream extends InputStream {
+
+	/** Bytes in a chunk */
+	private static final int CHUNK = 64 * 1024;
+	/** Chunks read ahead */
+	private static final int DEPTH = 4;
+	/** Marks the end of the source */
+	private static final byte[] END = new byte[0];
+
+	/** Stream read ahead */
+	private final InputStream source;
+	/** Chunks read but not yet taken by the reader */
+	private final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<byte[]>(DEPTH);
+	/** Thread reading the source */
+	private final Thread thread;
+	/** Failure reading the source, set before END is queued */
+	private volatile IOException failure;
+	/** True once closed */
+	private volatile boolean closed;
+	/** Chunk being read */
+	private byte[] chunk = END;
+	/** Position in chunk */
+	private int pos;
+	/** True once END was taken */
+	private boolean ended;
+
+	/**
+	 * Starts reading the source ahead on a daemon thread with the given name.
+	 *
+	 * @param source stream to read
+	 * @param name   thread name
+	 */
+	PipelinedInputStream(InputStream source, String name) {
+		this.source = source;
+		thread = new Thread(this::fill, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Reads the source into chunks until it ends, fails or this stream is closed.
+	 */
+	private void fill() {
+		try {
+			while (!closed) {
+				byte[] buffer = new byte[CHUNK];
+				int n = source.readNBytes(buffer, 0, CHUNK);
+				if (n == 0) {
+					break;
+				}
+				chunks.put(n == CHUNK ? buffer : Arrays.copyOf(buffer, n));
+			}
+		} catch (IOException e) {
+			failure = e;
+		} catch (InterruptedException e) {
+			// Closed while waiting for the reader
+			return;
+		} finally {
+			try {
+				source.close();
+			} catch (IOException e) {
+				// Everything wanted was read
+			}
+		}
+		try {
+			chunks.put(END);
+		} catch (InterruptedException e) {
+			// Closed while waiting for the reader
+		}
+	}
+
+	/**
+	 * Reads one byte.
+	 *
+	 * @return byte read, or -1 at the end
+	 * @throws IOException if the source could not be read
+	 */
+	@Override
+	public int read() throws IOException {
+		return next() ? chunk[pos++] & 0xFF : -1;
+	}
+
+	/**
+	 * Reads up to len bytes.
+	 *
+	 * @param b   buffer to read into
+	 * @param off offset in the buffer
+	 * @param len most bytes to read
+	 * @return bytes read, or -1 at the end
+	 * @throws IOException if the source could not be read
+	 */
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (!next()) {
+			return -1;
+		}
+		int n = Math.min(len, chunk.length - pos);
+		System.arraycopy(chunk, pos, b, off, n);
+		pos += n;
+		return n;
+	}
+
+	/**
+	 * Returns the bytes left in the current chunk.
+	 *
+	 * @return bytes readable without waiting
+	 */
+	@Override
+	public int available() {
+		return chunk.length - pos;
+	}
+
+	/**
+	 * Stops the reading thread and closes the source.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		thread.interrupt();
+		chunks.clear();
+	}
+
+	/**
+	 * Makes sure the current chunk has bytes left, waiting for the next one if
+	 * needed.
+	 *
+	 * @return false at the end of the source
+	 * @throws IOException if the source could not be read or the wait was
+	 *                     interrupted
+	 */
+	private boolean next() throws IOException {
+		if (closed) {
+			throw new IOException("Stream closed");
+		}
+		while (pos == chunk.length) {
+			if (ended) {
+				if (failure != null) {
+					throw failure;
+				}
+				return false;
+			}
+			try {
+				chunk = chunks.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException();
+			}
+			pos = 0;
+			ended = chunk == END;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,149 @@
+package edu.ncsu.csc216.wolf_scheduler.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds with HDR-style log-linear
+ * buckets: each power of two is split into eight equal buckets, so a recorded
+ * value is known to within 12.5% across the whole range of a long while the
+ * histogram stays a fixed array of 496 counters. Recording is one atomic
+ * increment plus two adder updates and never blocks; reads taken while
+ * values are being recorded may be off by those in flight.
+ *
+ * @author symone
+ *
+ */
+public class LatencyHistogram {
+
+	/** Bits of each power of two kept by the buckets */
+	private static final int SUB_BITS = 3;
+	/** Buckets in each power of two */
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	/** Total number of buckets */
+	private static final int BUCKETS = (Long.SIZE - SUB_BITS + 1) * SUB_BUCKETS;
+
+	/** Count of each bucket */
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	/** Number of recorded values */
+	private final LongAdder count = new LongAdder();
+	/** Sum of recorded values */
+	private final LongAdder sum = new LongAdder();
+	/** Largest recorded value */
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records a value. Negative values are recorded as 0.
+	 *
+	 * @param nanos latency in nanoseconds
+	 */
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+		counts.incrementAndGet(bucket(value));
+		count.increment();
+		sum.add(value);
+		long m = max.get();
+		while (value > m && !max.compareAndSet(m, value)) {
+			m = max.get();
+		}
+	}
+
+	/**
+	 * Returns the number of recorded values.
+	 *
+	 * @return count
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Returns the mean of the recorded values.
+	 *
+	 * @return mean in nanoseconds, or 0 if none are recorded
+	 */
+	public double getMean() {
+		long n = count.sum();
+		return n == 0 ? 0 : (double) sum.sum() / n;
+	}
+
+	/**
+	 * Returns the largest recorded value.
+	 *
+	 * @return maximum in nanoseconds, or 0 if none are recorded
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Returns the value at the given percentile: the upper end of the bucket the
+	 * percentile falls in, capped at the maximum.
+	 *
+	 * @param percentile percentile, 0 to 100
+	 * @return value in nanoseconds, or 0 if none are recorded
+	 */
+	public long getPercentile(double percentile) {
+		long[] snapshot = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			snapshot[i] = counts.get(i);
+			total += snapshot[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += snapshot[i];
+			if (seen >= rank) {
+				return Math.min(highest(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	/**
+	 * Clears every recorded value.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+		count.reset();
+		sum.reset();
+		max.set(0);
+	}
+
+	/**
+	 * Returns the bucket of a value.
+	 *
+	 * @param value value, not negative
+	 * @return bucket index
+	 */
+	static int bucket(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * Returns the largest value of a bucket.
+	 *
+	 * @param bucket bucket index
+	 * @return largest value in the bucket
+	 */
+	static long highest(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int shift = bucket / SUB_BUCKETS - 1;
+		long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,22 @@
+package edu.ncsu.csc216.wolf_scheduler.metrics;
+
+/**
+ * Operations measured by SchedulerMetrics.
+ *
+ * @author symone
+ *
+ */
+public enum Operation {
+	/** WolfScheduler.addCourseToSchedule() */
+	ADD_COURSE,
+	/** WolfScheduler.addEventToSchedule() */
+	ADD_EVENT,
+	/** WolfScheduler.removeActivityFromSchedule() */
+	REMOVE_ACTIVITY,
+	/** WolfScheduler.getCourseFromCatalog() */
+	GET_COURSE,
+	/** CourseCatalog.load() */
+	CATALOG_LOAD,
+	/** WolfScheduler.exportSchedule() */
+	EXPORT
+}
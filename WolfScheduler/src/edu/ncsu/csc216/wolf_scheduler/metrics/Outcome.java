@@ -0,0 +1,22 @@
+package edu.ncsu.csc216.wolf_scheduler.metrics;
+
+/**
+ * How a measured operation ended.
+ *
+ * @author symone
+ *
+ */
+public enum Outcome {
+	/** Completed as asked */
+	SUCCESS,
+	/** Refused because the schedule already has the Activity */
+	DUPLICATE,
+	/** Refused because the Activity conflicts with the schedule */
+	CONFLICT,
+	/** The Course or schedule index does not exist */
+	NOT_FOUND,
+	/** Refused because the section has no open seat */
+	FULL,
+	/** Failed because of invalid input or an I/O error */
+	ERROR
+}
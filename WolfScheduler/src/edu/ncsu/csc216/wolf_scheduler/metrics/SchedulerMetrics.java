@@ -0,0 +1,230 @@
+package edu.ncsu.csc216.wolf_scheduler.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide counts and latencies of WolfScheduler operations. Each
+ * Operation has a LongAdder per Outcome and a LatencyHistogram, all fixed when
+ * the class loads, so recording takes no locks and allocates nothing.
+ * Instrumented code brackets an operation with start() and record():
+ *
+ * <pre>
+ * long start = SchedulerMetrics.start();
+ * ...
+ * SchedulerMetrics.record(Operation.ADD_COURSE, Outcome.SUCCESS, start);
+ * </pre>
+ *
+ * While disabled, start() returns 0 after one volatile read and record()
+ * ignores a start of 0, so the clock is never read. Metrics are enabled unless
+ * the wolfscheduler.metrics system property is "false". They can be read as
+ * text with dump() or over JMX once registerMBean() has been called.
+ *
+ * @author symone
+ *
+ */
+public final class SchedulerMetrics {
+
+	/** Name the MXBean is registered under */
+	public static final String OBJECT_NAME = "edu.ncsu.csc216.wolf_scheduler:type=SchedulerMetrics";
+
+	/** Operations, by ordinal */
+	private static final Operation[] OPERATIONS = Operation.values();
+	/** Outcomes, by ordinal */
+	private static final Outcome[] OUTCOMES = Outcome.values();
+	/** Count of each operation and outcome */
+	private static final LongAdder[][] COUNTS = new LongAdder[OPERATIONS.length][OUTCOMES.length];
+	/** Latencies of each operation */
+	private static final LatencyHistogram[] LATENCIES = new LatencyHistogram[OPERATIONS.length];
+
+	/** True if operations are measured */
+	private static volatile boolean enabled = !"false".equals(System.getProperty("wolfscheduler.metrics"));
+
+	static {
+		for (int o = 0; o < OPERATIONS.length; o++) {
+			for (int r = 0; r < OUTCOMES.length; r++) {
+				COUNTS[o][r] = new LongAdder();
+			}
+			LATENCIES[o] = new LatencyHistogram();
+		}
+	}
+
+	/**
+	 * Not instantiated.
+	 */
+	private SchedulerMetrics() {
+	}
+
+	/**
+	 * Returns the start time of an operation to pass to record().
+	 *
+	 * @return current time in nanoseconds, or 0 if disabled
+	 */
+	public static long start() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Records an operation that started at the given time.
+	 *
+	 * @param operation operation measured
+	 * @param outcome   how it ended
+	 * @param start     value start() returned when it began; 0 records nothing
+	 */
+	public static void record(Operation operation, Outcome outcome, long start) {
+		if (start == 0) {
+			return;
+		}
+		LATENCIES[operation.ordinal()].record(System.nanoTime() - start);
+		COUNTS[operation.ordinal()][outcome.ordinal()].increment();
+	}
+
+	/**
+	 * Returns true if operations are being measured.
+	 *
+	 * @return true if enabled
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Turns measuring on or off. Metrics already recorded are kept.
+	 *
+	 * @param on true to measure operations
+	 */
+	public static void setEnabled(boolean on) {
+		enabled = on;
+	}
+
+	/**
+	 * Returns how many times an operation ended with an outcome.
+	 *
+	 * @param operation operation
+	 * @param outcome   outcome
+	 * @return count
+	 */
+	public static long getCount(Operation operation, Outcome outcome) {
+		return COUNTS[operation.ordinal()][outcome.ordinal()].sum();
+	}
+
+	/**
+	 * Returns the latencies of an operation over every outcome.
+	 *
+	 * @param operation operation
+	 * @return latency histogram
+	 */
+	public static LatencyHistogram getLatencies(Operation operation) {
+		return LATENCIES[operation.ordinal()];
+	}
+
+	/**
+	 * Clears every count and latency.
+	 */
+	public static void reset() {
+		for (int o = 0; o < OPERATIONS.length; o++) {
+			for (int r = 0; r < OUTCOMES.length; r++) {
+				COUNTS[o][r].reset();
+			}
+			LATENCIES[o].reset();
+		}
+	}
+
+	/**
+	 * Returns every operation that has been recorded as text: one line per
+	 * operation with its latency summary in microseconds, followed by one line
+	 * per outcome seen with its count.
+	 *
+	 * @return metrics text
+	 */
+	public static String dump() {
+		StringBuilder text = new StringBuilder();
+		for (int o = 0; o < OPERATIONS.length; o++) {
+			LatencyHistogram h = LATENCIES[o];
+			if (h.getCount() == 0) {
+				continue;
+			}
+			text.append(String.format("%s count=%d mean_us=%.1f p50_us=%.1f p90_us=%.1f p99_us=%.1f max_us=%.1f%n",
+					OPERATIONS[o].name().toLowerCase(Locale.ROOT), h.getCount(), h.getMean() / 1e3, h.getPercentile(50) / 1e3,
+					h.getPercentile(90) / 1e3, h.getPercentile(99) / 1e3, h.getMax() / 1e3));
+			for (int r = 0; r < OUTCOMES.length; r++) {
+				long n = COUNTS[o][r].sum();
+				if (n > 0) {
+					text.append("  ").append(OUTCOMES[r].name().toLowerCase(Locale.ROOT)).append('=').append(n)
+							.append(System.lineSeparator());
+				}
+			}
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Registers the MXBean with the platform MBean server if it is not already
+	 * registered.
+	 *
+	 * @throws IllegalStateException if the MXBean cannot be registered
+	 */
+	public static synchronized void registerMBean() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!server.isRegistered(name)) {
+				server.registerMBean(new View(), name);
+			}
+		} catch (JMException e) {
+			throw new IllegalStateException("Cannot register metrics.", e);
+		}
+	}
+
+	/**
+	 * MXBean over the static metrics.
+	 */
+	private static class View implements SchedulerMetricsMXBean {
+
+		@Override
+		public boolean isEnabled() {
+			return SchedulerMetrics.isEnabled();
+		}
+
+		@Override
+		public void setEnabled(boolean enabled) {
+			SchedulerMetrics.setEnabled(enabled);
+		}
+
+		@Override
+		public Map<String, Long> getCounts() {
+			TreeMap<String, Long> counts = new TreeMap<String, Long>();
+			for (Operation o : OPERATIONS) {
+				for (Outcome r : OUTCOMES) {
+					long n = getCount(o, r);
+					if (n > 0) {
+						counts.put(o.name() + "." + r.name(), n);
+					}
+				}
+			}
+			return counts;
+		}
+
+		@Override
+		public double latencyMicros(String operation, double percentile) {
+			return getLatencies(Operation.valueOf(operation)).getPercentile(percentile) / 1e3;
+		}
+
+		@Override
+		public String dump() {
+			return SchedulerMetrics.dump();
+		}
+
+		@Override
+		public void reset() {
+			SchedulerMetrics.reset();
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package edu.ncsu.csc216.wolf_scheduler.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of SchedulerMetrics, registered as
+ * edu.ncsu.csc216.wolf_scheduler:type=SchedulerMetrics. Operation and outcome
+ * names are those of the Operation and Outcome enums, such as ADD_COURSE and
+ * CONFLICT.
+ *
+ * @author symone
+ *
+ */
+public interface SchedulerMetricsMXBean {
+
+	/**
+	 * Returns true if operations are being measured.
+	 *
+	 * @return true if enabled
+	 */
+	boolean isEnabled();
+
+	/**
+	 * Turns measuring on or off.
+	 *
+	 * @param enabled true to measure operations
+	 */
+	void setEnabled(boolean enabled);
+
+	/**
+	 * Returns the count of every operation and outcome seen, keyed
+	 * "OPERATION.OUTCOME".
+	 *
+	 * @return counts by operation and outcome
+	 */
+	Map<String, Long> getCounts();
+
+	/**
+	 * Returns a latency percentile of an operation over every outcome.
+	 *
+	 * @param operation  operation name
+	 * @param percentile percentile, 0 to 100
+	 * @return latency in microseconds
+	 */
+	double latencyMicros(String operation, double percentile);
+
+	/**
+	 * Returns every metric as text, as SchedulerMetrics.dump() does.
+	 *
+	 * @return metrics text
+	 */
+	String dump();
+
+	/**
+	 * Clears every count and latency.
+	 */
+	void reset();
+}
@@ -0,0 +1,82 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogDiff;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Outcome of replacing the catalog of a SessionRegistry: how the catalog
+ * changed and which students have scheduled Courses whose sections were changed
+ * or removed.
+ *
+ * @author symone
+ *
+ */
+public class CatalogReloadReport {
+
+	/** Differences between the old and new catalog */
+	private final CatalogDiff diff;
+	/** Affected scheduled Courses of each student, by student id */
+	private final TreeMap<String, ArrayList<Course>> affected = new TreeMap<String, ArrayList<Course>>();
+
+	/**
+	 * Constructs a report with no affected students.
+	 *
+	 * @param diff differences between the old and new catalog
+	 */
+	CatalogReloadReport(CatalogDiff diff) {
+		this.diff = diff;
+	}
+
+	/**
+	 * Records the affected Courses of a student.
+	 *
+	 * @param studentId student id
+	 * @param courses   scheduled Courses changed or removed by the reload
+	 */
+	void addAffected(String studentId, ArrayList<Course> courses) {
+		affected.put(studentId, courses);
+	}
+
+	/**
+	 * Returns the differences between the old and new catalog.
+	 *
+	 * @return catalog differences
+	 */
+	public CatalogDiff getDiff() {
+		return diff;
+	}
+
+	/**
+	 * Returns the scheduled Courses changed or removed by the reload, as they
+	 * are in the schedules, by student id in id order.
+	 *
+	 * @return affected Courses of each affected student
+	 */
+	public Map<String, ArrayList<Course>> getAffected() {
+		return Collections.unmodifiableMap(affected);
+	}
+
+	/**
+	 * Returns true if no schedule holds a changed or removed section.
+	 *
+	 * @return true if no student is affected
+	 */
+	public boolean isClean() {
+		return affected.isEmpty();
+	}
+
+	/**
+	 * Returns a summary of the reload.
+	 *
+	 * @return summary
+	 */
+	@Override
+	public String toString() {
+		return diff + ", affected students " + affected.size();
+	}
+}
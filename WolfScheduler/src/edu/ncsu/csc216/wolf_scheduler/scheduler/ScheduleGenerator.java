@@ -0,0 +1,524 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.WeekMask;
+
+/**
+ * Generates every conflict-free combination of catalog sections for a list of
+ * wanted Course names. Each combination is a Course array with one section per
+ * wanted name, in the order the names were given. The search backtracks over a
+ * WeekMask of occupied minutes and always branches on the Course with the fewest
+ * sections that still fit, pruning as soon as any Course has none left.
+ * Iterating the generator produces schedules lazily, one at a time.
+ *
+ * @author symone
+ *
+ */
+public class ScheduleGenerator implements Iterable<Course[]> {
+
+	/** Returned by mostConstrained() when a Course has no section that fits */
+	private static final int PRUNED = -2;
+	/** Number of search levels that are split into fork-join subtasks */
+	private static final int SPLIT_DEPTH = 2;
+
+	/** Sections of each wanted Course, indexed by Course then section */
+	private final Course[][] sections;
+	/** Meeting day bits of each section */
+	private final int[][] days;
+	/** Start minute of each section */
+	private final int[][] starts;
+	/** End minute of each section */
+	private final int[][] ends;
+	/** Minutes taken by Activities that must stay in every schedule */
+	private final WeekMask blocked;
+
+	/**
+	 * Constructs a ScheduleGenerator for the given Course names over the catalog.
+	 *
+	 * @param catalog     catalog to choose sections from
+	 * @param courseNames names of the wanted Courses
+	 */
+	public ScheduleGenerator(List<Course> catalog, String[] courseNames) {
+		this(catalog, courseNames, new ArrayList<Activity>());
+	}
+
+	/**
+	 * Constructs a ScheduleGenerator for the given Course names over the catalog.
+	 * Sections that conflict with any of the fixed Activities are never chosen.
+	 * Duplicate names are only searched once.
+	 *
+	 * @param catalog     catalog to choose sections from
+	 * @param courseNames names of the wanted Courses
+	 * @param fixed       Activities every generated schedule must fit around
+	 * @throws IllegalArgumentException if courseNames is null or contains null
+	 */
+	public ScheduleGenerator(List<Course> catalog, String[] courseNames, List<? extends Activity> fixed) {
+		if (courseNames == null) {
+			throw new IllegalArgumentException("Invalid course names.");
+		}
+		blocked = new WeekMask();
+		for (Activity a : fixed) {
+			blocked.add(a);
+		}
+
+		LinkedHashMap<String, ArrayList<Course>> groups = new LinkedHashMap<String, ArrayList<Course>>();
+		for (String name : courseNames) {
+			if (name == null) {
+				throw new IllegalArgumentException("Invalid course names.");
+			}
+			groups.putIfAbsent(name, new ArrayList<Course>());
+		}
+		for (Course c : catalog) {
+			ArrayList<Course> group = groups.get(c.getName());
+			if (group != null && !blocked.intersects(c)) {
+				group.add(c);
+			}
+		}
+
+		int n = groups.size();
+		sections = new Course[n][];
+		days = new int[n][];
+		starts = new int[n][];
+		ends = new int[n][];
+		int g = 0;
+		for (ArrayList<Course> group : groups.values()) {
+			sections[g] = group.toArray(new Course[group.size()]);
+			days[g] = new int[group.size()];
+			starts[g] = new int[group.size()];
+			ends[g] = new int[group.size()];
+			for (int i = 0; i < group.size(); i++) {
+				Course c = group.get(i);
+				days[g][i] = WeekMask.dayBits(c.getMeetingDays());
+				starts[g][i] = WeekMask.toMinutes(c.getStartTime());
+				ends[g][i] = WeekMask.toMinutes(c.getEndTime());
+			}
+			g++;
+		}
+	}
+
+	/**
+	 * Returns an Iterator that searches for the next schedule only when asked.
+	 *
+	 * @return lazy Iterator over conflict-free schedules
+	 */
+	@Override
+	public Iterator<Course[]> iterator() {
+		return new ScheduleIterator();
+	}
+
+	/**
+	 * Returns up to limit conflict-free schedules, searching sequentially and
+	 * stopping as soon as limit schedules have been found.
+	 *
+	 * @param limit maximum number of schedules to return
+	 * @return list of schedules
+	 * @throws IllegalArgumentException if limit is negative
+	 */
+	public ArrayList<Course[]> generate(int limit) {
+		checkLimit(limit);
+		ArrayList<Course[]> results = new ArrayList<Course[]>();
+		Iterator<Course[]> it = iterator();
+		while (results.size() < limit && it.hasNext()) {
+			results.add(it.next());
+		}
+		return results;
+	}
+
+	/**
+	 * Returns up to limit conflict-free schedules, splitting the top of the search
+	 * tree into fork-join tasks on the common pool. All tasks stop once limit
+	 * schedules have been found. The order of the results is not defined.
+	 *
+	 * @param limit maximum number of schedules to return
+	 * @return list of schedules
+	 * @throws IllegalArgumentException if limit is negative
+	 */
+	public ArrayList<Course[]> generateParallel(int limit) {
+		checkLimit(limit);
+		Collector collector = new Collector(limit);
+		if (sections.length > 0 && limit > 0) {
+			ForkJoinPool.commonPool().invoke(new SearchTask(new State(), collector));
+		}
+		return new ArrayList<Course[]>(collector.results);
+	}
+
+	/**
+	 * Searches every schedule sequentially, handing each one to the sink. Branches
+	 * the sink prunes are skipped and the search stops once the sink is done.
+	 *
+	 * @param sink receives complete schedules
+	 */
+	void search(Sink sink) {
+		if (sections.length > 0) {
+			search(new State(), sink);
+		}
+	}
+
+	/**
+	 * Throws an IllegalArgumentException if limit is negative.
+	 *
+	 * @param limit limit to check
+	 */
+	private static void checkLimit(int limit) {
+		if (limit < 0) {
+			throw new IllegalArgumentException("Invalid limit.");
+		}
+	}
+
+	/**
+	 * Depth-first search below the given partial schedule, handing every complete
+	 * schedule to the sink until it is done.
+	 *
+	 * @param state partial schedule, restored before returning
+	 * @param sink  receives complete schedules
+	 */
+	private void search(State state, Sink sink) {
+		if (state.assigned == sections.length) {
+			sink.accept(state.partial.clone());
+			return;
+		}
+		if (sink.prune(state.partial)) {
+			return;
+		}
+		int g = state.mostConstrained();
+		if (g == PRUNED) {
+			return;
+		}
+		for (int i : state.candidates(g)) {
+			if (sink.isDone()) {
+				return;
+			}
+			state.place(g, i);
+			search(state, sink);
+			state.unplace(g);
+		}
+	}
+
+	/**
+	 * Receives the schedules found by a search and decides how much of the search
+	 * tree is explored.
+	 */
+	abstract static class Sink {
+
+		/**
+		 * Called with each complete schedule.
+		 *
+		 * @param schedule schedule found, owned by the sink
+		 */
+		abstract void accept(Course[] schedule);
+
+		/**
+		 * Returns true if the search should stop.
+		 *
+		 * @return true if no more schedules are needed
+		 */
+		abstract boolean isDone();
+
+		/**
+		 * Returns true if no completion of the partial schedule is wanted.
+		 *
+		 * @param partial chosen sections, null for Courses not yet chosen
+		 * @return true to skip the branch
+		 */
+		boolean prune(Course[] partial) {
+			return false;
+		}
+	}
+
+	/**
+	 * Partial schedule being extended by a search.
+	 */
+	private final class State {
+
+		/** Occupied minutes */
+		private final WeekMask mask;
+		/** Chosen section index of each Course, -1 if unchosen */
+		private final int[] chosen;
+		/** Chosen section of each Course, null if unchosen */
+		private final Course[] partial;
+		/** Number of chosen Courses */
+		private int assigned;
+
+		/**
+		 * Constructs a State with no Course chosen.
+		 */
+		State() {
+			mask = blocked.copy();
+			chosen = new int[sections.length];
+			Arrays.fill(chosen, -1);
+			partial = new Course[sections.length];
+		}
+
+		/**
+		 * Constructs an independent copy of the given State.
+		 *
+		 * @param other State to copy
+		 */
+		State(State other) {
+			mask = other.mask.copy();
+			chosen = other.chosen.clone();
+			partial = other.partial.clone();
+			assigned = other.assigned;
+		}
+
+		/**
+		 * Returns true if section i of Course g does not intersect the mask.
+		 *
+		 * @param g Course index
+		 * @param i section index
+		 * @return true if the section fits
+		 */
+		boolean fits(int g, int i) {
+			return !mask.intersects(days[g][i], starts[g][i], ends[g][i]);
+		}
+
+		/**
+		 * Returns the unchosen Course with the fewest sections that fit the mask, -1
+		 * if every Course has been chosen, or PRUNED if some unchosen Course has no
+		 * section that fits.
+		 *
+		 * @return index of the most constrained Course
+		 */
+		int mostConstrained() {
+			int best = -1;
+			int bestCount = Integer.MAX_VALUE;
+			for (int g = 0; g < sections.length; g++) {
+				if (chosen[g] < 0) {
+					int count = 0;
+					for (int i = 0; i < sections[g].length && count < bestCount; i++) {
+						if (fits(g, i)) {
+							count++;
+						}
+					}
+					if (count == 0) {
+						return PRUNED;
+					}
+					if (count < bestCount) {
+						best = g;
+						bestCount = count;
+					}
+				}
+			}
+			return best;
+		}
+
+		/**
+		 * Returns the indexes of the sections of Course g that fit the mask.
+		 *
+		 * @param g Course index
+		 * @return indexes of fitting sections
+		 */
+		int[] candidates(int g) {
+			int[] result = new int[sections[g].length];
+			int count = 0;
+			for (int i = 0; i < sections[g].length; i++) {
+				if (fits(g, i)) {
+					result[count++] = i;
+				}
+			}
+			return Arrays.copyOf(result, count);
+		}
+
+		/**
+		 * Chooses section i of Course g.
+		 *
+		 * @param g Course index
+		 * @param i section index
+		 */
+		void place(int g, int i) {
+			chosen[g] = i;
+			partial[g] = sections[g][i];
+			mask.set(days[g][i], starts[g][i], ends[g][i]);
+			assigned++;
+		}
+
+		/**
+		 * Undoes the choice made for Course g.
+		 *
+		 * @param g Course index
+		 */
+		void unplace(int g) {
+			int i = chosen[g];
+			mask.clear(days[g][i], starts[g][i], ends[g][i]);
+			chosen[g] = -1;
+			partial[g] = null;
+			assigned--;
+		}
+	}
+
+	/**
+	 * Thread-safe sink for schedules found by parallel tasks.
+	 */
+	private static final class Collector extends Sink {
+
+		/** Schedules found so far */
+		private final ConcurrentLinkedQueue<Course[]> results = new ConcurrentLinkedQueue<Course[]>();
+		/** Number of schedules offered so far */
+		private final AtomicInteger found = new AtomicInteger();
+		/** Maximum number of schedules to keep */
+		private final int limit;
+
+		/**
+		 * Constructs a Collector that keeps up to limit schedules.
+		 *
+		 * @param limit maximum number of schedules to keep
+		 */
+		Collector(int limit) {
+			this.limit = limit;
+		}
+
+		@Override
+		void accept(Course[] schedule) {
+			if (found.incrementAndGet() <= limit) {
+				results.add(schedule);
+			}
+		}
+
+		@Override
+		boolean isDone() {
+			return found.get() >= limit;
+		}
+	}
+
+	/**
+	 * Fork-join task that searches below a partial schedule. Tasks near the root
+	 * fork one subtask per candidate section; deeper levels search sequentially.
+	 */
+	private final class SearchTask extends RecursiveAction {
+
+		/** ID used for serialization. */
+		private static final long serialVersionUID = 1L;
+		/** Partial schedule, owned by this task */
+		private final State state;
+		/** Receives complete schedules */
+		private final Collector collector;
+
+		/**
+		 * Constructs a SearchTask.
+		 *
+		 * @param state     partial schedule
+		 * @param collector receives complete schedules
+		 */
+		SearchTask(State state, Collector collector) {
+			this.state = state;
+			this.collector = collector;
+		}
+
+		@Override
+		protected void compute() {
+			if (state.assigned >= SPLIT_DEPTH || sections.length - state.assigned <= 1) {
+				search(state, collector);
+				return;
+			}
+			int g = state.mostConstrained();
+			if (g == PRUNED || collector.isDone()) {
+				return;
+			}
+			int[] c = state.candidates(g);
+			SearchTask[] subtasks = new SearchTask[c.length];
+			for (int k = 0; k < c.length; k++) {
+				State child = new State(state);
+				child.place(g, c[k]);
+				subtasks[k] = new SearchTask(child, collector);
+			}
+			invokeAll(subtasks);
+		}
+	}
+
+	/**
+	 * Lazy Iterator that keeps the backtracking stack explicitly so the search can
+	 * pause after each schedule.
+	 */
+	private final class ScheduleIterator implements Iterator<Course[]> {
+
+		/** Partial schedule */
+		private final State state = new State();
+		/** Course branched on at each stack level */
+		private final int[] group = new int[sections.length];
+		/** Candidate sections at each stack level */
+		private final int[][] cands = new int[sections.length][];
+		/** Next candidate to try at each stack level */
+		private final int[] cursor = new int[sections.length];
+		/** Number of stack levels */
+		private int depth;
+		/** Next schedule to return, or null if it has not been searched for */
+		private Course[] next;
+
+		/**
+		 * Constructs a ScheduleIterator positioned before the first schedule.
+		 */
+		ScheduleIterator() {
+			if (sections.length > 0) {
+				push();
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next == null) {
+				next = advance();
+			}
+			return next != null;
+		}
+
+		@Override
+		public Course[] next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Course[] result = next;
+			next = null;
+			return result;
+		}
+
+		/**
+		 * Adds a stack level branching on the most constrained Course.
+		 */
+		private void push() {
+			int g = state.mostConstrained();
+			if (g != PRUNED) {
+				group[depth] = g;
+				cands[depth] = state.candidates(g);
+				cursor[depth] = 0;
+				depth++;
+			}
+		}
+
+		/**
+		 * Resumes the search until the next complete schedule.
+		 *
+		 * @return next schedule, or null if there are none left
+		 */
+		private Course[] advance() {
+			while (depth > 0) {
+				int d = depth - 1;
+				int g = group[d];
+				if (state.chosen[g] >= 0) {
+					state.unplace(g);
+				}
+				if (cursor[d] == cands[d].length) {
+					depth--;
+					continue;
+				}
+				state.place(g, cands[d][cursor[d]++]);
+				if (depth == sections.length) {
+					return state.partial.clone();
+				}
+				push();
+			}
+			return null;
+		}
+	}
+}
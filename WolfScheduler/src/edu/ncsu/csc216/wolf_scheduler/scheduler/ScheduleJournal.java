@@ -0,0 +1,795 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Append-only journal of the schedule mutations made through a
+ * SessionRegistry, so schedules survive a crash without anyone exporting them.
+ *
+ * Each mutation is encoded by the thread that made it and queued; a single
+ * writer thread takes everything queued, writes it with one call and forces it
+ * to disk with one fsync, then wakes every caller in the batch. While one batch
+ * is being forced the next one builds up, so the fsync rate stays flat as the
+ * mutation rate grows. Records carry a per-student sequence number and a CRC so
+ * a record torn by a crash is recognized and dropped on replay.
+ *
+ * The journal is split into numbered segment files. A checkpoint starts a new
+ * segment, writes a binary snapshot of every schedule with the sequence number
+ * it reflects, and deletes the older segments and snapshot. Recovery loads the
+ * newest snapshot and replays only the records after it.
+ *
+ * @author symone
+ *
+ */
+public class ScheduleJournal implements Closeable {
+
+	/** Operation code for adding a catalog Course */
+	static final char ADD_COURSE = 'C';
+	/** Operation code for adding an Event */
+	static final char ADD_EVENT = 'E';
+	/** Operation code for removing an Activity, recorded by identity() */
+	static final char REMOVE = 'R';
+	/** Operation code for resetting a schedule */
+	static final char RESET = 'X';
+	/** Operation code for setting a schedule title */
+	static final char TITLE = 'T';
+	/** Operation code for ending a session */
+	static final char END = 'Q';
+
+	/** Largest record accepted on replay; anything bigger is a torn length */
+	private static final int MAX_RECORD = 1 << 20;
+	/** First bytes of a snapshot file */
+	private static final int SNAPSHOT_MAGIC = 0x57534e31;
+	/** Prefix of segment file names */
+	private static final String SEGMENT = "journal-";
+	/** Prefix of snapshot file names */
+	private static final String SNAPSHOT = "snapshot-";
+
+	/** Directory holding the segments and snapshots */
+	private final File directory;
+	/** Registry whose mutations are journaled */
+	private final SessionRegistry registry;
+	/** Records written between automatic checkpoints, or 0 for none */
+	private final long checkpointRecords;
+	/** Last sequence number of each student that ever had a mutation journaled */
+	private final ConcurrentHashMap<String, Long> sequences = new ConcurrentHashMap<String, Long>();
+
+	/** Guards the queue and the writer state below */
+	private final ReentrantLock lock = new ReentrantLock();
+	/** Signaled when records are queued or a rotation or close is requested */
+	private final Condition queued = lock.newCondition();
+	/** Signaled when a batch is durable or a rotation is done */
+	private final Condition flushed = lock.newCondition();
+	/** Encoded records waiting for the writer */
+	private ArrayList<byte[]> pending = new ArrayList<byte[]>();
+	/** Number of records queued so far */
+	private long appended;
+	/** Number of records durable on disk */
+	private long durable;
+	/** Number of batches forced to disk */
+	private long batches;
+	/** Records written since the last checkpoint */
+	private long sinceCheckpoint;
+	/** Number of the segment being written */
+	private int generation;
+	/** Segment being written */
+	private FileChannel channel;
+	/** True while the writer should move to a new segment */
+	private boolean rotateRequested;
+	/** True while an automatic checkpoint is running */
+	private boolean checkpointRunning;
+	/** True once close() is called */
+	private boolean closing;
+	/** Error that stopped the writer, or null */
+	private IOException failure;
+	/** Writer thread */
+	private final Thread writer;
+
+	/**
+	 * Opens the journal in the given directory: replays any existing snapshot
+	 * and segments into the registry, attaches to the registry so its mutations
+	 * are journaled, and checkpoints so the next recovery starts from a snapshot.
+	 * The registry should be empty and not in use until this returns.
+	 *
+	 * @param directory         directory for journal files, created if missing
+	 * @param registry          registry to recover into and journal
+	 * @param checkpointRecords records between automatic checkpoints, or 0 to
+	 *                          checkpoint only when asked
+	 * @return the open journal
+	 * @throws IOException if the files cannot be read or written
+	 */
+	public static ScheduleJournal open(File directory, SessionRegistry registry, long checkpointRecords)
+			throws IOException {
+		if (registry == null || checkpointRecords < 0) {
+			throw new IllegalArgumentException("Invalid journal.");
+		}
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Cannot create " + directory);
+		}
+		ScheduleJournal journal = new ScheduleJournal(directory, registry, checkpointRecords);
+		registry.setJournal(journal);
+		journal.checkpoint();
+		return journal;
+	}
+
+	/**
+	 * Recovers the registry and starts the writer on a new segment.
+	 *
+	 * @param directory         directory for journal files
+	 * @param registry          registry to recover into and journal
+	 * @param checkpointRecords records between automatic checkpoints
+	 * @throws IOException if the files cannot be read or written
+	 */
+	private ScheduleJournal(File directory, SessionRegistry registry, long checkpointRecords) throws IOException {
+		this.directory = directory;
+		this.registry = registry;
+		this.checkpointRecords = checkpointRecords;
+		generation = recover() + 1;
+		channel = openSegment(generation);
+		writer = new Thread(this::writeLoop, "schedule-journal");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Queues a record of a mutation that was just applied. Must be called while
+	 * holding the session's monitor so records of one student are queued in the
+	 * order they were applied.
+	 *
+	 * @param studentId student id
+	 * @param op        operation code
+	 * @param fields    operation arguments
+	 * @return ticket to pass to await()
+	 * @throws IllegalStateException if the journal is closed or could not be
+	 *                               written
+	 */
+	long append(String studentId, char op, String... fields) {
+		lock.lock();
+		try {
+			checkWritable();
+			long sequence = sequences.getOrDefault(studentId, 0L) + 1;
+			pending.add(frame(studentId, sequence, op, fields));
+			sequences.put(studentId, sequence);
+			queued.signal();
+			return ++appended;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Checks that records can still be journaled, so a mutation can be refused
+	 * before it is applied.
+	 *
+	 * @throws IllegalStateException if the journal is closed or could not be
+	 *                               written
+	 */
+	void checkWritable() {
+		lock.lock();
+		try {
+			if (failure != null) {
+				throw new IllegalStateException("Journal write failed.");
+			}
+			if (closing) {
+				throw new IllegalStateException("Journal is closed.");
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Closes the segment under the writer, so its next write fails as it would
+	 * on a lost disk. Used to test how failed writes are handled.
+	 *
+	 * @throws IOException if the segment cannot be closed
+	 */
+	void breakSegment() throws IOException {
+		lock.lock();
+		try {
+			channel.close();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Waits until the record with the given ticket is on disk.
+	 *
+	 * @param ticket value returned by append()
+	 * @throws IllegalStateException if the journal could not be written
+	 */
+	void await(long ticket) {
+		lock.lock();
+		try {
+			while (durable < ticket && failure == null) {
+				flushed.awaitUninterruptibly();
+			}
+			if (durable < ticket) {
+				throw new IllegalStateException("Journal write failed.");
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Starts a new segment, writes a snapshot of every schedule and deletes the
+	 * segments and snapshot it replaces. Mutations continue while the snapshot is
+	 * written.
+	 *
+	 * @throws IOException           if the snapshot cannot be written
+	 * @throws IllegalStateException if the journal is closed
+	 */
+	public synchronized void checkpoint() throws IOException {
+		int snapshotGeneration;
+		lock.lock();
+		try {
+			if (closing) {
+				throw new IllegalStateException("Journal is closed.");
+			}
+			rotateRequested = true;
+			queued.signal();
+			while (rotateRequested && failure == null && !closing) {
+				flushed.awaitUninterruptibly();
+			}
+			if (failure != null) {
+				throw failure;
+			}
+			if (rotateRequested) {
+				throw new IllegalStateException("Journal is closed.");
+			}
+			snapshotGeneration = generation;
+			sinceCheckpoint = 0;
+		} finally {
+			lock.unlock();
+		}
+
+		File tmp = new File(directory, SNAPSHOT + snapshotGeneration + ".tmp");
+		try (FileOutputStream file = new FileOutputStream(tmp);
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+			out.writeInt(SNAPSHOT_MAGIC);
+			for (Map.Entry<String, Long> entry : sequences.entrySet()) {
+				writeSession(out, entry.getKey());
+			}
+			out.writeBoolean(false);
+			out.flush();
+			file.getFD().sync();
+		}
+		Files.move(tmp.toPath(), snapshotFile(snapshotGeneration).toPath(), StandardCopyOption.ATOMIC_MOVE,
+				StandardCopyOption.REPLACE_EXISTING);
+		for (int g : generations(SNAPSHOT).keySet()) {
+			if (g < snapshotGeneration) {
+				Files.deleteIfExists(snapshotFile(g).toPath());
+			}
+		}
+		for (int g : generations(SEGMENT).keySet()) {
+			if (g < snapshotGeneration) {
+				Files.deleteIfExists(segmentFile(g).toPath());
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of batches forced to disk, each covering one or more
+	 * records.
+	 *
+	 * @return batches written
+	 */
+	public long getBatchCount() {
+		lock.lock();
+		try {
+			return batches;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of records written to disk since the journal opened.
+	 *
+	 * @return durable records
+	 */
+	public long getRecordCount() {
+		lock.lock();
+		try {
+			return durable;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Detaches from the registry, writes every queued record and closes the
+	 * segment.
+	 *
+	 * @throws IOException if the last records could not be written
+	 */
+	@Override
+	public void close() throws IOException {
+		registry.setJournal(null);
+		lock.lock();
+		try {
+			closing = true;
+			queued.signal();
+		} finally {
+			lock.unlock();
+		}
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * Body of the writer thread: writes and forces queued records in batches and
+	 * moves to a new segment when asked.
+	 */
+	private void writeLoop() {
+		ArrayList<byte[]> batch = new ArrayList<byte[]>();
+		while (true) {
+			long batchEnd;
+			boolean rotate;
+			lock.lock();
+			try {
+				while (pending.isEmpty() && !rotateRequested && !closing) {
+					queued.awaitUninterruptibly();
+				}
+				ArrayList<byte[]> swap = batch;
+				batch = pending;
+				pending = swap;
+				batchEnd = appended;
+				rotate = rotateRequested;
+				if (batch.isEmpty() && closing) {
+					flushed.signalAll();
+					break;
+				}
+			} finally {
+				lock.unlock();
+			}
+
+			boolean startCheckpoint = false;
+			try {
+				if (!batch.isEmpty()) {
+					write(batch);
+				}
+				if (rotate) {
+					channel.close();
+					channel = openSegment(generation + 1);
+				}
+			} catch (IOException e) {
+				lock.lock();
+				try {
+					failure = e;
+					flushed.signalAll();
+				} finally {
+					lock.unlock();
+				}
+				return;
+			}
+
+			lock.lock();
+			try {
+				if (!batch.isEmpty()) {
+					batches++;
+					sinceCheckpoint += batch.size();
+				}
+				durable = batchEnd;
+				if (rotate) {
+					generation++;
+					rotateRequested = false;
+				}
+				if (checkpointRecords > 0 && sinceCheckpoint >= checkpointRecords && !checkpointRunning
+						&& !closing) {
+					checkpointRunning = true;
+					startCheckpoint = true;
+				}
+				flushed.signalAll();
+			} finally {
+				lock.unlock();
+			}
+			batch.clear();
+			if (startCheckpoint) {
+				startCheckpoint();
+			}
+		}
+		try {
+			channel.close();
+		} catch (IOException e) {
+			failure = e;
+		}
+	}
+
+	/**
+	 * Writes a batch of frames to the segment with one write and one fsync.
+	 *
+	 * @param batch encoded records
+	 * @throws IOException if the write fails
+	 */
+	private void write(ArrayList<byte[]> batch) throws IOException {
+		int size = 0;
+		for (byte[] frame : batch) {
+			size += frame.length;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		for (byte[] frame : batch) {
+			buffer.put(frame);
+		}
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		channel.force(false);
+	}
+
+	/**
+	 * Runs a checkpoint on its own thread so the writer keeps writing.
+	 */
+	private void startCheckpoint() {
+		Thread t = new Thread(() -> {
+			try {
+				checkpoint();
+			} catch (IOException | IllegalStateException e) {
+				// The segments are kept, so nothing is lost; the next checkpoint retries
+			} finally {
+				lock.lock();
+				try {
+					checkpointRunning = false;
+				} finally {
+					lock.unlock();
+				}
+			}
+		}, "schedule-journal-checkpoint");
+		t.setDaemon(true);
+		t.start();
+	}
+
+	/**
+	 * Writes one student's schedule to a snapshot, reading it and its sequence
+	 * number under the session's monitor so they agree.
+	 *
+	 * @param out       snapshot being written
+	 * @param studentId student id
+	 * @throws IOException if the write fails
+	 */
+	private void writeSession(DataOutputStream out, String studentId) throws IOException {
+		WolfScheduler session = registry.findSession(studentId);
+		ScheduleSnapshot snapshot;
+		long sequence;
+		if (session == null) {
+			snapshot = null;
+			sequence = sequences.get(studentId);
+		} else {
+			synchronized (session) {
+				snapshot = session.isEnded() ? null : session.getSnapshot();
+				sequence = sequences.get(studentId);
+			}
+		}
+		out.writeBoolean(true);
+		out.writeUTF(studentId);
+		out.writeLong(sequence);
+		out.writeBoolean(snapshot != null);
+		if (snapshot == null) {
+			return;
+		}
+		out.writeUTF(snapshot.getTitle());
+		out.writeInt(snapshot.size());
+		for (int i = 0; i < snapshot.size(); i++) {
+			Activity a = snapshot.get(i);
+			if (a instanceof Course) {
+				Course c = (Course) a;
+				out.writeByte(ADD_COURSE);
+				out.writeUTF(c.getName());
+				out.writeUTF(c.getSection());
+			} else {
+				Event e = (Event) a;
+				out.writeByte(ADD_EVENT);
+				out.writeUTF(e.getTitle());
+				out.writeUTF(e.getMeetingDays());
+				out.writeInt(e.getStartTime());
+				out.writeInt(e.getEndTime());
+				out.writeUTF(e.getEventDetails());
+			}
+		}
+	}
+
+	/**
+	 * Loads the newest snapshot and replays the segments after it into the
+	 * registry.
+	 *
+	 * @return number of the newest existing segment or snapshot, 0 if none
+	 * @throws IOException if a file cannot be read
+	 */
+	private int recover() throws IOException {
+		TreeMap<Integer, File> snapshots = generations(SNAPSHOT);
+		TreeMap<Integer, File> segments = generations(SEGMENT);
+		int from = 0;
+		if (!snapshots.isEmpty()) {
+			from = snapshots.lastKey();
+			readSnapshot(snapshots.lastEntry().getValue());
+		}
+		int last = from;
+		for (Map.Entry<Integer, File> segment : segments.tailMap(from, true).entrySet()) {
+			replay(segment.getValue());
+			last = Math.max(last, segment.getKey());
+		}
+		return last;
+	}
+
+	/**
+	 * Restores every schedule in a snapshot file.
+	 *
+	 * @param file snapshot file
+	 * @throws IOException if the file cannot be read or is not a snapshot
+	 */
+	private void readSnapshot(File file) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != SNAPSHOT_MAGIC) {
+				throw new IOException("Not a schedule snapshot: " + file);
+			}
+			while (in.readBoolean()) {
+				String studentId = in.readUTF();
+				sequences.put(studentId, in.readLong());
+				if (!in.readBoolean()) {
+					continue;
+				}
+				WolfScheduler session = registry.getSession(studentId);
+				session.setScheduleTitle(in.readUTF());
+				int count = in.readInt();
+				for (int i = 0; i < count; i++) {
+					char kind = (char) in.readByte();
+					if (kind == ADD_COURSE) {
+						apply(session, ADD_COURSE, new String[] { in.readUTF(), in.readUTF() });
+					} else {
+						apply(session, ADD_EVENT, new String[] { in.readUTF(), in.readUTF(),
+								String.valueOf(in.readInt()), String.valueOf(in.readInt()), in.readUTF() });
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Replays the records of one segment that are newer than what is already
+	 * restored. Stops at the first torn or corrupt record.
+	 *
+	 * @param file segment file
+	 * @throws IOException if the file cannot be read
+	 */
+	private void replay(File file) throws IOException {
+		HashMap<String, WolfScheduler> cache = new HashMap<String, WolfScheduler>();
+		CRC32 crc = new CRC32();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			while (true) {
+				byte[] payload;
+				try {
+					int length = in.readInt();
+					int checksum = in.readInt();
+					if (length <= 0 || length > MAX_RECORD) {
+						return;
+					}
+					payload = new byte[length];
+					in.readFully(payload);
+					crc.reset();
+					crc.update(payload);
+					if ((int) crc.getValue() != checksum) {
+						return;
+					}
+				} catch (EOFException e) {
+					return;
+				}
+				DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+				char op = (char) record.readByte();
+				String studentId = record.readUTF();
+				long sequence = record.readLong();
+				String[] fields = new String[record.readShort()];
+				for (int i = 0; i < fields.length; i++) {
+					fields[i] = record.readUTF();
+				}
+				if (sequence <= sequences.getOrDefault(studentId, 0L)) {
+					continue;
+				}
+				sequences.put(studentId, sequence);
+				if (op == END) {
+					registry.endSession(studentId);
+					cache.remove(studentId);
+				} else {
+					WolfScheduler session = cache.computeIfAbsent(studentId, registry::getSession);
+					apply(session, op, fields);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Applies one replayed operation. Operations that no longer apply, such as
+	 * adding a section that has left the catalog or removing the Activity such
+	 * an add would have made, are skipped.
+	 *
+	 * @param session session to change
+	 * @param op      operation code
+	 * @param fields  operation arguments
+	 */
+	private static void apply(WolfScheduler session, char op, String[] fields) {
+		try {
+			switch (op) {
+			case ADD_COURSE:
+				session.addCourseToSchedule(fields[0], fields[1]);
+				break;
+			case ADD_EVENT:
+				session.addEventToSchedule(fields[0], fields[1], Integer.parseInt(fields[2]),
+						Integer.parseInt(fields[3]), fields[4]);
+				break;
+			case REMOVE:
+				session.removeActivityFromSchedule(indexOf(session.getSnapshot(), fields));
+				break;
+			case RESET:
+				session.resetSchedule();
+				break;
+			case TITLE:
+				session.setScheduleTitle(fields[0]);
+				break;
+			default:
+				break;
+			}
+		} catch (IllegalArgumentException e) {
+			// The operation was valid when journaled but not against this catalog
+		}
+	}
+
+	/**
+	 * Returns the fields a REMOVE record identifies an Activity by: the name and
+	 * section of a Course, or the title of an Event. Neither can appear twice in a
+	 * schedule, and unlike its index the identity still finds the Activity when
+	 * replay skipped an earlier record.
+	 *
+	 * @param activity Activity removed
+	 * @return REMOVE record fields
+	 */
+	static String[] identity(Activity activity) {
+		if (activity instanceof Course) {
+			Course c = (Course) activity;
+			return new String[] { String.valueOf(ADD_COURSE), c.getName(), c.getSection() };
+		}
+		return new String[] { String.valueOf(ADD_EVENT), activity.getTitle() };
+	}
+
+	/**
+	 * Returns the index of the Activity a REMOVE record identifies.
+	 *
+	 * @param snapshot schedule to search
+	 * @param fields   REMOVE record fields
+	 * @return index of the Activity, or -1 if the schedule does not have it
+	 */
+	private static int indexOf(ScheduleSnapshot snapshot, String[] fields) {
+		for (int i = 0; i < snapshot.size(); i++) {
+			if (Arrays.equals(identity(snapshot.get(i)), fields)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Encodes a record as a length and CRC prefixed frame.
+	 *
+	 * @param studentId student id
+	 * @param sequence  student's sequence number
+	 * @param op        operation code
+	 * @param fields    operation arguments
+	 * @return encoded frame
+	 */
+	private static byte[] frame(String studentId, long sequence, char op, String[] fields) {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeInt(0);
+			out.writeInt(0);
+			out.writeByte(op);
+			out.writeUTF(studentId);
+			out.writeLong(sequence);
+			out.writeShort(fields.length);
+			for (String field : fields) {
+				out.writeUTF(field);
+			}
+			byte[] frame = bytes.toByteArray();
+			CRC32 crc = new CRC32();
+			crc.update(frame, 8, frame.length - 8);
+			ByteBuffer.wrap(frame).putInt(frame.length - 8).putInt((int) crc.getValue());
+			return frame;
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Opens a new segment file for appending.
+	 *
+	 * @param g segment number
+	 * @return channel positioned at the end of the segment
+	 * @throws IOException if the file cannot be opened
+	 */
+	private FileChannel openSegment(int g) throws IOException {
+		return FileChannel.open(segmentFile(g).toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND);
+	}
+
+	/**
+	 * Returns the segment file with the given number.
+	 *
+	 * @param g segment number
+	 * @return segment file
+	 */
+	private File segmentFile(int g) {
+		return new File(directory, SEGMENT + g + ".log");
+	}
+
+	/**
+	 * Returns the snapshot file with the given number.
+	 *
+	 * @param g snapshot number
+	 * @return snapshot file
+	 */
+	private File snapshotFile(int g) {
+		return new File(directory, SNAPSHOT + g + ".bin");
+	}
+
+	/**
+	 * Returns the existing files with the given prefix keyed by their number.
+	 *
+	 * @param prefix SEGMENT or SNAPSHOT
+	 * @return files by number
+	 */
+	private TreeMap<Integer, File> generations(String prefix) {
+		String suffix = SEGMENT.equals(prefix) ? ".log" : ".bin";
+		TreeMap<Integer, File> found = new TreeMap<Integer, File>();
+		File[] files = directory.listFiles();
+		if (files == null) {
+			return found;
+		}
+		for (File f : files) {
+			String name = f.getName();
+			if (name.startsWith(prefix) && name.endsWith(suffix)) {
+				try {
+					found.put(Integer.parseInt(name.substring(prefix.length(), name.length() - suffix.length())), f);
+				} catch (NumberFormatException e) {
+					// Not one of ours
+				}
+			}
+		}
+		return found;
+	}
+}
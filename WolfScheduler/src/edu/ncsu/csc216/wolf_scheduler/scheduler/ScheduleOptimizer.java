@@ -0,0 +1,149 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Finds the best scoring schedules of a ScheduleGenerator with branch and
+ * bound. The best schedules found so far are kept in a priority queue capped at
+ * the number wanted, with the worst of them at the head. A partial schedule is
+ * skipped once the queue is full and the scorer's lower bound for it is no
+ * better than that worst score, so most combinations are never built.
+ *
+ * @author symone
+ *
+ */
+public class ScheduleOptimizer {
+
+	/** Orders ranked schedules from best to worst, ties in discovery order */
+	private static final Comparator<Ranked> BEST_FIRST = new Comparator<Ranked>() {
+		@Override
+		public int compare(Ranked a, Ranked b) {
+			int c = Double.compare(a.score, b.score);
+			return c != 0 ? c : Long.compare(a.order, b.order);
+		}
+	};
+
+	/** Generator of the schedules to rank */
+	private final ScheduleGenerator generator;
+	/** Scorer used to rank schedules */
+	private final ScheduleScorer scorer;
+
+	/**
+	 * Constructs a ScheduleOptimizer.
+	 *
+	 * @param generator generator of the schedules to rank
+	 * @param scorer    scorer used to rank schedules
+	 * @throws IllegalArgumentException if either parameter is null
+	 */
+	public ScheduleOptimizer(ScheduleGenerator generator, ScheduleScorer scorer) {
+		if (generator == null || scorer == null) {
+			throw new IllegalArgumentException("Invalid optimizer.");
+		}
+		this.generator = generator;
+		this.scorer = scorer;
+	}
+
+	/**
+	 * Returns up to n schedules with the lowest scores, best first. Schedules with
+	 * equal scores are returned in the order the search found them.
+	 *
+	 * @param n number of schedules wanted
+	 * @return best schedules, best first
+	 * @throws IllegalArgumentException if n is negative
+	 */
+	public ArrayList<Course[]> best(int n) {
+		if (n < 0) {
+			throw new IllegalArgumentException("Invalid limit.");
+		}
+		ArrayList<Course[]> result = new ArrayList<Course[]>();
+		if (n == 0) {
+			return result;
+		}
+		RankingSink sink = new RankingSink(n);
+		generator.search(sink);
+
+		ArrayList<Ranked> ranked = new ArrayList<Ranked>(sink.queue);
+		Collections.sort(ranked, BEST_FIRST);
+		for (Ranked r : ranked) {
+			result.add(r.schedule);
+		}
+		return result;
+	}
+
+	/**
+	 * A schedule with its score.
+	 */
+	private static final class Ranked {
+
+		/** Schedule */
+		private final Course[] schedule;
+		/** Score of the schedule */
+		private final double score;
+		/** Position in which the search found the schedule */
+		private final long order;
+
+		/**
+		 * Constructs a Ranked schedule.
+		 *
+		 * @param schedule schedule
+		 * @param score    score of the schedule
+		 * @param order    position in which the search found the schedule
+		 */
+		Ranked(Course[] schedule, double score, long order) {
+			this.schedule = schedule;
+			this.score = score;
+			this.order = order;
+		}
+	}
+
+	/**
+	 * Sink keeping the n best schedules and pruning branches that cannot beat
+	 * them.
+	 */
+	private final class RankingSink extends ScheduleGenerator.Sink {
+
+		/** Best schedules so far, worst at the head */
+		private final PriorityQueue<Ranked> queue;
+		/** Number of schedules wanted */
+		private final int n;
+		/** Number of schedules found */
+		private long found;
+
+		/**
+		 * Constructs a RankingSink keeping n schedules.
+		 *
+		 * @param n number of schedules wanted
+		 */
+		RankingSink(int n) {
+			this.n = n;
+			this.queue = new PriorityQueue<Ranked>(Math.min(n, 64), Collections.reverseOrder(BEST_FIRST));
+		}
+
+		@Override
+		void accept(Course[] schedule) {
+			double score = scorer.score(schedule);
+			long order = found++;
+			if (queue.size() < n) {
+				queue.add(new Ranked(schedule, score, order));
+			} else if (score < queue.peek().score) {
+				queue.poll();
+				queue.add(new Ranked(schedule, score, order));
+			}
+		}
+
+		@Override
+		boolean isDone() {
+			return false;
+		}
+
+		@Override
+		boolean prune(Course[] partial) {
+			return queue.size() == n && scorer.lowerBound(partial) >= queue.peek().score;
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Scores generated schedules for the ScheduleOptimizer. Lower scores are
+ * better. The lower bound lets the optimizer skip a partial schedule when no
+ * way of completing it can beat the schedules it already has.
+ *
+ * @author symone
+ *
+ */
+public interface ScheduleScorer {
+
+	/**
+	 * Returns the score of a complete schedule.
+	 *
+	 * @param schedule one section for each wanted Course
+	 * @return score of the schedule, lower is better
+	 */
+	double score(Course[] schedule);
+
+	/**
+	 * Returns a value no greater than the score of any completion of the partial
+	 * schedule. The default of 0 is always safe but never prunes.
+	 *
+	 * @param partial chosen sections, null for Courses not yet chosen
+	 * @return lower bound on the score of any completion
+	 */
+	default double lowerBound(Course[] partial) {
+		return 0;
+	}
+}
@@ -0,0 +1,178 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.Collection;
+import java.util.HashSet;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.WeekMask;
+
+/**
+ * Common ScheduleScorers. Every scorer here except idleMinutes() can only get
+ * worse as sections are added, so its score of a partial schedule is also its
+ * lower bound.
+ *
+ * @author symone
+ *
+ */
+public final class ScheduleScorers {
+
+	/**
+	 * ScheduleScorers only has static methods.
+	 */
+	private ScheduleScorers() {
+	}
+
+	/**
+	 * Returns a scorer counting the distinct days with at least one meeting.
+	 *
+	 * @return days on campus scorer
+	 */
+	public static ScheduleScorer daysOnCampus() {
+		return new MonotoneScorer() {
+			@Override
+			public double score(Course[] schedule) {
+				int days = 0;
+				for (Course c : schedule) {
+					if (c != null) {
+						days |= WeekMask.dayBits(c.getMeetingDays());
+					}
+				}
+				return Integer.bitCount(days);
+			}
+		};
+	}
+
+	/**
+	 * Returns a scorer adding up the minutes between consecutive meetings on each
+	 * day. Arranged sections have no meetings and add nothing.
+	 *
+	 * @return idle time scorer
+	 */
+	public static ScheduleScorer idleMinutes() {
+		return new ScheduleScorer() {
+			@Override
+			public double score(Course[] schedule) {
+				int[] starts = new int[schedule.length];
+				int[] ends = new int[schedule.length];
+				int idle = 0;
+				for (int day = 0; day < WeekMask.DAY_COUNT; day++) {
+					int count = 0;
+					for (Course c : schedule) {
+						if ((WeekMask.dayBits(c.getMeetingDays()) & 1 << day) != 0) {
+							int start = WeekMask.toMinutes(c.getStartTime());
+							int end = WeekMask.toMinutes(c.getEndTime());
+							int k = count++;
+							while (k > 0 && starts[k - 1] > start) {
+								starts[k] = starts[k - 1];
+								ends[k] = ends[k - 1];
+								k--;
+							}
+							starts[k] = start;
+							ends[k] = end;
+						}
+					}
+					for (int k = 1; k < count; k++) {
+						idle += Math.max(0, starts[k] - ends[k - 1]);
+					}
+				}
+				return idle;
+			}
+		};
+	}
+
+	/**
+	 * Returns a scorer counting the sections that start before the given time.
+	 *
+	 * @param time earliest wanted start time in military time
+	 * @return early start scorer
+	 */
+	public static ScheduleScorer startingBefore(final int time) {
+		return new MonotoneScorer() {
+			@Override
+			public double score(Course[] schedule) {
+				int early = 0;
+				for (Course c : schedule) {
+					if (c != null && !"A".equals(c.getMeetingDays()) && c.getStartTime() < time) {
+						early++;
+					}
+				}
+				return early;
+			}
+		};
+	}
+
+	/**
+	 * Returns a scorer counting the sections not taught by one of the given
+	 * instructors.
+	 *
+	 * @param instructorIds preferred instructor ids
+	 * @return preferred instructor scorer
+	 */
+	public static ScheduleScorer preferredInstructors(Collection<String> instructorIds) {
+		final HashSet<String> preferred = new HashSet<String>(instructorIds);
+		return new MonotoneScorer() {
+			@Override
+			public double score(Course[] schedule) {
+				int other = 0;
+				for (Course c : schedule) {
+					if (c != null && !preferred.contains(c.getInstructorId())) {
+						other++;
+					}
+				}
+				return other;
+			}
+		};
+	}
+
+	/**
+	 * Returns a scorer adding up the scores of the given scorers, each multiplied
+	 * by its weight.
+	 *
+	 * @param weights weight of each scorer
+	 * @param scorers scorers to combine
+	 * @return weighted sum scorer
+	 * @throws IllegalArgumentException if the lengths differ or a weight is
+	 *                                  negative
+	 */
+	public static ScheduleScorer weighted(final double[] weights, final ScheduleScorer... scorers) {
+		if (weights.length != scorers.length) {
+			throw new IllegalArgumentException("Invalid weights.");
+		}
+		for (double w : weights) {
+			if (w < 0) {
+				throw new IllegalArgumentException("Invalid weights.");
+			}
+		}
+		return new ScheduleScorer() {
+			@Override
+			public double score(Course[] schedule) {
+				double total = 0;
+				for (int i = 0; i < scorers.length; i++) {
+					total += weights[i] * scorers[i].score(schedule);
+				}
+				return total;
+			}
+
+			@Override
+			public double lowerBound(Course[] partial) {
+				double total = 0;
+				for (int i = 0; i < scorers.length; i++) {
+					total += weights[i] * scorers[i].lowerBound(partial);
+				}
+				return total;
+			}
+		};
+	}
+
+	/**
+	 * Scorer whose score never decreases as sections are added, so a partial
+	 * schedule's score is a lower bound. score() must skip null entries.
+	 */
+	private abstract static class MonotoneScorer implements ScheduleScorer {
+
+		@Override
+		public double lowerBound(Course[] partial) {
+			return score(partial);
+		}
+	}
+}
@@ -0,0 +1,149 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.WeekMask;
+
+/**
+ * One version of a student's schedule: the Activities, the title, and the
+ * agenda and occupied minutes derived from them. A ScheduleSnapshot never
+ * changes; each mutation builds a new snapshot, so a reader holding one always
+ * sees the Activities and title as they were at a single point in time.
+ *
+ * @author symone
+ *
+ */
+public final class ScheduleSnapshot {
+
+	/** Title of a new or reset schedule */
+	public static final String DEFAULT_TITLE = "My Schedule";
+
+	/** Snapshot with no Activities and the default title */
+	public static final ScheduleSnapshot EMPTY = new ScheduleSnapshot(new Activity[0], DEFAULT_TITLE,
+			WeeklyAgenda.EMPTY, new WeekMask());
+
+	/** Scheduled Activities in the order they were added */
+	private final Activity[] activities;
+	/** Schedule title */
+	private final String title;
+	/** Meeting intervals of the Activities for each day */
+	private final WeeklyAgenda agenda;
+	/** Minutes of the week taken by the Activities, never modified */
+	private final WeekMask occupied;
+
+	/**
+	 * Constructs a ScheduleSnapshot from its parts.
+	 *
+	 * @param activities scheduled Activities, not copied
+	 * @param title      schedule title
+	 * @param agenda     meeting intervals of the Activities
+	 * @param occupied   minutes taken by the Activities, not copied
+	 */
+	private ScheduleSnapshot(Activity[] activities, String title, WeeklyAgenda agenda, WeekMask occupied) {
+		this.activities = activities;
+		this.title = title;
+		this.agenda = agenda;
+		this.occupied = occupied;
+	}
+
+	/**
+	 * Returns a snapshot with the given Activity added at the end. The caller is
+	 * responsible for checking duplicates and conflicts first.
+	 *
+	 * @param activity Activity to add
+	 * @return new snapshot including the Activity
+	 */
+	public ScheduleSnapshot with(Activity activity) {
+		Activity[] next = Arrays.copyOf(activities, activities.length + 1);
+		next[activities.length] = activity;
+		WeekMask mask = occupied.copy();
+		mask.add(activity);
+		return new ScheduleSnapshot(next, title, agenda.with(activity), mask);
+	}
+
+	/**
+	 * Returns a snapshot with the Activity at the given index removed.
+	 *
+	 * @param idx index of the Activity to remove
+	 * @return new snapshot excluding the Activity
+	 * @throws IndexOutOfBoundsException if idx is not a valid index
+	 */
+	public ScheduleSnapshot without(int idx) {
+		Activity removed = activities[idx];
+		Activity[] next = new Activity[activities.length - 1];
+		System.arraycopy(activities, 0, next, 0, idx);
+		System.arraycopy(activities, idx + 1, next, idx, next.length - idx);
+		WeekMask mask = occupied.copy();
+		mask.remove(removed);
+		return new ScheduleSnapshot(next, title, agenda.without(removed), mask);
+	}
+
+	/**
+	 * Returns a snapshot with the same Activities and the given title.
+	 *
+	 * @param newTitle schedule title
+	 * @return new snapshot with the title
+	 */
+	public ScheduleSnapshot withTitle(String newTitle) {
+		return new ScheduleSnapshot(activities, newTitle, agenda, occupied);
+	}
+
+	/**
+	 * Returns the schedule title.
+	 *
+	 * @return the title
+	 */
+	public String getTitle() {
+		return title;
+	}
+
+	/**
+	 * Returns the number of scheduled Activities.
+	 *
+	 * @return number of Activities
+	 */
+	public int size() {
+		return activities.length;
+	}
+
+	/**
+	 * Returns the Activity at the given index.
+	 *
+	 * @param idx index of the Activity
+	 * @return the Activity
+	 * @throws IndexOutOfBoundsException if idx is not a valid index
+	 */
+	public Activity get(int idx) {
+		return activities[idx];
+	}
+
+	/**
+	 * Returns the scheduled Activities as a new list.
+	 *
+	 * @return list of the Activities
+	 */
+	public ArrayList<Activity> getActivities() {
+		return new ArrayList<Activity>(Arrays.asList(activities));
+	}
+
+	/**
+	 * Returns the meeting intervals of the Activities.
+	 *
+	 * @return the agenda
+	 */
+	WeeklyAgenda getAgenda() {
+		return agenda;
+	}
+
+	/**
+	 * Returns the minutes taken by the Activities. The mask is shared and must not
+	 * be modified.
+	 *
+	 * @return the occupied minutes
+	 */
+	WeekMask getOccupied() {
+		return occupied;
+	}
+}
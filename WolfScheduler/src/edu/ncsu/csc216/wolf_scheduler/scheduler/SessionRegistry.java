@@ -0,0 +1,581 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogDelta;
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogDiff;
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogHolder;
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.catalog.SeatLedger;
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Schedule sessions of many students over one shared CourseCatalog, keyed by
+ * student id. Lookups go through a ConcurrentHashMap, which never locks for
+ * reads and only locks a single bin when a session is first created, and each
+ * session applies its mutations with a compare-and-set of an immutable
+ * ScheduleSnapshot. Operations on different students never wait for each other
+ * and every mutation is atomic for its student.
+ * 
+ * When the registry has a SeatLedger, a seat given back through the registry
+ * goes to the first student on the section's waitlist who can still take it.
+ * 
+ * When a ScheduleJournal is attached, every mutation made through the registry
+ * is journaled before the call returns. A student's mutation and its journal
+ * record are made together under that student's session monitor, which is held
+ * until the record is durable, so records of one student are journaled in the
+ * order they were applied and a record that cannot be written is undone; other
+ * students are not held up. Once the journal has failed, mutations are refused
+ * before they are applied. Seats given up by a mutation are only released once
+ * it is kept. Changes made directly on a WolfScheduler session are not
+ * journaled.
+ * 
+ * Ending a session closes it before it leaves the registry, so a change that
+ * looked the session up just before it ended is refused by the closed session
+ * and made again on the student's new one instead of being lost with its seat.
+ * 
+ * The catalog can be reloaded while sessions are in use. The new catalog is
+ * built off to the side and swapped in with one atomic write; lookups already
+ * running finish against the version they started with. Schedules keep the
+ * Courses they hold, and those whose sections were changed or removed by the
+ * reload are listed in the returned CatalogReloadReport.
+ *
+ * @author symone
+ *
+ */
+public class SessionRegistry {
+
+	/** Current catalog shared by every session */
+	private final CatalogHolder catalog;
+	/** Seat counts shared by every session, or null for unlimited seats */
+	private final SeatLedger seats;
+	/** Session of each student id */
+	private final ConcurrentHashMap<String, WolfScheduler> sessions = new ConcurrentHashMap<String, WolfScheduler>();
+	/** Journal of the mutations, or null */
+	private volatile ScheduleJournal journal;
+
+	/**
+	 * Constructs an empty SessionRegistry over the given catalog.
+	 *
+	 * @param catalog shared course catalog
+	 * @throws IllegalArgumentException if catalog is null
+	 */
+	public SessionRegistry(CourseCatalog catalog) {
+		this(catalog, null);
+	}
+
+	/**
+	 * Constructs an empty SessionRegistry over the given catalog with seats
+	 * limited by the given ledger.
+	 *
+	 * @param catalog shared course catalog
+	 * @param seats   shared seat ledger, or null for unlimited seats
+	 * @throws IllegalArgumentException if catalog is null
+	 */
+	public SessionRegistry(CourseCatalog catalog, SeatLedger seats) {
+		this(new CatalogHolder(catalog), seats);
+	}
+
+	/**
+	 * Constructs an empty SessionRegistry over the current catalog of the given
+	 * holder with seats limited by the given ledger.
+	 *
+	 * @param catalog holder of the shared course catalog
+	 * @param seats   shared seat ledger, or null for unlimited seats
+	 * @throws IllegalArgumentException if catalog is null
+	 */
+	public SessionRegistry(CatalogHolder catalog, SeatLedger seats) {
+		if (catalog == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		this.catalog = catalog;
+		this.seats = seats;
+	}
+
+	/**
+	 * Returns the current version of the catalog shared by every session.
+	 *
+	 * @return the catalog
+	 */
+	public CourseCatalog getCatalog() {
+		return catalog.get();
+	}
+
+	/**
+	 * Replaces the catalog of every session and reports the schedules holding
+	 * sections that the new catalog changed or removed. Those schedules are left
+	 * as they are for the student or an administrator to resolve.
+	 *
+	 * @param next new catalog
+	 * @return differences and affected schedules
+	 * @throws IllegalArgumentException if next is null
+	 */
+	public CatalogReloadReport reloadCatalog(CourseCatalog next) {
+		return report(catalog.swap(next));
+	}
+
+	/**
+	 * Applies a delta to the catalog of every session and reports the schedules
+	 * holding sections it changed or removed, as reloadCatalog() does. Only the
+	 * changed sections are indexed again.
+	 *
+	 * @param delta changes to apply
+	 * @return differences and affected schedules
+	 * @throws IllegalArgumentException if delta is null
+	 */
+	public CatalogReloadReport applyCatalogDelta(CatalogDelta delta) {
+		return report(catalog.apply(delta));
+	}
+
+	/**
+	 * Reads a delta file and applies it as in applyCatalogDelta(CatalogDelta).
+	 *
+	 * @param fileName delta file
+	 * @return differences and affected schedules
+	 * @throws IllegalArgumentException if the file cannot be found
+	 */
+	public CatalogReloadReport applyCatalogDelta(String fileName) {
+		try {
+			return applyCatalogDelta(CatalogDelta.load(fileName));
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("Cannot find file " + fileName);
+		}
+	}
+
+	/**
+	 * Lists the schedules holding sections that were changed or removed.
+	 *
+	 * @param diff differences made to the catalog
+	 * @return differences and affected schedules
+	 */
+	private CatalogReloadReport report(CatalogDiff diff) {
+		CatalogReloadReport report = new CatalogReloadReport(diff);
+		if (diff.getRemoved().isEmpty() && diff.getChanged().isEmpty()) {
+			return report;
+		}
+		for (Map.Entry<String, WolfScheduler> e : sessions.entrySet()) {
+			ScheduleSnapshot snapshot = e.getValue().getSnapshot();
+			ArrayList<Course> affected = new ArrayList<Course>();
+			for (int i = 0; i < snapshot.size(); i++) {
+				if (snapshot.get(i) instanceof Course && diff.affects((Course) snapshot.get(i))) {
+					affected.add((Course) snapshot.get(i));
+				}
+			}
+			if (!affected.isEmpty()) {
+				report.addAffected(e.getKey(), affected);
+			}
+		}
+		return report;
+	}
+
+	/**
+	 * Loads a course records file and replaces the catalog with it as in
+	 * reloadCatalog(CourseCatalog).
+	 *
+	 * @param fileName course records file
+	 * @return differences and affected schedules
+	 * @throws IllegalArgumentException if the file cannot be found
+	 */
+	public CatalogReloadReport reloadCatalog(String fileName) {
+		try {
+			return reloadCatalog(CourseCatalog.load(fileName));
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("Cannot find file " + fileName);
+		}
+	}
+
+	/**
+	 * Loads a course records file on the common fork-join pool and then replaces
+	 * the catalog with it. Sessions keep using the current catalog until the new
+	 * one is completely built.
+	 *
+	 * @param fileName course records file
+	 * @return future completed with the report, or exceptionally if the file
+	 *         cannot be found
+	 */
+	public CompletableFuture<CatalogReloadReport> reloadCatalogAsync(String fileName) {
+		return CompletableFuture.supplyAsync(() -> reloadCatalog(fileName));
+	}
+
+	/**
+	 * Returns the seat ledger shared by every session.
+	 *
+	 * @return the ledger, or null if seats are unlimited
+	 */
+	public SeatLedger getSeatLedger() {
+		return seats;
+	}
+
+	/**
+	 * Returns the session of the given student, creating an empty one if the
+	 * student has none. Concurrent calls for the same student return the same
+	 * session.
+	 *
+	 * @param studentId student id
+	 * @return the student's session
+	 * @throws IllegalArgumentException if studentId is null or empty
+	 */
+	public WolfScheduler getSession(String studentId) {
+		checkStudentId(studentId);
+		return sessions.computeIfAbsent(studentId, id -> new WolfScheduler(catalog, seats));
+	}
+
+	/**
+	 * Returns the session of the given student, or null if the student has none.
+	 *
+	 * @param studentId student id
+	 * @return the student's session, or null
+	 * @throws IllegalArgumentException if studentId is null or empty
+	 */
+	public WolfScheduler findSession(String studentId) {
+		checkStudentId(studentId);
+		return sessions.get(studentId);
+	}
+
+	/**
+	 * Ends and removes the session of the given student, giving back its seats.
+	 * The end is journaled before the session leaves the registry, so records of
+	 * the student's next session always follow it.
+	 *
+	 * @param studentId student id
+	 * @return true if the student had a session
+	 * @throws IllegalArgumentException if studentId is null or empty
+	 */
+	public boolean endSession(String studentId) {
+		checkStudentId(studentId);
+		WolfScheduler session = sessions.get(studentId);
+		if (session == null) {
+			return false;
+		}
+		ScheduleJournal log = journal;
+		ScheduleSnapshot before;
+		synchronized (session) {
+			if (log != null) {
+				log.checkWritable();
+			}
+			before = session.end();
+			if (before == null) {
+				return false;
+			}
+			if (log != null) {
+				try {
+					log.await(log.append(studentId, ScheduleJournal.END));
+				} catch (IllegalStateException e) {
+					session.restore(before);
+					throw e;
+				}
+			}
+			sessions.remove(studentId, session);
+		}
+		session.releaseSeats(before);
+		promoteAll(before);
+		return true;
+	}
+
+	/**
+	 * Returns the number of students with a session.
+	 *
+	 * @return number of sessions
+	 */
+	public int size() {
+		return sessions.size();
+	}
+
+	/**
+	 * Adds the given catalog section to the student's schedule.
+	 *
+	 * @param studentId student id
+	 * @param name      Course name
+	 * @param section   Course section
+	 * @return true if added, false if the section is not in the catalog
+	 * @throws IllegalArgumentException if studentId is invalid or the section is a
+	 *                                  duplicate, conflicts with the schedule, or
+	 *                                  is full
+	 */
+	public boolean addCourse(String studentId, String name, String section) {
+		return onSession(studentId, session -> mutate(studentId, session,
+				() -> session.addCourseToSchedule(name, section), ScheduleJournal.ADD_COURSE, name, section));
+	}
+
+	/**
+	 * Adds an Event to the student's schedule.
+	 *
+	 * @param studentId   student id
+	 * @param title       Event title
+	 * @param meetingDays Event meeting days
+	 * @param startTime   Event start time
+	 * @param endTime     Event end time
+	 * @param details     Event details
+	 * @throws IllegalArgumentException if studentId is invalid or the Event is
+	 *                                  invalid, a duplicate or conflicts with the
+	 *                                  schedule
+	 */
+	public void addEvent(String studentId, String title, String meetingDays, int startTime, int endTime,
+			String details) {
+		onSession(studentId, session -> mutate(studentId, session, () -> {
+			session.addEventToSchedule(title, meetingDays, startTime, endTime, details);
+			return true;
+		}, ScheduleJournal.ADD_EVENT, title, meetingDays, String.valueOf(startTime), String.valueOf(endTime),
+				details));
+	}
+
+	/**
+	 * Removes the Activity at the given index from the student's schedule.
+	 *
+	 * @param studentId student id
+	 * @param idx       index of the Activity
+	 * @return true if removed, false if idx is not in the schedule or the student
+	 *         has no session
+	 * @throws IllegalArgumentException if studentId is invalid
+	 */
+	public boolean removeActivity(String studentId, int idx) {
+		final WolfScheduler session = findSession(studentId);
+		if (session == null) {
+			return false;
+		}
+		final Activity[] removed = new Activity[1];
+		boolean done = mutateRecording(studentId, session, () -> {
+			removed[0] = session.removeActivity(idx);
+			return removed[0] == null ? null : ScheduleJournal.identity(removed[0]);
+		}, ScheduleJournal.REMOVE);
+		if (done) {
+			session.releaseSeat(removed[0]);
+			if (removed[0] instanceof Course) {
+				promote((Course) removed[0]);
+			}
+		}
+		return done;
+	}
+
+	/**
+	 * Resets the student's schedule. A student without a session is left
+	 * without one.
+	 *
+	 * @param studentId student id
+	 * @throws IllegalArgumentException if studentId is invalid
+	 */
+	public void resetSchedule(String studentId) {
+		final WolfScheduler session = findSession(studentId);
+		if (session == null) {
+			return;
+		}
+		final ScheduleSnapshot[] before = new ScheduleSnapshot[1];
+		boolean reset = mutate(studentId, session, () -> {
+			before[0] = session.clearSchedule();
+			return before[0] != null;
+		}, ScheduleJournal.RESET);
+		if (reset) {
+			session.releaseSeats(before[0]);
+			promoteAll(before[0]);
+		}
+	}
+
+	/**
+	 * Sets the title of the student's schedule.
+	 *
+	 * @param studentId student id
+	 * @param title     schedule title
+	 * @throws IllegalArgumentException if studentId is invalid or title is null
+	 */
+	public void setScheduleTitle(String studentId, String title) {
+		onSession(studentId, session -> mutate(studentId, session, () -> {
+			session.setScheduleTitle(title);
+			return true;
+		}, ScheduleJournal.TITLE, title));
+	}
+
+	/**
+	 * Puts the student on the waitlist of a catalog section.
+	 *
+	 * @param studentId student id
+	 * @param name      Course name
+	 * @param section   Course section
+	 * @return true if added, false if the student was already waiting
+	 * @throws IllegalArgumentException if studentId is invalid, the section is not
+	 *                                  in the catalog, or seats are unlimited
+	 */
+	public boolean joinWaitlist(String studentId, String name, String section) {
+		checkStudentId(studentId);
+		Course course = catalog.get().getCourse(name, section);
+		if (course == null || seats == null) {
+			throw new IllegalArgumentException("Invalid waitlist.");
+		}
+		return seats.joinWaitlist(course, studentId);
+	}
+
+	/**
+	 * Returns the current version of the student's schedule.
+	 *
+	 * @param studentId student id
+	 * @return current schedule snapshot, empty if the student has no session
+	 * @throws IllegalArgumentException if studentId is null or empty
+	 */
+	public ScheduleSnapshot getSnapshot(String studentId) {
+		WolfScheduler session = findSession(studentId);
+		return session == null ? ScheduleSnapshot.EMPTY : session.getSnapshot();
+	}
+
+	/**
+	 * Returns the student's scheduled Activities as in
+	 * WolfScheduler.getScheduledActivities().
+	 *
+	 * @param studentId student id
+	 * @return short display rows of the schedule
+	 * @throws IllegalArgumentException if studentId is null or empty
+	 */
+	public String[][] getScheduledActivities(String studentId) {
+		WolfScheduler session = findSession(studentId);
+		return session == null ? new String[0][3] : session.getScheduledActivities();
+	}
+
+	/**
+	 * Offers the open seats of every Course in a schedule that was just given up
+	 * to the students waiting for them.
+	 *
+	 * @param released schedule whose seats were released
+	 */
+	private void promoteAll(ScheduleSnapshot released) {
+		for (int i = 0; i < released.size(); i++) {
+			if (released.get(i) instanceof Course) {
+				promote((Course) released.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Adds waiting students to a section, first in line first, while it has open
+	 * seats. Students whose schedules no longer allow the section are dropped
+	 * from the waitlist. If another thread takes the seat first, the student goes
+	 * back to the front of the line.
+	 *
+	 * @param course section with a released seat
+	 */
+	private void promote(Course course) {
+		if (seats == null) {
+			return;
+		}
+		while (seats.getOpenSeats(course.getName(), course.getSection()) > 0) {
+			String studentId = seats.pollWaitlist(course);
+			if (studentId == null) {
+				return;
+			}
+			try {
+				addCourse(studentId, course.getName(), course.getSection());
+			} catch (IllegalArgumentException e) {
+				if (seats.getOpenSeats(course.getName(), course.getSection()) == 0) {
+					seats.returnToWaitlist(course, studentId);
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Attaches or detaches the journal.
+	 *
+	 * @param journal journal to record mutations in, or null
+	 */
+	void setJournal(ScheduleJournal journal) {
+		this.journal = journal;
+	}
+
+	/**
+	 * Runs an operation on the student's session, creating one if the student has
+	 * none. If the session ends while the operation runs, the operation is run
+	 * again on the student's new session.
+	 *
+	 * @param studentId student id
+	 * @param operation operation to run on the session
+	 * @return result of the operation
+	 * @throws IllegalArgumentException if studentId is null or empty
+	 */
+	private boolean onSession(String studentId, Predicate<WolfScheduler> operation) {
+		while (true) {
+			WolfScheduler session = getSession(studentId);
+			try {
+				return operation.test(session);
+			} catch (IllegalStateException e) {
+				if (!session.isEnded()) {
+					throw e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Applies a mutation to a session and, if a journal is attached, journals it
+	 * and waits until the record is durable. Nothing is journaled if the mutation
+	 * throws or returns false.
+	 *
+	 * @param studentId student id
+	 * @param session   student's session
+	 * @param mutation  change to make, returning false if nothing changed
+	 * @param op        journal operation code
+	 * @param fields    journal operation arguments
+	 * @return result of the mutation
+	 */
+	private boolean mutate(String studentId, WolfScheduler session, BooleanSupplier mutation, char op,
+			String... fields) {
+		return mutateRecording(studentId, session, () -> mutation.getAsBoolean() ? fields : null, op);
+	}
+
+	/**
+	 * Applies a mutation whose journal arguments depend on what it changed and,
+	 * if a journal is attached, journals it and waits until the record is
+	 * durable. Nothing is journaled if the mutation throws or returns null. If
+	 * the journal has failed the mutation is not applied, and if its record
+	 * cannot be written the schedule is put back and the seats it took are
+	 * released.
+	 *
+	 * @param studentId student id
+	 * @param session   student's session
+	 * @param mutation  change to make, returning the journal operation arguments
+	 *                  or null if nothing changed
+	 * @param op        journal operation code
+	 * @return true if the mutation changed the session
+	 * @throws IllegalStateException if the journal is closed or could not be
+	 *                               written
+	 */
+	private boolean mutateRecording(String studentId, WolfScheduler session, Supplier<String[]> mutation,
+			char op) {
+		ScheduleJournal log = journal;
+		if (log == null) {
+			return mutation.get() != null;
+		}
+		synchronized (session) {
+			log.checkWritable();
+			ScheduleSnapshot before = session.getSnapshot();
+			String[] fields = mutation.get();
+			if (fields == null) {
+				return false;
+			}
+			try {
+				log.await(log.append(studentId, op, fields));
+			} catch (IllegalStateException e) {
+				session.restore(before);
+				throw e;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks that a student id is usable as a key.
+	 *
+	 * @param studentId student id
+	 * @throws IllegalArgumentException if studentId is null or empty
+	 */
+	private static void checkStudentId(String studentId) {
+		if (studentId == null || studentId.isEmpty()) {
+			throw new IllegalArgumentException("Invalid student id.");
+		}
+	}
+}
@@ -0,0 +1,528 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.WeekMask;
+
+/**
+ * Weekly timetable layout of a schedule: one column per day of WeekMask.DAYS
+ * and rows of time slots, with a Block for each meeting of each timed
+ * Activity. Meetings that overlap on a day are laid out side by side in lanes,
+ * each group of overlapping meetings sharing its number of lanes.
+ *
+ * The layout is kept up to date incrementally. Adding or removing an Activity
+ * only lays out again the groups of meetings it overlaps on the days it meets,
+ * and returns the Region that changed so a view can repaint just that part.
+ * Blocks of every other group keep their lanes.
+ *
+ * The visible time range runs from 8:00 to 20:00, widened to whole hours to
+ * take in any meeting outside it. A TimetableGrid is meant to be used from one
+ * thread, such as the Swing event thread.
+ *
+ * @author symone
+ *
+ */
+public final class TimetableGrid {
+
+	/** Minutes in an hour */
+	private static final int HOUR = 60;
+	/** Default first visible minute, 8:00 */
+	private static final int DEFAULT_FIRST = 8 * HOUR;
+	/** Default last visible minute, 20:00 */
+	private static final int DEFAULT_LAST = 20 * HOUR;
+
+	/** Minutes in a time slot */
+	private final int slotMinutes;
+	/** Blocks of each day sorted by start, then end */
+	private final ArrayList<ArrayList<Block>> days = new ArrayList<ArrayList<Block>>();
+	/** Blocks of each timed Activity in the grid, by identity */
+	private final IdentityHashMap<Activity, Block[]> placed = new IdentityHashMap<Activity, Block[]>();
+	/** First visible minute */
+	private int firstMinute = DEFAULT_FIRST;
+	/** Last visible minute */
+	private int lastMinute = DEFAULT_LAST;
+
+	/**
+	 * Constructs an empty TimetableGrid with 30 minute slots.
+	 */
+	public TimetableGrid() {
+		this(HOUR / 2);
+	}
+
+	/**
+	 * Constructs an empty TimetableGrid with slots of the given length.
+	 *
+	 * @param slotMinutes minutes in a slot, dividing an hour evenly
+	 * @throws IllegalArgumentException if slotMinutes does not divide an hour
+	 */
+	public TimetableGrid(int slotMinutes) {
+		if (slotMinutes < 1 || HOUR % slotMinutes != 0) {
+			throw new IllegalArgumentException("Invalid slot.");
+		}
+		this.slotMinutes = slotMinutes;
+		for (int d = 0; d < WeekMask.DAY_COUNT; d++) {
+			days.add(new ArrayList<Block>());
+		}
+	}
+
+	/**
+	 * Returns the minutes in a time slot.
+	 *
+	 * @return slot minutes
+	 */
+	public int getSlotMinutes() {
+		return slotMinutes;
+	}
+
+	/**
+	 * Returns the first visible minute of the day.
+	 *
+	 * @return first minute, on the hour
+	 */
+	public int getFirstMinute() {
+		return firstMinute;
+	}
+
+	/**
+	 * Returns the last visible minute of the day.
+	 *
+	 * @return last minute, on the hour
+	 */
+	public int getLastMinute() {
+		return lastMinute;
+	}
+
+	/**
+	 * Returns the number of time slots in the visible range.
+	 *
+	 * @return slots
+	 */
+	public int getSlotCount() {
+		return (lastMinute - firstMinute) / slotMinutes;
+	}
+
+	/**
+	 * Returns the start of a time slot in military time.
+	 *
+	 * @param slot slot index
+	 * @return military start time of the slot
+	 */
+	public int getSlotTime(int slot) {
+		return WeekMask.toTime(firstMinute + slot * slotMinutes);
+	}
+
+	/**
+	 * Returns the number of timed Activities in the grid.
+	 *
+	 * @return Activities laid out
+	 */
+	public int size() {
+		return placed.size();
+	}
+
+	/**
+	 * Returns the Blocks of the given day sorted by start time. The list is a
+	 * view that changes with the grid.
+	 *
+	 * @param day meeting day character
+	 * @return Blocks of the day
+	 * @throws IllegalArgumentException if day is not a meeting day character
+	 */
+	public List<Block> getBlocks(char day) {
+		int d = WeekMask.DAYS.indexOf(day);
+		if (d < 0) {
+			throw new IllegalArgumentException("Invalid day.");
+		}
+		return Collections.unmodifiableList(days.get(d));
+	}
+
+	/**
+	 * Adds an Activity's meetings to the grid. Arranged Activities and
+	 * Activities already in the grid are ignored.
+	 *
+	 * @param activity Activity to add
+	 * @return changed Region, empty if nothing changed
+	 */
+	public Region add(Activity activity) {
+		int bits = WeekMask.dayBits(activity.getMeetingDays());
+		if (bits == 0 || placed.containsKey(activity)) {
+			return Region.NONE;
+		}
+		int start = WeekMask.toMinutes(activity.getStartTime());
+		int end = WeekMask.toMinutes(activity.getEndTime());
+		Region region = new Region();
+		Block[] blocks = new Block[Integer.bitCount(bits)];
+		int count = 0;
+		for (int d = 0; d < WeekMask.DAY_COUNT; d++) {
+			if ((bits & 1 << d) != 0) {
+				Block block = new Block(activity, WeekMask.DAYS.charAt(d), start, end);
+				blocks[count++] = block;
+				ArrayList<Block> list = days.get(d);
+				list.add(insertionPoint(list, block), block);
+				int[] span = clusterSpan(list, block);
+				layout(list, span[0], span[1]);
+				region.include(d, span[0], span[1]);
+			}
+		}
+		placed.put(activity, blocks);
+		int first = Math.min(firstMinute, start / HOUR * HOUR);
+		int last = Math.max(lastMinute, (end + HOUR - 1) / HOUR * HOUR);
+		if (first != firstMinute || last != lastMinute) {
+			firstMinute = first;
+			lastMinute = last;
+			region.all = true;
+		}
+		return region;
+	}
+
+	/**
+	 * Removes an Activity's meetings from the grid. Activities not in the grid
+	 * are ignored.
+	 *
+	 * @param activity Activity to remove
+	 * @return changed Region, empty if nothing changed
+	 */
+	public Region remove(Activity activity) {
+		Block[] blocks = placed.remove(activity);
+		if (blocks == null) {
+			return Region.NONE;
+		}
+		Region region = new Region();
+		for (Block block : blocks) {
+			int d = WeekMask.DAYS.indexOf(block.day);
+			ArrayList<Block> list = days.get(d);
+			int[] span = clusterSpan(list, block);
+			list.remove(block);
+			layout(list, span[0], span[1]);
+			region.include(d, span[0], span[1]);
+		}
+		Block block = blocks[0];
+		if (block.startMinute < DEFAULT_FIRST && block.startMinute / HOUR * HOUR == firstMinute
+				|| block.endMinute > DEFAULT_LAST && (block.endMinute + HOUR - 1) / HOUR * HOUR == lastMinute) {
+			region.all |= fitRange();
+		}
+		return region;
+	}
+
+	/**
+	 * Brings the grid in line with the given Activities, removing those no longer
+	 * listed and adding new ones, and returns everything that changed. Activities
+	 * are matched by identity, so those of a ScheduleSnapshot are kept in place
+	 * from one snapshot to the next.
+	 *
+	 * @param activities Activities the grid should hold
+	 * @return changed Region, empty if nothing changed
+	 */
+	public Region update(List<? extends Activity> activities) {
+		IdentityHashMap<Activity, Boolean> wanted = new IdentityHashMap<Activity, Boolean>();
+		for (Activity a : activities) {
+			wanted.put(a, Boolean.TRUE);
+		}
+		Region region = new Region();
+		for (Activity a : new ArrayList<Activity>(placed.keySet())) {
+			if (!wanted.containsKey(a)) {
+				region.include(remove(a));
+			}
+		}
+		for (Activity a : activities) {
+			region.include(add(a));
+		}
+		return region;
+	}
+
+	/**
+	 * Sets the visible range to the default widened to the meetings in the grid.
+	 *
+	 * @return true if the range changed
+	 */
+	private boolean fitRange() {
+		int first = DEFAULT_FIRST;
+		int last = DEFAULT_LAST;
+		for (Block[] blocks : placed.values()) {
+			first = Math.min(first, blocks[0].startMinute / HOUR * HOUR);
+			last = Math.max(last, (blocks[0].endMinute + HOUR - 1) / HOUR * HOUR);
+		}
+		boolean changed = first != firstMinute || last != lastMinute;
+		firstMinute = first;
+		lastMinute = last;
+		return changed;
+	}
+
+	/**
+	 * Returns the position after the Blocks that start before the given Block,
+	 * or at the same time and end no later.
+	 *
+	 * @param list  Blocks of a day
+	 * @param block Block to insert
+	 * @return insertion index
+	 */
+	private static int insertionPoint(List<Block> list, Block block) {
+		int lo = 0;
+		int hi = list.size();
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			Block b = list.get(mid);
+			if (b.startMinute < block.startMinute
+					|| b.startMinute == block.startMinute && b.endMinute <= block.endMinute) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	/**
+	 * Returns the first and last minute of the group of overlapping Blocks that
+	 * holds the given Block.
+	 *
+	 * @param list  Blocks of a day, including block
+	 * @param block Block to find
+	 * @return {start, end} minutes of its group
+	 */
+	private static int[] clusterSpan(List<Block> list, Block block) {
+		int start = 0;
+		int end = -1;
+		boolean found = false;
+		for (Block b : list) {
+			if (b.startMinute >= end) {
+				if (found) {
+					break;
+				}
+				start = b.startMinute;
+			}
+			end = Math.max(end, b.endMinute);
+			found |= b == block;
+		}
+		return new int[] { start, end };
+	}
+
+	/**
+	 * Assigns lanes to the Blocks of every group of overlapping Blocks that lies
+	 * within the given minutes. Each Block takes the lowest lane free at its
+	 * start, and every Block of a group gets the group's lane count.
+	 *
+	 * @param list  Blocks of a day
+	 * @param start first minute changed
+	 * @param end   last minute changed
+	 */
+	private static void layout(List<Block> list, int start, int end) {
+		int i = 0;
+		while (i < list.size() && list.get(i).startMinute < start) {
+			i++;
+		}
+		int[] laneEnds = new int[list.size()];
+		while (i < list.size() && list.get(i).startMinute < end) {
+			int from = i;
+			int lanes = 0;
+			int groupEnd = -1;
+			for (; i < list.size() && (i == from || list.get(i).startMinute < groupEnd); i++) {
+				Block b = list.get(i);
+				int lane = 0;
+				while (lane < lanes && laneEnds[lane] > b.startMinute) {
+					lane++;
+				}
+				if (lane == lanes) {
+					lanes++;
+				}
+				laneEnds[lane] = b.endMinute;
+				b.lane = lane;
+				groupEnd = Math.max(groupEnd, b.endMinute);
+			}
+			for (int j = from; j < i; j++) {
+				list.get(j).lanes = lanes;
+			}
+		}
+	}
+
+	/**
+	 * One meeting of an Activity on one day, placed in a lane of its group of
+	 * overlapping meetings.
+	 */
+	public static final class Block {
+
+		/** Activity meeting */
+		private final Activity activity;
+		/** Meeting day character */
+		private final char day;
+		/** Start minute of the day */
+		private final int startMinute;
+		/** End minute of the day */
+		private final int endMinute;
+		/** Lane within the group, from 0 */
+		private int lane;
+		/** Lanes of the group */
+		private int lanes;
+
+		/**
+		 * Constructs a Block.
+		 *
+		 * @param activity    Activity meeting
+		 * @param day         meeting day character
+		 * @param startMinute start minute of the day
+		 * @param endMinute   end minute of the day
+		 */
+		Block(Activity activity, char day, int startMinute, int endMinute) {
+			this.activity = activity;
+			this.day = day;
+			this.startMinute = startMinute;
+			this.endMinute = endMinute;
+		}
+
+		/**
+		 * Returns the Activity meeting.
+		 *
+		 * @return the Activity
+		 */
+		public Activity getActivity() {
+			return activity;
+		}
+
+		/**
+		 * Returns the meeting day character.
+		 *
+		 * @return day
+		 */
+		public char getDay() {
+			return day;
+		}
+
+		/**
+		 * Returns the start as minutes since midnight.
+		 *
+		 * @return start minute
+		 */
+		public int getStartMinute() {
+			return startMinute;
+		}
+
+		/**
+		 * Returns the end as minutes since midnight.
+		 *
+		 * @return end minute
+		 */
+		public int getEndMinute() {
+			return endMinute;
+		}
+
+		/**
+		 * Returns the lane of the Block within its group, from 0.
+		 *
+		 * @return lane
+		 */
+		public int getLane() {
+			return lane;
+		}
+
+		/**
+		 * Returns the number of lanes of the Block's group.
+		 *
+		 * @return lanes
+		 */
+		public int getLanes() {
+			return lanes;
+		}
+	}
+
+	/**
+	 * Part of the grid changed by an update: a span of minutes on a set of days,
+	 * or the whole grid if the visible range changed.
+	 */
+	public static final class Region {
+
+		/** Region of an update that changed nothing */
+		static final Region NONE = new Region();
+
+		/** Changed days as WeekMask.dayBits() returns them */
+		private int days;
+		/** First changed minute */
+		private int startMinute = Integer.MAX_VALUE;
+		/** Last changed minute */
+		private int endMinute = Integer.MIN_VALUE;
+		/** True if the whole grid changed */
+		private boolean all;
+
+		/**
+		 * Constructs an empty Region.
+		 */
+		Region() {
+			// Grown with include()
+		}
+
+		/**
+		 * Adds a span of one day.
+		 *
+		 * @param day   index of the day in WeekMask.DAYS
+		 * @param start first minute
+		 * @param end   last minute
+		 */
+		private void include(int day, int start, int end) {
+			days |= 1 << day;
+			startMinute = Math.min(startMinute, start);
+			endMinute = Math.max(endMinute, end);
+		}
+
+		/**
+		 * Adds another Region.
+		 *
+		 * @param other Region to add
+		 */
+		private void include(Region other) {
+			days |= other.days;
+			startMinute = Math.min(startMinute, other.startMinute);
+			endMinute = Math.max(endMinute, other.endMinute);
+			all |= other.all;
+		}
+
+		/**
+		 * Returns true if nothing changed.
+		 *
+		 * @return true if empty
+		 */
+		public boolean isEmpty() {
+			return days == 0 && !all;
+		}
+
+		/**
+		 * Returns true if the whole grid changed, because the visible range did.
+		 *
+		 * @return true if everything must be repainted
+		 */
+		public boolean isAll() {
+			return all;
+		}
+
+		/**
+		 * Returns true if the given day changed.
+		 *
+		 * @param day meeting day character
+		 * @return true if the day changed
+		 */
+		public boolean includes(char day) {
+			int d = WeekMask.DAYS.indexOf(day);
+			return all || d >= 0 && (days & 1 << d) != 0;
+		}
+
+		/**
+		 * Returns the first changed minute of the changed days.
+		 *
+		 * @return start minute
+		 */
+		public int getStartMinute() {
+			return startMinute;
+		}
+
+		/**
+		 * Returns the last changed minute of the changed days.
+		 *
+		 * @return end minute
+		 */
+		public int getEndMinute() {
+			return endMinute;
+		}
+	}
+}
@@ -0,0 +1,187 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.Arrays;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.WeekMask;
+
+/**
+ * Meeting intervals of a schedule kept sorted by start time for each day of the
+ * week. A WeeklyAgenda never changes; adding or removing an Activity returns a
+ * new agenda that shares every day the Activity does not meet on. Arranged
+ * Activities have no meeting times and are not stored.
+ *
+ * @author symone
+ *
+ */
+public final class WeeklyAgenda {
+
+	/** Last minute of a day */
+	private static final int LAST_MINUTE = WeekMask.MINUTES_PER_DAY - 1;
+	/** Shared array for days with no meetings */
+	private static final int[] NO_MEETINGS = new int[0];
+
+	/** Agenda with no meetings */
+	public static final WeeklyAgenda EMPTY = new WeeklyAgenda(new int[WeekMask.DAY_COUNT][]);
+
+	/**
+	 * Meetings of each day as start and end minute pairs sorted by start. Entries
+	 * are shared between agendas and never modified.
+	 */
+	private final int[][] days;
+
+	/**
+	 * Constructs a WeeklyAgenda over the given days.
+	 *
+	 * @param days meetings of each day, null for none
+	 */
+	private WeeklyAgenda(int[][] days) {
+		for (int d = 0; d < days.length; d++) {
+			if (days[d] == null) {
+				days[d] = NO_MEETINGS;
+			}
+		}
+		this.days = days;
+	}
+
+	/**
+	 * Returns a WeeklyAgenda with the given Activity's meetings added.
+	 *
+	 * @param activity Activity to add
+	 * @return agenda including the Activity
+	 */
+	public WeeklyAgenda with(Activity activity) {
+		int bits = WeekMask.dayBits(activity.getMeetingDays());
+		if (bits == 0) {
+			return this;
+		}
+		int start = WeekMask.toMinutes(activity.getStartTime());
+		int end = WeekMask.toMinutes(activity.getEndTime());
+		int[][] result = days.clone();
+		for (int d = 0; d < WeekMask.DAY_COUNT; d++) {
+			if ((bits & 1 << d) != 0) {
+				int[] old = days[d];
+				int pos = insertionPoint(old, start);
+				int[] meetings = new int[old.length + 2];
+				System.arraycopy(old, 0, meetings, 0, pos);
+				meetings[pos] = start;
+				meetings[pos + 1] = end;
+				System.arraycopy(old, pos, meetings, pos + 2, old.length - pos);
+				result[d] = meetings;
+			}
+		}
+		return new WeeklyAgenda(result);
+	}
+
+	/**
+	 * Returns a WeeklyAgenda with the given Activity's meetings removed. Returns
+	 * this agenda if the Activity's meetings are not in it.
+	 *
+	 * @param activity Activity to remove
+	 * @return agenda excluding the Activity
+	 */
+	public WeeklyAgenda without(Activity activity) {
+		int bits = WeekMask.dayBits(activity.getMeetingDays());
+		int start = WeekMask.toMinutes(activity.getStartTime());
+		int end = WeekMask.toMinutes(activity.getEndTime());
+		int[][] result = null;
+		for (int d = 0; d < WeekMask.DAY_COUNT; d++) {
+			if ((bits & 1 << d) != 0) {
+				int[] old = days[d];
+				for (int pos = insertionPoint(old, start) - 2; pos >= 0 && old[pos] == start; pos -= 2) {
+					if (old[pos + 1] == end) {
+						int[] meetings = new int[old.length - 2];
+						System.arraycopy(old, 0, meetings, 0, pos);
+						System.arraycopy(old, pos + 2, meetings, pos, old.length - pos - 2);
+						if (result == null) {
+							result = days.clone();
+						}
+						result[d] = meetings;
+						break;
+					}
+				}
+			}
+		}
+		return result == null ? this : new WeeklyAgenda(result);
+	}
+
+	/**
+	 * Returns the number of meetings on the given day.
+	 *
+	 * @param day meeting day character
+	 * @return number of meetings on the day
+	 * @throws IllegalArgumentException if day is not a meeting day character
+	 */
+	public int getMeetingCount(char day) {
+		return days[dayIndex(day)].length / 2;
+	}
+
+	/**
+	 * Returns the free intervals on the given day that are at least minMinutes
+	 * long, in order. Each interval is a {start, end} pair in military time running
+	 * from the end of one meeting to the start of the next, or from 0 or to 2359 at
+	 * the ends of the day. Runs in time linear in the meetings on that day.
+	 *
+	 * @param day        meeting day character
+	 * @param minMinutes shortest interval wanted, in minutes
+	 * @return free intervals on the day
+	 * @throws IllegalArgumentException if day is not a meeting day character or
+	 *                                  minMinutes is negative
+	 */
+	public int[][] getFreeTime(char day, int minMinutes) {
+		if (minMinutes < 0) {
+			throw new IllegalArgumentException("Invalid duration.");
+		}
+		int[] meetings = days[dayIndex(day)];
+		int[][] free = new int[meetings.length / 2 + 1][];
+		int count = 0;
+		int from = 0;
+		for (int i = 0; i <= meetings.length; i += 2) {
+			int to = i < meetings.length ? meetings[i] : LAST_MINUTE;
+			if (to - from > 0 && to - from >= minMinutes) {
+				free[count++] = new int[] { WeekMask.toTime(from), WeekMask.toTime(to) };
+			}
+			if (i < meetings.length) {
+				from = Math.max(from, meetings[i + 1]);
+			}
+		}
+		return Arrays.copyOf(free, count);
+	}
+
+	/**
+	 * Returns the index of the given day in WeekMask.DAYS.
+	 *
+	 * @param day meeting day character
+	 * @return index of the day
+	 * @throws IllegalArgumentException if day is not a meeting day character
+	 */
+	private static int dayIndex(char day) {
+		int d = WeekMask.DAYS.indexOf(day);
+		if (d < 0) {
+			throw new IllegalArgumentException("Invalid day.");
+		}
+		return d;
+	}
+
+	/**
+	 * Returns the position after the last pair whose start is at most the given
+	 * start.
+	 *
+	 * @param meetings start and end pairs sorted by start
+	 * @param start    start minute
+	 * @return even index where a pair with the given start belongs
+	 */
+	private static int insertionPoint(int[] meetings, int start) {
+		int lo = 0;
+		int hi = meetings.length / 2;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (meetings[2 * mid] <= start) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return 2 * lo;
+	}
+}
@@ -6,14 +6,25 @@ package edu.ncsu.csc216.wolf_scheduler.scheduler;
 import java.io.FileNotFoundException;
 
 import java.io.IOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
-
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogHolder;
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogOrder;
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogQuery;
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.catalog.SeatLedger;
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.ConflictException;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 import edu.ncsu.csc216.wolf_scheduler.course.Event;
 import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
-import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.metrics.Operation;
+import edu.ncsu.csc216.wolf_scheduler.metrics.Outcome;
+import edu.ncsu.csc216.wolf_scheduler.metrics.SchedulerMetrics;
 
 /**
  * WolfScheduler reads in and stores as a list all of the Course records stored
@@ -22,19 +33,38 @@ import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
  * Course to the schedule, removing a Course from the schedule, resetting the
  * schedule.
  * 
+ * The catalog is a shared, immutable CourseCatalog, so many WolfScheduler
+ * sessions, one per student, can be built over a single loaded catalog. A
+ * session's schedule is an immutable ScheduleSnapshot; each mutation builds the
+ * next snapshot and publishes it with a compare-and-set, retrying if another
+ * thread got there first. No locks are taken and readers always see one whole
+ * snapshot.
+ * 
+ * Adding, removing, catalog lookups and exports are counted by outcome and
+ * timed in SchedulerMetrics.
+ * 
+ * The catalog is read through a CatalogHolder, so it can be replaced while the
+ * session is in use. Each operation reads the current catalog once and works on
+ * that version throughout; Courses already in the schedule are kept as they
+ * were when added.
+ * 
  * @author symone
  *
  */
 public class WolfScheduler {
 
-	/** list of activities in schedule */
-	private ArrayList<Activity> schedule;
+	/** schedule of a session that has ended, compared by identity */
+	private static final ScheduleSnapshot ENDED = ScheduleSnapshot.EMPTY.withTitle(ScheduleSnapshot.DEFAULT_TITLE);
+
+	/** current version of the schedule and its title */
+	private final AtomicReference<ScheduleSnapshot> schedule = new AtomicReference<ScheduleSnapshot>(
+			ScheduleSnapshot.EMPTY);
 
-	/** list of all courses in catalog */
-	private ArrayList<Course> catalog;
+	/** shared current version of the catalog of all courses and its indexes */
+	private final CatalogHolder catalog;
 
-	/** schedule's title */
-	private String title;
+	/** shared seat counts of the catalog sections, or null for unlimited seats */
+	private final SeatLedger seats;
 
 	/**
 	 * Constructs an empty ArrayList to hold schedule. Sets title field to the
@@ -44,15 +74,83 @@ public class WolfScheduler {
 	 *                 * @throws IllegalArgumentException if there is an error
 	 */
 	public WolfScheduler(String fileName) {
-		schedule = new ArrayList<Activity>();
-		this.title = "My Schedule";
+		this(loadCatalog(fileName));
+	}
+
+	/**
+	 * Constructs a schedule session over an already loaded catalog. The catalog
+	 * is shared, not copied. Sets title field to the default "My Schedule"
+	 * 
+	 * @param catalog shared course catalog
+	 * @throws IllegalArgumentException if catalog is null
+	 */
+	public WolfScheduler(CourseCatalog catalog) {
+		this(catalog, null);
+	}
+
+	/**
+	 * Constructs a schedule session over an already loaded catalog whose sections
+	 * have limited seats. Adding a Course takes a seat in the ledger and removing
+	 * it gives the seat back. Sets title field to the default "My Schedule"
+	 * 
+	 * @param catalog shared course catalog
+	 * @param seats   shared seat ledger, or null for unlimited seats
+	 * @throws IllegalArgumentException if catalog is null
+	 */
+	public WolfScheduler(CourseCatalog catalog, SeatLedger seats) {
+		this(new CatalogHolder(catalog), seats);
+	}
+
+	/**
+	 * Constructs a schedule session that always schedules from the current
+	 * catalog of the given holder. Sets title field to the default "My Schedule"
+	 * 
+	 * @param catalog shared holder of the current catalog
+	 * @param seats   shared seat ledger, or null for unlimited seats
+	 * @throws IllegalArgumentException if catalog is null
+	 */
+	public WolfScheduler(CatalogHolder catalog, SeatLedger seats) {
+		if (catalog == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		this.catalog = catalog;
+		this.seats = seats;
+	}
 
+	/**
+	 * Reads the catalog for the file name constructor.
+	 * 
+	 * @param fileName file name for course records
+	 * @return loaded catalog
+	 * @throws IllegalArgumentException if the file cannot be found
+	 */
+	private static CourseCatalog loadCatalog(String fileName) {
 		try {
-			catalog = CourseRecordIO.readCourseRecords(fileName);
+			return CourseCatalog.load(fileName);
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Cannot find file ");
 		}
+	}
 
+	/**
+	 * Returns the current version of the shared catalog this session schedules
+	 * from.
+	 * 
+	 * @return the catalog
+	 */
+	public CourseCatalog getCatalog() {
+		return catalog.get();
+	}
+
+	/**
+	 * Returns the current version of the schedule. The snapshot never changes, so
+	 * its Activities and title are consistent with each other however many
+	 * threads are modifying the schedule.
+	 * 
+	 * @return current schedule snapshot
+	 */
+	public ScheduleSnapshot getSnapshot() {
+		return schedule.get();
 	}
 
 	/**
@@ -64,14 +162,38 @@ public class WolfScheduler {
 	 * @return catalogArray a 2D String array of the catalog
 	 */
 	public String[][] getCourseCatalog() {
-		String[][] catalogArray = new String[catalog.size()][3];
-		for (int i = 0; i < catalog.size(); i++) {
-			Course c = catalog.get(i);
+		CourseCatalog current = catalog.get();
+		String[][] catalogArray = new String[current.size()][3];
+		for (int i = 0; i < current.size(); i++) {
+			Course c = current.get(i);
 			catalogArray[i] = c.getShortDisplayArray();
 		}
 		return catalogArray;
 	}
 
+	/**
+	 * Returns the catalog rows of getCourseCatalog() sorted in the given order.
+	 * The sort order and the rows are computed once per catalog version and
+	 * shared between calls and sessions, so the rows must not be modified.
+	 * 
+	 * @param order order of the rows, or null for catalog order
+	 * @return sorted catalog rows
+	 */
+	public String[][] getCourseCatalog(CatalogOrder order) {
+		return catalog.get().getDisplayRows(order);
+	}
+
+	/**
+	 * Returns the catalog sections in the given order, as a read-only view that
+	 * shares the sections and the cached sort order of the current catalog.
+	 * 
+	 * @param order order to view the sections in
+	 * @return sorted view of the catalog
+	 */
+	public List<Course> getSortedCatalog(CatalogOrder order) {
+		return catalog.get().getSorted(order);
+	}
+
 	/**
 	 * Returns a 2D String array of the schedule. This array is used in the GUI to
 	 * create the table of course catalog information. There is a row for each
@@ -81,9 +203,10 @@ public class WolfScheduler {
 	 * @return scheduleArray 2D array of the schedule
 	 */
 	public String[][] getScheduledActivities() {
-		String[][] scheduleArray = new String[schedule.size()][3];
-		for (int i = 0; i < schedule.size(); i++) {
-			scheduleArray[i] = schedule.get(i).getShortDisplayArray();
+		ScheduleSnapshot current = schedule.get();
+		String[][] scheduleArray = new String[current.size()][3];
+		for (int i = 0; i < current.size(); i++) {
+			scheduleArray[i] = current.get(i).getShortDisplayArray();
 		}
 
 		return scheduleArray;
@@ -99,31 +222,39 @@ public class WolfScheduler {
 	 * @return fullScheduleArray full schedule with all Course information.
 	 */
 	public String[][] getFullScheduledActivities() {
-		String[][] fullScheduleArray = new String[schedule.size()][6];
-		for (int i = 0; i < schedule.size(); i++) {
-			fullScheduleArray[i] = schedule.get(i).getLongDisplayArray();
+		ScheduleSnapshot current = schedule.get();
+		String[][] fullScheduleArray = new String[current.size()][6];
+		for (int i = 0; i < current.size(); i++) {
+			fullScheduleArray[i] = current.get(i).getLongDisplayArray();
 		}
 
 		return fullScheduleArray;
 	}
 
 	/**
-	 * Iterates through all the elements of the catalog ArrayList to find a Course
-	 * with the given name and section and returns. Returns null if Course is not in
-	 * catalog
+	 * Looks up the Course with the given name and section in the catalog index.
+	 * Returns null if Course is not in catalog
 	 * 
 	 * @param name    name of the Course to search
 	 * @param section section of the Course to search
 	 * @return Course found in catalog, else returns null.
 	 */
 	public Course getCourseFromCatalog(String name, String section) {
-		for (int i = 0; i < catalog.size(); i++) {
-			if (name.equals(catalog.get(i).getName()) && section.equals(catalog.get(i).getSection())) {
-				return catalog.get(i);
-			}
+		long start = SchedulerMetrics.start();
+		Course course = catalog.get().getCourse(name, section);
+		SchedulerMetrics.record(Operation.GET_COURSE, course == null ? Outcome.NOT_FOUND : Outcome.SUCCESS, start);
+		return course;
+	}
 
-		}
-		return null;
+	/**
+	 * Returns the catalog sections matching every filter set in the query, in
+	 * catalog order.
+	 * 
+	 * @param query filters to apply
+	 * @return matching sections
+	 */
+	public ArrayList<Course> searchCatalog(CatalogQuery query) {
+		return catalog.get().search(query);
 	}
 
 	/**
@@ -135,36 +266,60 @@ public class WolfScheduler {
 	 * @param name    name of the Course
 	 * @param section section of the Course
 	 * @return true if the Course can be added to the schedule else returns false.
-	 * @throws IllegalArgumentException if name of course matches.
+	 * @throws IllegalArgumentException if name of course matches, or if the
+	 *                                  section has no open seat.
+	 * @throws IllegalStateException    if the session was ended by its
+	 *                                  SessionRegistry
 	 */
 	public boolean addCourseToSchedule(String name, String section) throws IllegalArgumentException {
-		Course courseToAdd = getCourseFromCatalog(name, section);
-
-		for (int j = 0; j < catalog.size(); j++) {
-			Course catalogCourse = catalog.get(j);
-			if (catalogCourse.getName().equals(name)) {
+		long start = SchedulerMetrics.start();
+		Course courseToAdd = catalog.get().getCourse(name, section);
+		if (courseToAdd == null) {
+			SchedulerMetrics.record(Operation.ADD_COURSE, Outcome.NOT_FOUND, start);
+			return false;
+		}
 
-				for (int i = 0; i < schedule.size(); i++) {
-					Activity scheduleCourse = schedule.get(i);
+		// The seat is taken once the schedule check first passes and kept across
+		// retries, then given back if a retry finds a conflict
+		boolean reserved = false;
+		Outcome outcome = Outcome.ERROR;
+		ScheduleSnapshot current;
+		try {
+			do {
+				current = live(schedule.get());
+				for (int i = 0; i < current.size(); i++) {
+					Activity scheduleCourse = current.get(i);
 					if (courseToAdd.isDuplicate(scheduleCourse)) {
+						outcome = Outcome.DUPLICATE;
 						throw new IllegalArgumentException("You are already enrolled in " + courseToAdd.getName());
 					} else {
 						try {
-							courseToAdd.checkConflict(schedule.get(i));
+							courseToAdd.checkConflict(scheduleCourse);
 						} catch (ConflictException e) {
+							outcome = Outcome.CONFLICT;
 							throw new IllegalArgumentException("The course cannot be added due to a conflict.");
 						}
 					}
 
 				}
-
-				schedule.add(schedule.size(), courseToAdd);
-				return true;
+				if (seats != null && !reserved) {
+					if (!seats.reserve(courseToAdd)) {
+						outcome = Outcome.FULL;
+						throw new IllegalArgumentException("The course is full.");
+					}
+					reserved = true;
+				}
+			} while (!schedule.compareAndSet(current, current.with(courseToAdd)));
+			outcome = Outcome.SUCCESS;
+		} catch (RuntimeException e) {
+			if (reserved) {
+				seats.release(courseToAdd);
 			}
-
+			throw e;
+		} finally {
+			SchedulerMetrics.record(Operation.ADD_COURSE, outcome, start);
 		}
-
-		return false;
+		return true;
 
 	}
 
@@ -179,29 +334,41 @@ public class WolfScheduler {
 	 * @param eventEndTime     end time of the Event to be added.
 	 * @param eventDetails     details of the Event to be added.
 	 * @throws IllegalArgumentException if event is already in schedule
+	 * @throws IllegalStateException if the session was ended by its SessionRegistry
 	 */
 	public void addEventToSchedule(String eventTitle, String eventMeetingDays, int eventStartTime, int eventEndTime,
 			String eventDetails) throws IllegalArgumentException {
+		long start = SchedulerMetrics.start();
+		Outcome outcome = Outcome.ERROR;
+		try {
+			Event event = new Event(eventTitle, eventMeetingDays, eventStartTime, eventEndTime, eventDetails);
+			ScheduleSnapshot current;
+			do {
+				current = live(schedule.get());
+				for (int i = 0; i < current.size(); i++) {
+					Activity scheduleEvent = current.get(i);
+					if (event.isDuplicate(scheduleEvent)) {
+						outcome = Outcome.DUPLICATE;
+						throw new IllegalArgumentException(
+								"You have already created an event called " + event.getTitle());
+					} else {
+						try {
 
-		Event event = new Event(eventTitle, eventMeetingDays, eventStartTime, eventEndTime, eventDetails);
-		for (int i = 0; i < schedule.size(); i++) {
-			Activity scheduleEvent = schedule.get(i);
-			if (event.isDuplicate(scheduleEvent)) {
-				throw new IllegalArgumentException("You have already created an event called " + event.getTitle());
-			} else {
-				try {
-
-					event.checkConflict(scheduleEvent);
+							event.checkConflict(scheduleEvent);
 
-				} catch (ConflictException e) {
-					throw new IllegalArgumentException("The event cannot be added due to a conflict.");
-				}
+						} catch (ConflictException e) {
+							outcome = Outcome.CONFLICT;
+							throw new IllegalArgumentException("The event cannot be added due to a conflict.");
+						}
 
-			}
+					}
 
+				}
+			} while (!schedule.compareAndSet(current, current.with(event)));
+			outcome = Outcome.SUCCESS;
+		} finally {
+			SchedulerMetrics.record(Operation.ADD_EVENT, outcome, start);
 		}
-
-		schedule.add(schedule.size(), event);
 	}
 
 	/**
@@ -214,24 +381,144 @@ public class WolfScheduler {
 	 * @return false if the course can be removed, else returns true.
 	 */
 	public boolean removeActivityFromSchedule(int idx) {
-		boolean result = false;
-		try {
-			schedule.remove(idx);
-			result = true;
-
-		} catch (IndexOutOfBoundsException e) {
-			result = false;
+		Activity removed = removeActivity(idx);
+		if (removed == null) {
+			return false;
 		}
-		return result;
+		releaseSeat(removed);
+		return true;
+	}
+
+	/**
+	 * Removes the Activity at the given index from the schedule, returning the
+	 * Activity the swap actually removed, so callers acting on it see the
+	 * schedule as it was when the removal took effect. The seat of a removed
+	 * Course is kept until releaseSeat() gives it back, so a registry can keep it
+	 * until the removal is journaled.
+	 *
+	 * @param idx index of the Activity to be removed from schedule
+	 * @return the Activity removed, or null if idx is not in the schedule
+	 */
+	Activity removeActivity(int idx) {
+		long start = SchedulerMetrics.start();
+		ScheduleSnapshot current;
+		do {
+			current = schedule.get();
+			if (idx < 0 || idx >= current.size()) {
+				SchedulerMetrics.record(Operation.REMOVE_ACTIVITY, Outcome.NOT_FOUND, start);
+				return null;
+			}
+		} while (!schedule.compareAndSet(current, current.without(idx)));
+		Activity removed = current.get(idx);
+		SchedulerMetrics.record(Operation.REMOVE_ACTIVITY, Outcome.SUCCESS, start);
+		return removed;
 	}
 
 	/**
 	 * Creates an empty array list for the schedule.
 	 */
 	public void resetSchedule() {
-		schedule = new ArrayList<Activity>();
-		title = "My Schedule";
+		ScheduleSnapshot old = clearSchedule();
+		if (old != null) {
+			releaseSeats(old);
+		}
+	}
+
+	/**
+	 * Empties the schedule. The seats of its Courses are kept until
+	 * releaseSeats() gives them back.
+	 *
+	 * @return the schedule replaced by the empty one, or null if the session has
+	 *         ended
+	 */
+	ScheduleSnapshot clearSchedule() {
+		ScheduleSnapshot old;
+		do {
+			old = schedule.get();
+			if (old == ENDED) {
+				return null;
+			}
+		} while (!schedule.compareAndSet(old, ScheduleSnapshot.EMPTY));
+		return old;
+	}
 
+	/**
+	 * Ends the session: empties the schedule and refuses every later change, so
+	 * a change that raced with the end cannot take a seat nobody will give back.
+	 * The seats of its Courses are kept until releaseSeats() gives them back.
+	 *
+	 * @return the schedule the session ended with, or null if it had already
+	 *         ended
+	 */
+	ScheduleSnapshot end() {
+		ScheduleSnapshot old = schedule.getAndSet(ENDED);
+		if (old == ENDED) {
+			return null;
+		}
+		return old;
+	}
+
+	/**
+	 * Returns true if the session has ended.
+	 *
+	 * @return true if end() has been called
+	 */
+	boolean isEnded() {
+		return schedule.get() == ENDED;
+	}
+
+	/**
+	 * Puts back a schedule replaced by a change that has to be undone, and
+	 * releases the seats of the Courses the change added. Seats of Courses the
+	 * change removed are still held, as they are only released once the change
+	 * is kept.
+	 *
+	 * @param previous schedule before the change
+	 */
+	void restore(ScheduleSnapshot previous) {
+		ScheduleSnapshot changed = schedule.getAndSet(previous);
+		List<Activity> kept = previous.getActivities();
+		for (int i = 0; i < changed.size(); i++) {
+			if (!kept.contains(changed.get(i))) {
+				releaseSeat(changed.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Releases the seats of the Courses in a schedule that was replaced.
+	 *
+	 * @param old replaced schedule
+	 */
+	void releaseSeats(ScheduleSnapshot old) {
+		for (int i = 0; i < old.size(); i++) {
+			releaseSeat(old.get(i));
+		}
+	}
+
+	/**
+	 * Releases the seat of an Activity that was removed, if it is a Course.
+	 *
+	 * @param removed removed Activity
+	 */
+	void releaseSeat(Activity removed) {
+		if (seats != null && removed instanceof Course) {
+			seats.release((Course) removed);
+		}
+	}
+
+	/**
+	 * Returns the given version of the schedule if the session is still open.
+	 *
+	 * @param current version of the schedule
+	 * @return current
+	 * @throws IllegalStateException if the session has ended
+	 */
+	private static ScheduleSnapshot live(ScheduleSnapshot current) {
+		if (current == ENDED) {
+			throw new IllegalStateException("Session ended.");
+		}
+		return current;
 	}
 
 	/**
@@ -240,12 +527,16 @@ public class WolfScheduler {
 	 * 
 	 * @param title title of the schedule
 	 * @throws IllegalArgumentException if title is null or empty string
+	 * @throws IllegalStateException if the session was ended by its SessionRegistry
 	 */
 	public void setScheduleTitle(String title) {
 		if (title == null) {
 			throw new IllegalArgumentException("Title cannot be null.");
 		}
-		this.title = title;
+		ScheduleSnapshot current;
+		do {
+			current = live(schedule.get());
+		} while (!schedule.compareAndSet(current, current.withTitle(title)));
 	}
 
 	/**
@@ -254,7 +545,129 @@ public class WolfScheduler {
 	 * @return scheduleTitle
 	 */
 	public String getScheduleTitle() {
-		return title;
+		return schedule.get().getTitle();
+	}
+
+	/**
+	 * Returns the free intervals in the schedule on the given day that are at
+	 * least minMinutes long. Each interval is a {start, end} pair in military time
+	 * running from the end of one scheduled meeting to the start of the next, or
+	 * from 0 or to 2359 at the ends of the day. Arranged Courses have no meeting
+	 * times and do not take up any time.
+	 *
+	 * @param day        meeting day character, one of "UMTWHFS"
+	 * @param minMinutes shortest interval wanted, in minutes
+	 * @return free intervals on the day, in order
+	 * @throws IllegalArgumentException if day is invalid or minMinutes is negative
+	 */
+	public int[][] getFreeTime(char day, int minMinutes) {
+		return schedule.get().getAgenda().getFreeTime(day, minMinutes);
+	}
+
+	/**
+	 * Returns up to limit catalog sections whose name starts with the given
+	 * prefix, ignoring case, in name then section order.
+	 * 
+	 * @param prefix start of the Course name, such as "CSC 2"
+	 * @param limit  maximum number of sections to return
+	 * @return matching sections
+	 * @throws IllegalArgumentException if prefix is null
+	 */
+	public ArrayList<Course> searchCatalogByName(String prefix, int limit) {
+		if (prefix == null) {
+			throw new IllegalArgumentException("Invalid search.");
+		}
+		return catalog.get().searchByName(prefix, limit);
+	}
+
+	/**
+	 * Returns up to limit catalog sections whose title has a word starting with
+	 * each word of the query, ignoring case, best matches first.
+	 * 
+	 * @param query words to search for, such as "software dev"
+	 * @param limit maximum number of sections to return
+	 * @return matching sections, best first
+	 * @throws IllegalArgumentException if query is null
+	 */
+	public ArrayList<Course> searchCatalogByTitle(String query, int limit) {
+		if (query == null) {
+			throw new IllegalArgumentException("Invalid search.");
+		}
+		return catalog.get().searchByTitle(query, limit);
+	}
+
+	/**
+	 * Returns the catalog sections that could be added to the schedule: those that
+	 * do not conflict with any scheduled Activity and whose Course is not already
+	 * in the schedule. If name is not null only sections of that Course are
+	 * returned. Sections are returned in catalog order.
+	 *
+	 * @param name     Course name to restrict to, or null for every Course
+	 * @param parallel true to scan the catalog on the common fork-join pool
+	 * @return sections that fit into the schedule
+	 */
+	public ArrayList<Course> getFittingSections(String name, boolean parallel) {
+		ScheduleSnapshot current = schedule.get();
+		ArrayList<String> enrolled = new ArrayList<String>();
+		for (int i = 0; i < current.size(); i++) {
+			if (current.get(i) instanceof Course) {
+				enrolled.add(((Course) current.get(i)).getName());
+			}
+		}
+		return catalog.get().getFittingSections(current.getOccupied(), name, enrolled, parallel);
+	}
+
+	/**
+	 * Returns a ScheduleGenerator over the catalog for the given Course names. The
+	 * Activities already in the schedule are kept fixed, except for Courses whose
+	 * name is one of the given names since those are being chosen again.
+	 *
+	 * @param courseNames names of the wanted Courses
+	 * @return lazy generator of conflict-free section combinations
+	 * @throws IllegalArgumentException if courseNames is null or contains null
+	 */
+	public ScheduleGenerator getScheduleGenerator(String[] courseNames) {
+		if (courseNames == null) {
+			throw new IllegalArgumentException("Invalid course names.");
+		}
+		ArrayList<Activity> fixed = new ArrayList<Activity>();
+		for (Activity a : schedule.get().getActivities()) {
+			if (!(a instanceof Course) || !Arrays.asList(courseNames).contains(((Course) a).getName())) {
+				fixed.add(a);
+			}
+		}
+		return new ScheduleGenerator(catalog.get().getCourses(), courseNames, fixed);
+	}
+
+	/**
+	 * Returns up to limit conflict-free combinations of catalog sections for the
+	 * given Course names, each as one Course per name in the given order.
+	 *
+	 * @param courseNames names of the wanted Courses
+	 * @param limit       maximum number of schedules to return
+	 * @param parallel    true to search with fork-join tasks
+	 * @return list of generated schedules
+	 * @throws IllegalArgumentException if courseNames is invalid or limit is
+	 *                                  negative
+	 */
+	public ArrayList<Course[]> generateSchedules(String[] courseNames, int limit, boolean parallel) {
+		ScheduleGenerator generator = getScheduleGenerator(courseNames);
+		return parallel ? generator.generateParallel(limit) : generator.generate(limit);
+	}
+
+	/**
+	 * Returns up to n conflict-free combinations of catalog sections for the given
+	 * Course names with the lowest scores, best first. The Activities already in
+	 * the schedule are kept fixed as in getScheduleGenerator().
+	 *
+	 * @param courseNames names of the wanted Courses
+	 * @param n           maximum number of schedules to return
+	 * @param scorer      scorer used to rank schedules
+	 * @return best schedules, best first
+	 * @throws IllegalArgumentException if a parameter is invalid
+	 */
+	public ArrayList<Course[]> getBestSchedules(String[] courseNames, int n, ScheduleScorer scorer) {
+		return new ScheduleOptimizer(getScheduleGenerator(courseNames), scorer).best(n);
 	}
 
 	/**
@@ -264,12 +677,58 @@ public class WolfScheduler {
 	 * @throws IllegalArgumentException if CourseRecordsIO runs into errors.
 	 */
 	public void exportSchedule(String filename) {
+		long start = SchedulerMetrics.start();
 		try {
 
-			ActivityRecordIO.writeActivityRecords(filename, schedule);
+			ActivityRecordIO.writeActivityRecords(filename, schedule.get().getActivities());
+			SchedulerMetrics.record(Operation.EXPORT, Outcome.SUCCESS, start);
+		} catch (IOException e) {
+			SchedulerMetrics.record(Operation.EXPORT, Outcome.ERROR, start);
+			throw new IllegalArgumentException("The file cannot be saved");
+
+		}
+	}
+
+	/**
+	 * Exports the schedule to a file as a JSON array of its Activities, in the
+	 * format of JsonActivityWriter.
+	 * 
+	 * @param filename file to save to
+	 * @throws IllegalArgumentException if the file cannot be saved
+	 */
+	public void exportScheduleJson(String filename) {
+		long start = SchedulerMetrics.start();
+		try {
+			ActivityRecordIO.writeActivityRecordsJson(filename, schedule.get().getActivities(), false);
+			SchedulerMetrics.record(Operation.EXPORT, Outcome.SUCCESS, start);
 		} catch (IOException e) {
+			SchedulerMetrics.record(Operation.EXPORT, Outcome.ERROR, start);
 			throw new IllegalArgumentException("The file cannot be saved");
+		}
+	}
 
+	/**
+	 * Exports the schedule to a file as an iCalendar calendar with a weekly
+	 * recurring event for each timed Activity over the given term. Arranged
+	 * Courses are left out.
+	 * 
+	 * @param filename  file to save to
+	 * @param termStart first day of the term
+	 * @param termEnd   last day of the term
+	 * @throws IllegalArgumentException if the term is invalid or the file cannot
+	 *                                  be saved
+	 */
+	public void exportScheduleIcs(String filename, LocalDate termStart, LocalDate termEnd) {
+		long start = SchedulerMetrics.start();
+		try {
+			ActivityRecordIO.writeActivityRecordsIcs(filename, schedule.get().getActivities(), termStart, termEnd);
+			SchedulerMetrics.record(Operation.EXPORT, Outcome.SUCCESS, start);
+		} catch (IllegalArgumentException e) {
+			SchedulerMetrics.record(Operation.EXPORT, Outcome.ERROR, start);
+			throw e;
+		} catch (IOException e) {
+			SchedulerMetrics.record(Operation.EXPORT, Outcome.ERROR, start);
+			throw new IllegalArgumentException("The file cannot be saved");
 		}
 	}
 
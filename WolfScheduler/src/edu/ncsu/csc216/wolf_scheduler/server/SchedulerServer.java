@@ -0,0 +1,510 @@
+package edu.ncsu.csc216.wolf_scheduler.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogOrder;
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogPage;
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogQuery;
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.IcsActivityWriter;
+import edu.ncsu.csc216.wolf_scheduler.io.JsonActivityWriter;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleSnapshot;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.SessionRegistry;
+
+/**
+ * Small HTTP front end over a SessionRegistry built on the JDK's HttpServer.
+ * Every request is run on its own virtual thread when the running JDK has them
+ * (Java 21 and later), so blocked clients cost no platform threads; on older
+ * JDKs requests share a fixed pool of platform threads instead. Responses are
+ * plain text with one comma separated row per line.
+ *
+ * <ul>
+ * <li>GET /catalog?order=name&amp;limit=50&amp;cursor=... - one page of the
+ * catalog, see below</li>
+ * <li>GET /catalog/export - every section as NDJSON, streamed</li>
+ * <li>GET /catalog/search?prefix=CSC%202&amp;limit=10 - sections by name
+ * prefix</li>
+ * <li>GET /catalog/search?title=software&amp;limit=10 - sections by title
+ * words</li>
+ * <li>GET /schedule?student=id - the student's schedule, title first</li>
+ * <li>POST /schedule/add?student=id&amp;name=CSC%20216&amp;section=001</li>
+ * <li>POST /schedule/remove?student=id&amp;index=0</li>
+ * <li>GET /schedule/export?student=id - the schedule in the exported record
+ * format, as a JSON array with format=json, or as an iCalendar calendar with
+ * format=ics&amp;from=2026-08-17&amp;to=2026-12-04 (the term dates)</li>
+ * </ul>
+ *
+ * Catalog pages take an order (name, start_time, credits or instructor;
+ * default name), a limit (default 20, at most CourseCatalog.MAX_PAGE), either
+ * the cursor or the offset the previous page returned, and optional filters:
+ * instructor, days (exact meeting days), meets (days met on), credits, and
+ * from and to (start time range). The first line of the response is
+ * "next,offset,cursor" to ask for the following page with, or "end" after the
+ * last page; each section follows on its own line.
+ *
+ * Errors are reported with status 400 for bad parameters, 404 for unknown
+ * sections and 409 when an add is refused, with the message as the body. The
+ * export answers 405 to any method but GET.
+ *
+ * @author symone
+ *
+ */
+public class SchedulerServer {
+
+	/** Threads per processor in the fallback pool when there are no virtual threads */
+	private static final int THREADS_PER_PROCESSOR = 8;
+	/** Default number of search results */
+	private static final int DEFAULT_LIMIT = 20;
+	/** Connections the OS may queue before the server accepts them */
+	private static final int BACKLOG = 4096;
+	/** Seconds to wait for in-flight requests when stopping */
+	private static final int STOP_DELAY = 1;
+	/** Logger requests that fail unexpectedly are written to at WARNING */
+	private static final Logger LOG = Logger.getLogger(SchedulerServer.class.getName());
+
+	/** Sessions served */
+	private final SessionRegistry registry;
+	/** Underlying JDK server */
+	private final HttpServer server;
+	/** Executor running each request */
+	private final ExecutorService executor;
+	/** True if executor starts a virtual thread per request */
+	private final boolean virtual;
+
+	/**
+	 * Constructs a SchedulerServer for the registry bound to the given port. The
+	 * server does not accept requests until started.
+	 *
+	 * @param registry sessions to serve
+	 * @param port     port to listen on, or 0 for any free port
+	 * @throws IOException if the port cannot be bound
+	 */
+	public SchedulerServer(SessionRegistry registry, int port) throws IOException {
+		if (registry == null) {
+			throw new IllegalArgumentException("Invalid registry.");
+		}
+		this.registry = registry;
+		ExecutorService perTask = newVirtualThreadPerTaskExecutor();
+		virtual = perTask != null;
+		executor = virtual ? perTask
+				: Executors.newFixedThreadPool(THREADS_PER_PROCESSOR * Runtime.getRuntime().availableProcessors());
+		server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+		server.setExecutor(executor);
+		server.createContext("/catalog", new Route() {
+			@Override
+			String handle(HttpExchange exchange, HashMap<String, String> params) {
+				if (!"/catalog".equals(exchange.getRequestURI().getPath())) {
+					throw new RequestException(404, "Unknown request.");
+				}
+				return page(params);
+			}
+		});
+		server.createContext("/catalog/export", new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				if (!"/catalog/export".equals(exchange.getRequestURI().getPath())) {
+					respond(exchange, 404, "Unknown request.\n");
+				} else if (!"GET".equals(exchange.getRequestMethod())) {
+					exchange.getResponseHeaders().set("Allow", "GET");
+					respond(exchange, 405, "Method not allowed.\n");
+				} else {
+					exportCatalog(exchange);
+				}
+			}
+		});
+		server.createContext("/catalog/search", new Route() {
+			@Override
+			String handle(HttpExchange exchange, HashMap<String, String> params) {
+				return search(params);
+			}
+		});
+		server.createContext("/schedule", new Route() {
+			@Override
+			String handle(HttpExchange exchange, HashMap<String, String> params) {
+				return schedule(exchange.getRequestMethod(), exchange.getRequestURI().getPath(), params);
+			}
+		});
+	}
+
+	/**
+	 * Starts accepting requests.
+	 */
+	public void start() {
+		server.start();
+	}
+
+	/**
+	 * Stops accepting requests, waits briefly for in-flight ones and shuts the
+	 * executor down.
+	 */
+	public void stop() {
+		server.stop(STOP_DELAY);
+		executor.shutdown();
+		try {
+			executor.awaitTermination(STOP_DELAY, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Returns the port the server listens on.
+	 *
+	 * @return bound port
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Returns true if requests run on virtual threads.
+	 *
+	 * @return true if virtual threads are used
+	 */
+	public boolean isVirtual() {
+		return virtual;
+	}
+
+	/**
+	 * Answers a catalog search.
+	 *
+	 * @param params query parameters
+	 * @return matching sections, one per line
+	 */
+	private String search(HashMap<String, String> params) {
+		int limit = intParam(params, "limit", DEFAULT_LIMIT);
+		ArrayList<Course> found;
+		if (params.containsKey("prefix")) {
+			found = registry.getCatalog().searchByName(params.get("prefix"), limit);
+		} else if (params.containsKey("title")) {
+			found = registry.getCatalog().searchByTitle(params.get("title"), limit);
+		} else {
+			throw new RequestException(400, "Missing prefix or title.");
+		}
+		StringBuilder body = new StringBuilder();
+		for (Course c : found) {
+			appendRow(body, c.getShortDisplayArray());
+		}
+		return body.toString();
+	}
+
+	/**
+	 * Answers a catalog page request.
+	 *
+	 * @param params query parameters
+	 * @return next page line, then one section per line
+	 */
+	private String page(HashMap<String, String> params) {
+		CatalogOrder order;
+		try {
+			order = CatalogOrder.valueOf(params.getOrDefault("order", "name").toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new RequestException(400, "Invalid order.");
+		}
+		CatalogQuery query = new CatalogQuery();
+		query.setInstructorId(params.get("instructor"));
+		query.setMeetingDays(params.get("days"));
+		query.setMeetsOn(params.get("meets"));
+		query.setCredits(intParam(params, "credits", 0));
+		query.setStartTimeRange(intParam(params, "from", -1), intParam(params, "to", -1));
+		int limit = intParam(params, "limit", DEFAULT_LIMIT);
+		CourseCatalog catalog = registry.getCatalog();
+		CatalogPage page = params.containsKey("cursor")
+				? catalog.getPage(order, query, params.get("cursor"), limit)
+				: catalog.getPage(order, query, intParam(params, "offset", 0), limit);
+		StringBuilder body = new StringBuilder();
+		if (page.isLast()) {
+			body.append("end\n");
+		} else {
+			body.append("next,").append(page.getNextOffset()).append(',').append(page.getNextCursor()).append('\n');
+		}
+		for (Course c : page.getCourses()) {
+			appendRow(body, c.getShortDisplayArray());
+		}
+		return body.toString();
+	}
+
+	/**
+	 * Answers a request under /schedule.
+	 *
+	 * @param method HTTP method
+	 * @param path   request path
+	 * @param params query parameters
+	 * @return response body
+	 */
+	private String schedule(String method, String path, HashMap<String, String> params) {
+		boolean read = "GET".equals(method) && ("/schedule".equals(path) || "/schedule/export".equals(path));
+		boolean write = "POST".equals(method) && ("/schedule/add".equals(path) || "/schedule/remove".equals(path));
+		if (!read && !write) {
+			throw new RequestException(404, "Unknown request.");
+		}
+		String student = requiredParam(params, "student");
+		if ("/schedule".equals(path)) {
+			ScheduleSnapshot snapshot = registry.getSnapshot(student);
+			StringBuilder body = new StringBuilder(snapshot.getTitle()).append('\n');
+			for (int i = 0; i < snapshot.size(); i++) {
+				appendRow(body, snapshot.get(i).getShortDisplayArray());
+			}
+			return body.toString();
+		}
+		if ("/schedule/export".equals(path) && "json".equals(params.get("format"))) {
+			ByteArrayOutputStream json = new ByteArrayOutputStream();
+			try (JsonActivityWriter writer = new JsonActivityWriter(json, false)) {
+				writer.writeAll(registry.getSnapshot(student).getActivities());
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+			return new String(json.toByteArray(), StandardCharsets.UTF_8);
+		}
+		if ("/schedule/export".equals(path) && "ics".equals(params.get("format"))) {
+			ByteArrayOutputStream ics = new ByteArrayOutputStream();
+			try (IcsActivityWriter writer = new IcsActivityWriter(ics, dateParam(params, "from"),
+					dateParam(params, "to"))) {
+				writer.writeAll(registry.getSnapshot(student).getActivities());
+			} catch (IllegalArgumentException e) {
+				throw new RequestException(400, e.getMessage());
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+			return new String(ics.toByteArray(), StandardCharsets.UTF_8);
+		}
+		if ("/schedule/export".equals(path)) {
+			StringBuilder body = new StringBuilder();
+			for (Activity a : registry.getSnapshot(student).getActivities()) {
+				body.append(a.toString()).append('\n');
+			}
+			return body.toString();
+		}
+		if ("/schedule/add".equals(path)) {
+			try {
+				if (!registry.addCourse(student, requiredParam(params, "name"), requiredParam(params, "section"))) {
+					throw new RequestException(404, "Course not in catalog.");
+				}
+			} catch (IllegalArgumentException e) {
+				throw new RequestException(409, e.getMessage());
+			}
+			return "added\n";
+		}
+		if (!registry.removeActivity(student, intParam(params, "index", -1))) {
+			throw new RequestException(404, "No activity at that index.");
+		}
+		return "removed\n";
+	}
+
+	/**
+	 * Streams every catalog section as NDJSON with chunked transfer, so the dump
+	 * is never held in memory whatever the size of the catalog.
+	 *
+	 * @param exchange request and response
+	 * @throws IOException if the response cannot be written
+	 */
+	private void exportCatalog(HttpExchange exchange) throws IOException {
+		exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+		exchange.sendResponseHeaders(200, 0);
+		try (JsonActivityWriter writer = new JsonActivityWriter(exchange.getResponseBody(), true)) {
+			writer.writeAll(registry.getCatalog().getCourses());
+		}
+	}
+
+	/**
+	 * Appends one row as a comma separated line.
+	 *
+	 * @param body  response being built
+	 * @param cells values of the row
+	 */
+	private static void appendRow(StringBuilder body, String[] cells) {
+		for (int i = 0; i < cells.length; i++) {
+			if (i > 0) {
+				body.append(',');
+			}
+			body.append(cells[i]);
+		}
+		body.append('\n');
+	}
+
+	/**
+	 * Returns a required query parameter.
+	 *
+	 * @param params query parameters
+	 * @param name   parameter name
+	 * @return parameter value
+	 * @throws RequestException if the parameter is missing or empty
+	 */
+	private static String requiredParam(HashMap<String, String> params, String name) {
+		String value = params.get(name);
+		if (value == null || value.isEmpty()) {
+			throw new RequestException(400, "Missing " + name + ".");
+		}
+		return value;
+	}
+
+	/**
+	 * Returns an integer query parameter.
+	 *
+	 * @param params       query parameters
+	 * @param name         parameter name
+	 * @param defaultValue value if the parameter is missing
+	 * @return parameter value
+	 * @throws RequestException if the parameter is not an integer
+	 */
+	private static int intParam(HashMap<String, String> params, String name, int defaultValue) {
+		String value = params.get(name);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new RequestException(400, "Invalid " + name + ".");
+		}
+	}
+
+	/**
+	 * Returns a required date query parameter in ISO format, such as 2026-08-17.
+	 *
+	 * @param params query parameters
+	 * @param name   parameter name
+	 * @return parameter value
+	 * @throws RequestException if the parameter is missing or not a date
+	 */
+	private static LocalDate dateParam(HashMap<String, String> params, String name) {
+		try {
+			return LocalDate.parse(requiredParam(params, name));
+		} catch (DateTimeParseException e) {
+			throw new RequestException(400, "Invalid " + name + ".");
+		}
+	}
+
+	/**
+	 * Parses a URL query string.
+	 *
+	 * @param query raw query, or null
+	 * @return decoded parameters
+	 */
+	static HashMap<String, String> parseQuery(String query) {
+		HashMap<String, String> params = new HashMap<String, String>();
+		if (query == null) {
+			return params;
+		}
+		for (String pair : query.split("&")) {
+			int eq = pair.indexOf('=');
+			String key = eq < 0 ? pair : pair.substring(0, eq);
+			String value = eq < 0 ? "" : pair.substring(eq + 1);
+			if (!key.isEmpty()) {
+				params.put(URLDecoder.decode(key, StandardCharsets.UTF_8),
+						URLDecoder.decode(value, StandardCharsets.UTF_8));
+			}
+		}
+		return params;
+	}
+
+	/**
+	 * Returns an executor that starts a virtual thread per task, or null if the
+	 * running JDK has no virtual threads. Looked up reflectively so the code still
+	 * compiles and runs on Java 11.
+	 *
+	 * @return virtual thread executor, or null
+	 */
+	private static ExecutorService newVirtualThreadPerTaskExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Failure of a request with the HTTP status to report.
+	 */
+	private static class RequestException extends RuntimeException {
+
+		/** ID number used for object serialization. */
+		private static final long serialVersionUID = 1L;
+		/** HTTP status code */
+		private final int status;
+
+		/**
+		 * Constructs a RequestException.
+		 *
+		 * @param status  HTTP status code
+		 * @param message body of the response
+		 */
+		RequestException(int status, String message) {
+			super(message);
+			this.status = status;
+		}
+	}
+
+	/**
+	 * Handler that parses the query, runs the route and writes the text response.
+	 */
+	private abstract static class Route implements HttpHandler {
+
+		/**
+		 * Answers one request.
+		 *
+		 * @param exchange request and response
+		 * @param params   decoded query parameters
+		 * @return response body
+		 */
+		abstract String handle(HttpExchange exchange, HashMap<String, String> params);
+
+		@Override
+		public void handle(HttpExchange exchange) throws IOException {
+			int status = 200;
+			String body;
+			try {
+				body = handle(exchange, parseQuery(exchange.getRequestURI().getRawQuery()));
+			} catch (RequestException e) {
+				status = e.status;
+				body = e.getMessage() + "\n";
+			} catch (IllegalArgumentException e) {
+				status = 400;
+				body = e.getMessage() + "\n";
+			} catch (RuntimeException e) {
+				LOG.log(Level.WARNING, "Failed " + exchange.getRequestURI(), e);
+				status = 500;
+				body = e.getMessage() + "\n";
+			}
+			respond(exchange, status, body);
+		}
+	}
+
+	/**
+	 * Writes a text response.
+	 *
+	 * @param exchange request and response
+	 * @param status   HTTP status code
+	 * @param body     response body
+	 * @throws IOException if the response cannot be written
+	 */
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+}
@@ -0,0 +1,190 @@
+package edu.ncsu.csc216.wolf_scheduler.ui;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.List;
+
+import javax.swing.JComponent;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.WeekMask;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.TimetableGrid;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.TimetableGrid.Block;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.TimetableGrid.Region;
+
+/**
+ * Paints a schedule as a weekly timetable from a {@link TimetableGrid}, a
+ * column per day from Sunday to Saturday and a row per time slot. Updating the
+ * schedule repaints only the days and times the grid reports as changed, and
+ * painting skips everything outside the clip, so adding one Course redraws a
+ * few small rectangles rather than the whole week.
+ *
+ * @author symone
+ */
+public class TimetablePanel extends JComponent {
+
+	/** ID number used for object serialization. */
+	private static final long serialVersionUID = 1L;
+	/** Height of the row of day names */
+	private static final int HEADER_HEIGHT = 20;
+	/** Width of the column of times */
+	private static final int TIME_WIDTH = 60;
+	/** Gap left around blocks and text */
+	private static final int PAD = 2;
+	/** Day names in WeekMask.DAYS order */
+	private static final String[] DAY_NAMES = { "Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat" };
+	/** Color of slot lines */
+	private static final Color LINE = new Color(0xDDDDDD);
+	/** Fill of Course blocks */
+	private static final Color COURSE = new Color(0xCC0000);
+	/** Fill of Event blocks */
+	private static final Color EVENT = new Color(0x427E93);
+
+	/** Layout of the schedule shown */
+	private final TimetableGrid grid = new TimetableGrid();
+
+	/**
+	 * Constructs an empty TimetablePanel.
+	 */
+	public TimetablePanel() {
+		setOpaque(true);
+		setBackground(Color.WHITE);
+		setPreferredSize(new Dimension(700, 500));
+	}
+
+	/**
+	 * Shows the given Activities, repainting only what changed since the last
+	 * update.
+	 *
+	 * @param activities Activities of the schedule
+	 */
+	public void update(List<? extends Activity> activities) {
+		Region region = grid.update(activities);
+		if (region.isAll()) {
+			repaint();
+		} else if (!region.isEmpty()) {
+			for (int d = 0; d < WeekMask.DAY_COUNT; d++) {
+				if (region.includes(WeekMask.DAYS.charAt(d))) {
+					int top = y(region.getStartMinute());
+					repaint(x(d), top, x(d + 1) - x(d) + 1, y(region.getEndMinute()) - top + 1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Paints the parts of the header, times, slot lines and blocks within the
+	 * clip.
+	 *
+	 * @param g graphics to paint with
+	 */
+	@Override
+	protected void paintComponent(Graphics g) {
+		Rectangle clip = g.getClipBounds();
+		if (clip == null) {
+			clip = new Rectangle(0, 0, getWidth(), getHeight());
+		}
+		g.setColor(getBackground());
+		g.fillRect(clip.x, clip.y, clip.width, clip.height);
+		FontMetrics metrics = g.getFontMetrics();
+
+		for (int slot = 0; slot <= grid.getSlotCount(); slot++) {
+			int minute = grid.getFirstMinute() + slot * grid.getSlotMinutes();
+			int y = y(minute);
+			if (y < clip.y - metrics.getHeight() || y > clip.y + clip.height) {
+				continue;
+			}
+			g.setColor(LINE);
+			g.drawLine(TIME_WIDTH, y, getWidth(), y);
+			if (minute % 60 == 0 && clip.x < TIME_WIDTH) {
+				g.setColor(Color.GRAY);
+				g.drawString(time(minute), PAD, y + metrics.getAscent());
+			}
+		}
+		for (int d = 0; d < WeekMask.DAY_COUNT; d++) {
+			int left = x(d);
+			int right = x(d + 1);
+			if (right < clip.x || left > clip.x + clip.width) {
+				continue;
+			}
+			g.setColor(LINE);
+			g.drawLine(left, 0, left, getHeight());
+			if (clip.y < HEADER_HEIGHT) {
+				g.setColor(Color.BLACK);
+				g.drawString(DAY_NAMES[d], left + PAD, metrics.getAscent());
+			}
+			for (Block b : grid.getBlocks(WeekMask.DAYS.charAt(d))) {
+				int top = y(b.getStartMinute());
+				int bottom = y(b.getEndMinute());
+				if (bottom < clip.y || top > clip.y + clip.height) {
+					continue;
+				}
+				int width = (right - left) / b.getLanes();
+				paintBlock(g, b.getActivity(), left + b.getLane() * width + PAD, top, width - 2 * PAD, bottom - top);
+			}
+		}
+	}
+
+	/**
+	 * Paints one block with the Activity's name.
+	 *
+	 * @param g        graphics to paint with
+	 * @param activity Activity of the block
+	 * @param x        left edge
+	 * @param y        top edge
+	 * @param width    width
+	 * @param height   height
+	 */
+	private static void paintBlock(Graphics g, Activity activity, int x, int y, int width, int height) {
+		g.setColor(activity instanceof Course ? COURSE : EVENT);
+		g.fillRect(x, y, width, height);
+		Graphics text = g.create(x, y, width, height);
+		try {
+			text.setColor(Color.WHITE);
+			String label = activity instanceof Course
+					? ((Course) activity).getName() + "-" + ((Course) activity).getSection()
+					: activity.getTitle();
+			text.drawString(label, PAD, text.getFontMetrics().getAscent());
+		} finally {
+			text.dispose();
+		}
+	}
+
+	/**
+	 * Returns the left edge of a day column.
+	 *
+	 * @param day index of the day in WeekMask.DAYS, or DAY_COUNT for the right
+	 *            edge of the last column
+	 * @return x coordinate
+	 */
+	private int x(int day) {
+		return TIME_WIDTH + day * (getWidth() - TIME_WIDTH) / WeekMask.DAY_COUNT;
+	}
+
+	/**
+	 * Returns the y coordinate of a minute of the day.
+	 *
+	 * @param minute minutes since midnight
+	 * @return y coordinate
+	 */
+	private int y(int minute) {
+		int range = grid.getLastMinute() - grid.getFirstMinute();
+		return HEADER_HEIGHT + (minute - grid.getFirstMinute()) * (getHeight() - HEADER_HEIGHT - 1) / range;
+	}
+
+	/**
+	 * Returns a minute of the day as a time label such as 1:30PM.
+	 *
+	 * @param minute minutes since midnight
+	 * @return time label
+	 */
+	private static String time(int minute) {
+		int hour = minute / 60 % 24;
+		int displayHour = hour % 12 == 0 ? 12 : hour % 12;
+		return displayHour + ":" + String.format("%02d", minute % 60) + (hour < 12 ? "AM" : "PM");
+	}
+}
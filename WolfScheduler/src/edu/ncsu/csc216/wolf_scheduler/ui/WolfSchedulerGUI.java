@@ -30,6 +30,7 @@ import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 import javax.swing.table.AbstractTableModel;
 
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogOrder;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
 
@@ -160,6 +161,10 @@ public class WolfSchedulerGUI extends JFrame {
 		private CourseTableModel catalogTableModel;
 		/** TableModel for schedule */
 		private CourseTableModel scheduleTableModel;
+		/** Drop down for the order of the catalog */
+		private JComboBox<String> comboCatalogOrder;
+		/** Order the catalog is shown in, or null for catalog file order */
+		private CatalogOrder catalogOrder;
 		/** Student's Schedule title label */
 		private JLabel lblScheduleTitle;
 		/** Student's Schedule text field */
@@ -285,6 +290,9 @@ public class WolfSchedulerGUI extends JFrame {
 			pnlActions.setToolTipText("Scheduler Actions");
 						
 			//Set up Catalog table
+			comboCatalogOrder = new JComboBox<String>(new String[] {"File Order", "Name", "Start Time", "Credits", "Instructor"});
+			comboCatalogOrder.setToolTipText("Sort Catalog By");
+			comboCatalogOrder.addActionListener(this);
 			catalogTableModel = new CourseTableModel(true);
 			tableCatalog = new JTable(catalogTableModel) {
 				private static final long serialVersionUID = 1L;
@@ -310,6 +318,9 @@ public class WolfSchedulerGUI extends JFrame {
 
 				@Override
 				public void valueChanged(ListSelectionEvent e) {
+					if (tableCatalog.getSelectedRow() == -1) {
+						return;
+					}
 					String name = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 0).toString();
 					String section = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 1).toString();
 					Course c = scheduler.getCourseFromCatalog(name, section);
@@ -500,7 +511,11 @@ public class WolfSchedulerGUI extends JFrame {
 			pnlAddEvent.setBorder(borderAddEvent);
 			pnlAddEvent.setToolTipText("AddEvent");
 			
-			add(scrollCatalog);
+			JPanel pnlCatalog = new JPanel(new BorderLayout());
+			pnlCatalog.add(comboCatalogOrder, BorderLayout.NORTH);
+			pnlCatalog.add(scrollCatalog, BorderLayout.CENTER);
+			
+			add(pnlCatalog);
 			add(pnlActions);
 			add(scrollSchedule);
 			add(pnlCourseDetails);
@@ -512,7 +527,12 @@ public class WolfSchedulerGUI extends JFrame {
 		 * @param e user event that triggers an action.
 		 */
 		public void actionPerformed(ActionEvent e) {
-			if (e.getSource() == btnAddCourse) {
+			if (e.getSource() == comboCatalogOrder) {
+				int orderIdx = comboCatalogOrder.getSelectedIndex();
+				catalogOrder = orderIdx <= 0 ? null : CatalogOrder.values()[orderIdx - 1];
+				catalogTableModel.updateData();
+				catalogTableModel.fireTableDataChanged();
+			} else if (e.getSource() == btnAddCourse) {
 				int row = tableCatalog.getSelectedRow();
 				if (row == -1  || row == tableCatalog.getRowCount()) {
 					JOptionPane.showMessageDialog(WolfSchedulerGUI.this, "No course selected in the catalog.");
@@ -659,11 +679,15 @@ public class WolfSchedulerGUI extends JFrame {
 		}
 		
 		/**
-		 * Updates the catalog and schedule tables.
+		 * Updates the catalog and schedule tables and the weekly timetable.
 		 */
 		private void updateTables() {
 			catalogTableModel.updateData();
 			scheduleTableModel.updateData();
+			// The schedule panel is built after this one
+			if (pnlSchedule != null) {
+				pnlSchedule.updateTimetable();
+			}
 		}
 		
 		/**
@@ -767,7 +791,7 @@ public class WolfSchedulerGUI extends JFrame {
 			 */
 			private void updateData() {
 				if (catalog) {
-					data = scheduler.getCourseCatalog();
+					data = scheduler.getCourseCatalog(catalogOrder);
 				} else {
 					data = scheduler.getScheduledActivities();
 				}
@@ -796,12 +820,14 @@ public class WolfSchedulerGUI extends JFrame {
 		private JScrollPane scrollSchedule;
 		/** Border for schedule */
 		private TitledBorder borderSchedule;
+		/** Weekly timetable of the schedule */
+		private TimetablePanel timetable;
 		
 		/**
 		 * Constructs the Schedule Panel
 		 */
 		public SchedulePanel() {
-			super(new GridLayout(4, 1));
+			super(new BorderLayout());
 			
 			//Set up action buttons
 			btnReviseSchedule = new JButton("Revise Schedule");
@@ -837,10 +863,19 @@ public class WolfSchedulerGUI extends JFrame {
 			scrollSchedule.setBorder(borderSchedule);
 			scrollSchedule.setToolTipText(scheduler.getScheduleTitle());
 			
+			//Set up the weekly timetable under the schedule table
+			timetable = new TimetablePanel();
+			JScrollPane scrollTimetable = new JScrollPane(timetable);
+			scrollTimetable.setBorder(BorderFactory.createTitledBorder(lowerEtched, "Week"));
+			scrollTimetable.setToolTipText("Weekly Timetable");
+			
 			updateFinalizedTable();
 			
-			add(pnlActions);
-			add(scrollSchedule);
+			JPanel pnlViews = new JPanel(new GridLayout(2, 1));
+			pnlViews.add(scrollSchedule);
+			pnlViews.add(scrollTimetable);
+			add(pnlActions, BorderLayout.NORTH);
+			add(pnlViews, BorderLayout.CENTER);
 		}
 		
 		/**
@@ -872,6 +907,14 @@ public class WolfSchedulerGUI extends JFrame {
 			scheduleTableModel.updateData();
 			borderSchedule.setTitle(scheduler.getScheduleTitle());
 			scrollSchedule.setToolTipText(scheduler.getScheduleTitle());
+			updateTimetable();
+		}
+		
+		/**
+		 * Updates the weekly timetable, repainting only what changed
+		 */
+		public void updateTimetable() {
+			timetable.update(scheduler.getSnapshot().getActivities());
 		}
 		
 		/**
@@ -0,0 +1,208 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.WeekMask;
+
+/**
+ * Tests the CatalogDelta class and applying deltas to a CourseCatalog.
+ *
+ * @author symone
+ */
+public class CatalogDeltaTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/** Catalog read from the valid course records */
+	private CourseCatalog catalog;
+
+	/** Directory for delta files written by the tests */
+	@TempDir
+	File directory;
+
+	/**
+	 * Loads the catalog.
+	 *
+	 * @throws FileNotFoundException if the test file is missing
+	 */
+	@BeforeEach
+	public void setUp() throws FileNotFoundException {
+		catalog = CourseCatalog.load(validTestFile);
+	}
+
+	/**
+	 * Tests reading a delta file.
+	 *
+	 * @throws Exception if the file cannot be written
+	 */
+	@Test
+	public void testLoad() throws Exception {
+		File file = new File(directory, "delta.txt");
+		Files.write(file.toPath(), Arrays.asList("# hourly delta", "",
+				"+CSC 333,Theory of Computation,001,3,tmbarnes,MW,1500,1615",
+				"~CSC 230,C and Software Tools,001,3,dbsturgi,TH,1145,1300", "-CSC 216,002", "-CSC 116,003",
+				"+CSC 116,Intro to Programming - Java,003,3,tbdimitr,TH,1330,1520", "~CSC 999,Bad,001,9,x,MW,1500,1615",
+				"*CSC 216,001", "-CSC 216"), StandardCharsets.UTF_8);
+		CatalogDelta delta = CatalogDelta.load(file.getPath());
+		assertEquals(4, delta.size());
+		assertEquals(3, delta.getSkipped());
+
+		CourseCatalog next = catalog.apply(delta);
+		assertEquals(catalog.size(), next.size());
+		assertNull(next.getCourse("CSC 216", "002"));
+		assertEquals("TH", next.getCourse("CSC 230", "001").getMeetingDays());
+		assertEquals(1330, next.getCourse("CSC 116", "003").getStartTime());
+		assertEquals("CSC 333", next.get(next.size() - 1).getName());
+		assertEquals(1500, catalog.getCourse("CSC 217", "223").getStartTime(), "original is unchanged");
+		assertNotNull(catalog.getCourse("CSC 216", "002"));
+
+		assertThrows(FileNotFoundException.class, () -> CatalogDelta.load("missing.txt"));
+	}
+
+	/**
+	 * Tests that a layered catalog answers every lookup like a catalog built
+	 * from the same sections.
+	 */
+	@Test
+	public void testApplyMatchesRebuild() {
+		CatalogDelta delta = new CatalogDelta();
+		delta.put(new Course("CSC 230", "C and Software Tools", "001", 3, "dbsturgi", "TH", 1145, 1300));
+		delta.remove("CSC 216", "002");
+		delta.remove("CSC 999", "001");
+		delta.put(new Course("CSC 333", "Theory of Computation", "001", 3, "tmbarnes", "MW", 1500, 1615));
+		delta.put(new Course("CSC 216", "Software Development Fundamentals", "651", 3, "jctetter", "A"));
+		CourseCatalog layered = catalog.apply(delta);
+		assertTrue(layered.getOverlaySize() > 0);
+
+		ArrayList<Course> expected = new ArrayList<Course>();
+		for (Course c : catalog.getCourses()) {
+			if ("CSC 230".equals(c.getName())) {
+				expected.add(layered.getCourse("CSC 230", "001"));
+			} else if (!"CSC 216".equals(c.getName()) || !"002".equals(c.getSection())) {
+				expected.add(c);
+			}
+		}
+		expected.add(layered.getCourse("CSC 333", "001"));
+		expected.add(layered.getCourse("CSC 216", "651"));
+		CourseCatalog rebuilt = new CourseCatalog(expected);
+		assertSameCatalog(rebuilt, layered);
+
+		CatalogDelta more = new CatalogDelta();
+		more.remove("CSC 333", "001");
+		more.put(new Course("CSC 216", "Software Development Fundamentals", "002", 3, "ixdoming", "MW", 1330,
+				1445));
+		more.put(new Course("CSC 230", "C and Software Tools", "001", 3, "dbsturgi", "MW", 1145, 1300));
+		CourseCatalog back = layered.apply(more);
+		expected = new ArrayList<Course>(catalog.getCourses());
+		expected.add(back.getCourse("CSC 216", "651"));
+		assertSameCatalog(new CourseCatalog(expected), back);
+
+		CatalogDelta undo = new CatalogDelta();
+		undo.remove("CSC 216", "651");
+		assertEquals(catalog.getCourses(), back.apply(undo).getCourses());
+	}
+
+	/**
+	 * Tests that a catalog is compacted once enough changes are applied.
+	 */
+	@Test
+	public void testCompaction() {
+		CourseCatalog current = catalog;
+		for (int i = 0; i < 100; i++) {
+			CatalogDelta delta = new CatalogDelta();
+			delta.put(new Course("CSC " + (500 + i), "Topics in Computing", "001", 3, "jtking", "F", 800, 850));
+			current = current.apply(delta);
+		}
+		assertEquals(catalog.size() + 100, current.size());
+		assertTrue(current.getOverlaySize() < 100);
+		assertEquals("CSC 599", current.get(current.size() - 1).getName());
+		assertEquals(100, current.searchByName("csc 5", 1000).size());
+		assertEquals(100, current.searchByTitle("topics", 1000).size());
+	}
+
+	/**
+	 * Tests applying deltas through a CatalogHolder.
+	 */
+	@Test
+	public void testHolderApply() {
+		CatalogHolder holder = new CatalogHolder(catalog);
+		CatalogDelta delta = new CatalogDelta();
+		delta.put(new Course("CSC 333", "Theory of Computation", "001", 3, "tmbarnes", "MW", 1500, 1615));
+		delta.put(catalog.getCourse("CSC 116", "001"));
+		delta.remove("CSC 216", "002");
+		delta.remove("CSC 999", "001");
+		CatalogDiff diff = holder.apply(delta);
+		assertEquals("added 1, removed 1, changed 0", diff.toString());
+		assertTrue(diff.affects(catalog.getCourse("CSC 216", "002")));
+		assertNotNull(holder.get().getCourse("CSC 333", "001"));
+
+		assertThrows(IllegalArgumentException.class, () -> holder.apply(null));
+		assertThrows(IllegalArgumentException.class, () -> delta.put(null));
+		assertThrows(IllegalArgumentException.class, () -> delta.remove("CSC 216", ""));
+	}
+
+	/**
+	 * Checks that two catalogs hold the same sections in the same order and
+	 * answer lookups the same way.
+	 *
+	 * @param expected catalog built from scratch
+	 * @param actual   catalog built by applying deltas
+	 */
+	private static void assertSameCatalog(CourseCatalog expected, CourseCatalog actual) {
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected.getCourses(), actual.getCourses());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i), actual.get(i), "position " + i);
+		}
+		assertThrows(IndexOutOfBoundsException.class, () -> actual.get(actual.size()));
+		for (Course c : expected.getCourses()) {
+			assertEquals(c, actual.getCourse(c.getName(), c.getSection()));
+		}
+
+		CatalogQuery query = new CatalogQuery();
+		assertEquals(expected.search(query), actual.search(query));
+		query.setInstructorId("sesmith5");
+		assertEquals(expected.search(query), actual.search(query));
+		query = new CatalogQuery();
+		query.setMeetingDays("MW");
+		assertEquals(expected.search(query), actual.search(query));
+		query = new CatalogQuery();
+		query.setStartTimeRange(1100, 1500);
+		assertEquals(expected.search(query), actual.search(query));
+
+		for (String prefix : new String[] { "", "csc 2", "CSC 216", "CSC 3" }) {
+			for (int limit : new int[] { 1, 3, 100 }) {
+				assertEquals(expected.searchByName(prefix, limit), actual.searchByName(prefix, limit), prefix);
+			}
+		}
+		for (String title : new String[] { "software", "software dev", "comp", "tools", "intro java" }) {
+			for (int limit : new int[] { 1, 3, 100 }) {
+				assertEquals(expected.searchByTitle(title, limit), actual.searchByTitle(title, limit), title);
+			}
+		}
+
+		WeekMask occupied = new WeekMask();
+		occupied.set(WeekMask.dayBits("MW"), WeekMask.toMinutes(1330), WeekMask.toMinutes(1445));
+		List<String> excluded = Arrays.asList("CSC 116");
+		for (boolean parallel : new boolean[] { false, true }) {
+			assertEquals(expected.getFittingSections(occupied, null, excluded, parallel),
+					actual.getFittingSections(occupied, null, excluded, parallel));
+			assertEquals(expected.getFittingSections(occupied, "CSC 216", excluded, parallel),
+					actual.getFittingSections(occupied, "CSC 216", excluded, parallel));
+		}
+	}
+}
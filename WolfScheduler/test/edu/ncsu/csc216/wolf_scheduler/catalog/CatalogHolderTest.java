@@ -0,0 +1,157 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the CatalogDiff, CatalogHolder and CatalogWatcher classes.
+ *
+ * @author symone
+ */
+public class CatalogHolderTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/** Catalog read from the valid course records */
+	private CourseCatalog catalog;
+
+	/** Directory for course records written by the tests */
+	@TempDir
+	File directory;
+
+	/**
+	 * Loads the catalog.
+	 *
+	 * @throws FileNotFoundException if the test file is missing
+	 */
+	@BeforeEach
+	public void setUp() throws FileNotFoundException {
+		catalog = CourseCatalog.load(validTestFile);
+	}
+
+	/**
+	 * Returns a copy of the catalog with CSC 216-002 removed, CSC 230-001 moved
+	 * to a new time and CSC 333-001 added.
+	 *
+	 * @return changed catalog
+	 */
+	private CourseCatalog changedCatalog() {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		for (Course c : catalog.getCourses()) {
+			if ("CSC 230".equals(c.getName())) {
+				courses.add(new Course("CSC 230", "C and Software Tools", "001", 3, "dbsturgi", "TH", 1145, 1300));
+			} else if (!"CSC 216".equals(c.getName()) || !"002".equals(c.getSection())) {
+				courses.add(c);
+			}
+		}
+		courses.add(new Course("CSC 333", "Automata, Grammars, and Computability", "001", 3, "tmbarnes", "MW",
+				1500, 1615));
+		return new CourseCatalog(courses);
+	}
+
+	/**
+	 * Tests comparing two catalogs.
+	 */
+	@Test
+	public void testDiff() {
+		CatalogDiff same = new CatalogDiff(catalog, catalog);
+		assertTrue(same.isEmpty());
+
+		CatalogDiff diff = new CatalogDiff(catalog, changedCatalog());
+		assertFalse(diff.isEmpty());
+		assertEquals(1, diff.getAdded().size());
+		assertEquals("CSC 333", diff.getAdded().get(0).getName());
+		assertEquals(1, diff.getRemoved().size());
+		assertEquals("002", diff.getRemoved().get(0).getSection());
+		assertEquals(1, diff.getChanged().size());
+		assertEquals("TH", diff.getChanged().get(0).getMeetingDays());
+		assertTrue(diff.affects(catalog.getCourse("CSC 230", "001")));
+		assertTrue(diff.affects(catalog.getCourse("CSC 216", "002")));
+		assertFalse(diff.affects(catalog.getCourse("CSC 216", "001")));
+		assertEquals("added 1, removed 1, changed 1", diff.toString());
+	}
+
+	/**
+	 * Tests swapping the current catalog.
+	 */
+	@Test
+	public void testSwap() {
+		Exception e = assertThrows(IllegalArgumentException.class, () -> new CatalogHolder(null));
+		assertEquals("Invalid catalog.", e.getMessage());
+
+		CatalogHolder holder = new CatalogHolder(catalog);
+		assertSame(catalog, holder.get());
+		CourseCatalog next = changedCatalog();
+		CatalogDiff diff = holder.swap(next);
+		assertSame(next, holder.get());
+		assertEquals(1, diff.getAdded().size());
+		assertNotNull(holder.get().getCourse("CSC 333", "001"));
+		assertNotNull(catalog.getCourse("CSC 216", "002"), "old version is unchanged");
+
+		assertThrows(IllegalArgumentException.class, () -> holder.swap(null));
+		assertSame(next, holder.get());
+	}
+
+	/**
+	 * Tests that the watcher runs its callback when the file is written.
+	 *
+	 * @throws Exception if the file cannot be written
+	 */
+	@Test
+	public void testWatcher() throws Exception {
+		Path file = directory.toPath().resolve("course_records.txt");
+		Files.copy(Path.of(validTestFile), file);
+		CountDownLatch changed = new CountDownLatch(1);
+		CatalogWatcher watcher = new CatalogWatcher(file.toString(), changed::countDown);
+		try (watcher) {
+			Files.write(directory.toPath().resolve("other.txt"), new byte[1]);
+			Files.write(file, "CSC 333,Automata,001,3,tmbarnes,MW,1500,1615\n".getBytes(StandardCharsets.UTF_8));
+			assertTrue(changed.await(30, TimeUnit.SECONDS));
+		}
+		assertEquals(1, CourseCatalog.load(file.toString()).size());
+	}
+
+	/**
+	 * Tests that the watcher keeps watching after its callback throws.
+	 *
+	 * @throws Exception if the file cannot be written
+	 */
+	@Test
+	public void testWatcherCallbackFails() throws Exception {
+		Path file = directory.toPath().resolve("course_records.txt");
+		Files.copy(Path.of(validTestFile), file);
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch failed = new CountDownLatch(1);
+		CountDownLatch changed = new CountDownLatch(1);
+		CatalogWatcher watcher = new CatalogWatcher(file.toString(), () -> {
+			if (calls.incrementAndGet() == 1) {
+				failed.countDown();
+				throw new IllegalStateException("Reload failed.");
+			}
+			changed.countDown();
+		});
+		try (watcher) {
+			Files.write(file, "not a course\n".getBytes(StandardCharsets.UTF_8));
+			assertTrue(failed.await(30, TimeUnit.SECONDS));
+			Files.write(file, "CSC 333,Automata,001,3,tmbarnes,MW,1500,1615\n".getBytes(StandardCharsets.UTF_8));
+			assertTrue(changed.await(30, TimeUnit.SECONDS));
+		}
+		assertTrue(calls.get() >= 2);
+	}
+}
@@ -0,0 +1,138 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Tests the CatalogIndex and CatalogQuery classes.
+ *
+ * @author symone
+ */
+public class CatalogIndexTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/** Catalog read from the valid course records */
+	private ArrayList<Course> catalog;
+	/** Index of the catalog */
+	private CatalogIndex index;
+
+	/**
+	 * Reads the catalog.
+	 *
+	 * @throws FileNotFoundException if the test file is missing
+	 */
+	@BeforeEach
+	public void setUp() throws FileNotFoundException {
+		catalog = CourseRecordIO.readCourseRecords(validTestFile);
+		index = new CatalogIndex(catalog);
+	}
+
+	/**
+	 * Tests lookups by name and section.
+	 */
+	@Test
+	public void testGet() {
+		for (int i = 0; i < catalog.size(); i++) {
+			Course c = catalog.get(i);
+			assertEquals(i, index.position(c.getName(), c.getSection()));
+			assertSame(c, index.get(c.getName(), c.getSection()));
+		}
+		assertEquals(-1, index.position("CSC 492", "001"));
+		assertNull(index.get("CSC 216", "003"));
+	}
+
+	/**
+	 * Tests searches with each filter and combinations of filters.
+	 */
+	@Test
+	public void testSearch() {
+		CatalogQuery query = new CatalogQuery();
+		assertEquals(catalog, index.toCourses(index.search(query)));
+
+		query.setInstructorId("sesmith5");
+		assertEquals(5, index.search(query).length);
+		query.setCredits(1);
+		assertEquals(4, index.search(query).length);
+		query.setMeetsOn("T");
+		ArrayList<Course> result = index.toCourses(index.search(query));
+		assertEquals(1, result.size());
+		assertEquals("211", result.get(0).getSection());
+		query.setMeetsOn(null);
+		query.setMeetingDays("A");
+		assertEquals(1, index.search(query).length);
+		query.setInstructorId("nobody");
+		assertEquals(0, index.search(query).length);
+
+		query = new CatalogQuery();
+		query.setStartTimeRange(900, 1130);
+		for (Course c : index.toCourses(index.search(query))) {
+			assertTrue(c.getStartTime() >= 900 && c.getStartTime() <= 1130, c.toString());
+		}
+		assertEquals(5, index.search(query).length);
+		query.setMeetsOn("MW");
+		assertEquals(3, index.search(query).length);
+		query.setStartTimeRange(-1, -1);
+		assertFalse(query.hasStartTimeRange());
+		assertEquals(6, index.search(query).length);
+
+		query = new CatalogQuery();
+		query.setMeetingDays("MW");
+		query.setCredits(3);
+		assertEquals(index.search(query).length, bruteForce("MW", 3));
+	}
+
+	/**
+	 * Tests invalid query values.
+	 */
+	@Test
+	public void testInvalidQuery() {
+		CatalogQuery query = new CatalogQuery();
+		assertThrows(IllegalArgumentException.class, () -> query.setCredits(6));
+		assertThrows(IllegalArgumentException.class, () -> query.setMeetsOn("MX"));
+		assertThrows(IllegalArgumentException.class, () -> query.setStartTimeRange(1200, 1100));
+		assertThrows(IllegalArgumentException.class, () -> query.setStartTimeRange(900, 2400));
+		assertThrows(IllegalArgumentException.class, () -> query.setStartTimeRange(-1, 900));
+	}
+
+	/**
+	 * Tests WolfScheduler.searchCatalog() and getCourseFromCatalog().
+	 */
+	@Test
+	public void testWolfScheduler() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		CatalogQuery query = new CatalogQuery();
+		query.setInstructorId("jtking");
+		ArrayList<Course> result = ws.searchCatalog(query);
+		// The jtking section of CSC 116 duplicates section 002 and is not loaded
+		assertEquals(1, result.size());
+		assertSame(result.get(0), ws.getCourseFromCatalog("CSC 316", "001"));
+	}
+
+	/**
+	 * Counts the sections with the given meeting days and credits by scanning.
+	 *
+	 * @param days    meeting days
+	 * @param credits credits
+	 * @return number of matching sections
+	 */
+	private int bruteForce(String days, int credits) {
+		int count = 0;
+		for (Course c : catalog) {
+			if (c.getMeetingDays().equals(days) && c.getCredits() == credits) {
+				count++;
+			}
+		}
+		return count;
+	}
+}
@@ -0,0 +1,245 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CatalogLoadReport;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Tests the CourseCatalog class and WolfScheduler sessions sharing it.
+ *
+ * @author symone
+ */
+public class CourseCatalogTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/** Catalog read from the valid course records */
+	private CourseCatalog catalog;
+
+	/**
+	 * Loads the catalog.
+	 *
+	 * @throws FileNotFoundException if the test file is missing
+	 */
+	@BeforeEach
+	public void setUp() throws FileNotFoundException {
+		catalog = CourseCatalog.load(validTestFile);
+	}
+
+	/**
+	 * Tests that the catalog is a read-only copy of the loaded sections.
+	 *
+	 * @throws FileNotFoundException if the test file is missing
+	 */
+	@Test
+	public void testCourseCatalog() throws FileNotFoundException {
+		assertEquals(13, catalog.size());
+		assertEquals("CSC 116", catalog.get(0).getName());
+		assertEquals("CSC 316", catalog.get(12).getName());
+		assertEquals("jdyoung2", catalog.getCourse("CSC 116", "001").getInstructorId());
+		assertNull(catalog.getCourse("CSC 116", "004"));
+		assertThrows(UnsupportedOperationException.class, () -> catalog.getCourses().remove(0));
+
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile);
+		CourseCatalog copy = new CourseCatalog(courses);
+		courses.clear();
+		assertEquals(13, copy.size());
+		assertEquals(8, copy.searchByTitle("software", 100).size());
+		assertEquals(3, copy.searchByName("CSC 116", 100).size());
+
+		assertThrows(FileNotFoundException.class, () -> CourseCatalog.load("test-files/no_such_file.txt"));
+
+		CatalogLoadReport report = new CatalogLoadReport(validTestFile);
+		assertEquals(13, CourseCatalog.load(validTestFile, report).size());
+		assertEquals(13, report.getCourses());
+		assertTrue(report.getIndexNanos() > 0);
+	}
+
+	/**
+	 * Tests that sessions over one catalog keep separate schedules.
+	 */
+	@Test
+	public void testSharedSessions() {
+		WolfScheduler first = new WolfScheduler(catalog);
+		WolfScheduler second = new WolfScheduler(catalog);
+		assertSame(catalog, first.getCatalog());
+		assertSame(catalog, second.getCatalog());
+		assertSame(first.getCourseFromCatalog("CSC 216", "001"), second.getCourseFromCatalog("CSC 216", "001"));
+
+		assertTrue(first.addCourseToSchedule("CSC 216", "001"));
+		assertTrue(second.addCourseToSchedule("CSC 216", "002"));
+		first.setScheduleTitle("First");
+		assertEquals(1, first.getScheduledActivities().length);
+		assertEquals("001", first.getScheduledActivities()[0][1]);
+		assertEquals("002", second.getScheduledActivities()[0][1]);
+		assertEquals("My Schedule", second.getScheduleTitle());
+		assertEquals(13, second.getCourseCatalog().length);
+
+		assertThrows(IllegalArgumentException.class, () -> new WolfScheduler((CourseCatalog) null));
+	}
+
+	/**
+	 * Tests that one session stays consistent when used from many threads.
+	 *
+	 * @throws Exception if a task fails
+	 */
+	@Test
+	public void testConcurrentSession() throws Exception {
+		final WolfScheduler ws = new WolfScheduler(catalog);
+		final int threads = 8;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			// Every thread adds its own Events at distinct times
+			List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+			for (int t = 0; t < threads; t++) {
+				final int hour = t;
+				results.add(pool.submit(new Callable<Integer>() {
+					@Override
+					public Integer call() {
+						for (int d = 0; d < 7; d++) {
+							String day = String.valueOf("UMTWHFS".charAt(d));
+							ws.addEventToSchedule("Event " + hour + day, day, hour * 100, hour * 100 + 30, "");
+						}
+						return 7;
+					}
+				}));
+			}
+			for (Future<Integer> f : results) {
+				assertEquals(7, f.get());
+			}
+			assertEquals(threads * 7, ws.getScheduledActivities().length);
+			assertEquals(threads, ws.getFreeTime('M', 0).length);
+
+			// Only one of the racing adds of the same Course succeeds
+			ws.resetSchedule();
+			List<Future<Boolean>> adds = new ArrayList<Future<Boolean>>();
+			for (int t = 0; t < threads; t++) {
+				adds.add(pool.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() {
+						try {
+							return ws.addCourseToSchedule("CSC 216", "001");
+						} catch (IllegalArgumentException e) {
+							return false;
+						}
+					}
+				}));
+			}
+			int added = 0;
+			for (Future<Boolean> f : adds) {
+				added += f.get() ? 1 : 0;
+			}
+			assertEquals(1, added);
+			assertEquals(1, ws.getScheduledActivities().length);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Tests sorted views and display rows.
+	 */
+	@Test
+	public void testSorted() {
+		List<Course> byTime = catalog.getSorted(CatalogOrder.START_TIME);
+		assertEquals(13, byTime.size());
+		assertEquals("CSC 217", byTime.get(0).getName());
+		assertEquals("211", byTime.get(0).getSection());
+		assertEquals("CSC 316", byTime.get(1).getName());
+		assertEquals("601", byTime.get(11).getSection());
+		assertEquals("CSC 217", byTime.get(12).getName());
+		assertThrows(UnsupportedOperationException.class, () -> byTime.remove(0));
+
+		List<Course> byCredits = catalog.getSorted(CatalogOrder.CREDITS);
+		assertEquals("202", byCredits.get(0).getSection());
+		assertEquals("601", byCredits.get(3).getSection());
+		assertEquals("CSC 116", byCredits.get(4).getName());
+		assertEquals("dbsturgi", catalog.getSorted(CatalogOrder.INSTRUCTOR).get(0).getInstructorId());
+		assertSame(catalog.permutation(CatalogOrder.NAME), catalog.permutation(CatalogOrder.NAME));
+
+		for (CatalogOrder order : CatalogOrder.values()) {
+			ArrayList<Course> expected = new ArrayList<Course>(catalog.getCourses());
+			expected.sort(order.getComparator());
+			assertEquals(expected, new ArrayList<Course>(catalog.getSorted(order)));
+		}
+
+		String[][] rows = catalog.getDisplayRows(CatalogOrder.START_TIME);
+		assertEquals(13, rows.length);
+		assertEquals("211", rows[0][1]);
+		assertSame(rows[0], catalog.getDisplayRows(null)[7]);
+		assertEquals("CSC 116", catalog.getDisplayRows(null)[0][0]);
+
+		CatalogDelta delta = new CatalogDelta();
+		delta.put(new Course("CSC 116", "Intro to Programming - Java", "001", 3, "jdyoung2", "MW", 800, 850));
+		CourseCatalog next = catalog.apply(delta);
+		assertEquals("001", next.getSorted(CatalogOrder.START_TIME).get(0).getSection());
+		assertEquals("211", catalog.getSorted(CatalogOrder.START_TIME).get(0).getSection());
+	}
+
+	/**
+	 * Tests offset and cursor paging.
+	 */
+	@Test
+	public void testPage() {
+		ArrayList<Course> all = new ArrayList<Course>();
+		CatalogPage page = catalog.getPage(CatalogOrder.START_TIME, null, (String) null, 5);
+		while (true) {
+			assertTrue(page.getCourses().size() <= 5);
+			all.addAll(page.getCourses());
+			if (page.isLast()) {
+				break;
+			}
+			page = catalog.getPage(CatalogOrder.START_TIME, null, page.getNextCursor(), 5);
+		}
+		assertEquals(-1, page.getNextOffset());
+		assertEquals(new ArrayList<Course>(catalog.getSorted(CatalogOrder.START_TIME)), all);
+
+		page = catalog.getPage(CatalogOrder.NAME, null, 10, 5);
+		assertEquals(3, page.getCourses().size());
+		assertTrue(page.isLast());
+		page = catalog.getPage(CatalogOrder.NAME, null, 0, 5);
+		assertEquals(5, page.getNextOffset());
+		assertEquals("CSC 216", catalog.getPage(CatalogOrder.NAME, null, 5, 1).getCourses().get(0).getName());
+
+		CatalogQuery query = new CatalogQuery();
+		query.setInstructorId("sesmith5");
+		page = catalog.getPage(CatalogOrder.NAME, query, 0, 2);
+		assertEquals(2, page.getCourses().size());
+		assertEquals("001", page.getCourses().get(0).getSection());
+		page = catalog.getPage(CatalogOrder.NAME, query, page.getNextCursor(), 10);
+		assertEquals(3, page.getCourses().size());
+		assertTrue(page.isLast());
+		for (Course c : catalog.getCourses()) {
+			assertEquals(catalog.search(query).contains(c), query.matches(c));
+		}
+
+		String cursor = catalog.getPage(CatalogOrder.NAME, null, 0, 2).getNextCursor();
+		CatalogDelta delta = new CatalogDelta();
+		delta.remove("CSC 116", "001");
+		delta.remove("CSC 116", "002");
+		page = catalog.apply(delta).getPage(CatalogOrder.NAME, null, cursor, 1);
+		assertEquals("003", page.getCourses().get(0).getSection());
+
+		assertThrows(IllegalArgumentException.class, () -> catalog.getPage(CatalogOrder.CREDITS, null, cursor, 1));
+		assertThrows(IllegalArgumentException.class, () -> catalog.getPage(CatalogOrder.NAME, null, "!!", 1));
+		assertThrows(IllegalArgumentException.class, () -> catalog.getPage(CatalogOrder.NAME, null, 0, 0));
+		assertThrows(IllegalArgumentException.class,
+				() -> catalog.getPage(CatalogOrder.NAME, null, 0, CourseCatalog.MAX_PAGE + 1));
+		assertThrows(IllegalArgumentException.class, () -> catalog.getPage(CatalogOrder.NAME, null, -1, 1));
+	}
+}
@@ -0,0 +1,250 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.SessionRegistry;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Tests the SeatLedger class and seat limits in WolfScheduler and
+ * SessionRegistry.
+ *
+ * @author symone
+ */
+public class SeatLedgerTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/** Catalog read from the valid course records */
+	private CourseCatalog catalog;
+
+	/**
+	 * Loads the catalog.
+	 *
+	 * @throws FileNotFoundException if the test file is missing
+	 */
+	@BeforeEach
+	public void setUp() throws FileNotFoundException {
+		catalog = CourseCatalog.load(validTestFile);
+	}
+
+	/**
+	 * Tests reserving and releasing seats.
+	 */
+	@Test
+	public void testReserveRelease() {
+		SeatLedger ledger = new SeatLedger(2);
+		Course c = catalog.getCourse("CSC 216", "001");
+		assertEquals(2, ledger.getCapacity("CSC 216", "001"));
+		assertEquals(0, ledger.getEnrolled("CSC 216", "001"));
+		assertTrue(ledger.reserve(c));
+		assertTrue(ledger.reserve(c));
+		assertFalse(ledger.reserve(c));
+		assertEquals(0, ledger.getOpenSeats("CSC 216", "001"));
+		ledger.release(c);
+		assertEquals(1, ledger.getOpenSeats("CSC 216", "001"));
+
+		ledger.setCapacity("CSC 216", "001", 0);
+		assertEquals(0, ledger.getOpenSeats("CSC 216", "001"));
+		assertFalse(ledger.reserve(c));
+		ledger.release(c);
+		ledger.release(c);
+		assertEquals(0, ledger.getEnrolled("CSC 216", "001"));
+
+		assertEquals(2, ledger.getReservedCount());
+		assertEquals(2, ledger.getRejectedCount());
+		assertEquals(2, ledger.getReleasedCount());
+		assertThrows(IllegalArgumentException.class, () -> new SeatLedger(-1));
+		assertThrows(IllegalArgumentException.class, () -> ledger.setCapacity("CSC 216", "001", -1));
+	}
+
+	/**
+	 * Tests that WolfScheduler takes and gives back seats.
+	 */
+	@Test
+	public void testWolfSchedulerSeats() {
+		SeatLedger ledger = new SeatLedger(1);
+		WolfScheduler first = new WolfScheduler(catalog, ledger);
+		WolfScheduler second = new WolfScheduler(catalog, ledger);
+		assertTrue(first.addCourseToSchedule("CSC 216", "001"));
+		Exception e = assertThrows(IllegalArgumentException.class,
+				() -> second.addCourseToSchedule("CSC 216", "001"));
+		assertEquals("The course is full.", e.getMessage());
+
+		// A refused duplicate does not hold a seat
+		assertThrows(IllegalArgumentException.class, () -> first.addCourseToSchedule("CSC 216", "002"));
+		assertEquals(0, ledger.getEnrolled("CSC 216", "002"));
+
+		assertTrue(first.removeActivityFromSchedule(0));
+		assertTrue(second.addCourseToSchedule("CSC 216", "001"));
+		assertTrue(second.addCourseToSchedule("CSC 226", "001"));
+		second.resetSchedule();
+		assertEquals(0, ledger.getEnrolled("CSC 216", "001"));
+		assertEquals(0, ledger.getEnrolled("CSC 226", "001"));
+	}
+
+	/**
+	 * Tests that a released seat goes to the first student on the waitlist who
+	 * can take it.
+	 */
+	@Test
+	public void testWaitlist() {
+		SeatLedger ledger = new SeatLedger(1);
+		SessionRegistry registry = new SessionRegistry(catalog, ledger);
+		Course c = catalog.getCourse("CSC 216", "001");
+		assertTrue(registry.addCourse("alice", "CSC 216", "001"));
+		assertThrows(IllegalArgumentException.class, () -> registry.addCourse("bob", "CSC 216", "001"));
+
+		// carol has a conflicting Event and is skipped when the seat opens
+		registry.getSession("carol").addEventToSchedule("Work", "T", 1400, 1500, "");
+		assertTrue(registry.joinWaitlist("carol", "CSC 216", "001"));
+		assertTrue(registry.joinWaitlist("bob", "CSC 216", "001"));
+		assertFalse(registry.joinWaitlist("bob", "CSC 216", "001"));
+		assertEquals(2, ledger.getWaitlistSize(c));
+
+		assertTrue(registry.removeActivity("alice", 0));
+		assertEquals(0, registry.getScheduledActivities("alice").length);
+		assertEquals(1, registry.getScheduledActivities("carol").length);
+		assertEquals("CSC 216", registry.getScheduledActivities("bob")[0][0]);
+		assertEquals(0, ledger.getWaitlistSize(c));
+		assertEquals(1, ledger.getEnrolled("CSC 216", "001"));
+
+		assertTrue(registry.joinWaitlist("alice", "CSC 216", "001"));
+		assertTrue(registry.endSession("bob"));
+		assertEquals("CSC 216", registry.getScheduledActivities("alice")[0][0]);
+
+		// A student returned to the line after joining again is listed once, first
+		assertTrue(ledger.joinWaitlist(c, "dave"));
+		assertTrue(ledger.joinWaitlist(c, "erin"));
+		assertEquals("dave", ledger.pollWaitlist(c));
+		assertTrue(ledger.joinWaitlist(c, "dave"));
+		ledger.returnToWaitlist(c, "dave");
+		assertEquals(2, ledger.getWaitlistSize(c));
+		assertEquals("dave", ledger.pollWaitlist(c));
+		assertTrue(ledger.leaveWaitlist(c, "erin"));
+		assertNull(ledger.pollWaitlist(c));
+
+		assertThrows(IllegalArgumentException.class, () -> registry.joinWaitlist("alice", "CSC 999", "001"));
+		assertThrows(IllegalArgumentException.class,
+				() -> new SessionRegistry(catalog).joinWaitlist("alice", "CSC 216", "001"));
+	}
+
+	/**
+	 * Tests that many threads adding and dropping the same section never enroll
+	 * more students than it has seats.
+	 *
+	 * @throws Exception if a task fails
+	 */
+	@Test
+	public void testNoOverbooking() throws Exception {
+		final int capacity = 25;
+		final int threads = 16;
+		final int studentsPerThread = 200;
+		final SeatLedger ledger = new SeatLedger(capacity);
+		final SessionRegistry registry = new SessionRegistry(catalog, ledger);
+		final AtomicInteger maxSeen = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+			for (int t = 0; t < threads; t++) {
+				final int thread = t;
+				results.add(pool.submit(() -> {
+					int enrolled = 0;
+					for (int s = 0; s < studentsPerThread; s++) {
+						String id = "student" + thread + "_" + s;
+						try {
+							registry.addCourse(id, "CSC 216", "001");
+							enrolled++;
+						} catch (IllegalArgumentException e) {
+							registry.joinWaitlist(id, "CSC 216", "001");
+						}
+						maxSeen.accumulateAndGet(ledger.getEnrolled("CSC 216", "001"), Math::max);
+						// Every fourth enrolled student drops again, freeing a seat
+						if (enrolled > 0 && s % 4 == 0 && registry.getSnapshot(id).size() == 1) {
+							registry.removeActivity(id, 0);
+							enrolled--;
+						}
+					}
+					return enrolled;
+				}));
+			}
+			for (Future<Integer> f : results) {
+				f.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		int holding = 0;
+		for (int t = 0; t < threads; t++) {
+			for (int s = 0; s < studentsPerThread; s++) {
+				holding += registry.getSnapshot("student" + t + "_" + s).size();
+			}
+		}
+		assertTrue(maxSeen.get() <= capacity);
+		assertEquals(capacity, holding);
+		assertEquals(capacity, ledger.getEnrolled("CSC 216", "001"));
+		assertEquals(ledger.getReservedCount() - ledger.getReleasedCount(), capacity);
+	}
+
+	/**
+	 * Tests that adds racing with the end of the same students' sessions never
+	 * keep a seat that no live schedule holds.
+	 *
+	 * @throws Exception if a task fails
+	 */
+	@Test
+	public void testNoLeakOnEndSession() throws Exception {
+		final int threads = 8;
+		final int rounds = 2500;
+		final int students = 4;
+		final SeatLedger ledger = new SeatLedger(threads * rounds);
+		final SessionRegistry registry = new SessionRegistry(catalog, ledger);
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> results = new ArrayList<Future<?>>();
+			for (int t = 0; t < threads; t++) {
+				final int thread = t;
+				results.add(pool.submit(() -> {
+					for (int r = 0; r < rounds; r++) {
+						String id = "student" + (r % students);
+						if ((thread + r) % 2 == 0) {
+							try {
+								registry.addCourse(id, "CSC 216", "001");
+							} catch (IllegalArgumentException e) {
+								// already enrolled
+							}
+						} else {
+							registry.endSession(id);
+						}
+					}
+				}));
+			}
+			for (Future<?> f : results) {
+				f.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		int holding = 0;
+		for (int s = 0; s < students; s++) {
+			holding += registry.getSnapshot("student" + s).size();
+		}
+		assertEquals(holding, ledger.getEnrolled("CSC 216", "001"));
+		assertTrue(holding <= registry.size());
+	}
+}
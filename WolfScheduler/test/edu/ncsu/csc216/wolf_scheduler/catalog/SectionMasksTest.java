@@ -0,0 +1,129 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.course.WeekMask;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Tests the SectionMasks class.
+ *
+ * @author symone
+ */
+public class SectionMasksTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/** Catalog read from the valid course records */
+	private ArrayList<Course> catalog;
+	/** Masks of the catalog */
+	private SectionMasks masks;
+
+	/**
+	 * Reads the catalog.
+	 *
+	 * @throws FileNotFoundException if the test file is missing
+	 */
+	@BeforeEach
+	public void setUp() throws FileNotFoundException {
+		catalog = CourseRecordIO.readCourseRecords(validTestFile);
+		masks = new SectionMasks(catalog);
+	}
+
+	/**
+	 * Tests name ids and positions.
+	 */
+	@Test
+	public void testNameIds() {
+		assertEquals(13, masks.size());
+		assertEquals(catalog.get(4), masks.get(4));
+		assertEquals(masks.nameId("CSC 116"), masks.nameId(catalog.get(2).getName()));
+		assertNotEquals(masks.nameId("CSC 116"), masks.nameId("CSC 216"));
+		assertEquals(-1, masks.nameId("CSC 492"));
+		BitSet ids = masks.nameIds(Arrays.asList("CSC 116", "CSC 492"));
+		assertEquals(1, ids.cardinality());
+		assertTrue(ids.get(masks.nameId("CSC 116")));
+	}
+
+	/**
+	 * Tests fitting() with an empty and a busy schedule.
+	 */
+	@Test
+	public void testFitting() {
+		WeekMask occupied = new WeekMask();
+		BitSet none = new BitSet();
+		int[] all = new int[13];
+		for (int i = 0; i < all.length; i++) {
+			all[i] = i;
+		}
+		assertArrayEquals(all, masks.fitting(occupied, null, none, false));
+		assertArrayEquals(all, masks.fitting(occupied, null, none, true));
+
+		// Monday and Wednesday mornings are busy
+		occupied.add(new Event("Work", "MW", 800, 1200, ""));
+		ArrayList<Course> fit = masks.toCourses(masks.fitting(occupied, null, none, false));
+		for (Course c : catalog) {
+			boolean expected = !c.getMeetingDays().contains("M") && !c.getMeetingDays().contains("W")
+					|| c.getStartTime() > 1200;
+			assertEquals(expected, fit.contains(c), c.toString());
+		}
+		assertArrayEquals(masks.fitting(occupied, null, none, false), masks.fitting(occupied, null, none, true));
+
+		BitSet excluded = masks.nameIds(Arrays.asList("CSC 217"));
+		for (Course c : masks.toCourses(masks.fitting(occupied, null, excluded, false))) {
+			assertNotEquals("CSC 217", c.getName());
+		}
+		assertEquals(0, masks.fitting(occupied, "CSC 217", excluded, false).length);
+		assertEquals(0, masks.fitting(occupied, "CSC 492", none, false).length);
+
+		ArrayList<Course> csc216 = masks.toCourses(masks.fitting(occupied, "CSC 216", none, true));
+		assertEquals(3, csc216.size());
+		for (Course c : csc216) {
+			assertEquals("CSC 216", c.getName());
+		}
+	}
+
+	/**
+	 * Tests that WolfScheduler.getFittingSections() returns exactly the sections
+	 * that addCourseToSchedule() accepts.
+	 */
+	@Test
+	public void testGetFittingSections() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ws.addCourseToSchedule("CSC 216", "001");
+		ws.addEventToSchedule("Gym", "MWF", 900, 1000, "");
+		ArrayList<Course> fit = ws.getFittingSections(null, false);
+		assertEquals(fit, ws.getFittingSections(null, true));
+
+		for (Course c : catalog) {
+			WolfScheduler attempt = new WolfScheduler(validTestFile);
+			attempt.addCourseToSchedule("CSC 216", "001");
+			attempt.addEventToSchedule("Gym", "MWF", 900, 1000, "");
+			boolean added;
+			try {
+				added = attempt.addCourseToSchedule(c.getName(), c.getSection());
+			} catch (IllegalArgumentException e) {
+				added = false;
+			}
+			assertEquals(added, fit.contains(c), c.toString());
+		}
+
+		ArrayList<Course> csc217 = ws.getFittingSections("CSC 217", false);
+		assertEquals(4, csc217.size());
+		assertEquals(0, ws.getFittingSections("CSC 216", false).size());
+		assertTrue(ws.removeActivityFromSchedule(0));
+		assertEquals(3, ws.getFittingSections("CSC 216", false).size());
+	}
+}
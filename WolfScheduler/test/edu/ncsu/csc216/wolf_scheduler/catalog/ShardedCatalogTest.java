@@ -0,0 +1,154 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Tests the ShardedCatalog class.
+ *
+ * @author symone
+ */
+public class ShardedCatalogTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+
+	/** Catalog read from the valid course records */
+	private ShardedCatalog catalog;
+
+	/** Directory for course records written by the tests */
+	@TempDir
+	File directory;
+
+	/**
+	 * Loads the catalog with a second department added.
+	 *
+	 * @throws FileNotFoundException if the test file is missing
+	 */
+	@BeforeEach
+	public void setUp() throws FileNotFoundException {
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile);
+		courses.add(new Course("MA 141", "Calculus I", "001", 4, "mathprof", "MWF", 900, 950));
+		courses.add(new Course("MA 241", "Calculus II", "001", 4, "mathprof", "MWF", 1000, 1050));
+		catalog = new ShardedCatalog(courses);
+	}
+
+	/**
+	 * Tests partitioning and routed lookups.
+	 */
+	@Test
+	public void testShardedCatalog() {
+		assertEquals(Arrays.asList("CSC", "MA"), catalog.getDepartments());
+		assertEquals(15, catalog.size());
+		assertEquals(13, catalog.getShard("CSC").size());
+		assertEquals(2, catalog.getShard("MA").size());
+		assertNull(catalog.getShard("PY"));
+		assertEquals("CSC", ShardedCatalog.department("CSC 216"));
+		assertEquals("CSC", ShardedCatalog.department("CSC"));
+
+		assertEquals("jdyoung2", catalog.getCourse("CSC 116", "001").getInstructorId());
+		assertEquals("Calculus I", catalog.getCourse("MA 141", "001").getTitle());
+		assertNull(catalog.getCourse("MA 141", "002"));
+		assertNull(catalog.getCourse("PY 205", "001"));
+		assertEquals("CSC 116", catalog.getCourses().get(0).getName());
+		assertEquals("MA 241", catalog.getCourses().get(14).getName());
+
+		assertEquals(3, catalog.searchByName("csc 116", 100).size());
+		assertEquals(2, catalog.searchByName("ma", 100).size());
+		assertEquals(15, catalog.searchByName("", 100).size());
+		ArrayList<Course> first = catalog.searchByName("", 3);
+		assertEquals(3, first.size());
+		assertEquals("CSC 116", first.get(0).getName());
+		assertEquals("001", first.get(0).getSection());
+
+		CatalogQuery query = new CatalogQuery();
+		query.setCredits(4);
+		assertEquals(2, catalog.search(query).size());
+	}
+
+	/**
+	 * Tests that reloading a department replaces only its shard.
+	 */
+	@Test
+	public void testReload() {
+		CourseCatalog csc = catalog.getShard("CSC");
+		CatalogDiff diff = catalog.reload("MA",
+				Arrays.asList(new Course("MA 141", "Calculus I", "001", 4, "newprof", "MWF", 900, 950),
+						new Course("MA 305", "Linear Algebra", "001", 3, "mathprof", "TH", 1300, 1415)));
+		assertEquals("added 1, removed 1, changed 1", diff.toString());
+		assertSame(csc, catalog.getShard("CSC"));
+		assertEquals("newprof", catalog.getCourse("MA 141", "001").getInstructorId());
+		assertNull(catalog.getCourse("MA 241", "001"));
+
+		assertThrows(IllegalArgumentException.class,
+				() -> catalog.reload("MA", Arrays.asList(csc.get(0))));
+
+		assertEquals(2, catalog.reload("MA", new ArrayList<Course>()).getRemoved().size());
+		assertEquals(Arrays.asList("CSC"), catalog.getDepartments());
+		assertSame(csc, catalog.getShard("CSC"));
+	}
+
+	/**
+	 * Tests applying a delta across departments.
+	 */
+	@Test
+	public void testApply() {
+		CourseCatalog ma = catalog.getShard("MA");
+		CatalogDelta delta = new CatalogDelta();
+		delta.remove("CSC 116", "001");
+		delta.put(new Course("PY 205", "Physics for Engineers", "001", 4, "pyprof", "TH", 800, 915));
+		delta.remove("PY 208", "001");
+		CatalogDiff diff = catalog.apply(delta);
+		assertEquals("added 1, removed 1, changed 0", diff.toString());
+		assertSame(ma, catalog.getShard("MA"));
+		assertEquals(Arrays.asList("CSC", "MA", "PY"), catalog.getDepartments());
+		assertNull(catalog.getCourse("CSC 116", "001"));
+		assertEquals("pyprof", catalog.getCourse("PY 205", "001").getInstructorId());
+		assertEquals(15, catalog.size());
+
+		delta = new CatalogDelta();
+		delta.remove("PY 205", "001");
+		catalog.apply(delta);
+		assertNull(catalog.getShard("PY"));
+		assertThrows(IllegalArgumentException.class, () -> catalog.apply(null));
+	}
+
+	/**
+	 * Tests loading and reloading from files.
+	 *
+	 * @throws Exception if the files cannot be written
+	 */
+	@Test
+	public void testLoad() throws Exception {
+		File ma = new File(directory, "ma.txt");
+		Files.write(ma.toPath(), Arrays.asList("MA 141,Calculus I,001,4,mathprof,MWF,900,950",
+				"CSC 116,Repeated Section,001,3,other,MW,910,1100"), StandardCharsets.UTF_8);
+		ShardedCatalog loaded = ShardedCatalog.load(Arrays.asList(validTestFile, ma.getPath()));
+		assertEquals(14, loaded.size());
+		assertEquals("jdyoung2", loaded.getCourse("CSC 116", "001").getInstructorId());
+		assertEquals(13, ShardedCatalog.load(validTestFile).size());
+		assertThrows(FileNotFoundException.class,
+				() -> ShardedCatalog.load(Arrays.asList(validTestFile, "test-files/no_such_file.txt")));
+
+		Files.write(ma.toPath(), Arrays.asList("MA 141,Calculus I,002,4,mathprof,MWF,900,950"),
+				StandardCharsets.UTF_8);
+		CourseCatalog csc = loaded.getShard("CSC");
+		CatalogDiff diff = loaded.reload(ma.getPath());
+		assertEquals("added 1, removed 1, changed 0", diff.toString());
+		assertSame(csc, loaded.getShard("CSC"));
+		assertNotNull(loaded.getCourse("MA 141", "002"));
+	}
+}
@@ -0,0 +1,113 @@
+package edu.ncsu.csc216.wolf_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Tests the TitleIndex class.
+ *
+ * @author symone
+ */
+public class TitleIndexTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/** Index of the catalog */
+	private TitleIndex index;
+
+	/**
+	 * Reads the catalog.
+	 *
+	 * @throws FileNotFoundException if the test file is missing
+	 */
+	@BeforeEach
+	public void setUp() throws FileNotFoundException {
+		index = new TitleIndex(CourseRecordIO.readCourseRecords(validTestFile));
+	}
+
+	/**
+	 * Tests TitleIndex.tokenize().
+	 */
+	@Test
+	public void testTokenize() {
+		assertEquals(Arrays.asList("intro", "to", "programming", "java"),
+				TitleIndex.tokenize("intro to programming - java"));
+		assertEquals(Arrays.asList(), TitleIndex.tokenize("  - "));
+	}
+
+	/**
+	 * Tests name prefix searches.
+	 */
+	@Test
+	public void testSearchByName() {
+		ArrayList<Course> result = index.toCourses(index.searchByName("CSC 2", 100));
+		assertEquals(9, result.size());
+		assertEquals("CSC 216", result.get(0).getName());
+		assertEquals("001", result.get(0).getSection());
+		assertEquals("CSC 230", result.get(8).getName());
+		for (int i = 1; i < result.size(); i++) {
+			String prev = result.get(i - 1).getName() + result.get(i - 1).getSection();
+			assertTrue(prev.compareTo(result.get(i).getName() + result.get(i).getSection()) < 0);
+		}
+
+		assertEquals(3, index.searchByName("csc 21", 3).length);
+		assertEquals(13, index.searchByName("", 100).length);
+		assertEquals(0, index.searchByName("MA", 100).length);
+		assertEquals(0, index.searchByName("CSC 216", 0).length);
+	}
+
+	/**
+	 * Tests title word searches and ranking.
+	 */
+	@Test
+	public void testSearchByTitle() {
+		ArrayList<Course> result = index.toCourses(index.searchByTitle("software dev", 100));
+		assertEquals(7, result.size());
+		// Shorter title ranks first when both match the same words
+		assertEquals("Software Development Fundamentals", result.get(0).getTitle());
+		assertEquals("Software Development Fundamentals Lab", result.get(6).getTitle());
+
+		// Whole word matches rank before prefix matches
+		result = index.toCourses(index.searchByTitle("SOFTWARE", 100));
+		assertEquals(8, result.size());
+		assertEquals("C and Software Tools", result.get(7).getTitle());
+		result = index.toCourses(index.searchByTitle("soft", 100));
+		assertEquals("Software Development Fundamentals", result.get(0).getTitle());
+
+		assertEquals(1, index.searchByTitle("discrete math", 100).length);
+		assertEquals(2, index.searchByTitle("software", 2).length);
+		// Every limit keeps the best of the full ranking, in order
+		for (String query : new String[] { "software", "soft", "s", "intro programming" }) {
+			int[] all = index.searchByTitle(query, 1000);
+			for (int limit = 1; limit <= all.length; limit++) {
+				assertArrayEquals(Arrays.copyOf(all, limit), index.searchByTitle(query, limit), query);
+			}
+		}
+		assertEquals(0, index.searchByTitle("software java", 100).length);
+		assertEquals(0, index.searchByTitle("xyz", 100).length);
+		assertEquals(0, index.searchByTitle(" - ", 100).length);
+	}
+
+	/**
+	 * Tests WolfScheduler.searchCatalogByName() and searchCatalogByTitle().
+	 */
+	@Test
+	public void testWolfScheduler() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		assertEquals(3, ws.searchCatalogByName("CSC 11", 10).size());
+		assertEquals("CSC 316", ws.searchCatalogByTitle("algo", 10).get(0).getName());
+		assertThrows(IllegalArgumentException.class, () -> ws.searchCatalogByName(null, 10));
+		assertThrows(IllegalArgumentException.class, () -> ws.searchCatalogByTitle(null, 10));
+	}
+}
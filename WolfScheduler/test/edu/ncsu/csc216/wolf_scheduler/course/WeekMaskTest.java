@@ -0,0 +1,86 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the WeekMask class.
+ *
+ * @author symone
+ */
+public class WeekMaskTest {
+
+	/**
+	 * Tests WeekMask.dayBits().
+	 */
+	@Test
+	public void testDayBits() {
+		assertEquals(0, WeekMask.dayBits("A"));
+		assertEquals(0b0001010, WeekMask.dayBits("MW"));
+		assertEquals(0b1000001, WeekMask.dayBits("US"));
+		assertEquals(0b0111110, WeekMask.dayBits("MTWHF"));
+	}
+
+	/**
+	 * Tests WeekMask.toMinutes() and WeekMask.toTime().
+	 */
+	@Test
+	public void testTimeConversion() {
+		assertEquals(0, WeekMask.toMinutes(0));
+		assertEquals(575, WeekMask.toMinutes(935));
+		assertEquals(1439, WeekMask.toMinutes(2359));
+		assertEquals(935, WeekMask.toTime(575));
+		assertEquals(2359, WeekMask.toTime(1439));
+	}
+
+	/**
+	 * Tests that WeekMask.intersects() agrees with Activity.checkConflict().
+	 */
+	@Test
+	public void testIntersectsMatchesCheckConflict() {
+		Activity[] activities = { new Course("CSC 216", "SDF", "001", 3, "sesmith5", "TH", 1330, 1445),
+				new Course("CSC 217", "Lab", "001", 1, "sesmith5", "T", 1445, 1600),
+				new Course("CSC 226", "Discrete", "001", 3, "tmbarnes", "MWF", 935, 1025),
+				new Course("CSC 116", "Intro", "601", 3, "jdyoung2", "A"),
+				new Event("Exercise", "UMTWHFS", 800, 900, ""), new Event("Lunch", "S", 1200, 1300, ""),
+				new Event("Early", "H", 0, 0, ""), new Event("Late", "H", 2359, 2359, ""),
+				new Event("Noon", "M", 1159, 1201, ""), new Event("Span", "W", 1000, 1104, "") };
+		for (Activity a : activities) {
+			WeekMask mask = new WeekMask();
+			mask.add(a);
+			for (Activity b : activities) {
+				boolean conflict = false;
+				try {
+					a.checkConflict(b);
+				} catch (ConflictException e) {
+					conflict = true;
+				}
+				assertEquals(conflict, mask.intersects(b), a + " vs " + b);
+			}
+		}
+	}
+
+	/**
+	 * Tests WeekMask.remove(), WeekMask.copy() and WeekMask.isEmpty().
+	 */
+	@Test
+	public void testRemoveAndCopy() {
+		Activity a = new Course("CSC 216", "SDF", "001", 3, "sesmith5", "TH", 1330, 1445);
+		Activity b = new Event("Exercise", "MW", 800, 900, "");
+		WeekMask mask = new WeekMask();
+		assertTrue(mask.isEmpty());
+		mask.add(a);
+		mask.add(b);
+		WeekMask copy = mask.copy();
+		assertEquals(mask, copy);
+
+		mask.remove(a);
+		assertFalse(mask.intersects(a));
+		assertTrue(mask.intersects(b));
+		assertTrue(copy.intersects(a));
+		mask.remove(b);
+		assertTrue(mask.isEmpty());
+		assertNotEquals(mask, copy);
+	}
+}
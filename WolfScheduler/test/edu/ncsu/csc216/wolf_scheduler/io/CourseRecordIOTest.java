@@ -7,15 +7,21 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.Before;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Scanner;
+import java.util.zip.GZIPOutputStream;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
@@ -30,6 +36,10 @@ public class CourseRecordIOTest {
 	private final String validTestFile = "test-files/course_records.txt";
 	/** Invalid course records */
 	private final String invalidTestFile = "test-files/invalid_course_records.txt";
+
+	/** Directory for compressed files written by the tests */
+	@TempDir
+	File directory;
 	
 	/** Expected results for valid courses in course_records.txt - line 1 */	
 	private final String validCourse1 = "CSC 116,Intro to Programming - Java,001,3,jdyoung2,MW,910,1100";
@@ -110,6 +120,87 @@ public class CourseRecordIOTest {
 		}
 	}
 	
+	/**
+	 * Tests readCourseRecords() with a CatalogLoadReport.
+	 */
+	@Test
+	public void testReadCourseRecordsReport() {
+		try {
+			CatalogLoadReport report = new CatalogLoadReport(validTestFile);
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile, report);
+			assertEquals(13, courses.size());
+			assertEquals(validTestFile, report.getFileName());
+			assertEquals(new File(validTestFile).length(), report.getBytes());
+			assertEquals(14, report.getLines());
+			assertEquals(13, report.getCourses());
+			assertEquals(0, report.getInvalid());
+			assertEquals(1, report.getDuplicates());
+			assertEquals(0, report.getIndexNanos());
+			assertTrue(report.getReadNanos() > 0);
+			assertEquals(report.getReadNanos() + report.getTokenizeNanos() + report.getValidateNanos()
+					+ report.getDedupeNanos(), report.getTotalNanos());
+			assertTrue(report.getLinesPerSecond() > 0);
+			assertTrue(report.getBytesPerSecond() > report.getLinesPerSecond());
+			assertTrue(report.toString().startsWith(validTestFile + ": 14 lines, "));
+
+			report = new CatalogLoadReport(invalidTestFile);
+			assertEquals(0, CourseRecordIO.readCourseRecords(invalidTestFile, report).size());
+			assertEquals(report.getLines(), report.getInvalid());
+			assertEquals(0, report.getCourses());
+			assertEquals(0, report.getDuplicates());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected FileNotFoundException");
+		}
+	}
+
+	/**
+	 * Tests reading gzip compressed course records, and refusing corrupt files and
+	 * other compression formats.
+	 * 
+	 * @throws IOException if the test files cannot be written
+	 */
+	@Test
+	public void testReadCompressedCourseRecords() throws IOException {
+		File gzip = new File(directory, "course_records.txt.gz");
+		try (OutputStream out = new GZIPOutputStream(new FileOutputStream(gzip))) {
+			Files.copy(Path.of(validTestFile), out);
+		}
+		assertEquals(CourseRecordIO.readCourseRecords(validTestFile), CourseRecordIO.readCourseRecords(gzip.getPath()));
+
+		// More records than the read-ahead queue holds
+		File large = new File(directory, "large.gz");
+		try (PrintStream out = new PrintStream(new GZIPOutputStream(new FileOutputStream(large)), false, "UTF-8")) {
+			for (int i = 0; i < 20000; i++) {
+				out.printf("CSC %03d,Large Course,%03d,3,prof,MW,910,1100%n", i / 100, i % 100);
+			}
+		}
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(large.getPath());
+		assertEquals(20000, courses.size());
+		assertEquals("CSC 199", courses.get(19999).getName());
+
+		byte[] bytes = Files.readAllBytes(large.toPath());
+		File truncated = new File(directory, "truncated.gz");
+		Files.write(truncated.toPath(), Arrays.copyOf(bytes, bytes.length / 2));
+		Exception e = assertThrows(FileNotFoundException.class,
+				() -> CourseRecordIO.readCourseRecords(truncated.getPath()));
+		assertTrue(e.getMessage().startsWith("Cannot read "));
+
+		File zstd = new File(directory, "course_records.txt.zst");
+		Files.write(zstd.toPath(), new byte[] { 0x28, (byte) 0xb5, 0x2f, (byte) 0xfd, 0 });
+		assertThrows(FileNotFoundException.class, () -> CourseRecordIO.readCourseRecords(zstd.getPath()));
+	}
+
+	/**
+	 * Tests CourseRecordIO.parseCourseRecord().
+	 */
+	@Test
+	public void testParseCourseRecord() {
+		assertEquals(validCourse6, CourseRecordIO.parseCourseRecord(validCourse6).toString());
+		assertThrows(IllegalArgumentException.class, () -> CourseRecordIO.parseCourseRecord("CSC 216,,001"));
+		Exception e = assertThrows(IllegalArgumentException.class, () -> CourseRecordIO.parseCourseRecord(null));
+		assertEquals("Invalid course record.", e.getMessage());
+	}
+
 	/**
 	 * Tests writeCourseRecords()
 	 */
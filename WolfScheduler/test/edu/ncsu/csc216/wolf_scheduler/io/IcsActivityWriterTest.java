@@ -0,0 +1,169 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests the IcsActivityWriter class.
+ *
+ * @author symone
+ */
+public class IcsActivityWriterTest {
+
+	/** First day of the term, a Monday */
+	private final LocalDate termStart = LocalDate.of(2026, 8, 17);
+	/** Last day of the term, a Friday */
+	private final LocalDate termEnd = LocalDate.of(2026, 12, 4);
+
+	/** Timed Course */
+	private final Course timed = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5",
+			"TH", 1330, 1445);
+	/** Arranged Course */
+	private final Course arranged = new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter",
+			"A");
+	/** Weekend Event with text that needs escaping */
+	private final Event event = new Event("Hike; pack lunch", "US", 800, 1200, "Umstead, trail\\loop");
+
+	/** Directory for files written by the tests */
+	@TempDir
+	File directory;
+
+	/**
+	 * Tests the VEVENTs of Courses and Events.
+	 *
+	 * @throws IOException if writing fails
+	 */
+	@Test
+	public void testWrite() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		IcsActivityWriter writer = new IcsActivityWriter(out, termStart, termEnd);
+		assertTrue(writer.write(timed));
+		assertFalse(writer.write(arranged));
+		assertTrue(writer.write(event));
+		assertEquals(2, writer.getWritten());
+		writer.close();
+		writer.close();
+		assertThrows(IllegalStateException.class, () -> writer.write(timed));
+
+		String ics = new String(out.toByteArray(), StandardCharsets.UTF_8);
+		assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+		List<String> lines = withoutStamps(ics);
+		assertEquals(Arrays.asList("BEGIN:VCALENDAR", "VERSION:2.0", "PRODID:-//NCSU CSC 216//WolfScheduler//EN",
+				"CALSCALE:GREGORIAN", "BEGIN:VEVENT", "UID:CSC-216-001-20260817@wolfscheduler",
+				"DTSTART:20260818T133000", "DTEND:20260818T144500",
+				"RRULE:FREQ=WEEKLY;BYDAY=TU,TH;UNTIL=20261204T235959",
+				"SUMMARY:CSC 216 Software Development Fundamentals",
+				"DESCRIPTION:Section 001\\, 3 credits\\, instructor sesmith5", "END:VEVENT", "BEGIN:VEVENT",
+				"UID:Hike--pack-lunch-US-800-20260817@wolfscheduler", "DTSTART:20260822T080000",
+				"DTEND:20260822T120000", "RRULE:FREQ=WEEKLY;BYDAY=SU,SA;UNTIL=20261204T235959",
+				"SUMMARY:Hike\\; pack lunch", "DESCRIPTION:Umstead\\, trail\\\\loop", "END:VEVENT", "END:VCALENDAR"),
+				lines);
+	}
+
+	/**
+	 * Tests skipping Activities that do not meet in the term, empty calendars and
+	 * invalid arguments.
+	 *
+	 * @throws IOException if writing fails
+	 */
+	@Test
+	public void testOutsideTerm() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (IcsActivityWriter writer = new IcsActivityWriter(out, termStart, termStart.plusDays(2))) {
+			assertFalse(writer.write(event));
+			assertTrue(writer.write(timed));
+		}
+		assertTrue(withoutStamps(out.toString(StandardCharsets.UTF_8)).contains("DTSTART:20260818T133000"));
+
+		out = new ByteArrayOutputStream();
+		new IcsActivityWriter(out, termStart, termEnd).close();
+		assertEquals("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//NCSU CSC 216//WolfScheduler//EN\r\n"
+				+ "CALSCALE:GREGORIAN\r\nEND:VCALENDAR\r\n", out.toString(StandardCharsets.UTF_8));
+
+		assertThrows(IllegalArgumentException.class, () -> new IcsActivityWriter(null, termStart, termEnd));
+		Exception e = assertThrows(IllegalArgumentException.class,
+				() -> new IcsActivityWriter(new ByteArrayOutputStream(), termEnd, termStart));
+		assertEquals("Invalid term.", e.getMessage());
+		assertThrows(IllegalArgumentException.class,
+				() -> new IcsActivityWriter(new ByteArrayOutputStream(), null, termEnd));
+	}
+
+	/**
+	 * Tests folding long lines at 75 octets without splitting characters.
+	 *
+	 * @throws IOException if writing fails
+	 */
+	@Test
+	public void testFolding() throws IOException {
+		StringBuilder details = new StringBuilder();
+		for (int i = 0; i < 40; i++) {
+			details.append("é😀");
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (IcsActivityWriter writer = new IcsActivityWriter(out, termStart, termEnd)) {
+			writer.write(new Event("Long", "M", 800, 900, details.toString()));
+			writer.write(new Event("Study group for the final exam of Discrete Mathematics", "MWF", 1900, 2100, ""));
+		}
+		byte[] bytes = out.toByteArray();
+		String ics = new String(bytes, StandardCharsets.UTF_8);
+		assertFalse(ics.contains("�"));
+		for (String line : ics.split("\r\n")) {
+			assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75);
+		}
+		assertTrue(ics.replace("\r\n ", "").contains("DESCRIPTION:" + details + "\r\n"));
+		assertTrue(ics.replace("\r\n ", "")
+				.contains("UID:Study-group-for-the-final-exam-of-Discrete-Mathematics-MWF-1900-20260817@wolfscheduler\r\n"));
+	}
+
+	/**
+	 * Tests ActivityRecordIO.writeActivityRecordsIcs().
+	 *
+	 * @throws IOException if writing fails
+	 */
+	@Test
+	public void testWriteActivityRecordsIcs() throws IOException {
+		File file = new File(directory, "schedule.ics");
+		ActivityRecordIO.writeActivityRecordsIcs(file.getPath(), Arrays.asList(timed, arranged, event), termStart,
+				termEnd);
+		String ics = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+		assertEquals(2, ics.split("BEGIN:VEVENT", -1).length - 1);
+		assertThrows(IllegalArgumentException.class, () -> ActivityRecordIO
+				.writeActivityRecordsIcs(file.getPath(), Arrays.asList(timed), termEnd, termStart));
+		assertThrows(IllegalArgumentException.class,
+				() -> ActivityRecordIO.writeActivityRecordsIcs(file.getPath(), Arrays.asList(timed), null, termEnd));
+		assertEquals(ics, new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8),
+				"an invalid term leaves the file as it was");
+	}
+
+	/**
+	 * Returns the lines of a calendar without the DTSTAMP lines, which change
+	 * with the time of the test.
+	 *
+	 * @param ics calendar text
+	 * @return remaining lines
+	 */
+	private static List<String> withoutStamps(String ics) {
+		ArrayList<String> lines = new ArrayList<String>();
+		for (String line : ics.split("\r\n")) {
+			if (!line.startsWith("DTSTAMP:")) {
+				lines.add(line);
+			}
+		}
+		return lines;
+	}
+}
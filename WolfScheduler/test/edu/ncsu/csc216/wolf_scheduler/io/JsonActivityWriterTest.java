@@ -0,0 +1,107 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests the JsonActivityWriter class.
+ *
+ * @author symone
+ */
+public class JsonActivityWriterTest {
+
+	/** Timed Course */
+	private final Course timed = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5",
+			"MW", 1330, 1445);
+	/** Arranged Course */
+	private final Course arranged = new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter",
+			"A");
+	/** Event with characters that need escaping */
+	private final Event event = new Event("Café \"study\"", "UMTHFS", 0, 900, "a\\b\tc € 😀");
+
+	/** Expected JSON of the timed Course */
+	private final String timedJson = "{\"type\":\"course\",\"name\":\"CSC 216\","
+			+ "\"title\":\"Software Development Fundamentals\",\"section\":\"001\",\"credits\":3,"
+			+ "\"instructorId\":\"sesmith5\",\"meetingDays\":\"MW\",\"startTime\":1330,\"endTime\":1445}";
+	/** Expected JSON of the arranged Course */
+	private final String arrangedJson = "{\"type\":\"course\",\"name\":\"CSC 216\","
+			+ "\"title\":\"Software Development Fundamentals\",\"section\":\"601\",\"credits\":3,"
+			+ "\"instructorId\":\"jctetter\",\"meetingDays\":\"A\"}";
+	/** Expected JSON of the Event */
+	private final String eventJson = "{\"type\":\"event\",\"title\":\"Café \\\"study\\\"\","
+			+ "\"meetingDays\":\"UMTHFS\",\"startTime\":0,\"endTime\":900,"
+			+ "\"eventDetails\":\"a\\\\b\\u0009c € 😀\"}";
+
+	/** Directory for files written by the tests */
+	@TempDir
+	File directory;
+
+	/**
+	 * Tests writing a JSON array.
+	 *
+	 * @throws IOException if writing fails
+	 */
+	@Test
+	public void testArray() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		JsonActivityWriter writer = new JsonActivityWriter(out, false);
+		writer.writeAll(Arrays.asList(timed, arranged, event));
+		assertEquals(3, writer.getWritten());
+		writer.close();
+		writer.close();
+		assertEquals("[" + timedJson + "," + arrangedJson + "," + eventJson + "]\n",
+				new String(out.toByteArray(), StandardCharsets.UTF_8));
+		assertThrows(IllegalStateException.class, () -> writer.write(timed));
+
+		out = new ByteArrayOutputStream();
+		new JsonActivityWriter(out, false).close();
+		assertEquals("[]\n", out.toString(StandardCharsets.UTF_8));
+		assertThrows(IllegalArgumentException.class, () -> new JsonActivityWriter(null, true));
+	}
+
+	/**
+	 * Tests writing NDJSON past the size of the buffer.
+	 *
+	 * @throws IOException if writing fails
+	 */
+	@Test
+	public void testNdjson() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (JsonActivityWriter writer = new JsonActivityWriter(out, true)) {
+			for (int i = 0; i < 1000; i++) {
+				writer.write(i % 2 == 0 ? timed : event);
+			}
+		}
+		String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+		assertEquals(1000, lines.length);
+		assertEquals(timedJson, lines[0]);
+		assertEquals(eventJson, lines[999]);
+	}
+
+	/**
+	 * Tests ActivityRecordIO.writeActivityRecordsJson().
+	 *
+	 * @throws IOException if writing fails
+	 */
+	@Test
+	public void testWriteActivityRecordsJson() throws IOException {
+		ArrayList<Activity> activities = new ArrayList<Activity>(Arrays.asList(timed, event));
+		File file = new File(directory, "schedule.ndjson");
+		ActivityRecordIO.writeActivityRecordsJson(file.getPath(), activities, true);
+		assertEquals(Arrays.asList(timedJson, eventJson), Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,101 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the PipelinedCatalogLoader class.
+ *
+ * @author symone
+ */
+public class PipelinedCatalogLoaderTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+	/** Invalid course records */
+	private final String invalidTestFile = "test-files/invalid_course_records.txt";
+
+	/** Directory for course records written by the tests */
+	@TempDir
+	File directory;
+
+	/**
+	 * Tests that every tuning reads the same Courses as readCourseRecords().
+	 *
+	 * @throws FileNotFoundException if a test file is missing
+	 */
+	@Test
+	public void testLoad() throws FileNotFoundException {
+		ArrayList<Course> expected = CourseRecordIO.readCourseRecords(validTestFile);
+		for (int workers = 1; workers <= 4; workers++) {
+			for (int batchSize = 1; batchSize <= 3; batchSize++) {
+				PipelinedCatalogLoader loader = new PipelinedCatalogLoader();
+				loader.setWorkers(workers);
+				loader.setBatchSize(batchSize);
+				loader.setQueueDepth(batchSize);
+				assertEquals(expected, loader.load(validTestFile));
+				assertEquals(0, loader.load(invalidTestFile).size());
+			}
+		}
+		PipelinedCatalogLoader loader = new PipelinedCatalogLoader();
+		assertEquals(PipelinedCatalogLoader.DEFAULT_BATCH_SIZE, loader.getBatchSize());
+		assertEquals(Runtime.getRuntime().availableProcessors(), loader.getWorkers());
+		assertEquals(2 * loader.getWorkers(), loader.getQueueDepth());
+		assertEquals(expected, loader.load(validTestFile));
+
+		assertThrows(IllegalArgumentException.class, () -> loader.setWorkers(0));
+		assertThrows(IllegalArgumentException.class, () -> loader.setBatchSize(0));
+		assertThrows(IllegalArgumentException.class, () -> loader.setQueueDepth(0));
+		assertThrows(FileNotFoundException.class, () -> loader.load("test-files/no_such_file.txt"));
+	}
+
+	/**
+	 * Tests first-wins de-duplication, order and the report across many batches of
+	 * a compressed file.
+	 *
+	 * @throws IOException if the test file cannot be written
+	 */
+	@Test
+	public void testLoadLarge() throws IOException {
+		File file = new File(directory, "large.txt.gz");
+		try (PrintStream out = new PrintStream(new GZIPOutputStream(new FileOutputStream(file)), false, "UTF-8")) {
+			for (int i = 0; i < 30000; i++) {
+				if (i % 10 == 9) {
+					out.println("not a course");
+				} else {
+					// Sections repeat every 20000 lines with a different instructor
+					int n = i % 20000;
+					out.printf("CSC %03d,Large Course,%03d,3,prof%d,MW,910,1100%n", n / 100, n % 100, i);
+				}
+			}
+		}
+		PipelinedCatalogLoader loader = new PipelinedCatalogLoader();
+		loader.setWorkers(3);
+		loader.setBatchSize(100);
+		loader.setQueueDepth(2);
+		CatalogLoadReport report = new CatalogLoadReport(file.getPath());
+		ArrayList<Course> courses = loader.load(file.getPath(), report);
+		assertEquals(CourseRecordIO.readCourseRecords(file.getPath()), courses);
+		assertEquals(18000, courses.size());
+		assertEquals("prof0", courses.get(0).getInstructorId());
+		assertEquals("CSC 199", courses.get(courses.size() - 1).getName());
+		assertEquals(30000, report.getLines());
+		assertEquals(18000, report.getCourses());
+		assertEquals(3000, report.getInvalid());
+		assertEquals(9000, report.getDuplicates());
+		assertEquals(0, report.getTokenizeNanos());
+		assertTrue(report.getValidateNanos() > 0);
+	}
+}
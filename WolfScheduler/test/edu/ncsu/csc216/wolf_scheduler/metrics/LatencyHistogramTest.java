@@ -0,0 +1,88 @@
+package edu.ncsu.csc216.wolf_scheduler.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the LatencyHistogram class.
+ *
+ * @author symone
+ */
+public class LatencyHistogramTest {
+
+	/**
+	 * Tests that every value falls in a bucket whose range holds it and is
+	 * within 12.5% of it.
+	 */
+	@Test
+	public void testBuckets() {
+		long[] values = { 0, 1, 7, 8, 9, 15, 16, 17, 1000, 123_456_789, Long.MAX_VALUE / 3, Long.MAX_VALUE };
+		for (long v : values) {
+			int b = LatencyHistogram.bucket(v);
+			assertTrue(LatencyHistogram.highest(b) >= v, "bucket of " + v);
+			assertTrue(b == 0 || LatencyHistogram.highest(b - 1) < v, "bucket of " + v);
+			assertTrue(LatencyHistogram.highest(b) - v <= v / 8, "precision of " + v);
+		}
+		assertEquals(Long.MAX_VALUE, LatencyHistogram.highest(LatencyHistogram.bucket(Long.MAX_VALUE)));
+	}
+
+	/**
+	 * Tests the count, mean, maximum and percentiles.
+	 */
+	@Test
+	public void testPercentiles() {
+		LatencyHistogram h = new LatencyHistogram();
+		assertEquals(0, h.getPercentile(50));
+		assertEquals(0, h.getMean(), 0);
+		for (int i = 1; i <= 1000; i++) {
+			h.record(i * 1000L);
+		}
+		h.record(-5);
+		assertEquals(1001, h.getCount());
+		assertEquals(1_000_000, h.getMax());
+		assertEquals(500_000, h.getMean(), 1000);
+		assertEquals(500_000, h.getPercentile(50), 500_000 / 8);
+		assertEquals(990_000, h.getPercentile(99), 990_000 / 8);
+		assertEquals(1_000_000, h.getPercentile(100));
+		assertEquals(0, h.getPercentile(0));
+
+		h.reset();
+		assertEquals(0, h.getCount());
+		assertEquals(0, h.getMax());
+	}
+
+	/**
+	 * Tests recording from many threads at once.
+	 *
+	 * @throws Exception if a thread fails
+	 */
+	@Test
+	public void testConcurrentRecord() throws Exception {
+		LatencyHistogram h = new LatencyHistogram();
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> done = new ArrayList<Future<?>>();
+			for (int t = 0; t < 8; t++) {
+				done.add(pool.submit(() -> {
+					for (int i = 0; i < 10_000; i++) {
+						h.record(i);
+					}
+				}));
+			}
+			for (Future<?> f : done) {
+				f.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+		assertEquals(80_000, h.getCount());
+		assertEquals(9_999, h.getMax());
+	}
+}
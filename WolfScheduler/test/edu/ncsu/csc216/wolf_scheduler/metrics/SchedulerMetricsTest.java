@@ -0,0 +1,146 @@
+package edu.ncsu.csc216.wolf_scheduler.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.Map;
+
+import javax.management.JMX;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.catalog.SeatLedger;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Tests the SchedulerMetrics class and the instrumented operations.
+ *
+ * @author symone
+ */
+public class SchedulerMetricsTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/**
+	 * Starts each test with empty, enabled metrics.
+	 */
+	@BeforeEach
+	public void setUp() {
+		SchedulerMetrics.setEnabled(true);
+		SchedulerMetrics.reset();
+	}
+
+	/**
+	 * Leaves the metrics enabled for other tests.
+	 */
+	@AfterEach
+	public void tearDown() {
+		SchedulerMetrics.setEnabled(true);
+	}
+
+	/**
+	 * Tests the outcomes recorded by the scheduler operations.
+	 *
+	 * @throws FileNotFoundException if the test file is missing
+	 */
+	@Test
+	public void testOutcomes() throws FileNotFoundException {
+		CourseCatalog catalog = CourseCatalog.load(validTestFile);
+		assertThrows(FileNotFoundException.class, () -> CourseCatalog.load("missing.txt"));
+		assertEquals(1, SchedulerMetrics.getCount(Operation.CATALOG_LOAD, Outcome.SUCCESS));
+		assertEquals(1, SchedulerMetrics.getCount(Operation.CATALOG_LOAD, Outcome.NOT_FOUND));
+
+		SeatLedger seats = new SeatLedger(1);
+		WolfScheduler ws = new WolfScheduler(catalog, seats);
+		WolfScheduler other = new WolfScheduler(catalog, seats);
+		assertTrue(ws.addCourseToSchedule("CSC 116", "001"));
+		assertFalse(ws.addCourseToSchedule("CSC 999", "001"));
+		assertThrows(IllegalArgumentException.class, () -> ws.addCourseToSchedule("CSC 116", "002"));
+		assertThrows(IllegalArgumentException.class, () -> ws.addCourseToSchedule("CSC 226", "001"));
+		assertThrows(IllegalArgumentException.class, () -> other.addCourseToSchedule("CSC 116", "001"));
+		assertEquals(1, SchedulerMetrics.getCount(Operation.ADD_COURSE, Outcome.SUCCESS));
+		assertEquals(1, SchedulerMetrics.getCount(Operation.ADD_COURSE, Outcome.NOT_FOUND));
+		assertEquals(1, SchedulerMetrics.getCount(Operation.ADD_COURSE, Outcome.DUPLICATE));
+		assertEquals(1, SchedulerMetrics.getCount(Operation.ADD_COURSE, Outcome.CONFLICT));
+		assertEquals(1, SchedulerMetrics.getCount(Operation.ADD_COURSE, Outcome.FULL));
+		assertEquals(5, SchedulerMetrics.getLatencies(Operation.ADD_COURSE).getCount());
+
+		ws.addEventToSchedule("Gym", "MW", 800, 900, "");
+		assertThrows(IllegalArgumentException.class, () -> ws.addEventToSchedule("Gym", "F", 800, 900, ""));
+		assertThrows(IllegalArgumentException.class, () -> ws.addEventToSchedule("Run", "M", 830, 845, ""));
+		assertThrows(IllegalArgumentException.class, () -> ws.addEventToSchedule("Bad", "X", 830, 845, ""));
+		assertEquals(1, SchedulerMetrics.getCount(Operation.ADD_EVENT, Outcome.SUCCESS));
+		assertEquals(1, SchedulerMetrics.getCount(Operation.ADD_EVENT, Outcome.DUPLICATE));
+		assertEquals(1, SchedulerMetrics.getCount(Operation.ADD_EVENT, Outcome.CONFLICT));
+		assertEquals(1, SchedulerMetrics.getCount(Operation.ADD_EVENT, Outcome.ERROR));
+
+		assertTrue(ws.removeActivityFromSchedule(1));
+		assertFalse(ws.removeActivityFromSchedule(5));
+		assertEquals(1, SchedulerMetrics.getCount(Operation.REMOVE_ACTIVITY, Outcome.SUCCESS));
+		assertEquals(1, SchedulerMetrics.getCount(Operation.REMOVE_ACTIVITY, Outcome.NOT_FOUND));
+
+		assertNotNull(ws.getCourseFromCatalog("CSC 116", "001"));
+		assertNull(ws.getCourseFromCatalog("CSC 116", "009"));
+		assertEquals(1, SchedulerMetrics.getCount(Operation.GET_COURSE, Outcome.SUCCESS));
+		assertEquals(1, SchedulerMetrics.getCount(Operation.GET_COURSE, Outcome.NOT_FOUND));
+
+		assertThrows(IllegalArgumentException.class, () -> ws.exportSchedule("/no/such/dir/schedule.txt"));
+		assertEquals(1, SchedulerMetrics.getCount(Operation.EXPORT, Outcome.ERROR));
+		LocalDate termEnd = LocalDate.of(2026, 12, 4);
+		assertThrows(IllegalArgumentException.class,
+				() -> ws.exportScheduleIcs("test-files/never_written.ics", termEnd, termEnd.minusDays(1)));
+		assertEquals(2, SchedulerMetrics.getCount(Operation.EXPORT, Outcome.ERROR));
+
+		String dump = SchedulerMetrics.dump();
+		assertTrue(dump.contains("add_course count=5 "), dump);
+		assertTrue(dump.contains("  conflict=1"), dump);
+		assertFalse(dump.contains("export count=0"), dump);
+	}
+
+	/**
+	 * Tests that nothing is recorded while disabled.
+	 *
+	 * @throws FileNotFoundException if the test file is missing
+	 */
+	@Test
+	public void testDisabled() throws FileNotFoundException {
+		SchedulerMetrics.setEnabled(false);
+		assertFalse(SchedulerMetrics.isEnabled());
+		assertEquals(0, SchedulerMetrics.start());
+		WolfScheduler ws = new WolfScheduler(CourseCatalog.load(validTestFile));
+		assertTrue(ws.addCourseToSchedule("CSC 216", "001"));
+		assertEquals(0, SchedulerMetrics.getCount(Operation.ADD_COURSE, Outcome.SUCCESS));
+		assertEquals(0, SchedulerMetrics.getCount(Operation.CATALOG_LOAD, Outcome.SUCCESS));
+		assertEquals("", SchedulerMetrics.dump());
+	}
+
+	/**
+	 * Tests reading the metrics over JMX.
+	 *
+	 * @throws Exception if the MXBean cannot be reached
+	 */
+	@Test
+	public void testMBean() throws Exception {
+		SchedulerMetrics.registerMBean();
+		SchedulerMetrics.registerMBean();
+		SchedulerMetricsMXBean bean = JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(),
+				new ObjectName(SchedulerMetrics.OBJECT_NAME), SchedulerMetricsMXBean.class);
+		assertTrue(bean.isEnabled());
+		new WolfScheduler(CourseCatalog.load(validTestFile)).getCourseFromCatalog("CSC 216", "001");
+		Map<String, Long> counts = bean.getCounts();
+		assertEquals(1L, counts.get("GET_COURSE.SUCCESS"));
+		assertTrue(bean.latencyMicros("GET_COURSE", 50) > 0);
+		assertTrue(bean.dump().startsWith("get_course count=1"));
+		bean.setEnabled(false);
+		assertFalse(SchedulerMetrics.isEnabled());
+		bean.reset();
+		assertTrue(bean.getCounts().isEmpty());
+	}
+}
@@ -0,0 +1,224 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.ConflictException;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Tests the ScheduleGenerator class.
+ *
+ * @author symone
+ */
+public class ScheduleGeneratorTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+	/** Wanted course names */
+	private static final String[] NAMES = { "CSC 116", "CSC 216", "CSC 217" };
+
+	/** Catalog read from the valid course records */
+	private ArrayList<Course> catalog;
+
+	/**
+	 * Reads the catalog.
+	 *
+	 * @throws FileNotFoundException if the test file is missing
+	 */
+	@BeforeEach
+	public void setUp() throws FileNotFoundException {
+		catalog = CourseRecordIO.readCourseRecords(validTestFile);
+	}
+
+	/**
+	 * Tests that the sequential, lazy and parallel searches all find exactly the
+	 * conflict-free combinations found by brute force.
+	 */
+	@Test
+	public void testGenerateMatchesBruteForce() {
+		HashSet<String> expected = bruteForce(NAMES, new ArrayList<Activity>());
+		assertFalse(expected.isEmpty());
+
+		ScheduleGenerator generator = new ScheduleGenerator(catalog, NAMES);
+		assertEquals(expected, toKeys(generator.generate(Integer.MAX_VALUE)));
+		assertEquals(expected, toKeys(generator.generateParallel(Integer.MAX_VALUE)));
+
+		ArrayList<Course[]> lazy = new ArrayList<Course[]>();
+		for (Course[] schedule : generator) {
+			lazy.add(schedule);
+		}
+		assertEquals(expected.size(), lazy.size());
+		assertEquals(expected, toKeys(lazy));
+	}
+
+	/**
+	 * Tests that fixed Activities are respected.
+	 */
+	@Test
+	public void testFixedActivities() {
+		ArrayList<Activity> fixed = new ArrayList<Activity>();
+		fixed.add(new Event("Work", "MW", 1100, 1400, ""));
+		HashSet<String> expected = bruteForce(NAMES, fixed);
+		ScheduleGenerator generator = new ScheduleGenerator(catalog, NAMES, fixed);
+		assertEquals(expected, toKeys(generator.generate(100)));
+		assertEquals(expected, toKeys(generator.generateParallel(100)));
+		for (Course[] schedule : generator) {
+			assertNotEquals("002", schedule[0].getSection());
+		}
+	}
+
+	/**
+	 * Tests that the search stops at the limit.
+	 */
+	@Test
+	public void testLimit() {
+		ScheduleGenerator generator = new ScheduleGenerator(catalog, NAMES);
+		assertEquals(2, generator.generate(2).size());
+		assertEquals(2, generator.generateParallel(2).size());
+		assertEquals(0, generator.generate(0).size());
+		assertThrows(IllegalArgumentException.class, () -> generator.generate(-1));
+	}
+
+	/**
+	 * Tests names with no sections and names that cannot be combined.
+	 */
+	@Test
+	public void testNoSchedules() {
+		ScheduleGenerator missing = new ScheduleGenerator(catalog, new String[] { "CSC 116", "CSC 492" });
+		assertFalse(missing.iterator().hasNext());
+		assertEquals(0, missing.generateParallel(10).size());
+
+		// CSC 226 and CSC 316 only have one section each and they overlap
+		ScheduleGenerator overlap = new ScheduleGenerator(catalog, new String[] { "CSC 226", "CSC 316" });
+		assertFalse(overlap.iterator().hasNext());
+
+		ScheduleGenerator none = new ScheduleGenerator(catalog, new String[0]);
+		assertFalse(none.iterator().hasNext());
+		assertThrows(IllegalArgumentException.class, () -> new ScheduleGenerator(catalog, null));
+	}
+
+	/**
+	 * Tests that each schedule lists sections in the order the names were given.
+	 */
+	@Test
+	public void testScheduleOrder() {
+		Iterator<Course[]> it = new ScheduleGenerator(catalog, new String[] { "CSC 217", "CSC 116", "CSC 217" })
+				.iterator();
+		assertTrue(it.hasNext());
+		Course[] schedule = it.next();
+		assertEquals(2, schedule.length);
+		assertEquals("CSC 217", schedule[0].getName());
+		assertEquals("CSC 116", schedule[1].getName());
+	}
+
+	/**
+	 * Tests WolfScheduler.generateSchedules() keeps the current schedule fixed.
+	 */
+	@Test
+	public void testWolfSchedulerGenerateSchedules() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ws.addEventToSchedule("Work", "MW", 1100, 1400, "");
+		ws.addCourseToSchedule("CSC 116", "003");
+
+		ArrayList<Activity> fixed = new ArrayList<Activity>();
+		fixed.add(new Event("Work", "MW", 1100, 1400, ""));
+		HashSet<String> expected = bruteForce(NAMES, fixed);
+		assertEquals(expected, toKeys(ws.generateSchedules(NAMES, 100, false)));
+		assertEquals(expected, toKeys(ws.generateSchedules(NAMES, 100, true)));
+		assertEquals(1, ws.generateSchedules(NAMES, 1, false).size());
+	}
+
+	/**
+	 * Returns every conflict-free combination found by trying all of them.
+	 *
+	 * @param names wanted course names
+	 * @param fixed activities each combination must fit around
+	 * @return keys of the conflict-free combinations
+	 */
+	private HashSet<String> bruteForce(String[] names, List<Activity> fixed) {
+		ArrayList<ArrayList<Course>> groups = new ArrayList<ArrayList<Course>>();
+		for (String name : names) {
+			ArrayList<Course> group = new ArrayList<Course>();
+			for (Course c : catalog) {
+				if (c.getName().equals(name)) {
+					group.add(c);
+				}
+			}
+			groups.add(group);
+		}
+		HashSet<String> keys = new HashSet<String>();
+		bruteForce(groups, 0, new ArrayList<Activity>(fixed), fixed.size(), keys);
+		return keys;
+	}
+
+	/**
+	 * Recursive helper for bruteForce().
+	 *
+	 * @param groups     sections of each wanted course
+	 * @param g          next group to choose from
+	 * @param chosen     activities chosen so far, after the fixed activities
+	 * @param fixedCount number of fixed activities at the front of chosen
+	 * @param keys       receives keys of conflict-free combinations
+	 */
+	private void bruteForce(ArrayList<ArrayList<Course>> groups, int g, ArrayList<Activity> chosen, int fixedCount,
+			HashSet<String> keys) {
+		if (g == groups.size()) {
+			for (int i = 0; i < chosen.size(); i++) {
+				for (int j = i + 1; j < chosen.size(); j++) {
+					try {
+						chosen.get(i).checkConflict(chosen.get(j));
+					} catch (ConflictException e) {
+						return;
+					}
+				}
+			}
+			keys.add(toKey(chosen.subList(fixedCount, chosen.size()).toArray(new Course[0])));
+			return;
+		}
+		for (Course c : groups.get(g)) {
+			chosen.add(c);
+			bruteForce(groups, g + 1, chosen, fixedCount, keys);
+			chosen.remove(chosen.size() - 1);
+		}
+	}
+
+	/**
+	 * Returns the keys of the given schedules.
+	 *
+	 * @param schedules schedules to convert
+	 * @return set of keys
+	 */
+	private static HashSet<String> toKeys(List<Course[]> schedules) {
+		HashSet<String> keys = new HashSet<String>();
+		for (Course[] schedule : schedules) {
+			keys.add(toKey(schedule));
+		}
+		return keys;
+	}
+
+	/**
+	 * Returns a key naming every section in the schedule.
+	 *
+	 * @param schedule schedule to convert
+	 * @return key for the schedule
+	 */
+	private static String toKey(Course[] schedule) {
+		StringBuilder key = new StringBuilder();
+		for (Course c : schedule) {
+			key.append(c.getName()).append('-').append(c.getSection()).append(';');
+		}
+		return key.toString();
+	}
+}
@@ -0,0 +1,260 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.catalog.SeatLedger;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the ScheduleJournal class.
+ *
+ * @author symone
+ */
+public class ScheduleJournalTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/** Directory for the journal files */
+	@TempDir
+	File directory;
+
+	/** Catalog shared by every registry */
+	private CourseCatalog catalog;
+
+	/**
+	 * Loads the catalog.
+	 *
+	 * @throws IOException if the test file is missing
+	 */
+	@BeforeEach
+	public void setUp() throws IOException {
+		catalog = CourseCatalog.load(validTestFile);
+	}
+
+	/**
+	 * Tests that every kind of mutation survives a restart, with and without a
+	 * checkpoint in between.
+	 *
+	 * @throws IOException if the journal cannot be written
+	 */
+	@Test
+	public void testRecovery() throws IOException {
+		SessionRegistry registry = new SessionRegistry(catalog);
+		ScheduleJournal journal = ScheduleJournal.open(directory, registry, 0);
+		registry.addCourse("alice", "CSC 216", "001");
+		registry.addCourse("alice", "CSC 226", "001");
+		registry.addEvent("alice", "Gym, daily", "MTWHF", 600, 700, "with \"friends\"");
+		registry.setScheduleTitle("alice", "Fall, 2026");
+		registry.removeActivity("alice", 0);
+		registry.addCourse("bob", "CSC 116", "001");
+		registry.addCourse("carol", "CSC 116", "002");
+		registry.resetSchedule("carol");
+		registry.addCourse("dave", "CSC 316", "001");
+		registry.endSession("dave");
+		// Failed mutations are not journaled
+		assertThrows(IllegalArgumentException.class, () -> registry.addCourse("bob", "CSC 116", "002"));
+		assertFalse(registry.removeActivity("bob", 4));
+		journal.close();
+
+		SessionRegistry recovered = new SessionRegistry(catalog);
+		journal = ScheduleJournal.open(directory, recovered, 0);
+		assertState(registry, recovered, "alice", "bob", "carol", "dave");
+		assertNull(recovered.findSession("dave"));
+
+		// A checkpoint taken while mutating keeps later records
+		recovered.addCourse("erin", "CSC 217", "202");
+		journal.checkpoint();
+		recovered.addCourse("erin", "CSC 216", "002");
+		recovered.removeActivity("alice", 0);
+		journal.close();
+		assertEquals(1, directory.list((d, name) -> name.startsWith("snapshot-")).length);
+
+		SessionRegistry again = new SessionRegistry(catalog);
+		ScheduleJournal.open(directory, again, 0).close();
+		assertState(recovered, again, "alice", "bob", "carol", "erin");
+		assertEquals("Fall, 2026", again.getSnapshot("alice").getTitle());
+		assertEquals("Gym, daily", again.getSnapshot("alice").get(0).getTitle());
+	}
+
+	/**
+	 * Tests that removals replayed against a catalog that no longer has a section
+	 * added earlier still remove the Activities they removed when journaled.
+	 *
+	 * @throws IOException if the journal cannot be written
+	 */
+	@Test
+	public void testReplayWithoutSection() throws IOException {
+		SessionRegistry registry = new SessionRegistry(catalog);
+		ScheduleJournal journal = ScheduleJournal.open(directory, registry, 0);
+		registry.addCourse("alice", "CSC 116", "001");
+		registry.addCourse("alice", "CSC 216", "001");
+		registry.addEvent("alice", "Gym", "MTWHF", 600, 700, "");
+		registry.addCourse("alice", "CSC 230", "001");
+		registry.removeActivity("alice", 1);
+		registry.removeActivity("alice", 1);
+		journal.close();
+
+		// CSC 116-001 has left the catalog, so every later index is off by one
+		ArrayList<Course> smaller = new ArrayList<Course>(catalog.getCourses());
+		smaller.remove(catalog.getCourse("CSC 116", "001"));
+		SessionRegistry recovered = new SessionRegistry(new CourseCatalog(smaller));
+		ScheduleJournal.open(directory, recovered, 0).close();
+		String[][] schedule = recovered.getScheduledActivities("alice");
+		assertEquals(1, schedule.length);
+		assertEquals("CSC 230", schedule[0][0]);
+	}
+
+	/**
+	 * Tests that a record torn by a crash is dropped and the records before it
+	 * are kept.
+	 *
+	 * @throws IOException if the journal cannot be written
+	 */
+	@Test
+	public void testTornRecord() throws IOException {
+		SessionRegistry registry = new SessionRegistry(catalog);
+		ScheduleJournal journal = ScheduleJournal.open(directory, registry, 0);
+		registry.addCourse("alice", "CSC 216", "001");
+		registry.addCourse("alice", "CSC 226", "001");
+		journal.close();
+
+		File[] segments = directory.listFiles((d, name) -> name.startsWith("journal-") && new File(d, name).length() > 0);
+		assertEquals(1, segments.length);
+		try (FileOutputStream out = new FileOutputStream(segments[0], true)) {
+			out.write(new byte[] { 0, 0, 0, 40, 1, 2, 3, 4, 'C', 0 });
+		}
+
+		SessionRegistry recovered = new SessionRegistry(catalog);
+		ScheduleJournal.open(directory, recovered, 0).close();
+		assertState(registry, recovered, "alice");
+	}
+
+	/**
+	 * Tests that concurrent mutations are batched into fewer fsyncs and all
+	 * recovered, with automatic checkpoints along the way.
+	 *
+	 * @throws Exception if a task fails
+	 */
+	@Test
+	public void testGroupCommit() throws Exception {
+		final SessionRegistry registry = new SessionRegistry(catalog);
+		ScheduleJournal journal = ScheduleJournal.open(directory, registry, 100);
+		final int threads = 8;
+		final int rounds = 50;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> done = new ArrayList<Future<?>>();
+			for (int t = 0; t < threads; t++) {
+				final String student = "student" + t;
+				done.add(pool.submit(() -> {
+					for (int r = 0; r < rounds; r++) {
+						registry.addCourse(student, "CSC 216", r % 2 == 0 ? "001" : "002");
+						registry.setScheduleTitle(student, "Round " + r);
+						if (r < rounds - 1) {
+							registry.removeActivity(student, 0);
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> f : done) {
+				f.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+		long records = journal.getRecordCount();
+		long batches = journal.getBatchCount();
+		journal.close();
+		assertEquals(threads * (3 * rounds - 1), records);
+		assertTrue(batches <= records);
+
+		SessionRegistry recovered = new SessionRegistry(catalog);
+		ScheduleJournal.open(directory, recovered, 0).close();
+		for (int t = 0; t < threads; t++) {
+			assertState(registry, recovered, "student" + t);
+			assertEquals("Round " + (rounds - 1), recovered.getSnapshot("student" + t).getTitle());
+		}
+	}
+
+	/**
+	 * Tests that a mutation whose record cannot be written is undone with its
+	 * seat, and that later mutations are refused before they change anything.
+	 *
+	 * @throws IOException if the journal cannot be opened
+	 */
+	@Test
+	public void testFailedWrite() throws IOException {
+		SeatLedger seats = new SeatLedger(10);
+		SessionRegistry registry = new SessionRegistry(catalog, seats);
+		ScheduleJournal journal = ScheduleJournal.open(directory, registry, 0);
+		registry.addCourse("alice", "CSC 216", "001");
+		registry.addCourse("alice", "CSC 116", "001");
+		registry.setScheduleTitle("alice", "Fall");
+		journal.breakSegment();
+
+		Exception e = assertThrows(IllegalStateException.class, () -> registry.addCourse("bob", "CSC 216", "001"));
+		assertEquals("Journal write failed.", e.getMessage());
+		assertEquals(0, registry.getSnapshot("bob").size());
+		assertEquals(1, seats.getEnrolled("CSC 216", "001"));
+
+		assertThrows(IllegalStateException.class, () -> registry.addCourse("alice", "CSC 226", "001"));
+		assertThrows(IllegalStateException.class, () -> registry.removeActivity("alice", 0));
+		assertThrows(IllegalStateException.class, () -> registry.resetSchedule("alice"));
+		assertThrows(IllegalStateException.class, () -> registry.setScheduleTitle("alice", "Spring"));
+		assertThrows(IllegalStateException.class, () -> registry.endSession("alice"));
+		assertEquals(2, registry.getSnapshot("alice").size());
+		assertEquals("Fall", registry.getSnapshot("alice").getTitle());
+		assertNotNull(registry.findSession("alice"));
+		assertEquals(1, seats.getEnrolled("CSC 216", "001"));
+		assertEquals(1, seats.getEnrolled("CSC 116", "001"));
+		assertEquals(0, seats.getEnrolled("CSC 226", "001"));
+		assertThrows(IOException.class, journal::close);
+
+		// An end whose record cannot be written keeps the session and its seats
+		SessionRegistry ending = new SessionRegistry(catalog, seats);
+		journal = ScheduleJournal.open(new File(directory, "end"), ending, 0);
+		ending.addCourse("carol", "CSC 230", "001");
+		journal.breakSegment();
+		assertThrows(IllegalStateException.class, () -> ending.endSession("carol"));
+		assertEquals(1, ending.getSnapshot("carol").size());
+		assertFalse(ending.getSession("carol").isEnded());
+		assertEquals(1, seats.getEnrolled("CSC 230", "001"));
+		assertThrows(IOException.class, journal::close);
+	}
+
+	/**
+	 * Asserts that two registries hold the same schedules for the given students.
+	 *
+	 * @param expected original registry
+	 * @param actual   recovered registry
+	 * @param students student ids to compare
+	 */
+	private static void assertState(SessionRegistry expected, SessionRegistry actual, String... students) {
+		for (String student : students) {
+			ScheduleSnapshot e = expected.getSnapshot(student);
+			ScheduleSnapshot a = actual.getSnapshot(student);
+			assertEquals(e.getTitle(), a.getTitle(), student);
+			assertEquals(e.size(), a.size(), student);
+			for (int i = 0; i < e.size(); i++) {
+				assertTrue(Arrays.equals(e.get(i).getLongDisplayArray(), a.get(i).getLongDisplayArray()), student);
+			}
+		}
+	}
+}
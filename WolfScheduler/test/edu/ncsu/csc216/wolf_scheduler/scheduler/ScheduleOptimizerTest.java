@@ -0,0 +1,119 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Tests the ScheduleOptimizer and ScheduleScorers classes.
+ *
+ * @author symone
+ */
+public class ScheduleOptimizerTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+	/** Wanted course names */
+	private static final String[] NAMES = { "CSC 116", "CSC 216", "CSC 217" };
+
+	/** Catalog read from the valid course records */
+	private ArrayList<Course> catalog;
+
+	/**
+	 * Reads the catalog.
+	 *
+	 * @throws FileNotFoundException if the test file is missing
+	 */
+	@BeforeEach
+	public void setUp() throws FileNotFoundException {
+		catalog = CourseRecordIO.readCourseRecords(validTestFile);
+	}
+
+	/**
+	 * Tests each scorer on a known schedule.
+	 */
+	@Test
+	public void testScorers() {
+		Course[] schedule = { new Course("CSC 116", "Intro", "001", 3, "jdyoung2", "MW", 910, 1100),
+				new Course("CSC 216", "SDF", "002", 3, "ixdoming", "MW", 1330, 1445),
+				new Course("CSC 217", "Lab", "601", 1, "sesmith5", "A") };
+		assertEquals(2, ScheduleScorers.daysOnCampus().score(schedule));
+		assertEquals(2 * 150, ScheduleScorers.idleMinutes().score(schedule));
+		assertEquals(1, ScheduleScorers.startingBefore(1000).score(schedule));
+		assertEquals(0, ScheduleScorers.startingBefore(900).score(schedule));
+		assertEquals(2, ScheduleScorers.preferredInstructors(Arrays.asList("sesmith5")).score(schedule));
+
+		ScheduleScorer weighted = ScheduleScorers.weighted(new double[] { 10, 1 }, ScheduleScorers.daysOnCampus(),
+				ScheduleScorers.idleMinutes());
+		assertEquals(320, weighted.score(schedule));
+		assertThrows(IllegalArgumentException.class,
+				() -> ScheduleScorers.weighted(new double[] { -1 }, ScheduleScorers.daysOnCampus()));
+		assertThrows(IllegalArgumentException.class,
+				() -> ScheduleScorers.weighted(new double[] { 1, 1 }, ScheduleScorers.daysOnCampus()));
+	}
+
+	/**
+	 * Tests that lower bounds of partial schedules never exceed the score.
+	 */
+	@Test
+	public void testLowerBounds() {
+		Course[] partial = { new Course("CSC 116", "Intro", "001", 3, "jdyoung2", "MW", 910, 1100), null };
+		assertEquals(2, ScheduleScorers.daysOnCampus().lowerBound(partial));
+		assertEquals(0, ScheduleScorers.idleMinutes().lowerBound(partial));
+		assertEquals(1, ScheduleScorers.startingBefore(1000).lowerBound(partial));
+	}
+
+	/**
+	 * Tests that best() agrees with scoring and sorting every schedule.
+	 */
+	@Test
+	public void testBestMatchesExhaustive() {
+		ScheduleGenerator generator = new ScheduleGenerator(catalog, NAMES);
+		ScheduleScorer[] scorers = { ScheduleScorers.daysOnCampus(), ScheduleScorers.idleMinutes(),
+				ScheduleScorers.startingBefore(1000),
+				ScheduleScorers.preferredInstructors(Arrays.asList("jtking", "ixdoming")),
+				ScheduleScorers.weighted(new double[] { 100, 1 }, ScheduleScorers.daysOnCampus(),
+						ScheduleScorers.idleMinutes()) };
+		for (ScheduleScorer scorer : scorers) {
+			ArrayList<Course[]> all = generator.generate(Integer.MAX_VALUE);
+			Collections.sort(all, Comparator.comparingDouble(scorer::score));
+			for (int n = 1; n <= all.size() + 1; n++) {
+				ArrayList<Course[]> best = new ScheduleOptimizer(generator, scorer).best(n);
+				assertEquals(Math.min(n, all.size()), best.size());
+				for (int i = 0; i < best.size(); i++) {
+					assertArrayEquals(all.get(i), best.get(i));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tests invalid parameters and WolfScheduler.getBestSchedules().
+	 */
+	@Test
+	public void testGetBestSchedules() {
+		ScheduleGenerator generator = new ScheduleGenerator(catalog, NAMES);
+		assertThrows(IllegalArgumentException.class, () -> new ScheduleOptimizer(null, ScheduleScorers.idleMinutes()));
+		assertThrows(IllegalArgumentException.class, () -> new ScheduleOptimizer(generator, null));
+		assertThrows(IllegalArgumentException.class,
+				() -> new ScheduleOptimizer(generator, ScheduleScorers.idleMinutes()).best(-1));
+		assertEquals(0, new ScheduleOptimizer(generator, ScheduleScorers.idleMinutes()).best(0).size());
+
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ArrayList<Course[]> best = ws.getBestSchedules(NAMES, 3, ScheduleScorers.daysOnCampus());
+		assertEquals(3, best.size());
+		for (Course[] schedule : best) {
+			assertEquals(2, ScheduleScorers.daysOnCampus().score(schedule));
+		}
+	}
+}
@@ -0,0 +1,212 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogDelta;
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.WeekMask;
+
+/**
+ * Tests the SessionRegistry and ScheduleSnapshot classes.
+ *
+ * @author symone
+ */
+public class SessionRegistryTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/** Registry under test */
+	private SessionRegistry registry;
+
+	/**
+	 * Creates a registry over the valid catalog.
+	 *
+	 * @throws FileNotFoundException if the test file is missing
+	 */
+	@BeforeEach
+	public void setUp() throws FileNotFoundException {
+		registry = new SessionRegistry(CourseCatalog.load(validTestFile));
+	}
+
+	/**
+	 * Tests the per-student operations.
+	 */
+	@Test
+	public void testSessions() {
+		assertEquals(0, registry.size());
+		assertNull(registry.findSession("alice"));
+		assertEquals(0, registry.getScheduledActivities("alice").length);
+		assertSame(ScheduleSnapshot.EMPTY, registry.getSnapshot("alice"));
+
+		assertTrue(registry.addCourse("alice", "CSC 216", "001"));
+		assertFalse(registry.addCourse("alice", "CSC 216", "999"));
+		assertTrue(registry.addCourse("bob", "CSC 216", "002"));
+		assertThrows(IllegalArgumentException.class, () -> registry.addCourse("alice", "CSC 216", "002"));
+		assertEquals(2, registry.size());
+		assertSame(registry.getSession("alice"), registry.findSession("alice"));
+
+		registry.setScheduleTitle("alice", "Fall");
+		ScheduleSnapshot before = registry.getSnapshot("alice");
+		assertTrue(registry.addCourse("alice", "CSC 226", "001"));
+		assertEquals(1, before.size());
+		assertEquals("Fall", before.getTitle());
+		ScheduleSnapshot after = registry.getSnapshot("alice");
+		assertEquals(2, after.size());
+		assertEquals("Discrete Mathematics for Computer Scientists", after.get(1).getTitle());
+
+		assertTrue(registry.removeActivity("alice", 0));
+		assertFalse(registry.removeActivity("alice", 5));
+		assertEquals("Discrete Mathematics for Computer Scientists", registry.getScheduledActivities("alice")[0][2]);
+		registry.resetSchedule("alice");
+		assertEquals(0, registry.getScheduledActivities("alice").length);
+		assertEquals(ScheduleSnapshot.DEFAULT_TITLE, registry.getSession("alice").getScheduleTitle());
+		assertEquals(1, registry.getScheduledActivities("bob").length);
+
+		assertTrue(registry.endSession("bob"));
+		assertFalse(registry.endSession("bob"));
+		assertEquals(1, registry.size());
+		assertFalse(registry.removeActivity("bob", 0));
+		registry.resetSchedule("bob");
+		assertNull(registry.findSession("bob"));
+		assertEquals(1, registry.size());
+
+		assertThrows(IllegalArgumentException.class, () -> registry.getSession(null));
+		assertThrows(IllegalArgumentException.class, () -> registry.getSession(""));
+		assertThrows(IllegalArgumentException.class, () -> new SessionRegistry(null));
+	}
+
+	/**
+	 * Tests that concurrent readers never see a snapshot whose Activities and
+	 * derived meeting intervals disagree while writers add Events and set the
+	 * title.
+	 *
+	 * @throws Exception if a task fails
+	 */
+	@Test
+	public void testNoTornReads() throws Exception {
+		final WolfScheduler session = registry.getSession("carol");
+		final int writers = 4;
+		final int rounds = 60;
+		final AtomicBoolean done = new AtomicBoolean();
+		ExecutorService pool = Executors.newFixedThreadPool(writers + 2);
+		try {
+			List<Future<?>> writes = new ArrayList<Future<?>>();
+			for (int w = 0; w < writers; w++) {
+				final int writer = w;
+				writes.add(pool.submit(() -> {
+					// Each Event gets its own five minute slot on Monday
+					for (int r = 0; r < rounds; r++) {
+						int minute = 5 * (writers * r + writer);
+						session.addEventToSchedule("Event " + writer + " " + r, "M", WeekMask.toTime(minute),
+								WeekMask.toTime(minute + 3), "");
+						session.setScheduleTitle("Round " + r);
+					}
+					return null;
+				}));
+			}
+			List<Future<Integer>> reads = new ArrayList<Future<Integer>>();
+			for (int r = 0; r < 2; r++) {
+				reads.add(pool.submit(() -> {
+					int torn = 0;
+					while (!done.get()) {
+						ScheduleSnapshot current = session.getSnapshot();
+						if (current.getAgenda().getMeetingCount('M') != current.size()
+								|| current.getActivities().size() != current.size()) {
+							torn++;
+						}
+					}
+					return torn;
+				}));
+			}
+			for (Future<?> f : writes) {
+				f.get();
+			}
+			done.set(true);
+			for (Future<Integer> f : reads) {
+				assertEquals(0, f.get());
+			}
+			assertEquals(writers * rounds, session.getScheduledActivities().length);
+			assertEquals(writers * rounds, session.getSnapshot().getAgenda().getMeetingCount('M'));
+			assertTrue(session.getScheduleTitle().startsWith("Round "));
+
+			registry.resetSchedule("carol");
+			assertEquals(0, session.getSnapshot().getAgenda().getMeetingCount('M'));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Tests reloading the catalog while students have schedules.
+	 *
+	 * @throws Exception if the reload fails
+	 */
+	@Test
+	public void testReloadCatalog() throws Exception {
+		CourseCatalog old = registry.getCatalog();
+		assertTrue(registry.addCourse("a", "CSC 216", "002"));
+		assertTrue(registry.addCourse("a", "CSC 116", "001"));
+		assertTrue(registry.addCourse("b", "CSC 116", "001"));
+		WolfScheduler session = registry.getSession("a");
+
+		ArrayList<Course> courses = new ArrayList<Course>();
+		for (Course c : old.getCourses()) {
+			if (!"CSC 216".equals(c.getName())) {
+				courses.add(c);
+			}
+		}
+		CatalogReloadReport report = registry.reloadCatalog(new CourseCatalog(courses));
+		assertEquals(3, report.getDiff().getRemoved().size());
+		assertFalse(report.isClean());
+		assertEquals(1, report.getAffected().size());
+		assertEquals("CSC 216", report.getAffected().get("a").get(0).getName());
+		assertEquals("added 0, removed 3, changed 0, affected students 1", report.toString());
+
+		assertEquals(old.size() - 3, registry.getCatalog().size());
+		assertSame(registry.getCatalog(), session.getCatalog());
+		assertNull(session.getCourseFromCatalog("CSC 216", "001"));
+		assertFalse(registry.addCourse("b", "CSC 216", "001"));
+		assertEquals(2, registry.getSnapshot("a").size(), "schedules keep their Courses");
+
+		report = registry.reloadCatalogAsync(validTestFile).get();
+		assertEquals(3, report.getDiff().getAdded().size());
+		assertTrue(report.isClean());
+		assertTrue(registry.addCourse("b", "CSC 216", "001"));
+
+		Exception e = assertThrows(IllegalArgumentException.class, () -> registry.reloadCatalog("missing.txt"));
+		assertEquals("Cannot find file missing.txt", e.getMessage());
+	}
+
+	/**
+	 * Tests applying a catalog delta while students have schedules.
+	 */
+	@Test
+	public void testApplyCatalogDelta() {
+		assertTrue(registry.addCourse("a", "CSC 230", "001"));
+		assertTrue(registry.addCourse("b", "CSC 116", "001"));
+		CatalogDelta delta = new CatalogDelta();
+		delta.put(new Course("CSC 230", "C and Software Tools", "001", 3, "dbsturgi", "TH", 1145, 1300));
+		delta.put(new Course("CSC 333", "Theory of Computation", "001", 3, "tmbarnes", "MW", 1500, 1615));
+		CatalogReloadReport report = registry.applyCatalogDelta(delta);
+		assertEquals("added 1, removed 0, changed 1, affected students 1", report.toString());
+		assertEquals("MW", report.getAffected().get("a").get(0).getMeetingDays());
+		assertTrue(registry.addCourse("b", "CSC 333", "001"));
+		assertEquals("TH", registry.getSession("b").getCourseFromCatalog("CSC 230", "001").getMeetingDays());
+
+		Exception e = assertThrows(IllegalArgumentException.class, () -> registry.applyCatalogDelta("missing.txt"));
+		assertEquals("Cannot find file missing.txt", e.getMessage());
+	}
+}
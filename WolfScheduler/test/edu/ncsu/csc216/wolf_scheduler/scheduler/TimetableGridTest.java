@@ -0,0 +1,147 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.TimetableGrid.Block;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.TimetableGrid.Region;
+
+/**
+ * Tests the TimetableGrid class.
+ *
+ * @author symone
+ */
+public class TimetableGridTest {
+
+	/** Course on Monday and Wednesday mornings */
+	private final Course mw = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW",
+			900, 1015);
+	/** Event overlapping mw on Monday */
+	private final Event meeting = new Event("Club", "M", 1000, 1100, "");
+	/** Event after mw on Monday, overlapping meeting */
+	private final Event lunch = new Event("Lunch", "M", 1030, 1130, "");
+	/** Course on Friday afternoons */
+	private final Course friday = new Course("CSC 226", "Discrete Mathematics", "001", 3, "tmbarnes", "F", 1330,
+			1420);
+	/** Arranged Course */
+	private final Course arranged = new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter",
+			"A");
+
+	/**
+	 * Tests lanes of overlapping meetings and the regions adds report.
+	 */
+	@Test
+	public void testAdd() {
+		TimetableGrid grid = new TimetableGrid();
+		assertEquals(24, grid.getSlotCount());
+		assertEquals(800, grid.getSlotTime(0));
+		assertEquals(1930, grid.getSlotTime(23));
+
+		Region region = grid.add(mw);
+		assertFalse(region.isAll());
+		assertTrue(region.includes('M'));
+		assertTrue(region.includes('W'));
+		assertFalse(region.includes('F'));
+		assertEquals(540, region.getStartMinute());
+		assertEquals(615, region.getEndMinute());
+		assertTrue(grid.add(mw).isEmpty());
+		assertTrue(grid.add(arranged).isEmpty());
+
+		region = grid.add(meeting);
+		assertFalse(region.includes('W'));
+		assertEquals(540, region.getStartMinute());
+		assertEquals(660, region.getEndMinute());
+		assertLanes(grid.getBlocks('M'), 0, 2, 1, 2);
+		assertLanes(grid.getBlocks('W'), 0, 1);
+
+		grid.add(lunch);
+		assertLanes(grid.getBlocks('M'), 0, 2, 1, 2, 0, 2);
+		assertEquals("Lunch", grid.getBlocks('M').get(2).getActivity().getTitle());
+
+		region = grid.add(friday);
+		assertTrue(region.includes('F'));
+		assertFalse(region.includes('M'));
+		assertLanes(grid.getBlocks('M'), 0, 2, 1, 2, 0, 2);
+		assertEquals(4, grid.size());
+		assertThrows(IllegalArgumentException.class, () -> grid.getBlocks('X'));
+	}
+
+	/**
+	 * Tests removing meetings splits groups and widening the visible range.
+	 */
+	@Test
+	public void testRemove() {
+		TimetableGrid grid = new TimetableGrid(15);
+		grid.add(mw);
+		grid.add(meeting);
+		grid.add(lunch);
+		Region region = grid.remove(meeting);
+		assertEquals(540, region.getStartMinute());
+		assertEquals(690, region.getEndMinute());
+		assertLanes(grid.getBlocks('M'), 0, 1, 0, 1);
+		assertTrue(grid.remove(meeting).isEmpty());
+
+		Event early = new Event("Run", "US", 630, 715, "");
+		assertTrue(grid.add(early).isAll());
+		assertEquals(360, grid.getFirstMinute());
+		assertEquals(56, grid.getSlotCount());
+		assertEquals(1, grid.getBlocks('S').size());
+		assertTrue(grid.remove(early).isAll());
+		assertEquals(480, grid.getFirstMinute());
+		assertEquals(1200, grid.getLastMinute());
+
+		Event late = new Event("Study", "H", 2000, 2130, "");
+		assertTrue(grid.add(late).isAll());
+		assertEquals(1320, grid.getLastMinute());
+		assertThrows(IllegalArgumentException.class, () -> new TimetableGrid(7));
+	}
+
+	/**
+	 * Tests bringing the grid in line with schedule snapshots.
+	 */
+	@Test
+	public void testUpdate() {
+		TimetableGrid grid = new TimetableGrid();
+		ScheduleSnapshot snapshot = ScheduleSnapshot.EMPTY.with(mw).with(meeting).with(arranged);
+		Region region = grid.update(snapshot.getActivities());
+		assertTrue(region.includes('M'));
+		assertEquals(2, grid.size());
+
+		List<Activity> next = new ArrayList<Activity>(snapshot.with(friday).getActivities());
+		next.remove(meeting);
+		region = grid.update(next);
+		assertTrue(region.includes('M'));
+		assertTrue(region.includes('F'));
+		assertFalse(region.includes('W'));
+		assertEquals(540, region.getStartMinute());
+		assertEquals(860, region.getEndMinute());
+		assertLanes(grid.getBlocks('M'), 0, 1);
+
+		assertTrue(grid.update(next).isEmpty());
+		grid.update(Arrays.asList());
+		assertEquals(0, grid.size());
+		assertTrue(grid.getBlocks('M').isEmpty());
+	}
+
+	/**
+	 * Asserts the lane and lane count of each Block in order.
+	 *
+	 * @param blocks Blocks of a day
+	 * @param lanes  lane and lane count of each Block
+	 */
+	private static void assertLanes(List<Block> blocks, int... lanes) {
+		assertEquals(lanes.length / 2, blocks.size());
+		for (int i = 0; i < blocks.size(); i++) {
+			assertEquals(lanes[2 * i], blocks.get(i).getLane(), "lane of block " + i);
+			assertEquals(lanes[2 * i + 1], blocks.get(i).getLanes(), "lanes of block " + i);
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests the WeeklyAgenda class.
+ *
+ * @author symone
+ */
+public class WeeklyAgendaTest {
+
+	/** Course meeting Monday and Wednesday mornings */
+	private final Activity morning = new Course("CSC 116", "Intro", "001", 3, "jdyoung2", "MW", 910, 1100);
+	/** Course meeting Monday and Wednesday afternoons */
+	private final Activity afternoon = new Course("CSC 216", "SDF", "002", 3, "ixdoming", "MW", 1330, 1445);
+	/** Event meeting Monday and Saturday at noon */
+	private final Activity lunch = new Event("Lunch", "MS", 1200, 1300, "");
+	/** Arranged Course */
+	private final Activity arranged = new Course("CSC 217", "Lab", "601", 1, "sesmith5", "A");
+
+	/**
+	 * Tests adding Activities in any order keeps each day sorted.
+	 */
+	@Test
+	public void testWith() {
+		WeeklyAgenda agenda = WeeklyAgenda.EMPTY.with(afternoon).with(lunch).with(morning).with(arranged);
+		assertEquals(3, agenda.getMeetingCount('M'));
+		assertEquals(2, agenda.getMeetingCount('W'));
+		assertEquals(1, agenda.getMeetingCount('S'));
+		assertEquals(0, agenda.getMeetingCount('U'));
+		assertArrayEquals(new int[][] { { 0, 910 }, { 1100, 1200 }, { 1300, 1330 }, { 1445, 2359 } },
+				agenda.getFreeTime('M', 0));
+		assertArrayEquals(new int[][] { { 0, 910 }, { 1100, 1330 }, { 1445, 2359 } }, agenda.getFreeTime('W', 0));
+		assertArrayEquals(new int[][] { { 0, 910 }, { 1100, 1330 }, { 1445, 2359 } }, agenda.getFreeTime('W', 120));
+		assertArrayEquals(new int[][] { { 0, 910 }, { 1445, 2359 } }, agenda.getFreeTime('W', 151));
+		assertEquals(0, agenda.getFreeTime('W', 1000).length);
+		assertSame(agenda, agenda.with(arranged));
+	}
+
+	/**
+	 * Tests removing Activities leaves earlier agendas unchanged.
+	 */
+	@Test
+	public void testWithout() {
+		WeeklyAgenda full = WeeklyAgenda.EMPTY.with(morning).with(lunch).with(afternoon);
+		WeeklyAgenda less = full.without(lunch);
+		assertEquals(3, full.getMeetingCount('M'));
+		assertEquals(1, full.getMeetingCount('S'));
+		assertEquals(2, less.getMeetingCount('M'));
+		assertEquals(0, less.getMeetingCount('S'));
+		assertArrayEquals(new int[][] { { 0, 2359 } }, less.getFreeTime('S', 0));
+		assertSame(less, less.without(lunch));
+		assertSame(less, less.without(arranged));
+		assertEquals(0, less.without(morning).without(afternoon).getMeetingCount('M'));
+	}
+
+	/**
+	 * Tests invalid parameters and edges of the day.
+	 */
+	@Test
+	public void testGetFreeTimeEdges() {
+		WeeklyAgenda agenda = WeeklyAgenda.EMPTY.with(new Event("Early", "H", 0, 30, ""))
+				.with(new Event("Late", "H", 2300, 2359, ""));
+		assertArrayEquals(new int[][] { { 30, 2300 } }, agenda.getFreeTime('H', 0));
+		assertThrows(IllegalArgumentException.class, () -> agenda.getFreeTime('X', 0));
+		assertThrows(IllegalArgumentException.class, () -> agenda.getFreeTime('H', -1));
+	}
+}
@@ -12,6 +12,7 @@ import java.util.Scanner;
 import org.junit.Before;
 import org.junit.Test;
 
+import edu.ncsu.csc216.wolf_scheduler.catalog.CatalogOrder;
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 
@@ -269,6 +270,21 @@ public class WolfSchedulerTest {
 		assertEquals(1, ws.getFullScheduledActivities().length);
 	}
 
+	/**
+	 * Test WolfScheduler.getCourseCatalog(CatalogOrder) and getSortedCatalog().
+	 */
+	@Test
+	public void testGetSortedCourseCatalog() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		String[][] catalog = ws.getCourseCatalog(CatalogOrder.INSTRUCTOR);
+		assertEquals(13, catalog.length);
+		assertEquals("CSC 230", catalog[0][0]);
+		assertEquals(4, catalog[0].length);
+		assertArrayEquals(ws.getCourseCatalog(), ws.getCourseCatalog(null));
+		assertEquals("CSC 230", ws.getSortedCatalog(CatalogOrder.INSTRUCTOR).get(0).getName());
+		assertEquals("CSC 116", ws.getSortedCatalog(CatalogOrder.NAME).get(0).getName());
+	}
+
 	/**
 	 * Test WolfScheduler.getCourseCatalog().
 	 */
@@ -468,6 +484,44 @@ public class WolfSchedulerTest {
 		checkFiles("test-files/expected_schedule_export.txt", "test-files/actual_schedule_export.txt");
 	}
 
+	/**
+	 * Test WolfScheduler.getFreeTime().
+	 */
+	@Test
+	public void testGetFreeTime() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		assertArrayEquals(new int[][] { { 0, 2359 } }, ws.getFreeTime('T', 90));
+
+		// Section that is not in the catalog is not added
+		assertFalse(ws.addCourseToSchedule(NAME, "999"));
+		assertEquals(0, ws.getScheduledActivities().length);
+
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		assertTrue(ws.addCourseToSchedule("CSC 217", "601"));
+		assertTrue(ws.addCourseToSchedule("CSC 116", "003"));
+		ws.addEventToSchedule("Brunch", "US", 1000, 1130, "");
+
+		// Tuesday: CSC 116 1120-1310, CSC 216 1330-1445, CSC 217 is arranged
+		assertArrayEquals(new int[][] { { 0, 1120 }, { 1310, 1330 }, { 1445, 2359 } }, ws.getFreeTime('T', 0));
+		assertArrayEquals(new int[][] { { 0, 1120 }, { 1445, 2359 } }, ws.getFreeTime('T', 90));
+		assertArrayEquals(new int[][] { { 0, 1120 }, { 1445, 2359 } }, ws.getFreeTime('H', 90));
+		assertArrayEquals(new int[][] { { 0, 1000 }, { 1130, 2359 } }, ws.getFreeTime('S', 90));
+		assertArrayEquals(new int[][] { { 0, 2359 } }, ws.getFreeTime('M', 90));
+
+		assertTrue(ws.removeActivityFromSchedule(2));
+		assertArrayEquals(new int[][] { { 0, 1330 }, { 1445, 2359 } }, ws.getFreeTime('T', 0));
+
+		ws.resetSchedule();
+		assertArrayEquals(new int[][] { { 0, 2359 } }, ws.getFreeTime('S', 90));
+
+		try {
+			ws.getFreeTime('A', 90);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid day.", e.getMessage());
+		}
+	}
+
 	/**
 	 * Helper method to compare two files for the same contents
 	 * 
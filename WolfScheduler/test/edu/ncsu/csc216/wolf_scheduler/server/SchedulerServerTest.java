@@ -0,0 +1,218 @@
+package edu.ncsu.csc216.wolf_scheduler.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.catalog.SeatLedger;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleSnapshot;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.SessionRegistry;
+
+/**
+ * Tests the SchedulerServer class over a local port.
+ *
+ * @author symone
+ */
+public class SchedulerServerTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/starter_course_records.txt";
+
+	/** Server under test */
+	private SchedulerServer server;
+
+	/**
+	 * Starts a server on a free port.
+	 *
+	 * @throws IOException if the server cannot start
+	 */
+	@BeforeEach
+	public void setUp() throws IOException {
+		server = new SchedulerServer(new SessionRegistry(CourseCatalog.load(validTestFile), new SeatLedger(1)), 0);
+		server.start();
+	}
+
+	/**
+	 * Stops the server.
+	 */
+	@AfterEach
+	public void tearDown() {
+		server.stop();
+	}
+
+	/**
+	 * Tests SchedulerServer.parseQuery().
+	 */
+	@Test
+	public void testParseQuery() {
+		HashMap<String, String> params = SchedulerServer.parseQuery("name=CSC%20216&section=001&flag&=x");
+		assertEquals("CSC 216", params.get("name"));
+		assertEquals("001", params.get("section"));
+		assertEquals("", params.get("flag"));
+		assertEquals(3, params.size());
+		assertTrue(SchedulerServer.parseQuery(null).isEmpty());
+	}
+
+	/**
+	 * Tests catalog pages.
+	 *
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	public void testCatalogPage() throws IOException {
+		String first = request("GET", "/catalog?order=credits&limit=2&credits=1");
+		String[] lines = first.split("\n");
+		assertEquals(4, lines.length);
+		assertTrue(lines[1].startsWith("next,2,"));
+		assertEquals("CSC 217,202,Software Development Fundamentals Lab,M 10:40AM-12:30PM", lines[2]);
+		String cursor = lines[1].substring("next,2,".length());
+		lines = request("GET", "/catalog?order=credits&limit=2&credits=1&cursor=" + cursor).split("\n");
+		assertTrue(lines[1].startsWith("next,4,"));
+		assertEquals("CSC 217,223,Software Development Fundamentals Lab,W 3:00PM-4:50PM", lines[2]);
+		assertEquals("CSC 217,601,Software Development Fundamentals Lab,Arranged", lines[3]);
+		assertEquals("200\nend\n", request("GET", "/catalog?order=credits&limit=2&credits=1&offset=4"));
+		assertEquals("200\nend\nCSC 316,001,Data Structures and Algorithms,MW 8:30AM-9:45AM\n",
+				request("GET", "/catalog?offset=12"));
+		assertEquals("400\nInvalid order.\n", request("GET", "/catalog?order=size"));
+		assertEquals("400\nInvalid cursor.\n", request("GET", "/catalog?cursor=abc"));
+		assertEquals("400\nInvalid limit.\n", request("GET", "/catalog?limit=0"));
+		assertEquals("404\nUnknown request.\n", request("GET", "/catalog/other"));
+	}
+
+	/**
+	 * Tests JSON exports of the catalog and a schedule.
+	 *
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	public void testJsonExport() throws IOException {
+		String[] lines = request("GET", "/catalog/export").split("\n");
+		assertEquals(14, lines.length);
+		assertEquals("200", lines[0]);
+		assertTrue(lines[1].startsWith("{\"type\":\"course\",\"name\":\"CSC 116\","));
+		assertEquals("404\nUnknown request.\n", request("GET", "/catalog/exportall"));
+		assertEquals("405\nMethod not allowed.\n", request("POST", "/catalog/export"));
+		assertEquals("200\n[]\n", request("GET", "/schedule/export?student=bob&format=json"));
+		request("POST", "/schedule/add?student=bob&name=CSC%20216&section=601");
+		assertEquals("200\n[{\"type\":\"course\",\"name\":\"CSC 216\","
+				+ "\"title\":\"Software Development Fundamentals\",\"section\":\"601\",\"credits\":3,"
+				+ "\"instructorId\":\"jctetter\",\"meetingDays\":\"A\"}]\n",
+				request("GET", "/schedule/export?student=bob&format=json"));
+	}
+
+	/**
+	 * Tests exporting a schedule as an iCalendar calendar.
+	 *
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	public void testIcsExport() throws IOException {
+		request("POST", "/schedule/add?student=bob&name=CSC%20216&section=001");
+		request("POST", "/schedule/add?student=bob&name=CSC%20226&section=001");
+		String ics = request("GET", "/schedule/export?student=bob&format=ics&from=2026-08-17&to=2026-12-04");
+		assertTrue(ics.startsWith("200\nBEGIN:VCALENDAR\r\n"));
+		assertTrue(ics.contains("\r\nRRULE:FREQ=WEEKLY;BYDAY=TU,TH;UNTIL=20261204T235959\r\n"));
+		assertEquals(2, ics.split("BEGIN:VEVENT", -1).length - 1);
+		assertEquals("400\nMissing from.\n", request("GET", "/schedule/export?student=bob&format=ics"));
+		assertEquals("400\nInvalid to.\n",
+				request("GET", "/schedule/export?student=bob&format=ics&from=2026-08-17&to=december"));
+		assertEquals("400\nInvalid term.\n",
+				request("GET", "/schedule/export?student=bob&format=ics&from=2026-08-17&to=2026-08-01"));
+	}
+
+	/**
+	 * Tests catalog searches.
+	 *
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	public void testSearch() throws IOException {
+		assertEquals("200\nCSC 116,001,Intro to Programming - Java,MW 9:10AM-11:00AM\n"
+				+ "CSC 116,002,Intro to Programming - Java,MW 11:20AM-1:10PM\n",
+				request("GET", "/catalog/search?prefix=csc%2011&limit=2"));
+		assertEquals("200\nCSC 316,001,Data Structures and Algorithms,MW 8:30AM-9:45AM\n",
+				request("GET", "/catalog/search?title=algorithms"));
+		assertEquals("400\nMissing prefix or title.\n", request("GET", "/catalog/search"));
+		assertEquals("400\nInvalid limit.\n", request("GET", "/catalog/search?prefix=C&limit=x"));
+	}
+
+	/**
+	 * Tests adding, reading, exporting and removing schedule entries.
+	 *
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	public void testSchedule() throws IOException {
+		assertEquals("200\nMy Schedule\n", request("GET", "/schedule?student=alice"));
+		assertEquals("200\nadded\n", request("POST", "/schedule/add?student=alice&name=CSC%20216&section=001"));
+		assertEquals("409\nThe course is full.\n",
+				request("POST", "/schedule/add?student=bob&name=CSC%20216&section=001"));
+		assertEquals("409\nYou are already enrolled in CSC 216\n",
+				request("POST", "/schedule/add?student=alice&name=CSC%20216&section=002"));
+		assertEquals("404\nCourse not in catalog.\n",
+				request("POST", "/schedule/add?student=alice&name=CSC%20999&section=001"));
+		assertEquals("200\nMy Schedule\nCSC 216,001,Software Development Fundamentals,TH 1:30PM-2:45PM\n",
+				request("GET", "/schedule?student=alice"));
+		assertEquals("200\nCSC 216,Software Development Fundamentals,001,3,sesmith5,TH,1330,1445\n",
+				request("GET", "/schedule/export?student=alice"));
+
+		assertEquals("404\nNo activity at that index.\n", request("POST", "/schedule/remove?student=alice&index=3"));
+		assertEquals("200\nremoved\n", request("POST", "/schedule/remove?student=alice&index=0"));
+		assertEquals("200\nadded\n", request("POST", "/schedule/add?student=bob&name=CSC%20216&section=001"));
+
+		assertEquals("400\nMissing student.\n", request("GET", "/schedule"));
+		assertEquals("404\nUnknown request.\n", request("GET", "/schedule/add?student=alice"));
+		assertEquals("404\nUnknown request.\n", request("GET", "/schedule/other"));
+		assertEquals("404\nUnknown request.\n", request("DELETE", "/schedule"));
+	}
+
+	/**
+	 * Tests that an unexpected failure of a route is answered with a 500 and its
+	 * message, and that the server keeps serving.
+	 *
+	 * @throws IOException if a request fails
+	 */
+	@Test
+	public void testServerError() throws IOException {
+		server.stop();
+		server = new SchedulerServer(new SessionRegistry(CourseCatalog.load(validTestFile)) {
+			@Override
+			public ScheduleSnapshot getSnapshot(String studentId) {
+				throw new IllegalStateException("Schedule unavailable.");
+			}
+		}, 0);
+		server.start();
+		assertEquals("500\nSchedule unavailable.\n", request("GET", "/schedule?student=alice"));
+		assertEquals("200\nadded\n", request("POST", "/schedule/add?student=alice&name=CSC%20216&section=001"));
+	}
+
+	/**
+	 * Sends a request and returns the status and body separated by a newline.
+	 *
+	 * @param method HTTP method
+	 * @param path   path and query
+	 * @return status and body
+	 * @throws IOException if the request fails
+	 */
+	private String request(String method, String path) throws IOException {
+		HttpURLConnection conn = (HttpURLConnection) new URL("http://localhost:" + server.getPort() + path)
+				.openConnection();
+		conn.setRequestMethod(method);
+		int status = conn.getResponseCode();
+		try (InputStream in = status < 400 ? conn.getInputStream() : conn.getErrorStream()) {
+			return status + "\n" + new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		} finally {
+			conn.disconnect();
+		}
+	}
+}